@@ -0,0 +1,414 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.immutable.ArrayMap;
+import com.jcabi.immutable.ArraySet;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.DatatypeConverter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.io.Charsets;
+
+/**
+ * Many file changes in one Git commit.
+ *
+ * <p>Every call to {@link Contents#create(JsonObject)} or
+ * {@link Contents#update(String, JsonObject)} makes a separate commit.
+ * This class collects changes of many files and makes one commit of them
+ * through Git Data API:
+ *
+ * <pre> Commit commit = new Changeset(repo.git(), "refs/heads/master")
+ *   .with("README.md", "# Hello")
+ *   .with("src/main.c", "int main() {}")
+ *   .without("Makefile")
+ *   .commit("generated sources updated");</pre>
+ *
+ * <p>Blobs are uploaded in parallel, every distinct content only once.
+ * Files whose content is already in the base tree are not uploaded at all,
+ * since Git addresses blobs by SHA of their content. Then, one tree is
+ * created on top of the base tree, one commit, and the reference is moved
+ * to that commit. The reference is not forced, so a concurrent push
+ * to the same branch makes {@link #commit(String)} fail. Files that are
+ * already in the tree keep their mode. If the base tree is too big to be
+ * read in one request, {@link #commit(String)} fails too.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see <a href="http://developer.github.com/v3/git/">Git Data API</a>
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@Immutable
+@ToString
+@Loggable(Loggable.DEBUG)
+@EqualsAndHashCode(of = { "git", "branch", "files", "removed", "threads" })
+public final class Changeset {
+
+    /**
+     * Default number of threads.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Git.
+     */
+    private final transient Git git;
+
+    /**
+     * Name of the reference, like {@code refs/heads/master}.
+     */
+    private final transient String branch;
+
+    /**
+     * Files to add or update, with Base64 encoded content.
+     */
+    private final transient ArrayMap<String, String> files;
+
+    /**
+     * Paths of files to remove.
+     */
+    private final transient ArraySet<String> removed;
+
+    /**
+     * How many blobs to upload in parallel.
+     */
+    private final transient int threads;
+
+    /**
+     * Public ctor.
+     * @param repo Git of the repository
+     * @param ref Reference to commit to, like {@code refs/heads/master}
+     */
+    public Changeset(
+        @NotNull(message = "git can't be NULL") final Git repo,
+        @NotNull(message = "ref can't be NULL") final String ref) {
+        this(
+            repo, ref, new ArrayMap<String, String>(), new ArraySet<String>(),
+            Changeset.THREADS
+        );
+    }
+
+    /**
+     * Private ctor.
+     * @param repo Git of the repository
+     * @param ref Reference to commit to
+     * @param add Files to add or update
+     * @param remove Paths of files to remove
+     * @param total How many blobs to upload in parallel
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Changeset(final Git repo, final String ref,
+        final ArrayMap<String, String> add, final ArraySet<String> remove,
+        final int total) {
+        this.git = repo;
+        this.branch = ref;
+        this.files = add;
+        this.removed = remove;
+        this.threads = total;
+    }
+
+    /**
+     * With this number of upload threads.
+     * @param total How many blobs to upload in parallel
+     * @return New changeset
+     */
+    public Changeset threads(final int total) {
+        if (total < 1) {
+            throw new IllegalArgumentException(
+                "number of threads must be positive"
+            );
+        }
+        return new Changeset(
+            this.git, this.branch, this.files, this.removed, total
+        );
+    }
+
+    /**
+     * With this text file added or updated.
+     * @param path Path of the file
+     * @param content UTF-8 content
+     * @return New changeset
+     */
+    public Changeset with(
+        @NotNull(message = "path can't be NULL") final String path,
+        @NotNull(message = "content can't be NULL") final String content) {
+        return this.with(path, content.getBytes(Charsets.UTF_8));
+    }
+
+    /**
+     * With this file added or updated.
+     * @param path Path of the file
+     * @param content Binary content
+     * @return New changeset
+     */
+    public Changeset with(
+        @NotNull(message = "path can't be NULL") final String path,
+        @NotNull(message = "content can't be NULL") final byte[] content) {
+        return new Changeset(
+            this.git, this.branch,
+            this.files.with(
+                path, DatatypeConverter.printBase64Binary(content)
+            ),
+            this.removed.without(path),
+            this.threads
+        );
+    }
+
+    /**
+     * With this file removed.
+     * @param path Path of the file
+     * @return New changeset
+     */
+    public Changeset without(
+        @NotNull(message = "path can't be NULL") final String path) {
+        return new Changeset(
+            this.git, this.branch, this.files.without(path),
+            this.removed.with(path), this.threads
+        );
+    }
+
+    /**
+     * Commit all changes and move the reference.
+     *
+     * <p>If nothing changes in comparison with the head of the reference,
+     * no commit is made and the head commit is returned.
+     *
+     * @param message Commit message
+     * @return The commit made
+     * @throws IOException If there is any I/O problem
+     */
+    @NotNull(message = "commit is never NULL")
+    public Commit commit(
+        @NotNull(message = "message can't be NULL") final String message)
+        throws IOException {
+        final Reference ref = this.git.references().get(this.branch);
+        final String head = ref.json().getJsonObject("object")
+            .getString("sha");
+        final String base = this.git.commits().get(head).json()
+            .getJsonObject("tree").getString("sha");
+        final Map<String, JsonObject> existing = this.existing(base);
+        final Set<String> known = new HashSet<String>(existing.size());
+        for (final JsonObject item : existing.values()) {
+            known.add(item.getString("sha"));
+        }
+        final Map<String, String> uploads = new HashMap<String, String>();
+        final JsonArrayBuilder entries = Json.createArrayBuilder();
+        int changes = 0;
+        for (final Map.Entry<String, String> file : this.files.entrySet()) {
+            final String sha = Changeset.sha(file.getValue());
+            final JsonObject before = existing.get(file.getKey());
+            if (before != null && sha.equals(before.getString("sha"))) {
+                continue;
+            }
+            if (!known.contains(sha)) {
+                uploads.put(sha, file.getValue());
+            }
+            entries.add(
+                Changeset.entry(file.getKey(), before).add("sha", sha)
+            );
+            ++changes;
+        }
+        for (final String path : this.removed) {
+            if (existing.containsKey(path)) {
+                entries.add(
+                    Changeset.entry(path, existing.get(path)).addNull("sha")
+                );
+                ++changes;
+            }
+        }
+        final Commit commit;
+        if (changes == 0) {
+            commit = this.git.commits().get(head);
+        } else {
+            this.upload(uploads);
+            final Tree tree = this.git.trees().create(
+                Json.createObjectBuilder()
+                    .add("base_tree", base)
+                    .add("tree", entries)
+                    .build()
+            );
+            commit = this.git.commits().create(
+                Json.createObjectBuilder()
+                    .add("message", message)
+                    .add("tree", tree.sha())
+                    .add("parents", Json.createArrayBuilder().add(head))
+                    .build()
+            );
+            ref.patch(
+                Json.createObjectBuilder()
+                    .add("sha", commit.sha())
+                    .add("force", false)
+                    .build()
+            );
+            Logger.info(
+                this, "%d change(s) committed to %s as %s, %d new blob(s)",
+                changes, this.branch, commit.sha(), uploads.size()
+            );
+        }
+        return commit;
+    }
+
+    /**
+     * Blobs of the base tree.
+     * @param base SHA of the tree
+     * @return Paths and tree entries of their blobs
+     * @throws IOException If there is any I/O problem
+     */
+    private Map<String, JsonObject> existing(final String base)
+        throws IOException {
+        final JsonObject tree = this.git.trees().getRec(base).json();
+        if (tree.getBoolean("truncated", false)) {
+            throw new IOException(
+                String.format(
+                    "tree %s of %s is too big for one request",
+                    base, this.branch
+                )
+            );
+        }
+        final Map<String, JsonObject> blobs =
+            new HashMap<String, JsonObject>();
+        for (final JsonObject item
+            : tree.getJsonArray("tree").getValuesAs(JsonObject.class)) {
+            if ("blob".equals(item.getString("type"))) {
+                blobs.put(item.getString("path"), item);
+            }
+        }
+        return blobs;
+    }
+
+    /**
+     * Upload blobs in parallel.
+     * @param blobs SHAs and Base64 encoded contents of blobs
+     * @throws IOException If there is any I/O problem
+     */
+    private void upload(final Map<String, String> blobs) throws IOException {
+        final Blobs all = this.git.blobs();
+        final Collection<Future<Blob>> futures =
+            new LinkedList<Future<Blob>>();
+        final ExecutorService service = Executors.newFixedThreadPool(
+            this.threads
+        );
+        try {
+            for (final Map.Entry<String, String> blob : blobs.entrySet()) {
+                futures.add(
+                    service.submit(
+                        new Callable<Blob>() {
+                            @Override
+                            public Blob call() throws IOException {
+                                return all.create(blob.getValue(), "base64");
+                            }
+                        }
+                    )
+                );
+            }
+            for (final Future<Blob> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw IOException.class.cast(ex.getCause());
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * Tree entry of a file.
+     *
+     * <p>The mode of the file in the base tree is kept, so executables
+     * and symbolic links stay what they are. New files are regular.
+     *
+     * @param path Path of the file
+     * @param before Entry of the file in the base tree or NULL if it's new
+     * @return JSON builder
+     */
+    private static JsonObjectBuilder entry(final String path,
+        final JsonObject before) {
+        final String mode;
+        if (before == null) {
+            mode = "100644";
+        } else {
+            mode = before.getString("mode", "100644");
+        }
+        return Json.createObjectBuilder()
+            .add("path", path)
+            .add("mode", mode)
+            .add("type", "blob");
+    }
+
+    /**
+     * SHA of a Git blob with this content.
+     * @param content Base64 encoded content
+     * @return SHA
+     */
+    private static String sha(final String content) {
+        final byte[] bytes = DatatypeConverter.parseBase64Binary(content);
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        digest.update(
+            String.format("blob %d\u0000", bytes.length)
+                .getBytes(Charsets.US_ASCII)
+        );
+        return DatatypeConverter.printHexBinary(digest.digest(bytes))
+            .toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Comments of many issues, grouped by issue.
+ *
+ * <p>{@link Issues#comments(java.util.Map)} lists comments of all issues
+ * of a repository in the order of their creation or update time, since
+ * Github can't sort that listing by issue. This class groups every run
+ * of consecutive comments of the same issue, keeping only one group in
+ * memory at a time:
+ *
+ * <pre> for (CommentsByIssue.Group group : new CommentsByIssue(
+ *   repo.issues().comments(new HashMap&lt;String, String&gt;())
+ * )) {
+ *   System.out.println(
+ *     group.issue().number() + ": " + group.comments().size()
+ *   );
+ * }</pre>
+ *
+ * <p>An issue commented on at different times gets a group for every
+ * such run, so consumers that need one group per issue must merge them
+ * by issue number themselves.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@EqualsAndHashCode(of = "origin")
+public final class CommentsByIssue implements Iterable<CommentsByIssue.Group> {
+
+    /**
+     * Original comments.
+     */
+    private final transient Iterable<Comment> origin;
+
+    /**
+     * Public ctor.
+     * @param comments Comments, ordered as Github lists them
+     */
+    public CommentsByIssue(
+        @NotNull(message = "comments can't be NULL")
+        final Iterable<Comment> comments) {
+        this.origin = comments;
+    }
+
+    @Override
+    public String toString() {
+        return this.origin.toString();
+    }
+
+    @Override
+    @NotNull(message = "iterator is never NULL")
+    public Iterator<CommentsByIssue.Group> iterator() {
+        final Iterator<Comment> comments = this.origin.iterator();
+        return new Iterator<CommentsByIssue.Group>() {
+            /**
+             * The first comment of the next group, if it's read already.
+             */
+            private transient Comment next;
+            @Override
+            public boolean hasNext() {
+                return this.next != null || comments.hasNext();
+            }
+            @Override
+            public CommentsByIssue.Group next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException("no more groups");
+                }
+                if (this.next == null) {
+                    this.next = comments.next();
+                }
+                final Issue issue = this.next.issue();
+                final List<Comment> group = new LinkedList<Comment>();
+                while (this.next != null
+                    && this.next.issue().number() == issue.number()) {
+                    group.add(this.next);
+                    if (comments.hasNext()) {
+                        this.next = comments.next();
+                    } else {
+                        this.next = null;
+                    }
+                }
+                return new CommentsByIssue.Group(issue, group);
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("#remove()");
+            }
+        };
+    }
+
+    /**
+     * Consecutive comments of one issue.
+     */
+    @EqualsAndHashCode(of = { "owner", "all" })
+    public static final class Group {
+        /**
+         * Issue.
+         */
+        private final transient Issue owner;
+        /**
+         * Comments.
+         */
+        private final transient List<Comment> all;
+        /**
+         * Ctor.
+         * @param issue Issue
+         * @param comments Comments of it
+         */
+        Group(final Issue issue, final List<Comment> comments) {
+            this.owner = issue;
+            this.all = Collections.unmodifiableList(comments);
+        }
+        /**
+         * Issue of the comments.
+         * @return Issue
+         */
+        @NotNull(message = "issue is never NULL")
+        public Issue issue() {
+            return this.owner;
+        }
+        /**
+         * Comments, in the order Github listed them.
+         * @return Comments
+         */
+        @NotNull(message = "list of comments is never NULL")
+        public List<Comment> comments() {
+            return this.all;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import java.io.IOException;
+import java.util.Iterator;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Items that can be counted without iterating them.
+ *
+ * <p>This class should be used as a decorator for an iterable of objects
+ * returned by Github API, for example:
+ *
+ * <pre> Map&lt;String, String&gt; params = new HashMap&lt;String, String&gt;();
+ * params.put("state", "open");
+ * int open = new Counted&lt;Issue&gt;(repo.issues().iterate(params)).count();
+ * int found = new Counted&lt;Issue&gt;(
+ *   github.search().issues("bug", "", "")
+ * ).count();</pre>
+ *
+ * <p>A listing is counted by the {@code Link} header of a page with
+ * one item, see {@link RtValuePagination#count()}, and a search by its
+ * {@code total_count}. Each costs one or two requests. Other iterables,
+ * including mocks and {@link Bulk}, are iterated in full, so decorate
+ * the listing itself, not a decorator of it.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @param <T> Type of iterable objects
+ */
+@EqualsAndHashCode(of = "origin")
+public final class Counted<T> implements Iterable<T> {
+
+    /**
+     * Original iterable.
+     */
+    private final transient Iterable<T> origin;
+
+    /**
+     * Public ctor.
+     * @param items Items original
+     */
+    public Counted(
+        @NotNull(message = "items can't be NULL") final Iterable<T> items
+    ) {
+        this.origin = items;
+    }
+
+    @Override
+    @NotNull(message = "toString is never NULL")
+    public String toString() {
+        return this.origin.toString();
+    }
+
+    @Override
+    @NotNull(message = "iterator is never NULL")
+    public Iterator<T> iterator() {
+        return this.origin.iterator();
+    }
+
+    /**
+     * Count all items.
+     * @return Total number of items
+     * @throws IOException If there is any I/O problem
+     */
+    public int count() throws IOException {
+        final int total;
+        if (this.origin instanceof RtValuePagination) {
+            total = RtValuePagination.class.cast(this.origin).count();
+        } else if (this.origin instanceof RtSearchPagination) {
+            total = RtSearchPagination.class.cast(this.origin).count();
+        } else {
+            int items = 0;
+            for (final Iterator<T> iter = this.origin.iterator();
+                iter.hasNext();) {
+                iter.next();
+                ++items;
+            }
+            total = items;
+        }
+        return total;
+    }
+}
@@ -62,6 +62,11 @@ import lombok.EqualsAndHashCode;
  *     .through(RetryWire.class)
  * );</pre>
  *
+ * <p>{@code RetryWire} retries blindly. If you want to respect
+ * {@code Retry-After} of Github secondary rate limits and stop
+ * sending requests to a failing server, use
+ * {@link com.jcabi.github.wire.ResilientWire} instead.
+ *
  * <p>The interfaces in this packages are trying to cover as much
  * as possible of Github API. However, there are parts of API that are
  * rarely used and making Java classes for them is not an effective
@@ -0,0 +1,854 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.wire.ETagWire;
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.commons.io.Charsets;
+
+/**
+ * Embeddable HTTP receiver of Github webhooks.
+ *
+ * <p>Register a hook with {@link Hooks#create(String, java.util.Map)},
+ * pointing to the host and port of the receiver, with a {@code secret}
+ * in its config, and consume deliveries instead of polling:
+ *
+ * <pre> HookReceiver receiver = new HookReceiver(github, "secret", 8080);
+ * try {
+ *   while (true) {
+ *     HookReceiver.Delivery delivery = receiver.take();
+ *     if ("issues".equals(delivery.event())) {
+ *       Issue issue = delivery.issue();
+ *       // issue.json() is already here, no HTTP request
+ *     }
+ *   }
+ * } finally {
+ *   receiver.close();
+ * }</pre>
+ *
+ * <p>Every delivery must be signed with the secret, in
+ * {@code X-Hub-Signature-256} or {@code X-Hub-Signature} header,
+ * otherwise the receiver answers with {@code 401}. Valid deliveries
+ * are put into a bounded queue. When the queue is full, the receiver
+ * answers with {@code 503} right away, and Github shows the delivery
+ * as failed, so it can be redelivered later. Deliveries of {@code ping}
+ * events are answered and not queued.
+ *
+ * <p>Connections are accepted by a dedicated thread and served by
+ * a small pool, with a bounded backlog; connections that don't fit
+ * into the backlog are closed without an answer. A connection that
+ * doesn't send anything for ten seconds, doesn't send the whole request
+ * in thirty seconds, or sends a header line longer than 8Kb, is
+ * dropped. Payloads are limited to 25Mb, as they are by Github, and
+ * are read in chunks, so memory is taken by the bytes that actually
+ * arrive, not by the declared {@code Content-Length}.
+ *
+ * <p>Before a delivery gets into the queue, all responses remembered
+ * by {@link ETagWire} for its repository are forgotten, so the next
+ * request to Github, even a conditional one, sees the change.
+ *
+ * <p>The class is mutable and thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see <a href="https://developer.github.com/webhooks/">Webhooks</a>
+ * @checkstyle ClassDataAbstractionCoupling (500 lines)
+ * @checkstyle MultipleStringLiterals (500 lines)
+ */
+@SuppressWarnings("PMD.ExcessiveImports")
+public final class HookReceiver implements Closeable {
+
+    /**
+     * Maximum size of a payload, in bytes, the same as Github's cap.
+     * @see <a href="https://docs.github.com/en/webhooks/webhook-events-and-payloads#payload-cap">Payload cap</a>
+     */
+    private static final int MAX = 25 * 1024 * 1024;
+
+    /**
+     * Maximum size of a line of the request head, in bytes.
+     */
+    private static final int LINE = 8 * 1024;
+
+    /**
+     * Maximum number of headers.
+     */
+    private static final int HEADERS = Tv.HUNDRED;
+
+    /**
+     * Read timeout of a connection, in milliseconds.
+     */
+    private static final int TIMEOUT = (int) TimeUnit.SECONDS.toMillis(
+        (long) Tv.TEN
+    );
+
+    /**
+     * Time to read the whole request, in milliseconds.
+     */
+    private static final long DEADLINE = TimeUnit.SECONDS.toMillis(
+        (long) Tv.THIRTY
+    );
+
+    /**
+     * Github.
+     */
+    private final transient Github github;
+
+    /**
+     * Secret.
+     */
+    private final transient byte[] secret;
+
+    /**
+     * Server socket.
+     */
+    private final transient ServerSocket socket;
+
+    /**
+     * Thread accepting connections.
+     */
+    private final transient ExecutorService acceptor;
+
+    /**
+     * Threads serving connections.
+     */
+    private final transient ExecutorService threads;
+
+    /**
+     * Queue of deliveries.
+     */
+    private final transient BlockingQueue<HookReceiver.Delivery> queue;
+
+    /**
+     * How many deliveries were rejected because the queue was full.
+     */
+    private final transient AtomicLong overflows = new AtomicLong();
+
+    /**
+     * Public ctor, on a random port, with a queue of a thousand deliveries.
+     * @param ghb Github
+     * @param key Secret of the hook
+     * @throws IOException If there is any I/O problem
+     */
+    public HookReceiver(
+        @NotNull(message = "ghb can't be NULL") final Github ghb,
+        @NotNull(message = "key can't be NULL") final String key)
+        throws IOException {
+        this(ghb, key, 0);
+    }
+
+    /**
+     * Public ctor, with a queue of a thousand deliveries.
+     * @param ghb Github
+     * @param key Secret of the hook
+     * @param port TCP port to listen on, zero for a random one
+     * @throws IOException If there is any I/O problem
+     */
+    public HookReceiver(
+        @NotNull(message = "ghb can't be NULL") final Github ghb,
+        @NotNull(message = "key can't be NULL") final String key,
+        final int port) throws IOException {
+        this(ghb, key, port, Tv.THOUSAND);
+    }
+
+    /**
+     * Public ctor.
+     * @param ghb Github
+     * @param key Secret of the hook
+     * @param port TCP port to listen on, zero for a random one
+     * @param capacity Maximum number of deliveries waiting in the queue
+     * @throws IOException If there is any I/O problem
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    public HookReceiver(
+        @NotNull(message = "ghb can't be NULL") final Github ghb,
+        @NotNull(message = "key can't be NULL") final String key,
+        final int port, final int capacity) throws IOException {
+        this.github = ghb;
+        this.secret = key.getBytes(Charsets.UTF_8);
+        this.queue = new ArrayBlockingQueue<HookReceiver.Delivery>(capacity);
+        this.socket = new ServerSocket(port);
+        this.threads = new ThreadPoolExecutor(
+            Tv.FOUR, Tv.FOUR, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(Tv.HUNDRED),
+            new VerboseThreads(HookReceiver.class)
+        );
+        this.acceptor = Executors.newSingleThreadExecutor(
+            new VerboseThreads(HookReceiver.class)
+        );
+        this.acceptor.submit(
+            new Runnable() {
+                @Override
+                public void run() {
+                    HookReceiver.this.accept();
+                }
+            }
+        );
+        Logger.info(this, "webhook receiver started at %s", this.home());
+    }
+
+    /**
+     * Address of the receiver, to be used in the config of the hook.
+     * @return URI
+     */
+    @NotNull(message = "home is never NULL")
+    public URI home() {
+        return URI.create(
+            String.format("http://localhost:%d", this.socket.getLocalPort())
+        );
+    }
+
+    /**
+     * Take the next delivery, waiting for it if necessary.
+     * @return Delivery
+     * @throws InterruptedException If interrupted while waiting
+     */
+    @NotNull(message = "delivery is never NULL")
+    public HookReceiver.Delivery take() throws InterruptedException {
+        return this.queue.take();
+    }
+
+    /**
+     * Take the next delivery, waiting for it up to the given time.
+     * @param time How long to wait
+     * @param unit Unit of time
+     * @return Delivery or NULL if there was none
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public HookReceiver.Delivery poll(final long time,
+        @NotNull(message = "unit can't be NULL") final TimeUnit unit)
+        throws InterruptedException {
+        return this.queue.poll(time, unit);
+    }
+
+    /**
+     * How many deliveries were rejected with {@code 503}, because the
+     * queue was full.
+     * @return Number of deliveries
+     */
+    public long overflows() {
+        return this.overflows.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+        this.acceptor.shutdownNow();
+        this.threads.shutdownNow();
+        Logger.info(this, "webhook receiver stopped at %s", this.home());
+    }
+
+    @Override
+    public String toString() {
+        return this.home().toString();
+    }
+
+    /**
+     * Accept connections until the socket is closed.
+     */
+    private void accept() {
+        while (!this.socket.isClosed()) {
+            final Socket conn;
+            try {
+                conn = this.socket.accept();
+            } catch (final IOException ex) {
+                break;
+            }
+            try {
+                conn.setSoTimeout(HookReceiver.TIMEOUT);
+                this.threads.submit(
+                    new Runnable() {
+                        @Override
+                        public void run() {
+                            HookReceiver.this.serve(conn);
+                        }
+                    }
+                );
+            } catch (final SocketException ex) {
+                HookReceiver.drop(conn);
+            } catch (final RejectedExecutionException ex) {
+                Logger.warn(this, "too many connections, one dropped");
+                HookReceiver.drop(conn);
+            }
+        }
+    }
+
+    /**
+     * Close the connection, without an answer.
+     * @param conn Connection
+     */
+    private static void drop(final Socket conn) {
+        try {
+            conn.close();
+        } catch (final IOException ex) {
+            Logger.debug(
+                HookReceiver.class, "can't close: %s", ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Serve one request of the connection and close it.
+     * @param conn Connection
+     */
+    private void serve(final Socket conn) {
+        try {
+            final InputStream input = new BufferedInputStream(
+                new HookReceiver.Deadline(conn, HookReceiver.DEADLINE)
+            );
+            final String[] first = HookReceiver.line(input).split(" ");
+            final Map<String, String> headers = new TreeMap<String, String>(
+                String.CASE_INSENSITIVE_ORDER
+            );
+            while (true) {
+                final String line = HookReceiver.line(input);
+                if (line.isEmpty()) {
+                    break;
+                }
+                if (headers.size() >= HookReceiver.HEADERS) {
+                    throw new IOException("too many headers");
+                }
+                final int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headers.put(
+                        line.substring(0, colon).trim(),
+                        line.substring(colon + 1).trim()
+                    );
+                }
+            }
+            final int status;
+            if ("POST".equals(first[0])) {
+                status = this.receive(
+                    headers, HookReceiver.body(input, headers)
+                );
+            } else {
+                status = HttpURLConnection.HTTP_BAD_METHOD;
+            }
+            final OutputStream output = conn.getOutputStream();
+            output.write(
+                String.format(
+                    "HTTP/1.1 %d %s\r\nContent-Length: 0\r\n%s",
+                    status, HookReceiver.reason(status),
+                    "Connection: close\r\n\r\n"
+                ).getBytes(Charsets.UTF_8)
+            );
+            output.flush();
+        } catch (final IOException ex) {
+            Logger.debug(this, "connection dropped: %s", ex.getMessage());
+        } finally {
+            HookReceiver.drop(conn);
+        }
+    }
+
+    /**
+     * Receive a delivery.
+     * @param headers Headers of the request
+     * @param body Body of it
+     * @return HTTP status to answer with
+     */
+    private int receive(final Map<String, String> headers,
+        final byte[] body) {
+        final String event = headers.get("X-GitHub-Event");
+        final int status;
+        if (!this.signed(headers, body)) {
+            Logger.warn(this, "%s delivery with a wrong signature", event);
+            status = HttpURLConnection.HTTP_UNAUTHORIZED;
+        } else if (event == null) {
+            status = HttpURLConnection.HTTP_BAD_REQUEST;
+        } else if ("ping".equals(event)) {
+            status = HttpURLConnection.HTTP_OK;
+        } else {
+            JsonObject json;
+            try {
+                json = Json.createReader(
+                    new StringReader(new String(body, Charsets.UTF_8))
+                ).readObject();
+            } catch (final JsonException ex) {
+                json = null;
+            }
+            if (json == null) {
+                status = HttpURLConnection.HTTP_BAD_REQUEST;
+            } else {
+                status = this.enqueue(
+                    new HookReceiver.Delivery(
+                        this.github, event,
+                        HookReceiver.header(headers, "X-GitHub-Delivery"),
+                        json
+                    )
+                );
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Invalidate caches and put the delivery into the queue, without
+     * waiting for a room in it.
+     * @param delivery Delivery
+     * @return HTTP status to answer with
+     */
+    private int enqueue(final HookReceiver.Delivery delivery) {
+        final Coordinates coords = delivery.coordinates();
+        if (coords != null) {
+            ETagWire.invalidate(
+                String.format(
+                    "%s/repos/%s",
+                    this.github.entry().uri().get().toString(), coords
+                )
+            );
+        }
+        final int status;
+        if (this.queue.offer(delivery)) {
+            status = HttpURLConnection.HTTP_ACCEPTED;
+        } else {
+            this.overflows.incrementAndGet();
+            Logger.warn(
+                this, "queue is full, %s delivery %s rejected",
+                delivery.event(), delivery.id()
+            );
+            status = HttpURLConnection.HTTP_UNAVAILABLE;
+        }
+        return status;
+    }
+
+    /**
+     * Is the body signed with our secret?
+     * @param headers Headers of the request
+     * @param body Body of it
+     * @return TRUE if signed
+     */
+    private boolean signed(final Map<String, String> headers,
+        final byte[] body) {
+        String signature = headers.get("X-Hub-Signature-256");
+        String algorithm = "HmacSHA256";
+        if (signature == null) {
+            signature = HookReceiver.header(headers, "X-Hub-Signature");
+            algorithm = "HmacSHA1";
+        }
+        final int equals = signature.indexOf('=');
+        boolean signed;
+        try {
+            final Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(this.secret, algorithm));
+            signed = equals > 0 && MessageDigest.isEqual(
+                mac.doFinal(body),
+                DatatypeConverter.parseHexBinary(
+                    signature.substring(equals + 1)
+                )
+            );
+        } catch (final GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        } catch (final IllegalArgumentException ex) {
+            signed = false;
+        }
+        return signed;
+    }
+
+    /**
+     * Read the body of the request, chunk by chunk.
+     * @param input Stream
+     * @param headers Headers of the request
+     * @return Body
+     * @throws IOException If there is any I/O problem
+     */
+    private static byte[] body(final InputStream input,
+        final Map<String, String> headers) throws IOException {
+        final int length;
+        try {
+            length = Integer.parseInt(
+                HookReceiver.header(headers, "Content-Length")
+            );
+        } catch (final NumberFormatException ex) {
+            throw new IOException("Content-Length is absent or wrong", ex);
+        }
+        if (length < 0 || length > HookReceiver.MAX) {
+            throw new IOException(
+                String.format("payload of %d bytes is too big", length)
+            );
+        }
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(
+            Math.min(length, HookReceiver.LINE)
+        );
+        final byte[] chunk = new byte[HookReceiver.LINE];
+        int left = length;
+        while (left > 0) {
+            final int read = input.read(
+                chunk, 0, Math.min(left, chunk.length)
+            );
+            if (read < 0) {
+                throw new EOFException(
+                    String.format("payload is %d bytes short", left)
+                );
+            }
+            body.write(chunk, 0, read);
+            left -= read;
+        }
+        return body.toByteArray();
+    }
+
+    /**
+     * Header of the request.
+     * @param headers Headers
+     * @param name Name of the header
+     * @return Value, empty if absent
+     */
+    private static String header(final Map<String, String> headers,
+        final String name) {
+        String value = headers.get(name);
+        if (value == null) {
+            value = "";
+        }
+        return value;
+    }
+
+    /**
+     * Read one line, without CRLF.
+     * @param stream Stream
+     * @return Line, empty if the stream is over
+     * @throws IOException If there is any I/O problem or the line is
+     *  too long
+     */
+    private static String line(final InputStream stream) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            final int chr = stream.read();
+            if (chr < 0 || chr == '\n') {
+                break;
+            }
+            if (chr != '\r') {
+                line.write(chr);
+            }
+            if (line.size() > HookReceiver.LINE) {
+                throw new IOException(
+                    String.format(
+                        "line is longer than %d bytes", HookReceiver.LINE
+                    )
+                );
+            }
+        }
+        return new String(line.toByteArray(), Charsets.UTF_8);
+    }
+
+    /**
+     * Reason phrase of the status.
+     * @param status HTTP status
+     * @return Reason
+     */
+    private static String reason(final int status) {
+        final String reason;
+        if (status == HttpURLConnection.HTTP_OK) {
+            reason = "OK";
+        } else if (status == HttpURLConnection.HTTP_ACCEPTED) {
+            reason = "Accepted";
+        } else if (status == HttpURLConnection.HTTP_UNAUTHORIZED) {
+            reason = "Unauthorized";
+        } else if (status == HttpURLConnection.HTTP_BAD_METHOD) {
+            reason = "Method Not Allowed";
+        } else if (status == HttpURLConnection.HTTP_UNAVAILABLE) {
+            reason = "Service Unavailable";
+        } else {
+            reason = "Bad Request";
+        }
+        return reason;
+    }
+
+    /**
+     * Delivery of a webhook.
+     *
+     * <p>Entities are made from the payload, with their JSON already
+     * loaded, so that they don't make HTTP requests for {@code json()}.
+     * They talk to Github through {@link Github#entry()}, as entities
+     * of {@link RtGithub} do, whatever Github the receiver was made
+     * with.
+     * The JSON is as Github sends it in the payload, which is almost
+     * always the same as the one it returns from the API, except commits
+     * of {@code push} events, which are short.
+     */
+    public static final class Delivery {
+        /**
+         * Github.
+         */
+        private final transient Github github;
+        /**
+         * Event name.
+         */
+        private final transient String name;
+        /**
+         * Delivery ID.
+         */
+        private final transient String guid;
+        /**
+         * Payload.
+         */
+        private final transient JsonObject payload;
+        /**
+         * Ctor.
+         * @param ghb Github
+         * @param event Name of the event, like {@code "issues"}
+         * @param uid ID of the delivery
+         * @param json Payload
+         * @checkstyle ParameterNumber (4 lines)
+         */
+        Delivery(final Github ghb, final String event, final String uid,
+            final JsonObject json) {
+            this.github = ghb;
+            this.name = event;
+            this.guid = uid;
+            this.payload = json;
+        }
+        @Override
+        public String toString() {
+            return String.format("%s %s", this.name, this.guid);
+        }
+        /**
+         * Name of the event, like {@code "issues"}, {@code "push"} or
+         * {@code "issue_comment"}.
+         * @return Name
+         */
+        public String event() {
+            return this.name;
+        }
+        /**
+         * Unique ID of the delivery.
+         * @return ID
+         */
+        public String id() {
+            return this.guid;
+        }
+        /**
+         * Full payload.
+         * @return JSON
+         */
+        public JsonObject json() {
+            return this.payload;
+        }
+        /**
+         * Coordinates of the repository of the event.
+         * @return Coordinates or NULL if the event is not about a repo
+         */
+        public Coordinates coordinates() {
+            final Coordinates coords;
+            final JsonValue repo = this.payload.get("repository");
+            if (repo instanceof JsonObject
+                && JsonObject.class.cast(repo).containsKey("full_name")) {
+                coords = new Coordinates.Simple(
+                    JsonObject.class.cast(repo).getString("full_name")
+                );
+            } else {
+                coords = null;
+            }
+            return coords;
+        }
+        /**
+         * Repository of the event.
+         * @return Repo
+         */
+        public Repo repo() {
+            final Coordinates coords = this.coordinates();
+            if (coords == null) {
+                throw new IllegalStateException(
+                    String.format("%s event has no repository", this.name)
+                );
+            }
+            return new RtRepo(
+                this.github, this.github.entry(), coords,
+                new Seed(this.payload.getJsonObject("repository"))
+            );
+        }
+        /**
+         * Issue of {@code issues} or {@code issue_comment} event.
+         * @return Issue
+         */
+        public Issue issue() {
+            final JsonObject json = this.part("issue");
+            return new RtIssue(
+                this.github.entry(), this.repo(), json.getInt("number"),
+                new Seed(json)
+            );
+        }
+        /**
+         * Comment of {@code issue_comment} event.
+         * @return Comment
+         */
+        public Comment comment() {
+            final JsonObject json = this.part("comment");
+            return new RtComment(
+                this.github.entry(), this.issue(), json.getInt("id"),
+                new Seed(json)
+            );
+        }
+        /**
+         * Release of {@code release} event.
+         * @return Release
+         */
+        public Release release() {
+            final JsonObject json = this.part("release");
+            return new RtRelease(
+                this.github.entry(), this.repo(), json.getInt("id"),
+                new Seed(json)
+            );
+        }
+        /**
+         * Commits of {@code push} event.
+         * @return Commits, in the order they were pushed
+         */
+        public Iterable<RepoCommit> commits() {
+            if (!(this.payload.get("commits") instanceof Iterable)) {
+                throw new IllegalStateException(
+                    String.format("%s event has no commits", this.name)
+                );
+            }
+            final Repo repo = this.repo();
+            final Collection<RepoCommit> commits =
+                new ArrayList<RepoCommit>(0);
+            for (final JsonValue value : this.payload.getJsonArray("commits")) {
+                final JsonObject json = JsonObject.class.cast(value);
+                commits.add(
+                    new RtRepoCommit(
+                        this.github.entry(), repo, json.getString("id"),
+                        new Seed(json)
+                    )
+                );
+            }
+            return commits;
+        }
+        /**
+         * Part of the payload.
+         * @param key Name of it
+         * @return JSON
+         */
+        private JsonObject part(final String key) {
+            final JsonValue part = this.payload.get(key);
+            if (!(part instanceof JsonObject)) {
+                throw new IllegalStateException(
+                    String.format("%s event has no %s", this.name, key)
+                );
+            }
+            return JsonObject.class.cast(part);
+        }
+    }
+
+    /**
+     * Stream of a connection that must be read till the end before
+     * a deadline.
+     *
+     * <p>The read timeout of the socket limits every single read,
+     * and a client sending a byte now and then would keep the
+     * connection forever. Before every read this stream makes the
+     * timeout not longer than the time left, and fails when there is no
+     * time left at all.
+     */
+    static final class Deadline extends FilterInputStream {
+        /**
+         * Connection.
+         */
+        private final transient Socket conn;
+        /**
+         * Time to finish the reading at, in milliseconds.
+         */
+        private final transient long end;
+        /**
+         * Ctor.
+         * @param sock Connection
+         * @param time How much time there is to read, in milliseconds
+         * @throws IOException If there is any I/O problem
+         */
+        Deadline(final Socket sock, final long time) throws IOException {
+            super(sock.getInputStream());
+            this.conn = sock;
+            this.end = System.currentTimeMillis() + time;
+        }
+        @Override
+        public int read() throws IOException {
+            this.limit();
+            return super.read();
+        }
+        @Override
+        public int read(final byte[] bytes, final int off, final int len)
+            throws IOException {
+            this.limit();
+            return super.read(bytes, off, len);
+        }
+        /**
+         * Shorten the read timeout to the time left.
+         * @throws IOException If there is no time left
+         */
+        private void limit() throws IOException {
+            final long left = this.end - System.currentTimeMillis();
+            if (left <= 0L) {
+                throw new SocketTimeoutException("request is too slow");
+            }
+            final int timeout = this.conn.getSoTimeout();
+            if (timeout == 0 || timeout > left) {
+                this.conn.setSoTimeout((int) left);
+            }
+        }
+    }
+
+}
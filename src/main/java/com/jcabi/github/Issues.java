@@ -85,4 +85,29 @@ public interface Issues {
     Iterable<Issue> iterate(@NotNull(message = "map of params can't be NULL")
         Map<String, String> params);
 
+    /**
+     * Iterate comments of all issues of the repository.
+     *
+     * <p>One pagination through all comments is much cheaper than
+     * iterating {@link Issue#comments()} of every issue. Github supports
+     * {@code since}, {@code sort} ({@code created} or {@code updated})
+     * and {@code direction} parameters here. Every comment has its JSON
+     * already loaded from the page.
+     *
+     * <p>Comments are not grouped by issue, they go in the order of
+     * {@code sort}, since Github can't sort this listing by issue. Wrap
+     * them into {@link CommentsByIssue} to get runs of consecutive
+     * comments of the same issue.
+     *
+     * @param params Iterating parameters, as requested by API
+     * @return Iterator of comments
+     * @throws IOException If there is any I/O problem
+     * @see <a href="http://developer.github.com/v3/issues/comments/#list-comments-in-a-repository">List Comments in a Repository</a>
+     * @since 0.12
+     */
+    @NotNull(message = "iterable of comments is never NULL")
+    Iterable<Comment> comments(
+        @NotNull(message = "map of params can't be NULL")
+        Map<String, String> params) throws IOException;
+
 }
@@ -31,6 +31,7 @@ package com.jcabi.github;
 
 import com.jcabi.aspects.Immutable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import javax.validation.constraints.NotNull;
 
@@ -100,4 +101,43 @@ public interface RepoCommits extends JsonReadable {
         @NotNull(message = "base is never NULL") String base,
         @NotNull(message = "head is never NULL") String head
     ) throws IOException;
+
+    /**
+     * Compare two commits and provide result in diff format, as a stream.
+     *
+     * <p>Read it with {@link UnifiedDiff} to get files and hunks one
+     * by one, without keeping the entire diff as a string.
+     *
+     * <p>The stream saves the string decoding only: the current
+     * transport reads the whole response body into memory before
+     * the stream is returned, so a huge comparison still costs its
+     * size in bytes.
+     * @param base SHA of the base repo commit
+     * @param head SHA of the head repo commit
+     * @return Stream of the diff
+     * @throws IOException If there is any I/O problem
+     * @since 0.12
+     */
+    @NotNull(message = "stream is never NULL")
+    InputStream rawDiff(
+        @NotNull(message = "base is never NULL") String base,
+        @NotNull(message = "head is never NULL") String head
+    ) throws IOException;
+
+    /**
+     * Compare two commits and provide result in patch format, as a stream.
+     *
+     * <p>As with {@link #rawDiff(String, String)}, the whole patch is
+     * buffered in memory by the current transport.
+     * @param base SHA of the base repo commit
+     * @param head SHA of the head repo commit
+     * @return Stream of the patch
+     * @throws IOException If there is any I/O problem
+     * @since 0.12
+     */
+    @NotNull(message = "stream is never NULL")
+    InputStream rawPatch(
+        @NotNull(message = "base is never NULL") String base,
+        @NotNull(message = "head is never NULL") String head
+    ) throws IOException;
 }
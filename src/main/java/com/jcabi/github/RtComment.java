@@ -35,6 +35,9 @@ import com.jcabi.http.Request;
 import com.jcabi.http.response.RestResponse;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.json.JsonObject;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
@@ -48,13 +51,24 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtComment implements Comment {
 
     /**
-     * RESTful request.
+     * Requests of comments, by their tokens.
      */
-    private final transient Request request;
+    private static final Map<Object, Request> REQUESTS =
+        Collections.synchronizedMap(new WeakHashMap<Object, Request>(0));
+
+    /**
+     * Identity of this comment, to find its request.
+     */
+    private final transient Object token = new Object();
+
+    /**
+     * API entry point.
+     */
+    private final transient Request entry;
 
     /**
      * Issue we're in.
@@ -66,6 +80,11 @@ final class RtComment implements Comment {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful request
@@ -73,23 +92,28 @@ final class RtComment implements Comment {
      * @param number Number of the get
      */
     RtComment(final Request req, final Issue issue, final int number) {
-        final Coordinates coords = issue.repo().coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/issues")
-            .path("/comments")
-            .path(Integer.toString(number))
-            .back();
+        this(req, issue, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful request
+     * @param issue Owner of this comment
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtComment(final Request req, final Issue issue, final int number,
+        final Seed known) {
+        this.entry = req;
         this.owner = issue;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -105,7 +129,8 @@ final class RtComment implements Comment {
 
     @Override
     public void remove() throws IOException {
-        this.request.method(Request.DELETE).fetch()
+        this.seed.drop();
+        this.request().method(Request.DELETE).fetch()
             .as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_NO_CONTENT);
     }
@@ -113,13 +138,14 @@ final class RtComment implements Comment {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(@NotNull(message = "JSON can't be NULL")
         final JsonObject json) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -128,4 +154,32 @@ final class RtComment implements Comment {
     ) {
         return this.number() - comment.number();
     }
+
+    /**
+     * RESTful request of the comment.
+     *
+     * <p>It is not built in the ctor, since most comments mapped from
+     * a page never need it, but it's built only once. Building a request
+     * costs about twenty microseconds, mostly in
+     * {@code RequestURI#path()}, while mapping a comment costs about
+     * three (see {@code RtPaginationITCase}).
+     *
+     * @return Request
+     */
+    private Request request() {
+        Request req = RtComment.REQUESTS.get(this.token);
+        if (req == null) {
+            final Coordinates coords = this.owner.repo().coordinates();
+            req = this.entry.uri()
+                .path(
+                    String.format(
+                        "/repos/%s/%s/issues/comments/%d",
+                        coords.user(), coords.repo(), this.num
+                    )
+                )
+                .back();
+            RtComment.REQUESTS.put(this.token, req);
+        }
+        return req;
+    }
 }
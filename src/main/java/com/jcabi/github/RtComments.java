@@ -113,15 +113,16 @@ final class RtComments implements Comments {
         final JsonStructure json = Json.createObjectBuilder()
             .add("body", text)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch()
-                .as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                // @checkstyle MultipleStringLiterals (1 line)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch()
+            .as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        // @checkstyle MultipleStringLiterals (2 lines)
+        return new RtComment(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 
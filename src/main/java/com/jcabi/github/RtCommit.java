@@ -46,13 +46,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "hash" })
+@EqualsAndHashCode(of = { "entry", "owner", "hash" })
 final class RtCommit implements Commit {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repo we're in.
@@ -71,15 +71,7 @@ final class RtCommit implements Commit {
      * @param sha Number of the get
      */
     RtCommit(final Request req, final Repo repo, final String sha) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/git")
-            .path("/commits")
-            .path(sha)
-            .back();
+        this.entry = req;
         this.owner = repo;
         this.hash = sha;
     }
@@ -87,7 +79,7 @@ final class RtCommit implements Commit {
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -105,7 +97,7 @@ final class RtCommit implements Commit {
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return new RtJson(this.request()).fetch();
     }
 
     @Override
@@ -114,4 +106,21 @@ final class RtCommit implements Commit {
     ) {
         return this.sha().compareTo(commit.sha());
     }
+
+    /**
+     * RESTful request of the commit.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/git/commits",
+                    coords.user(), coords.repo()
+                )
+            )
+            .path(this.hash)
+            .back();
+    }
 }
@@ -50,13 +50,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "location", "request", "owner" })
+@EqualsAndHashCode(of = { "location", "entry", "owner" })
 final class RtContent implements Content {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repository we're in.
@@ -68,6 +68,11 @@ final class RtContent implements Content {
      */
     private final transient String location;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req Request
@@ -75,16 +80,22 @@ final class RtContent implements Content {
      * @param path Path of the content
      */
     RtContent(final Request req, final Repo repo, final String path) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/contents")
-            .path(path)
-            .back();
+        this(req, repo, path, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req Request
+     * @param repo Repository
+     * @param path Path of the content
+     * @param known JSON of the object, if known
+     */
+    RtContent(final Request req, final Repo repo, final String path,
+        final Seed known) {
+        this.entry = req;
         this.owner = repo;
         this.location = path;
+        this.seed = known;
     }
 
     @Override
@@ -109,20 +120,21 @@ final class RtContent implements Content {
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(@NotNull(message = "JSON object can't be NULL")
         final JsonObject json) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
     @NotNull(message = "InputStream can't be NULL")
     public InputStream raw() throws IOException {
         return new ByteArrayInputStream(
-            this.request.reset(HttpHeaders.ACCEPT)
+            this.request().reset(HttpHeaders.ACCEPT)
                 .header(
                     HttpHeaders.ACCEPT,
                     "application/vnd.github.v3.raw"
@@ -131,4 +143,21 @@ final class RtContent implements Content {
                 .assertStatus(HttpURLConnection.HTTP_OK).binary()
         );
     }
+
+    /**
+     * RESTful request of the content.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/contents",
+                    coords.user(), coords.repo()
+                )
+            )
+            .path(this.location)
+            .back();
+    }
 }
@@ -36,9 +36,12 @@ import com.jcabi.http.response.JsonResponse;
 import com.jcabi.http.response.RestResponse;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.Map;
 import javax.json.Json;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 import javax.json.JsonStructure;
+import javax.json.JsonValue;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 
@@ -151,16 +154,25 @@ final class RtContents implements Contents {
             );
         }
         final String path = content.getString("path");
+        final JsonObject created = this.request.method(Request.PUT)
+            .uri().path(path).back()
+            .body().set(content).back()
+            .fetch()
+            .as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject().getJsonObject("content");
+        final JsonObjectBuilder seed = Json.createObjectBuilder();
+        for (final Map.Entry<String, JsonValue> item : created.entrySet()) {
+            seed.add(item.getKey(), item.getValue());
+        }
+        if (content.containsKey("content")) {
+            seed.add("encoding", "base64")
+                .add("content", content.getString("content"));
+        }
         return new RtContent(
-            this.entry, this.owner,
-            this.request.method(Request.PUT)
-                .uri().path(path).back()
-                .body().set(content).back()
-                .fetch()
-                .as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getJsonObject("content").getString("path")
+            this.entry, this.owner, created.getString("path"),
+            new Seed(seed.build())
         );
     }
 
@@ -59,6 +59,11 @@ final class RtDeployKey implements DeployKey {
      */
     private final transient int key;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful API entry point
@@ -66,6 +71,18 @@ final class RtDeployKey implements DeployKey {
      * @param repo Repository
      */
     RtDeployKey(final Request req, final int number, final Repo repo) {
+        this(req, number, repo, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful API entry point
+     * @param number Id
+     * @param repo Repository
+     * @param known JSON of the object, if known
+     */
+    RtDeployKey(final Request req, final int number, final Repo repo,
+        final Seed known) {
         this.key = number;
         this.request = req.uri()
             .path("/repos")
@@ -74,6 +91,7 @@ final class RtDeployKey implements DeployKey {
             .path("/keys")
             .path(String.valueOf(number))
             .back();
+        this.seed = known;
     }
 
     @Override
@@ -90,11 +108,12 @@ final class RtDeployKey implements DeployKey {
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request);
     }
 
     @Override
     public void remove() throws IOException {
+        this.seed.drop();
         this.request.method(Request.DELETE).fetch()
             .as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_NO_CONTENT);
@@ -104,6 +123,7 @@ final class RtDeployKey implements DeployKey {
     public void patch(
         @NotNull(message = "JSON is never NULL") final JsonObject json)
         throws IOException {
+        this.seed.drop();
         new RtJson(this.request).patch(json);
     }
 }
@@ -117,18 +117,19 @@ final class RtDeployKeys implements DeployKeys {
         @NotNull(message = "key can't be NULL") final String key
     )
         throws IOException {
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(
-                    Json.createObjectBuilder()
-                        .add("title", title)
-                        .add("key", key)
-                        .build()
-                ).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(
+                Json.createObjectBuilder()
+                    .add("title", title)
+                    .add("key", key)
+                    .build()
+            ).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtDeployKey(
+            this.entry, created.getInt("id"), this.owner, new Seed(created)
         );
     }
 }
@@ -47,13 +47,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtEvent implements Event {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repository we're in.
@@ -65,6 +65,11 @@ final class RtEvent implements Event {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req Request
@@ -72,23 +77,28 @@ final class RtEvent implements Event {
      * @param number Number of the get
      */
     RtEvent(final Request req, final Repo repo, final int number) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/issues")
-            .path("/events")
-            .path(Integer.toString(number))
-            .back();
+        this(req, repo, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req Request
+     * @param repo Repository
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtEvent(final Request req, final Repo repo, final int number,
+        final Seed known) {
+        this.entry = req;
         this.owner = repo;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -105,7 +115,7 @@ final class RtEvent implements Event {
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
@@ -115,4 +125,19 @@ final class RtEvent implements Event {
         return this.number() - event.number();
     }
 
+    /**
+     * RESTful request of the event.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/issues/events/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
+    }
 }
@@ -78,6 +78,11 @@ final class RtGist implements Gist {
      */
     private final transient String gist;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param github Github
@@ -85,10 +90,23 @@ final class RtGist implements Gist {
      * @param name Name of gist
      */
     RtGist(final Github github, final Request req, final String name) {
+        this(github, req, name, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param github Github
+     * @param req Request
+     * @param name Name of gist
+     * @param known JSON of the object, if known
+     */
+    RtGist(final Github github, final Request req, final String name,
+        final Seed known) {
         this.ghub = github;
         this.entry = req;
         this.gist = name;
         this.request = req.uri().path("/gists").path(name).back();
+        this.seed = known;
     }
 
     @Override
@@ -173,21 +191,21 @@ final class RtGist implements Gist {
     @Override
     @NotNull(message = "Gist can't be NULL")
     public Gist fork() throws IOException {
+        final JsonObject created = this.request.uri().path("/forks").back()
+            .method(Request.POST)
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
         return new RtGist(
-            this.ghub, this.entry,
-            this.request.uri().path("/forks").back()
-                .method(Request.POST)
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getString("id")
+            this.ghub, this.entry, created.getString("id"), new Seed(created)
         );
     }
 
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request);
     }
 
     @Override
@@ -199,6 +217,7 @@ final class RtGist implements Gist {
     @Override
     public void patch(@NotNull(message = "JSON can't be NULL")
         final JsonObject json) throws IOException {
+        this.seed.drop();
         new RtJson(this.request).patch(json);
     }
 }
@@ -48,12 +48,12 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtGistComment implements GistComment {
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Gist we're in.
@@ -65,6 +65,11 @@ final class RtGistComment implements GistComment {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful request
@@ -72,20 +77,28 @@ final class RtGistComment implements GistComment {
      * @param number Number of the get
      */
     RtGistComment(final Request req, final Gist gist, final int number) {
-        this.request = req.uri()
-            .path("/gists")
-            .path(new Gist.Smart(gist).identifier())
-            .path("/comments")
-            .path(Integer.toString(number))
-            .back();
+        this(req, gist, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful request
+     * @param gist Gist of this comment
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtGistComment(final Request req, final Gist gist, final int number,
+        final Seed known) {
+        this.entry = req;
         this.owner = gist;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -101,7 +114,8 @@ final class RtGistComment implements GistComment {
 
     @Override
     public void remove() throws IOException {
-        this.request.method(Request.DELETE).fetch()
+        this.seed.drop();
+        this.request().method(Request.DELETE).fetch()
             .as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_NO_CONTENT);
     }
@@ -117,12 +131,28 @@ final class RtGistComment implements GistComment {
     public void patch(
         @NotNull(message = "json can't be NULL") final JsonObject json
     ) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
+    }
+
+    /**
+     * RESTful request of the comment.
+     * @return Request
+     */
+    private Request request() {
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/gists/%s/comments/%d",
+                    this.owner.identifier(), this.num
+                )
+            )
+            .back();
     }
 }
@@ -109,15 +109,16 @@ final class RtGistComments implements GistComments {
         final JsonStructure json = Json.createObjectBuilder()
             .add("body", text)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch()
-                .as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                // @checkstyle MultipleStringLiterals (1 line)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch()
+            .as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        // @checkstyle MultipleStringLiterals (2 lines)
+        return new RtGistComment(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 
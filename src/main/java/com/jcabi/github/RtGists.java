@@ -111,13 +111,14 @@ final class RtGists implements Gists {
             .add("files", builder)
             .add("public", visible)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getString("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtGist(
+            this.ghub, this.entry, created.getString("id"), new Seed(created)
         );
     }
 
@@ -31,9 +31,11 @@ package com.jcabi.github;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import com.jcabi.github.wire.TokenPoolWire;
 import com.jcabi.http.Request;
 import com.jcabi.http.request.ApacheRequest;
 import com.jcabi.http.response.JsonResponse;
+import com.jcabi.immutable.Array;
 import com.jcabi.manifests.Manifests;
 import java.io.IOException;
 import javax.json.JsonObject;
@@ -145,6 +147,24 @@ public final class RtGithub implements Github {
         );
     }
 
+    /**
+     * Public ctor, for authentication with a pool of OAuth2 tokens.
+     *
+     * <p>Every request is made with the token that has the most
+     * remaining requests, see {@link TokenPoolWire}.
+     * @param tokens OAuth tokens
+     * @since 0.12
+     */
+    public RtGithub(
+        @NotNull(message = "tokens can't be NULL")
+        final Iterable<String> tokens) {
+        this(
+            RtGithub.REQUEST.through(
+                TokenPoolWire.class, new Array<String>(tokens)
+            )
+        );
+    }
+
     /**
      * Public ctor, with a custom request.
      * @param req Request to start from
@@ -161,6 +181,20 @@ public final class RtGithub implements Github {
         return this.request;
     }
 
+    /**
+     * Open a session in the current thread.
+     *
+     * <p>Until the session is closed, users, repos and issues of this
+     * Github are shared and fetch their JSON only once, see
+     * {@link Session}.
+     * @return Session, to be closed in the same thread
+     * @since 0.12
+     */
+    @NotNull(message = "session is never NULL")
+    public Session session() {
+        return Session.open(this);
+    }
+
     @Override
     @NotNull(message = "repos is never NULL")
     public Repos repos() {
@@ -46,13 +46,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtHook implements Hook {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repository we're in.
@@ -64,6 +64,11 @@ final class RtHook implements Hook {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req Request
@@ -71,16 +76,22 @@ final class RtHook implements Hook {
      * @param number Id of the get
      */
     RtHook(final Request req, final Repo repo, final int number) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/hooks")
-            .path(Integer.toString(number))
-            .back();
+        this(req, repo, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req Request
+     * @param repo Repository
+     * @param number Id of the get
+     * @param known JSON of the object, if known
+     */
+    RtHook(final Request req, final Repo repo, final int number,
+        final Seed known) {
+        this.entry = req;
         this.owner = repo;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
@@ -97,6 +108,22 @@ final class RtHook implements Hook {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
+    }
+
+    /**
+     * RESTful request of the hook.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/hooks/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
     }
 }
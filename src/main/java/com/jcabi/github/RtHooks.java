@@ -136,13 +136,14 @@ final class RtHooks implements Hooks {
             .add("name", name)
             .add("config", builder)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtHook(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 }
@@ -50,7 +50,7 @@ import org.hamcrest.Matchers;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 @SuppressWarnings("PMD.TooManyMethods")
 final class RtIssue implements Issue {
 
@@ -59,11 +59,6 @@ final class RtIssue implements Issue {
      */
     private final transient Request entry;
 
-    /**
-     * RESTful request.
-     */
-    private final transient Request request;
-
     /**
      * Repository we're in.
      */
@@ -74,6 +69,11 @@ final class RtIssue implements Issue {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req Request
@@ -81,23 +81,28 @@ final class RtIssue implements Issue {
      * @param number Number of the get
      */
     RtIssue(final Request req, final Repo repo, final int number) {
+        this(req, repo, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req Request
+     * @param repo Repository
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtIssue(final Request req, final Repo repo, final int number,
+        final Seed known) {
         this.entry = req;
-        final Coordinates coords = repo.coordinates();
-        this.request = this.entry.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/issues")
-            .path(Integer.toString(number))
-            .back();
         this.owner = repo;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -120,6 +125,7 @@ final class RtIssue implements Issue {
     @Override
     @NotNull(message = "IssueLabels is never NULL")
     public IssueLabels labels() {
+        this.seed.drop();
         return new RtIssueLabels(this.entry, this);
     }
 
@@ -127,7 +133,7 @@ final class RtIssue implements Issue {
     @NotNull(message = "Iterable of events is never NULL")
     public Iterable<Event> events() {
         return new RtPagination<Event>(
-            this.request.uri().path("/events").back(),
+            this.request().uri().path("/events").back(),
             new RtPagination.Mapping<Event, JsonObject>() {
                 @Override
                 public Event map(final JsonObject object) {
@@ -143,7 +149,7 @@ final class RtIssue implements Issue {
 
     @Override
     public boolean exists() throws IOException {
-        return this.request.fetch().as(RestResponse.class)
+        return this.request().fetch().as(RestResponse.class)
             .assertStatus(
                 Matchers.isOneOf(
                     HttpURLConnection.HTTP_OK,
@@ -155,13 +161,14 @@ final class RtIssue implements Issue {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(@NotNull(message = "JSON object can't be NULL")
         final JsonObject json) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -171,4 +178,19 @@ final class RtIssue implements Issue {
         return this.number() - issue.number();
     }
 
+    /**
+     * RESTful request of the issue.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/issues/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
+    }
 }
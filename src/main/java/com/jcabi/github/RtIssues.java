@@ -103,7 +103,7 @@ final class RtIssues implements Issues {
     @Override
     @NotNull(message = "Issue is never NULL")
     public Issue get(final int number) {
-        return new RtIssue(this.entry, this.owner, number);
+        return this.issue(number, Seed.EMPTY);
     }
 
     @Override
@@ -116,14 +116,13 @@ final class RtIssues implements Issues {
             .add("title", title)
             .add("body", body)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("number")
-        );
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return this.issue(created.getInt("number"), new Seed(created));
     }
 
     @Override
@@ -142,4 +141,45 @@ final class RtIssues implements Issues {
         );
     }
 
+    @Override
+    @NotNull(message = "Iterable of comments is never NULL")
+    public Iterable<Comment> comments(
+        @NotNull(message = "map of params can't be NULL")
+        final Map<String, String> params) {
+        return new RtPagination<Comment>(
+            this.request.uri().path("/comments").queryParams(params).back(),
+            new RtPagination.Mapping<Comment, JsonObject>() {
+                @Override
+                public Comment map(final JsonObject object) {
+                    final String url = object.getString("issue_url");
+                    return new RtComment(
+                        RtIssues.this.entry,
+                        RtIssues.this.get(
+                            Integer.parseInt(
+                                url.substring(url.lastIndexOf('/') + 1)
+                            )
+                        ),
+                        object.getInt("id"), new Seed(object)
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Get an issue, shared if a session is open.
+     * @param number Issue number
+     * @param seed Its JSON, if known
+     * @return Issue
+     */
+    private Issue issue(final int number, final Seed seed) {
+        return Session.shared(
+            this.owner.github(), Issue.class,
+            String.format(
+                "repos/%s/issues/%d", this.owner.coordinates(), number
+            ),
+            new RtIssue(this.entry, this.owner, number, seed)
+        );
+    }
+
 }
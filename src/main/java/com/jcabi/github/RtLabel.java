@@ -47,13 +47,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "txt" })
+@EqualsAndHashCode(of = { "entry", "owner", "txt" })
 final class RtLabel implements Label {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repository we're in.
@@ -72,14 +72,7 @@ final class RtLabel implements Label {
      * @param name Name of it
      */
     RtLabel(final Request req, final Repo repo, final String name) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/labels")
-            .path(name)
-            .back();
+        this.entry = req;
         this.owner = repo;
         this.txt = name;
     }
@@ -87,7 +80,7 @@ final class RtLabel implements Label {
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -105,13 +98,13 @@ final class RtLabel implements Label {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return new RtJson(this.request()).fetch();
     }
 
     @Override
     public void patch(@NotNull(message = "JSON is never NULL")
         final JsonObject json) throws IOException {
-        new RtJson(this.request).patch(json);
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -121,4 +114,20 @@ final class RtLabel implements Label {
         return label.name().compareTo(label.name());
     }
 
+    /**
+     * RESTful request of the label.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/labels",
+                    coords.user(), coords.repo()
+                )
+            )
+            .path(this.txt)
+            .back();
+    }
 }
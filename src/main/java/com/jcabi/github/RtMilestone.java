@@ -45,13 +45,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = {"request", "owner" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtMilestone implements Milestone {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repository.
@@ -63,6 +63,11 @@ final class RtMilestone implements Milestone {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req Request
@@ -70,22 +75,28 @@ final class RtMilestone implements Milestone {
      * @param number Number of the get
      */
     RtMilestone(final Request req, final Repo repo, final int number) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/milestones")
-            .path(Integer.toString(number))
-            .back();
+        this(req, repo, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req Request
+     * @param repo Repository
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtMilestone(final Request req, final Repo repo, final int number,
+        final Seed known) {
+        this.entry = req;
         this.owner = repo;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -102,14 +113,15 @@ final class RtMilestone implements Milestone {
     @Override
     @NotNull(message = "JSON can't be NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(
         @NotNull(message = "JSON object can't be NULL")
         final JsonObject json) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -118,4 +130,20 @@ final class RtMilestone implements Milestone {
         final Milestone milestone) {
         return Integer.valueOf(this.number()).compareTo(milestone.number());
     }
+
+    /**
+     * RESTful request of the milestone.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/milestones/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
+    }
 }
@@ -106,13 +106,14 @@ final class RtMilestones implements Milestones {
         final JsonStructure json = Json.createObjectBuilder()
             .add("title", title)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("number")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtMilestone(
+            this.entry, this.owner, created.getInt("number"), new Seed(created)
         );
     }
 
@@ -52,7 +52,7 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 @SuppressWarnings("PMD.TooManyMethods")
 final class RtPull implements Pull {
 
@@ -61,11 +61,6 @@ final class RtPull implements Pull {
      */
     private final transient Request entry;
 
-    /**
-     * RESTful request.
-     */
-    private final transient Request request;
-
     /**
      * Repository we're in.
      */
@@ -76,6 +71,11 @@ final class RtPull implements Pull {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req Request
@@ -83,23 +83,28 @@ final class RtPull implements Pull {
      * @param number Number of the get
      */
     RtPull(final Request req, final Repo repo, final int number) {
+        this(req, repo, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req Request
+     * @param repo Repository
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtPull(final Request req, final Repo repo, final int number,
+        final Seed known) {
         this.entry = req;
-        final Coordinates coords = repo.coordinates();
-        this.request = this.entry.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/pulls")
-            .path(Integer.toString(number))
-            .back();
         this.owner = repo;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -117,7 +122,7 @@ final class RtPull implements Pull {
     @NotNull(message = "Iterable of commits is never NULL")
     public Iterable<Commit> commits() throws IOException {
         return new RtPagination<Commit>(
-            this.request.uri().path("/commits").back(),
+            this.request().uri().path("/commits").back(),
             new RtPagination.Mapping<Commit, JsonObject>() {
                 @Override
                 public Commit map(final JsonObject object) {
@@ -134,7 +139,7 @@ final class RtPull implements Pull {
     @Override
     @NotNull(message = "Iterable of files is never NULL")
     public Iterable<JsonObject> files() throws IOException {
-        return this.request
+        return this.request()
             .uri().path("/files").back()
             .fetch().as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_OK)
@@ -149,7 +154,8 @@ final class RtPull implements Pull {
         final JsonStructure json = Json.createObjectBuilder()
             .add("commit_message", msg)
             .build();
-        this.request
+        this.seed.drop();
+        this.request()
             .uri().path("/merge").back()
             .body().set(json).back()
             .method(Request.PUT)
@@ -167,13 +173,14 @@ final class RtPull implements Pull {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(@NotNull(message = "JSON can't be NULL")
         final JsonObject json) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -183,4 +190,19 @@ final class RtPull implements Pull {
         return this.number() - pull.number();
     }
 
+    /**
+     * RESTful request of the pull request.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/pulls/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
+    }
 }
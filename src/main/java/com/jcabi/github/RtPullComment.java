@@ -46,13 +46,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtPullComment implements PullComment {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Pull we're in.
@@ -64,6 +64,11 @@ final class RtPullComment implements PullComment {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful request
@@ -71,36 +76,42 @@ final class RtPullComment implements PullComment {
      * @param number Number of the get
      */
     RtPullComment(final Request req, final Pull pull, final int number) {
-        final Coordinates coords = pull.repo().coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/pulls")
-            .path("/comments")
-            .path(Integer.toString(number))
-            .back();
+        this(req, pull, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful request
+     * @param pull Owner of this comment
+     * @param number Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtPullComment(final Request req, final Pull pull, final int number,
+        final Seed known) {
+        this.entry = req;
         this.owner = pull;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(
         @NotNull(message = "JSON can't be NULL") final JsonObject json
     ) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -121,4 +132,19 @@ final class RtPullComment implements PullComment {
         return this.number() - comment.number();
     }
 
+    /**
+     * RESTful request of the comment.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.repo().coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/pulls/comments/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
+    }
 }
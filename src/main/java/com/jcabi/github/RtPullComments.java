@@ -159,14 +159,15 @@ final class RtPullComments implements PullComments {
             .add("path", path)
             .add("position", position)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch()
-                .as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch()
+            .as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtPullComment(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 
@@ -180,14 +181,15 @@ final class RtPullComments implements PullComments {
             .add("body", body)
             .add("in_reply_to", comment)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch()
-                .as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch()
+            .as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtPullComment(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 
@@ -117,13 +117,14 @@ final class RtPulls implements Pulls {
             .add("head", head)
             .add("base", base)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("number")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtPull(
+            this.entry, this.owner, created.getInt("number"), new Seed(created)
         );
     }
 
@@ -46,7 +46,7 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = "request")
+@EqualsAndHashCode(of = { "entry", "owner", "release" })
 final class RtRelease implements Release {
 
     /**
@@ -54,11 +54,6 @@ final class RtRelease implements Release {
      */
     private final transient Request entry;
 
-    /**
-     * RESTful request.
-     */
-    private final transient Request request;
-
     /**
      * Repository.
      */
@@ -69,6 +64,11 @@ final class RtRelease implements Release {
      */
     private final transient int release;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful API entry point
@@ -76,16 +76,22 @@ final class RtRelease implements Release {
      * @param nmbr Release id
      */
     RtRelease(final Request req, final Repo repo, final int nmbr) {
+        this(req, repo, nmbr, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful API entry point
+     * @param repo Repository
+     * @param nmbr Release id
+     * @param known JSON of the object, if known
+     */
+    RtRelease(final Request req, final Repo repo, final int nmbr,
+        final Seed known) {
         this.entry = req;
         this.release = nmbr;
         this.owner = repo;
-        this.request = req.uri()
-            .path("/repos")
-            .path(repo.coordinates().user())
-            .path(repo.coordinates().repo())
-            .path("/releases")
-            .path(String.valueOf(this.release))
-            .back();
+        this.seed = known;
     }
 
     @Override
@@ -102,33 +108,51 @@ final class RtRelease implements Release {
     @Override
     @NotNull(message = "ReleaseAssets is never NULL")
     public ReleaseAssets assets() {
+        this.seed.drop();
         return new RtReleaseAssets(this.entry, this);
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(
         @NotNull(message = "json can't be NULL") final JsonObject json
     ) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
     public void delete() throws IOException {
-        this.request.method(Request.DELETE).fetch()
+        this.seed.drop();
+        this.request().method(Request.DELETE).fetch()
             .as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_NO_CONTENT);
     }
 
+    /**
+     * RESTful request of the release.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/releases/%d",
+                    coords.user(), coords.repo(), this.release
+                )
+            )
+            .back();
+    }
 }
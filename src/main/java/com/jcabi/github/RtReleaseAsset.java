@@ -50,13 +50,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "num" })
+@EqualsAndHashCode(of = { "entry", "owner", "num" })
 final class RtReleaseAsset implements ReleaseAsset {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Issue we're in.
@@ -68,6 +68,11 @@ final class RtReleaseAsset implements ReleaseAsset {
      */
     private final transient int num;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful Request
@@ -79,23 +84,32 @@ final class RtReleaseAsset implements ReleaseAsset {
         @NotNull(message = "release can't be NULL") final Release release,
         final int number
     ) {
-        final Coordinates coords = release.repo().coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/releases")
-            .path("/assets")
-            .path(Integer.toString(number))
-            .back();
+        this(req, release, number, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful Request
+     * @param release Release
+     * @param number Number of the release asset.
+     * @param known JSON of the object, if known
+     */
+    RtReleaseAsset(
+        @NotNull(message = "req can't be NULL") final Request req,
+        @NotNull(message = "release can't be NULL") final Release release,
+        final int number,
+        final Seed known
+    ) {
+        this.entry = req;
         this.owner = release;
         this.num = number;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -112,19 +126,21 @@ final class RtReleaseAsset implements ReleaseAsset {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public void patch(
         @NotNull(message = "json can't be NULL") final JsonObject json
     ) throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
     public void remove() throws IOException {
-        this.request.method(Request.DELETE).fetch()
+        this.seed.drop();
+        this.request().method(Request.DELETE).fetch()
             .as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_NO_CONTENT);
     }
@@ -140,7 +156,7 @@ final class RtReleaseAsset implements ReleaseAsset {
     @NotNull(message = "InputStream is never NULL")
     public InputStream raw() throws IOException {
         return new ByteArrayInputStream(
-            this.request.method(Request.GET)
+            this.request().method(Request.GET)
                 .reset(HttpHeaders.ACCEPT).header(
                     HttpHeaders.ACCEPT,
                     "application/vnd.github.v3.raw"
@@ -152,4 +168,19 @@ final class RtReleaseAsset implements ReleaseAsset {
         );
     }
 
+    /**
+     * RESTful request of the asset.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.repo().coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/releases/assets/%d",
+                    coords.user(), coords.repo(), this.num
+                )
+            )
+            .back();
+    }
 }
@@ -120,25 +120,26 @@ final class RtReleaseAssets implements ReleaseAssets {
         @NotNull(message = "type can't be NULL") final String type,
         @NotNull(message = "name can't be NULL") final String name
     ) throws IOException {
-        return this.get(
-            this.request.uri()
-                .set(URI.create("https://uploads.github.com"))
-                .path("/repos")
-                .path(this.owner.repo().coordinates().user())
-                .path(this.owner.repo().coordinates().repo())
-                .path("/releases")
-                .path(String.valueOf(this.owner.number()))
-                .path("/assets")
-                .queryParam("name", name)
-                .back()
-                .method(Request.POST)
-                .reset(HttpHeaders.CONTENT_TYPE)
-                .header(HttpHeaders.CONTENT_TYPE, type)
-                .body().set(content).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.uri()
+            .set(URI.create("https://uploads.github.com"))
+            .path("/repos")
+            .path(this.owner.repo().coordinates().user())
+            .path(this.owner.repo().coordinates().repo())
+            .path("/releases")
+            .path(String.valueOf(this.owner.number()))
+            .path("/assets")
+            .queryParam("name", name)
+            .back()
+            .method(Request.POST)
+            .reset(HttpHeaders.CONTENT_TYPE)
+            .header(HttpHeaders.CONTENT_TYPE, type)
+            .body().set(content).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtReleaseAsset(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 
@@ -124,13 +124,14 @@ final class RtReleases implements Releases {
         final JsonStructure json = Json.createObjectBuilder()
             .add("tag_name", tag)
             .build();
-        return this.get(
-            this.request.method(Request.POST)
-                .body().set(json).back()
-                .fetch().as(RestResponse.class)
-                .assertStatus(HttpURLConnection.HTTP_CREATED)
-                .as(JsonResponse.class)
-                .json().readObject().getInt("id")
+        final JsonObject created = this.request.method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return new RtRelease(
+            this.entry, this.owner, created.getInt("id"), new Seed(created)
         );
     }
 
@@ -63,14 +63,14 @@ final class RtRepo implements Repo {
     private final transient Request entry;
 
     /**
-     * RESTful request.
+     * Repository coordinates.
      */
-    private final transient Request request;
+    private final transient Coordinates coords;
 
     /**
-     * Repository coordinates.
+     * JSON known without a request, if any.
      */
-    private final transient Coordinates coords;
+    private final transient Seed seed;
 
     /**
      * Public ctor.
@@ -79,14 +79,22 @@ final class RtRepo implements Repo {
      * @param crd Coordinate of the repo
      */
     RtRepo(final Github github, final Request req, final Coordinates crd) {
+        this(github, req, crd, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param github Github
+     * @param req Request
+     * @param crd Coordinate of the repo
+     * @param known JSON of the object, if known
+     */
+    RtRepo(final Github github, final Request req, final Coordinates crd,
+        final Seed known) {
         this.ghub = github;
         this.entry = req;
         this.coords = crd;
-        this.request = this.entry.uri()
-            .path("/repos")
-            .path(this.coords.user())
-            .path(this.coords.repo())
-            .back();
+        this.seed = known;
     }
 
     @Override
@@ -135,7 +143,7 @@ final class RtRepo implements Repo {
     @NotNull(message = "Iterable of events is never NULL")
     public Iterable<Event> events() {
         return new RtPagination<Event>(
-            this.request.uri().path("/issues/events").back(),
+            this.request().uri().path("/issues/events").back(),
             new RtPagination.Mapping<Event, JsonObject>() {
                 @Override
                 public Event map(final JsonObject object) {
@@ -201,7 +209,8 @@ final class RtRepo implements Repo {
     public void patch(
         @NotNull(message = "JSON is never NULL") final JsonObject json)
         throws IOException {
-        new RtJson(this.request).patch(json);
+        this.seed.drop();
+        new RtJson(this.request()).patch(json);
     }
 
     @Override
@@ -213,11 +222,26 @@ final class RtRepo implements Repo {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
     public int compareTo(final Repo repo) {
         return this.coords.compareTo(repo.coordinates());
     }
+
+    /**
+     * RESTful request of the repo.
+     * @return Request
+     */
+    private Request request() {
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s",
+                    this.coords.user(), this.coords.repo()
+                )
+            )
+            .back();
+    }
 }
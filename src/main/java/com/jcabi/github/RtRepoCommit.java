@@ -46,13 +46,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "hash" })
+@EqualsAndHashCode(of = { "entry", "owner", "hash" })
 final class RtRepoCommit implements RepoCommit {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repo we're in.
@@ -64,6 +64,11 @@ final class RtRepoCommit implements RepoCommit {
      */
     private final transient String hash;
 
+    /**
+     * JSON known without a request, if any.
+     */
+    private final transient Seed seed;
+
     /**
      * Public ctor.
      * @param req RESTful request
@@ -71,23 +76,28 @@ final class RtRepoCommit implements RepoCommit {
      * @param sha Number of the get
      */
     RtRepoCommit(final Request req, final Repo repo, final String sha) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/git")
-            .path("/commits")
-            .path(sha)
-            .back();
+        this(req, repo, sha, Seed.EMPTY);
+    }
+
+    /**
+     * Public ctor, with the JSON already known.
+     * @param req RESTful request
+     * @param repo Owner of this commit
+     * @param sha Number of the get
+     * @param known JSON of the object, if known
+     */
+    RtRepoCommit(final Request req, final Repo repo, final String sha,
+        final Seed known) {
+        this.entry = req;
         this.owner = repo;
         this.hash = sha;
+        this.seed = known;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -105,7 +115,7 @@ final class RtRepoCommit implements RepoCommit {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return this.seed.json(this.request());
     }
 
     @Override
@@ -114,4 +124,21 @@ final class RtRepoCommit implements RepoCommit {
     ) {
         return this.sha().compareTo(commit.sha());
     }
+
+    /**
+     * RESTful request of the commit.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/git/commits",
+                    coords.user(), coords.repo()
+                )
+            )
+            .path(this.hash)
+            .back();
+    }
 }
@@ -34,7 +34,9 @@ import com.jcabi.aspects.Loggable;
 import com.jcabi.http.Request;
 import com.jcabi.http.RequestURI;
 import com.jcabi.http.response.RestResponse;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.util.Map;
 import javax.json.JsonObject;
@@ -155,6 +157,24 @@ final class RtRepoCommits implements RepoCommits {
             .body();
     }
 
+    @Override
+    @NotNull(message = "stream is never NULL")
+    public InputStream rawDiff(
+        @NotNull(message = "base is never NULL") final String base,
+        @NotNull(message = "head is never NULL") final String head)
+        throws IOException {
+        return this.raw("application/vnd.github.v3.diff", base, head);
+    }
+
+    @Override
+    @NotNull(message = "stream is never NULL")
+    public InputStream rawPatch(
+        @NotNull(message = "base is never NULL") final String base,
+        @NotNull(message = "head is never NULL") final String head)
+        throws IOException {
+        return this.raw("application/vnd.github.v3.patch", base, head);
+    }
+
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
@@ -166,4 +186,31 @@ final class RtRepoCommits implements RepoCommits {
     public JsonObject json() throws IOException {
         return new RtJson(this.request).fetch();
     }
+
+    /**
+     * Fetch the comparison of two commits in the given format.
+     *
+     * <p>The bytes of the response are returned as they are, without
+     * decoding them into a string, which would take twice as much
+     * memory again. The body itself is still fully read by
+     * jcabi-http, this stream is only a view over those bytes.
+     * @param type Media type
+     * @param base SHA of the base repo commit
+     * @param head SHA of the head repo commit
+     * @return Stream of the comparison
+     * @throws IOException If there is any I/O problem
+     */
+    private InputStream raw(final String type, final String base,
+        final String head) throws IOException {
+        return new ByteArrayInputStream(
+            this.comp.reset(HttpHeaders.ACCEPT)
+                .header(HttpHeaders.ACCEPT, type)
+                .uri()
+                .path(String.format("%s...%s", base, head))
+                .back()
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK)
+                .binary()
+        );
+    }
 }
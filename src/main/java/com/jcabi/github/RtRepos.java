@@ -89,16 +89,16 @@ final class RtRepos implements Repos {
     @NotNull(message = "repo is never NULL")
     public Repo create(@NotNull(message = "JSON can't be NULL")
         final JsonObject json) throws IOException {
-        return this.get(
-            new Coordinates.Simple(
-                this.entry.uri().path("user/repos")
-                    .back().method(Request.POST)
-                    .body().set(json).back()
-                    .fetch().as(RestResponse.class)
-                    .assertStatus(HttpURLConnection.HTTP_CREATED)
-                    .as(JsonResponse.class)
-                    .json().readObject().getString("full_name")
-            )
+        final JsonObject created = this.entry.uri().path("user/repos")
+            .back().method(Request.POST)
+            .body().set(json).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_CREATED)
+            .as(JsonResponse.class)
+            .json().readObject();
+        return this.repo(
+            new Coordinates.Simple(created.getString("full_name")),
+            new Seed(created)
         );
     }
 
@@ -106,7 +106,7 @@ final class RtRepos implements Repos {
     @NotNull(message = "repo is never NULL")
     public Repo get(@NotNull(message = "coordinates can't be NULL")
         final Coordinates name) {
-        return new RtRepo(this.ghub, this.entry, name);
+        return this.repo(name, Seed.EMPTY);
     }
 
     @Override
@@ -120,4 +120,17 @@ final class RtRepos implements Repos {
             .as(RestResponse.class)
             .assertStatus(HttpURLConnection.HTTP_NO_CONTENT);
     }
+
+    /**
+     * Get a repo, shared if a session is open.
+     * @param name Coordinates of the repo
+     * @param seed Its JSON, if known
+     * @return Repo
+     */
+    private Repo repo(final Coordinates name, final Seed seed) {
+        return Session.shared(
+            this.ghub, Repo.class, String.format("repos/%s", name),
+            new RtRepo(this.ghub, this.entry, name, seed)
+        );
+    }
 }
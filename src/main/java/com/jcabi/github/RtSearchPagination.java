@@ -35,9 +35,12 @@ import com.jcabi.http.RequestBody;
 import com.jcabi.http.RequestURI;
 import com.jcabi.http.Response;
 import com.jcabi.http.Wire;
+import com.jcabi.http.response.JsonResponse;
+import com.jcabi.http.response.RestResponse;
 import java.io.IOException;
 import java.io.StringReader;
 import java.lang.reflect.InvocationTargetException;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.util.Iterator;
 import java.util.List;
@@ -98,6 +101,21 @@ final class RtSearchPagination<T> implements Iterable<T> {
         ).iterator();
     }
 
+    /**
+     * Count all items found, without fetching them.
+     *
+     * <p>The total is the {@code total_count} of a page with one item.
+     * @return Total number of items
+     * @throws IOException If there is any I/O problem
+     */
+    public int count() throws IOException {
+        return this.request.uri().queryParam("per_page", 1).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_OK)
+            .as(JsonResponse.class).json().readObject()
+            .getInt("total_count");
+    }
+
     /**
      * Request which hides everything but items.
      */
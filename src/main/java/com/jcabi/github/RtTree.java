@@ -43,13 +43,13 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "request", "owner", "hash" })
+@EqualsAndHashCode(of = { "entry", "owner", "hash" })
 final class RtTree implements Tree {
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Repo we're in.
@@ -68,22 +68,14 @@ final class RtTree implements Tree {
      * @param sha Number of the get
      */
     RtTree(final Request req, final Repo repo, final String sha) {
-        final Coordinates coords = repo.coordinates();
-        this.request = req.uri()
-            .path("/repos")
-            .path(coords.user())
-            .path(coords.repo())
-            .path("/git")
-            .path("/trees")
-            .path(sha)
-            .back();
+        this.entry = req;
         this.owner = repo;
         this.hash = sha;
     }
 
     @Override
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -98,6 +90,23 @@ final class RtTree implements Tree {
 
     @Override
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return new RtJson(this.request()).fetch();
+    }
+
+    /**
+     * RESTful request of the tree.
+     * @return Request
+     */
+    private Request request() {
+        final Coordinates coords = this.owner.coordinates();
+        return this.entry.uri()
+            .path(
+                String.format(
+                    "/repos/%s/%s/git/trees",
+                    coords.user(), coords.repo()
+                )
+            )
+            .path(this.hash)
+            .back();
     }
 }
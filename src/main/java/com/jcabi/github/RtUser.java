@@ -49,7 +49,7 @@ import lombok.EqualsAndHashCode;
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
-@EqualsAndHashCode(of = { "ghub", "request" })
+@EqualsAndHashCode(of = { "ghub", "entry", "self" })
 final class RtUser implements User {
 
     /**
@@ -58,9 +58,9 @@ final class RtUser implements User {
     private final transient Github ghub;
 
     /**
-     * RESTful request.
+     * API entry point.
      */
-    private final transient Request request;
+    private final transient Request entry;
 
     /**
      * Login of the user.
@@ -91,18 +91,14 @@ final class RtUser implements User {
         @NotNull(message = "login can't be NULL") final String login
     ) {
         this.ghub = github;
-        if (login.isEmpty()) {
-            this.request = req.uri().path("/user").back();
-        } else {
-            this.request = req.uri().path("/users").path(login).back();
-        }
+        this.entry = req;
         this.self = login;
     }
 
     @Override
     @NotNull(message = "toString is never NULL")
     public String toString() {
-        return this.request.uri().get().toString();
+        return this.request().uri().get().toString();
     }
 
     @Override
@@ -144,14 +140,27 @@ final class RtUser implements User {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new RtJson(this.request).fetch();
+        return new RtJson(this.request()).fetch();
     }
 
     @Override
     public void patch(
         @NotNull(message = "JSON is never NULL") final JsonObject json)
         throws IOException {
-        new RtJson(this.request).patch(json);
+        new RtJson(this.request()).patch(json);
     }
 
+    /**
+     * RESTful request of the user.
+     * @return Request
+     */
+    private Request request() {
+        final Request req;
+        if (this.self.isEmpty()) {
+            req = this.entry.uri().path("/user").back();
+        } else {
+            req = this.entry.uri().path("/users").path(this.self).back();
+        }
+        return req;
+    }
 }
@@ -99,7 +99,10 @@ final class RtUsers implements Users {
     @NotNull(message = "user is never NULL")
     public User get(@NotNull(message = "login can't be NULL")
         final String login) {
-        return new RtUser(this.ghub, this.entry, login);
+        return Session.shared(
+            this.ghub, User.class, String.format("users/%s", login),
+            new RtUser(this.ghub, this.entry, login)
+        );
     }
 
     @Override
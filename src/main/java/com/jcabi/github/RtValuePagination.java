@@ -36,8 +36,10 @@ import com.jcabi.http.response.RestResponse;
 import com.jcabi.http.response.WebLinkingResponse;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import javax.json.JsonArray;
@@ -95,6 +97,59 @@ public class RtValuePagination<T, P extends JsonValue> implements Iterable<T> {
         return new RtValuePagination.Items<T, P>(this.entry, this.map);
     }
 
+    /**
+     * Count all items, without fetching them.
+     *
+     * <p>The first page is requested with one item per page, and
+     * the number of its {@code rel="last"} page is the total. If Github
+     * doesn't respect {@code per_page}, the last page is fetched too
+     * and the total is calculated from its number and size. Either way,
+     * it costs no more than two requests, no matter how many items
+     * there are.
+     * @return Total number of items
+     * @throws IOException If there is any I/O problem
+     * @since 0.12
+     */
+    public final int count() throws IOException {
+        final RestResponse first = this.entry.uri()
+            .queryParam("per_page", 1).back()
+            .fetch().as(RestResponse.class)
+            .assertStatus(HttpURLConnection.HTTP_OK);
+        final Map<String, WebLinkingResponse.Link> links =
+            first.as(WebLinkingResponse.class).links();
+        final int size = first.as(JsonResponse.class).json()
+            .readArray().size();
+        final int total;
+        if (links.containsKey("last")) {
+            final URI uri = links.get("last").uri();
+            final int page = RtValuePagination.param(uri, "page", 0);
+            final int per = RtValuePagination.param(uri, "per_page", size);
+            if (page == 0) {
+                throw new IllegalStateException(
+                    String.format("no page number in \"%s\"", uri)
+                );
+            }
+            if (per == 1) {
+                total = page;
+            } else {
+                total = (page - 1) * per + first.jump(uri).fetch()
+                    .as(RestResponse.class)
+                    .assertStatus(HttpURLConnection.HTTP_OK)
+                    .as(JsonResponse.class).json().readArray().size();
+            }
+        } else if (links.containsKey("next")) {
+            int items = 0;
+            for (final Iterator<T> iter = this.iterator(); iter.hasNext();) {
+                iter.next();
+                ++items;
+            }
+            total = items;
+        } else {
+            total = size;
+        }
+        return total;
+    }
+
     /**
      * Entry.
      * @return Entry point
@@ -128,6 +183,28 @@ public class RtValuePagination<T, P extends JsonValue> implements Iterable<T> {
         X map(P value);
     }
 
+    /**
+     * Numeric query parameter of a URI.
+     * @param uri URI
+     * @param name Name of the parameter
+     * @param def Default value, if it's absent
+     * @return Value
+     */
+    private static int param(final URI uri, final String name,
+        final int def) {
+        int value = def;
+        final String query = uri.getRawQuery();
+        if (query != null) {
+            for (final String pair : query.split("&")) {
+                final int equals = pair.indexOf('=');
+                if (equals > 0 && name.equals(pair.substring(0, equals))) {
+                    value = Integer.parseInt(pair.substring(equals + 1));
+                }
+            }
+        }
+        return value;
+    }
+
     /**
      * Iterator.
      */
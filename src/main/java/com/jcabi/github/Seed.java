@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.json.JsonObject;
+import javax.validation.constraints.NotNull;
+
+/**
+ * JSON Github has already returned for an object.
+ *
+ * <p>When a new issue, comment, release, etc. is created, Github
+ * responds with its full JSON. Without a seed, the first call to
+ * {@code json()} of the created object would fetch exactly the same
+ * JSON again. An object made with a seed answers {@code json()} from
+ * memory, until the seed is dropped, after which every call goes to
+ * Github, as usual. Objects drop their seeds on {@code patch()} and on
+ * any other change made through them, like merging a pull request or
+ * getting labels of an issue, which are a part of its JSON.
+ *
+ * <p>The seed is not a part of the object's identity, so an object
+ * with a seed is equal to the same object without it.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+final class Seed {
+
+    /**
+     * No JSON known.
+     */
+    public static final Seed EMPTY = new Seed();
+
+    /**
+     * JSON of all seeds alive.
+     */
+    private static final Map<Seed, JsonObject> JSONS =
+        Collections.synchronizedMap(new WeakHashMap<Seed, JsonObject>(0));
+
+    /**
+     * Ctor of an empty seed.
+     */
+    private Seed() {
+        // nothing to remember
+    }
+
+    /**
+     * Public ctor.
+     * @param json JSON Github returned
+     */
+    Seed(@NotNull(message = "json can't be NULL") final JsonObject json) {
+        Seed.JSONS.put(this, json);
+    }
+
+    /**
+     * JSON of the object, from memory if it is still there.
+     * @param req Request to fetch it with otherwise
+     * @return JSON
+     * @throws IOException If there is any I/O problem
+     */
+    @NotNull(message = "JSON is never NULL")
+    public JsonObject json(@NotNull(message = "req can't be NULL")
+        final Request req) throws IOException {
+        JsonObject json = Seed.JSONS.get(this);
+        if (json == null) {
+            json = new RtJson(req).fetch();
+        }
+        return json;
+    }
+
+    /**
+     * Forget the JSON, since the object has changed.
+     */
+    public void drop() {
+        Seed.JSONS.remove(this);
+    }
+
+}
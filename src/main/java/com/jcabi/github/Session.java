@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.json.JsonObject;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Identity map of Github objects, bound to the current thread.
+ *
+ * <p>Without a session, every {@code users().get("jeff")} returns a new
+ * object, which fetches its own JSON. This is why a loop over comments
+ * calling {@link Comment.Smart#author()} makes a round trip per comment,
+ * even when all of them are written by the same user. While a session
+ * is open, {@link Users#get(String)}, {@link Repos#get(Coordinates)}
+ * and {@link Issues#get(int)} return one shared object per resource,
+ * which fetches its JSON once and shares it with everybody:
+ *
+ * <pre> Session session = new RtGithub(oauthKey).session();
+ * try {
+ *     for (Comment comment : issue.comments().iterate()) {
+ *         new User.Smart(new Comment.Smart(comment).author()).name();
+ *     }
+ * } finally {
+ *     session.close();
+ * }</pre>
+ *
+ * <p>The JSON of a shared object is forgotten when the object is
+ * patched. When the session is closed, its objects go straight to
+ * Github again. Sessions may be nested, closing the inner one
+ * reopens the outer one.
+ *
+ * <p>The class is thread-safe, but a session is visible only in the
+ * thread that opened it.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see RtGithub#session()
+ */
+@ToString(of = "github")
+@EqualsAndHashCode(of = { "github", "objects" })
+public final class Session implements Closeable {
+
+    /**
+     * Session open in the current thread, if any.
+     */
+    private static final ThreadLocal<Session> CURRENT =
+        new ThreadLocal<Session>();
+
+    /**
+     * Github the session belongs to.
+     */
+    private final transient Github github;
+
+    /**
+     * Session this one replaced, or NULL.
+     */
+    private final transient Session previous;
+
+    /**
+     * Shared objects, by their resource path.
+     */
+    private final transient ConcurrentMap<String, Object> objects;
+
+    /**
+     * Is it still open?
+     */
+    private final transient AtomicBoolean alive;
+
+    /**
+     * Private ctor.
+     * @param ghub Github
+     * @param prev Previous session or NULL
+     */
+    private Session(final Github ghub, final Session prev) {
+        this.github = ghub;
+        this.previous = prev;
+        this.objects = new ConcurrentHashMap<String, Object>(0);
+        this.alive = new AtomicBoolean(true);
+    }
+
+    /**
+     * Open a session in the current thread.
+     * @param ghub Github to share objects of
+     * @return Session, which must be closed in the same thread
+     */
+    @NotNull(message = "session is never NULL")
+    static Session open(
+        @NotNull(message = "github can't be NULL") final Github ghub) {
+        final Session session = new Session(ghub, Session.CURRENT.get());
+        Session.CURRENT.set(session);
+        return session;
+    }
+
+    /**
+     * Get the shared object of a resource, if a session is open.
+     *
+     * <p>Without a session, with a closed one, or with a session of
+     * another Github, the fresh object is returned as is. A proxy is
+     * made only for a resource the session doesn't know yet.
+     * @param ghub Github the object belongs to, maybe NULL
+     *  if it is not known
+     * @param type Interface of the object
+     * @param path Resource path, for example {@code "users/jeff"}
+     * @param fresh Object just created
+     * @param <T> Type of the object
+     * @return Shared object or the fresh one
+     */
+    @NotNull(message = "object is never NULL")
+    static <T extends JsonReadable> T shared(final Github ghub,
+        @NotNull(message = "type can't be NULL") final Class<T> type,
+        @NotNull(message = "path can't be NULL") final String path,
+        @NotNull(message = "object can't be NULL") final T fresh) {
+        final Session session = Session.CURRENT.get();
+        final T result;
+        if (session == null || !session.alive.get()
+            || !session.github.equals(ghub)) {
+            result = fresh;
+        } else {
+            final String key = String.format("%s:%s", type.getName(), path);
+            final Object known = session.objects.get(key);
+            if (known == null) {
+                final T made = type.cast(
+                    Proxy.newProxyInstance(
+                        type.getClassLoader(),
+                        new Class<?>[] {type},
+                        new Session.Memo(session.alive, fresh)
+                    )
+                );
+                final Object before = session.objects.putIfAbsent(key, made);
+                if (before == null) {
+                    result = made;
+                } else {
+                    result = type.cast(before);
+                }
+            } else {
+                result = type.cast(known);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of shared objects in the session.
+     * @return Total
+     */
+    public int size() {
+        return this.objects.size();
+    }
+
+    @Override
+    public void close() {
+        if (this.alive.compareAndSet(true, false)) {
+            this.objects.clear();
+        }
+        if (Session.CURRENT.get() == this) {
+            if (this.previous == null) {
+                Session.CURRENT.remove();
+            } else {
+                Session.CURRENT.set(this.previous);
+            }
+        }
+    }
+
+    /**
+     * Shared object, which remembers its JSON while the session is open.
+     */
+    private static final class Memo implements InvocationHandler {
+        /**
+         * Is the session open?
+         */
+        private final transient AtomicBoolean open;
+        /**
+         * Original object.
+         */
+        private final transient Object origin;
+        /**
+         * JSON fetched, or NULL.
+         */
+        private final transient AtomicReference<JsonObject> json;
+        /**
+         * Ctor.
+         * @param alive Is the session open?
+         * @param object Original object
+         */
+        Memo(final AtomicBoolean alive, final Object object) {
+            this.open = alive;
+            this.origin = object;
+            this.json = new AtomicReference<JsonObject>();
+        }
+        @Override
+        public Object invoke(final Object proxy, final Method method,
+            final Object[] args) throws Throwable {
+            final String name = method.getName();
+            final Object result;
+            if ("json".equals(name) && args == null && this.open.get()) {
+                result = this.fetch();
+            } else if ("equals".equals(name) && args != null
+                && args.length == 1) {
+                result = proxy == args[0]
+                    || this.origin.equals(Session.Memo.unwrap(args[0]));
+            } else {
+                if ("patch".equals(name)) {
+                    this.json.set(null);
+                }
+                try {
+                    result = method.invoke(this.origin, args);
+                } catch (final InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+            return result;
+        }
+        /**
+         * Fetch JSON once.
+         * @return JSON
+         * @throws IOException If fails
+         */
+        private JsonObject fetch() throws IOException {
+            JsonObject result = this.json.get();
+            if (result == null) {
+                result = JsonReadable.class.cast(this.origin).json();
+                this.json.compareAndSet(null, result);
+            }
+            return result;
+        }
+        /**
+         * Get the original object out of a shared one.
+         * @param object Object, maybe shared
+         * @return Original object
+         */
+        private static Object unwrap(final Object object) {
+            Object result = object;
+            if (object != null && Proxy.isProxyClass(object.getClass())) {
+                final InvocationHandler handler =
+                    Proxy.getInvocationHandler(object);
+                if (handler instanceof Session.Memo) {
+                    result = Session.Memo.class.cast(handler).origin;
+                }
+            }
+            return result;
+        }
+    }
+}
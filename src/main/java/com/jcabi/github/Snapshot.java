@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.json.JsonObject;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.DatatypeConverter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Snapshot of all files of a repository at some commit.
+ *
+ * <p>Instead of fetching every file through {@link Contents}, which costs
+ * at least one HTTP request per file, the snapshot reads the recursive
+ * tree once and then downloads every distinct blob through
+ * {@link Blobs}, in parallel:
+ *
+ * <pre> new Snapshot(repo, "/tmp/blobs").save(
+ *   "a6a7e8f0c2d3e4f5a6b7c8d9e0f1a2b3c4d5e6f7",
+ *   new File("/tmp/checkout")
+ * );</pre>
+ *
+ * <p>Blobs are stored in a content-addressed directory, named by their
+ * SHA, and are copied from there to the target directory. Blobs that
+ * are already in the store are not downloaded again, so a second
+ * snapshot of the same repository only fetches files that changed.
+ * Every thread keeps at most one blob in memory.
+ *
+ * <p>Every path of the tree must stay inside the target directory,
+ * otherwise {@link #save(String, File)} fails with {@link IOException}
+ * before anything is downloaded. Symbolic links (mode {@code 120000})
+ * are skipped: Java 6 can't create them, and a regular file with the
+ * link target as its content would look like real data.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see <a href="http://developer.github.com/v3/git/trees/#get-a-tree-recursively">Get a Tree Recursively</a>
+ */
+@Immutable
+@ToString
+@Loggable(Loggable.DEBUG)
+@EqualsAndHashCode(of = { "owner", "store", "threads" })
+public final class Snapshot {
+
+    /**
+     * Default number of threads.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * Mode of executable files.
+     */
+    private static final String EXECUTABLE = "100755";
+
+    /**
+     * Mode of symbolic links.
+     */
+    private static final String LINK = "120000";
+
+    /**
+     * Repository.
+     */
+    private final transient Repo owner;
+
+    /**
+     * Path of the content-addressed store.
+     */
+    private final transient String store;
+
+    /**
+     * How many blobs to download in parallel.
+     */
+    private final transient int threads;
+
+    /**
+     * Public ctor.
+     * @param repo Repository
+     * @param dir Directory of the blob store
+     */
+    public Snapshot(
+        @NotNull(message = "repo can't be NULL") final Repo repo,
+        @NotNull(message = "dir can't be NULL") final String dir) {
+        this(repo, dir, Snapshot.THREADS);
+    }
+
+    /**
+     * Public ctor.
+     * @param repo Repository
+     * @param dir Directory of the blob store
+     * @param total How many blobs to download in parallel
+     */
+    public Snapshot(
+        @NotNull(message = "repo can't be NULL") final Repo repo,
+        @NotNull(message = "dir can't be NULL") final String dir,
+        final int total) {
+        if (total < 1) {
+            throw new IllegalArgumentException(
+                "number of threads must be positive"
+            );
+        }
+        this.owner = repo;
+        this.store = dir;
+        this.threads = total;
+    }
+
+    /**
+     * Save all files of the tree into the directory.
+     * @param sha SHA of a commit or a tree
+     * @param dir Target directory
+     * @return How many blobs were downloaded
+     * @throws IOException If there is any I/O problem
+     */
+    public int save(
+        @NotNull(message = "sha can't be NULL") final String sha,
+        @NotNull(message = "dir can't be NULL") final File dir)
+        throws IOException {
+        final JsonObject tree = this.owner.git().trees().getRec(sha).json();
+        if (tree.getBoolean("truncated", false)) {
+            throw new IOException(
+                String.format(
+                    "tree %s of %s is too big for one request",
+                    sha, this.owner.coordinates()
+                )
+            );
+        }
+        final Map<String, Collection<JsonObject>> files =
+            new TreeMap<String, Collection<JsonObject>>();
+        int links = 0;
+        for (final JsonObject item
+            : tree.getJsonArray("tree").getValuesAs(JsonObject.class)) {
+            if (!"blob".equals(item.getString("type"))) {
+                continue;
+            }
+            Snapshot.target(dir, item.getString("path"));
+            if (Snapshot.LINK.equals(item.getString("mode", ""))) {
+                ++links;
+                continue;
+            }
+            final String blob = item.getString("sha");
+            if (!files.containsKey(blob)) {
+                files.put(blob, new LinkedList<JsonObject>());
+            }
+            files.get(blob).add(item);
+        }
+        final int loaded = this.fetch(files.keySet());
+        int saved = 0;
+        for (final Map.Entry<String, Collection<JsonObject>> entry
+            : files.entrySet()) {
+            final File blob = this.file(entry.getKey());
+            for (final JsonObject item : entry.getValue()) {
+                final File target = Snapshot.target(
+                    dir, item.getString("path")
+                );
+                FileUtils.copyFile(blob, target);
+                ++saved;
+                if (Snapshot.EXECUTABLE.equals(item.getString("mode", ""))
+                    && !target.setExecutable(true)) {
+                    throw new IOException(
+                        String.format("can't make %s executable", target)
+                    );
+                }
+            }
+        }
+        Logger.info(
+            this,
+            "%d file(s) of %s saved to %s, %d new blob(s), %d link(s) skipped",
+            saved, this.owner.coordinates(), dir, loaded, links
+        );
+        return loaded;
+    }
+
+    /**
+     * Download all blobs that are absent in the store.
+     * @param shas SHAs of blobs
+     * @return How many were downloaded
+     * @throws IOException If there is any I/O problem
+     */
+    private int fetch(final Collection<String> shas) throws IOException {
+        final Blobs blobs = this.owner.git().blobs();
+        final Collection<Future<File>> futures = new LinkedList<Future<File>>();
+        final ExecutorService service = Executors.newFixedThreadPool(
+            this.threads
+        );
+        try {
+            for (final String sha : shas) {
+                final File file = this.file(sha);
+                if (file.exists()) {
+                    continue;
+                }
+                futures.add(
+                    service.submit(
+                        new Callable<File>() {
+                            @Override
+                            public File call() throws IOException {
+                                Snapshot.download(blobs.get(sha), file);
+                                return file;
+                            }
+                        }
+                    )
+                );
+            }
+            for (final Future<File> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw IOException.class.cast(ex.getCause());
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            service.shutdownNow();
+        }
+        return futures.size();
+    }
+
+    /**
+     * Location of a tree path inside the target directory.
+     * @param dir Target directory
+     * @param path Path from the tree
+     * @return File
+     * @throws IOException If the path points outside of the directory
+     */
+    private static File target(final File dir, final String path)
+        throws IOException {
+        final File target = new File(dir, path);
+        if (!target.getCanonicalPath().startsWith(
+            String.format("%s%s", dir.getCanonicalPath(), File.separator)
+        )) {
+            throw new IOException(
+                String.format("path %s is outside of %s", path, dir)
+            );
+        }
+        return target;
+    }
+
+    /**
+     * Location of a blob in the store.
+     * @param sha SHA of the blob
+     * @return File
+     */
+    private File file(final String sha) {
+        return new File(
+            new File(this.store, sha.substring(0, 2)),
+            sha.substring(2)
+        );
+    }
+
+    /**
+     * Download one blob into the file.
+     *
+     * <p>The content is written to a temporary file first and then
+     * renamed, so the store never has partially written blobs.
+     *
+     * @param blob The blob
+     * @param file Where to save it
+     * @throws IOException If there is any I/O problem
+     */
+    private static void download(final Blob blob, final File file)
+        throws IOException {
+        final JsonObject json = blob.json();
+        final byte[] content;
+        if ("base64".equals(json.getString("encoding", "base64"))) {
+            content = DatatypeConverter.parseBase64Binary(
+                json.getString("content")
+            );
+        } else {
+            content = json.getString("content").getBytes(Charsets.UTF_8);
+        }
+        final File temp = new File(
+            file.getParentFile(),
+            String.format(
+                "%s.%d.tmp", file.getName(), Thread.currentThread().getId()
+            )
+        );
+        FileUtils.writeByteArrayToFile(temp, content);
+        if (!temp.renameTo(file) && !file.exists()) {
+            throw new IOException(
+                String.format("can't save blob %s to %s", blob.sha(), file)
+            );
+        }
+        FileUtils.deleteQuietly(temp);
+    }
+}
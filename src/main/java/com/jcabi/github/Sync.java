@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.json.JsonObject;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Incremental synchronization of issues and comments.
+ *
+ * <p>Instead of listing all issues of a repository every time, the
+ * synchronization keeps a high-water mark per repository, which is the
+ * latest {@code updated_at} it has seen, and asks Github only for issues
+ * updated since then, sorted by update time. Comments updated since
+ * their own mark, which is advanced by the comments seen, are fetched
+ * in one listing for the whole repository, through
+ * {@link Issues#comments(Map)}, and get into the store one by one,
+ * as the pages arrive, without being held in memory. Every item that
+ * is new or different from the stored one goes to the
+ * {@link Sync.Store}:
+ *
+ * <pre> Sync.Memory store = new Sync.Memory();
+ * Sync sync = new Sync(repos, store);
+ * while (true) {
+ *   int changed = sync.pull();
+ *   // use store.issues() and store.comments()
+ *   TimeUnit.MINUTES.sleep(1L);
+ * }</pre>
+ *
+ * <p>Pages are read through {@link Bulk}, so there is no extra request
+ * per item. Use it together with
+ * {@link com.jcabi.github.wire.ETagWire}, and every cycle where nothing
+ * changed in a repository costs two conditional requests, which Github
+ * doesn't count against the rate limit.
+ *
+ * <p>The class is thread-safe, as long as the store is.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@ToString
+@EqualsAndHashCode(of = { "repos", "store" })
+public final class Sync {
+
+    /**
+     * Stream of issues, for {@link Sync.Store#mark(Coordinates, String)}.
+     */
+    public static final String ISSUES = "issues";
+
+    /**
+     * Stream of comments, for {@link Sync.Store#mark(Coordinates, String)}.
+     */
+    public static final String COMMENTS = "comments";
+
+    /**
+     * Name of the update time attribute.
+     */
+    private static final String UPDATED = "updated_at";
+
+    /**
+     * Repositories to synchronize.
+     */
+    private final transient Iterable<Repo> repos;
+
+    /**
+     * Store.
+     */
+    private final transient Sync.Store store;
+
+    /**
+     * Public ctor.
+     * @param list Repositories to synchronize
+     * @param str Store to put changes into
+     */
+    public Sync(
+        @NotNull(message = "list can't be NULL") final Iterable<Repo> list,
+        @NotNull(message = "str can't be NULL") final Sync.Store str) {
+        this.repos = list;
+        this.store = str;
+    }
+
+    /**
+     * Run one cycle of synchronization of all repositories.
+     * @return How many issues and comments were new or changed
+     * @throws IOException If there is any I/O problem
+     */
+    public int pull() throws IOException {
+        int changed = 0;
+        for (final Repo repo : this.repos) {
+            changed += this.pull(repo);
+        }
+        return changed;
+    }
+
+    /**
+     * Synchronize one repository.
+     * @param repo Repository
+     * @return How many issues and comments were new or changed
+     * @throws IOException If there is any I/O problem
+     */
+    private int pull(final Repo repo) throws IOException {
+        final Coordinates coords = repo.coordinates();
+        final String since = this.store.mark(coords, Sync.ISSUES);
+        final Map<String, String> params = new HashMap<String, String>(0);
+        params.put("state", "all");
+        params.put("sort", "updated");
+        params.put("direction", "asc");
+        if (since != null) {
+            params.put("since", since);
+        }
+        String top = since;
+        int changed = 0;
+        for (final Issue issue
+            : new Bulk<Issue>(repo.issues().iterate(params))) {
+            final JsonObject json = issue.json();
+            final String updated = json.getString(Sync.UPDATED, "");
+            if (since != null && updated.compareTo(since) < 0) {
+                continue;
+            }
+            if (this.store.issue(coords, issue.number(), json)) {
+                ++changed;
+            }
+            if (top == null || updated.compareTo(top) > 0) {
+                top = updated;
+            }
+        }
+        if (top != null && !top.equals(since)) {
+            this.store.mark(coords, Sync.ISSUES, top);
+        }
+        changed += this.comments(repo);
+        Logger.debug(
+            this, "%d change(s) in %s since %s", changed, coords, since
+        );
+        return changed;
+    }
+
+    /**
+     * Synchronize comments of all issues of the repository, storing
+     * each one as soon as it arrives, in the order of update time, and
+     * advance the high-water mark of comments.
+     * @param repo Repository
+     * @return How many comments were new or changed
+     * @throws IOException If there is any I/O problem
+     */
+    private int comments(final Repo repo) throws IOException {
+        final Coordinates coords = repo.coordinates();
+        final String since = this.store.mark(coords, Sync.COMMENTS);
+        final Map<String, String> params = new HashMap<String, String>(0);
+        params.put("sort", "updated");
+        params.put("direction", "asc");
+        if (since != null) {
+            params.put("since", since);
+        }
+        String top = since;
+        int changed = 0;
+        for (final Comment comment : repo.issues().comments(params)) {
+            final JsonObject json = comment.json();
+            if (this.store.comment(
+                coords, comment.issue().number(), comment.number(), json
+            )) {
+                ++changed;
+            }
+            final String updated = json.getString(Sync.UPDATED, "");
+            if (top == null || updated.compareTo(top) > 0) {
+                top = updated;
+            }
+        }
+        if (top != null && !top.equals(since)) {
+            this.store.mark(coords, Sync.COMMENTS, top);
+        }
+        return changed;
+    }
+
+    /**
+     * Store of synchronized issues and comments.
+     */
+    public interface Store {
+        /**
+         * Get the high-water mark of the stream in the repository.
+         * @param repo Coordinates of the repository
+         * @param stream Either {@link Sync#ISSUES} or {@link Sync#COMMENTS}
+         * @return Latest {@code updated_at} seen, or NULL if none yet
+         * @throws IOException If there is any I/O problem
+         */
+        String mark(Coordinates repo, String stream) throws IOException;
+        /**
+         * Save the high-water mark of the stream in the repository.
+         * @param repo Coordinates of the repository
+         * @param stream Either {@link Sync#ISSUES} or {@link Sync#COMMENTS}
+         * @param time Latest {@code updated_at} seen
+         * @throws IOException If there is any I/O problem
+         */
+        void mark(Coordinates repo, String stream, String time)
+            throws IOException;
+        /**
+         * Save the issue.
+         * @param repo Coordinates of the repository
+         * @param number Number of the issue
+         * @param json JSON of the issue
+         * @return TRUE if it is new or different from the stored one
+         * @throws IOException If there is any I/O problem
+         */
+        boolean issue(Coordinates repo, int number, JsonObject json)
+            throws IOException;
+        /**
+         * Save the comment.
+         * @param repo Coordinates of the repository
+         * @param issue Number of the issue
+         * @param number Number of the comment
+         * @param json JSON of the comment
+         * @return TRUE if it is new or different from the stored one
+         * @throws IOException If there is any I/O problem
+         * @checkstyle ParameterNumber (3 lines)
+         */
+        boolean comment(Coordinates repo, int issue, int number,
+            JsonObject json) throws IOException;
+    }
+
+    /**
+     * Store in memory.
+     *
+     * <p>Issues are kept by keys like {@code "jeff/test#12"} and comments
+     * by keys like {@code "jeff/test#12#455"}, where the last number is
+     * the number of the comment.
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "marks", "all", "notes" })
+    public static final class Memory implements Sync.Store {
+        /**
+         * Marks, by repositories and streams.
+         */
+        private final transient ConcurrentMap<String, String> marks =
+            new ConcurrentHashMap<String, String>(0);
+        /**
+         * Issues.
+         */
+        private final transient ConcurrentMap<String, JsonObject> all =
+            new ConcurrentHashMap<String, JsonObject>(0);
+        /**
+         * Comments.
+         */
+        private final transient ConcurrentMap<String, JsonObject> notes =
+            new ConcurrentHashMap<String, JsonObject>(0);
+        @Override
+        public String mark(final Coordinates repo, final String stream) {
+            return this.marks.get(String.format("%s %s", repo, stream));
+        }
+        @Override
+        public void mark(final Coordinates repo, final String stream,
+            final String time) {
+            this.marks.put(String.format("%s %s", repo, stream), time);
+        }
+        @Override
+        public boolean issue(final Coordinates repo, final int number,
+            final JsonObject json) {
+            return !json.equals(
+                this.all.put(String.format("%s#%d", repo, number), json)
+            );
+        }
+        @Override
+        public boolean comment(final Coordinates repo, final int issue,
+            final int number, final JsonObject json) {
+            return !json.equals(
+                this.notes.put(
+                    String.format("%s#%d#%d", repo, issue, number), json
+                )
+            );
+        }
+        /**
+         * All issues synchronized so far.
+         * @return Issues, by keys
+         */
+        public Map<String, JsonObject> issues() {
+            return Collections.unmodifiableMap(this.all);
+        }
+        /**
+         * All comments synchronized so far.
+         * @return Comments, by keys
+         */
+        public Map<String, JsonObject> comments() {
+            return Collections.unmodifiableMap(this.notes);
+        }
+    }
+
+}
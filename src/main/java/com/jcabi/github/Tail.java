@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.RequestURI;
+import com.jcabi.http.Response;
+import com.jcabi.http.response.JsonResponse;
+import com.jcabi.http.response.RestResponse;
+import com.jcabi.http.response.WebLinkingResponse;
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Tailing of repository and issue events.
+ *
+ * <p>{@link Repo#events()} and {@link Issue#events()} list all events
+ * from the newest to the oldest, every time. This class polls them and
+ * reports only new events, in the order they happened:
+ *
+ * <pre> Tail tail = new Tail(
+ *   new Tail.Listener() {
+ *     &#64;Override
+ *     public void event(Event event) throws IOException {
+ *       System.out.println(new Event.Smart(event).type());
+ *     }
+ *   }
+ * );
+ * for (Repo repo : repos) {
+ *   tail.follow(repo);
+ * }
+ * // later
+ * tail.close();</pre>
+ *
+ * <p>Every poll is a conditional request with {@code If-None-Match}, so
+ * a poll that finds nothing new costs nothing from the rate limit. Pages
+ * are fetched only until the last seen event is reached. The delay
+ * between polls is the one Github asks for in {@code X-Poll-Interval},
+ * but not shorter than the one given to the constructor. The first poll
+ * only remembers where the stream is and reports nothing. All followed
+ * repositories and issues are polled by a small pool of threads.
+ *
+ * <p>Events given to the listener have their JSON already loaded.
+ * Exceptions of the listener are logged and the event is not delivered
+ * again.
+ *
+ * <p>The class is mutable and thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see <a href="http://developer.github.com/v3/issues/events/">Issue Events API</a>
+ */
+public final class Tail implements Closeable {
+
+    /**
+     * Maximum number of events on a page.
+     */
+    private static final String PER_PAGE = "100";
+
+    /**
+     * Listener.
+     */
+    private final transient Tail.Listener listener;
+
+    /**
+     * Minimum delay between polls, in milliseconds.
+     */
+    private final transient long delay;
+
+    /**
+     * Scheduler of polls.
+     */
+    private final transient ScheduledExecutorService service;
+
+    /**
+     * Public ctor, polling not more often than once a minute.
+     * @param lst Listener of new events
+     */
+    public Tail(@NotNull(message = "lst can't be NULL")
+        final Tail.Listener lst) {
+        this(lst, 1L, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Public ctor.
+     * @param lst Listener of new events
+     * @param time Minimum delay between polls
+     * @param unit Unit of time
+     */
+    public Tail(
+        @NotNull(message = "lst can't be NULL") final Tail.Listener lst,
+        final long time,
+        @NotNull(message = "unit can't be NULL") final TimeUnit unit) {
+        this.listener = lst;
+        this.delay = unit.toMillis(time);
+        this.service = Executors.newScheduledThreadPool(
+            2, new VerboseThreads(Tail.class)
+        );
+    }
+
+    /**
+     * Follow events of all issues of the repository.
+     * @param repo Repository
+     */
+    public void follow(@NotNull(message = "repo can't be NULL")
+        final Repo repo) {
+        this.start(repo, Tail.root(repo).path("/events").back());
+    }
+
+    /**
+     * Follow events of the issue.
+     * @param issue Issue
+     */
+    public void follow(@NotNull(message = "issue can't be NULL")
+        final Issue issue) {
+        this.start(
+            issue.repo(),
+            Tail.root(issue.repo())
+                .path(Integer.toString(issue.number()))
+                .path("/events")
+                .back()
+        );
+    }
+
+    @Override
+    public void close() {
+        this.service.shutdownNow();
+    }
+
+    /**
+     * Start polling.
+     * @param repo Repository of events
+     * @param entry Request to poll
+     */
+    private void start(final Repo repo, final Request entry) {
+        this.service.submit(
+            new Tail.Follower(
+                repo,
+                entry.uri().queryParam("per_page", Tail.PER_PAGE).back()
+            )
+        );
+    }
+
+    /**
+     * Entry of issues of the repository.
+     * @param repo Repository
+     * @return Request builder of the URI
+     */
+    private static RequestURI root(final Repo repo) {
+        final Coordinates coords = repo.coordinates();
+        return repo.github().entry().uri()
+            .path("/repos")
+            .path(coords.user())
+            .path(coords.repo())
+            .path("/issues");
+    }
+
+    /**
+     * First value of the header.
+     * @param response Response
+     * @param name Name of the header, case insensitive
+     * @return Value or NULL if absent
+     */
+    private static String header(final Response response, final String name) {
+        String value = null;
+        for (final Map.Entry<String, List<String>> header
+            : response.headers().entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())
+                && !header.getValue().isEmpty()) {
+                value = header.getValue().get(0);
+                break;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Listener of new events.
+     */
+    public interface Listener {
+        /**
+         * New event happened.
+         * @param event The event
+         * @throws IOException If there is any I/O problem
+         */
+        void event(Event event) throws IOException;
+    }
+
+    /**
+     * Poller of one stream of events, which reschedules itself.
+     */
+    private final class Follower implements Runnable {
+        /**
+         * Repository.
+         */
+        private final transient Repo repo;
+        /**
+         * Request of the first page.
+         */
+        private final transient Request entry;
+        /**
+         * ETag of the last seen first page.
+         */
+        private transient String etag;
+        /**
+         * ID of the last seen event, negative if nothing seen yet.
+         */
+        private transient long last = -1L;
+        /**
+         * Ctor.
+         * @param rpo Repository
+         * @param req Request of the first page
+         */
+        Follower(final Repo rpo, final Request req) {
+            this.repo = rpo;
+            this.entry = req;
+        }
+        @Override
+        public void run() {
+            long next = Tail.this.delay;
+            try {
+                next = Math.max(next, this.poll());
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "failed to poll %s: %s",
+                    this.entry.uri().get(), ex.getMessage()
+                );
+            // @checkstyle IllegalCatch (1 line)
+            } catch (final RuntimeException ex) {
+                Logger.warn(
+                    this, "failed to poll %s: %[exception]s",
+                    this.entry.uri().get(), ex
+                );
+            }
+            try {
+                Tail.this.service.schedule(
+                    this, next, TimeUnit.MILLISECONDS
+                );
+            } catch (final RejectedExecutionException ex) {
+                Logger.debug(this, "tail is closed: %s", ex.getMessage());
+            }
+        }
+        /**
+         * Poll once.
+         * @return Delay Github asks for, in milliseconds
+         * @throws IOException If there is any I/O problem
+         */
+        private long poll() throws IOException {
+            Request req = this.entry;
+            if (this.etag != null) {
+                req = req.header(HttpHeaders.IF_NONE_MATCH, this.etag);
+            }
+            final RestResponse first = req.fetch().as(RestResponse.class);
+            final String interval = Tail.header(first, "X-Poll-Interval");
+            long wait = 0L;
+            if (interval != null) {
+                wait = TimeUnit.SECONDS.toMillis(Long.parseLong(interval));
+            }
+            if (first.status() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+                first.assertStatus(HttpURLConnection.HTTP_OK);
+                this.etag = Tail.header(first, HttpHeaders.ETAG);
+                this.deliver(this.fresh(first));
+            }
+            return wait;
+        }
+        /**
+         * Read pages until the last seen event.
+         * @param first First page
+         * @return New events, the oldest first
+         * @throws IOException If there is any I/O problem
+         */
+        private List<JsonObject> fresh(final RestResponse first)
+            throws IOException {
+            final LinkedList<JsonObject> fresh = new LinkedList<JsonObject>();
+            RestResponse page = first;
+            boolean reached = false;
+            while (true) {
+                for (final JsonValue value
+                    : page.as(JsonResponse.class).json().readArray()) {
+                    final JsonObject json = JsonObject.class.cast(value);
+                    if (json.getJsonNumber("id").longValue() <= this.last) {
+                        reached = true;
+                        break;
+                    }
+                    fresh.addFirst(json);
+                }
+                final WebLinkingResponse.Link link = page
+                    .as(WebLinkingResponse.class).links().get("next");
+                if (reached || this.last < 0L || link == null) {
+                    break;
+                }
+                page = page.jump(link.uri()).fetch()
+                    .as(RestResponse.class)
+                    .assertStatus(HttpURLConnection.HTTP_OK);
+            }
+            return fresh;
+        }
+        /**
+         * Deliver new events to the listener, unless it's the first poll.
+         * @param fresh New events, the oldest first
+         */
+        private void deliver(final List<JsonObject> fresh) {
+            final boolean started = this.last >= 0L;
+            for (final JsonObject json : fresh) {
+                this.last = Math.max(
+                    this.last, json.getJsonNumber("id").longValue()
+                );
+                if (started) {
+                    this.publish(json);
+                }
+            }
+            if (this.last < 0L) {
+                this.last = 0L;
+            }
+        }
+        /**
+         * Notify the listener.
+         * @param json JSON of the event
+         */
+        private void publish(final JsonObject json) {
+            try {
+                Tail.this.listener.event(
+                    new RtEvent(
+                        this.repo.github().entry(), this.repo,
+                        json.getInt("id"), new Seed(json)
+                    )
+                );
+            } catch (final IOException ex) {
+                Logger.warn(this, "listener failed: %s", ex.getMessage());
+            // @checkstyle IllegalCatch (1 line)
+            } catch (final RuntimeException ex) {
+                Logger.warn(this, "listener failed: %[exception]s", ex);
+            }
+        }
+    }
+
+}
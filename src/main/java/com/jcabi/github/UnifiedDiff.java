@@ -0,0 +1,510 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.io.Charsets;
+
+/**
+ * Unified diff, parsed file by file and hunk by hunk while it is read.
+ *
+ * <p>Use it with {@link RepoCommits#rawDiff(String, String)} or
+ * {@link RepoCommits#rawPatch(String, String)}:
+ *
+ * <pre> InputStream stream = repo.commits().rawDiff("v1.0", "v2.0");
+ * try {
+ *     for (UnifiedDiff.File file : new UnifiedDiff(stream)) {
+ *         for (UnifiedDiff.Hunk hunk : file.hunks()) {
+ *             System.out.println(file.to() + hunk.header());
+ *         }
+ *     }
+ * } finally {
+ *     stream.close();
+ * }</pre>
+ *
+ * <p>Only the hunk being read is kept in memory, no matter how big the
+ * diff is. This is why the diff can be iterated only once, and the hunks
+ * of a file are available only until the iteration moves on to the next
+ * file. The hunk itself is held whole, though, so one big hunk, like
+ * a generated file rewritten at once, takes as much memory as all its
+ * lines. Everything outside of files, like commit messages and diffstats
+ * of a patch, is skipped.
+ *
+ * <p>The class is not thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see <a href="http://www.gnu.org/software/diffutils/manual/html_node/Detailed-Unified.html">Unified Format</a>
+ */
+@ToString(of = "lines")
+@EqualsAndHashCode(of = "lines")
+public final class UnifiedDiff implements Iterable<UnifiedDiff.File> {
+
+    /**
+     * First line of a file.
+     */
+    private static final String GIT = "diff --git ";
+
+    /**
+     * Header of a hunk.
+     */
+    private static final Pattern HUNK = Pattern.compile(
+        "@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@.*"
+    );
+
+    /**
+     * Lines of the diff.
+     */
+    private final transient UnifiedDiff.Lines lines;
+
+    /**
+     * Was it iterated already?
+     */
+    private final transient AtomicBoolean used;
+
+    /**
+     * Public ctor, for a stream of UTF-8 bytes.
+     * @param stream Stream with the diff
+     */
+    public UnifiedDiff(
+        @NotNull(message = "stream can't be NULL") final InputStream stream) {
+        this(new InputStreamReader(stream, Charsets.UTF_8));
+    }
+
+    /**
+     * Public ctor.
+     * @param reader Reader of the diff
+     */
+    public UnifiedDiff(
+        @NotNull(message = "reader can't be NULL") final Reader reader) {
+        this.lines = new UnifiedDiff.Lines(new BufferedReader(reader));
+        this.used = new AtomicBoolean();
+    }
+
+    @Override
+    @NotNull(message = "iterator is never NULL")
+    public Iterator<UnifiedDiff.File> iterator() {
+        if (this.used.getAndSet(true)) {
+            throw new IllegalStateException(
+                "unified diff can be iterated only once"
+            );
+        }
+        return new UnifiedDiff.Files(this.lines);
+    }
+
+    /**
+     * One file of the diff.
+     */
+    @ToString(of = { "source", "target" })
+    @EqualsAndHashCode(of = { "source", "target", "head" })
+    public static final class File {
+        /**
+         * Path before the change.
+         */
+        private final transient String source;
+        /**
+         * Path after the change.
+         */
+        private final transient String target;
+        /**
+         * Extended header lines, starting from "diff --git".
+         */
+        private final transient List<String> head;
+        /**
+         * Hunks.
+         */
+        private final transient Iterator<UnifiedDiff.Hunk> items;
+        /**
+         * Ctor.
+         * @param from Path before the change
+         * @param into Path after the change
+         * @param header Extended header lines
+         * @param hunks Hunks
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        File(final String from, final String into, final List<String> header,
+            final Iterator<UnifiedDiff.Hunk> hunks) {
+            this.source = from;
+            this.target = into;
+            this.head = Collections.unmodifiableList(header);
+            this.items = hunks;
+        }
+        /**
+         * Path before the change, "/dev/null" if the file is new.
+         * @return Path
+         */
+        public String from() {
+            return this.source;
+        }
+        /**
+         * Path after the change, "/dev/null" if the file is deleted.
+         * @return Path
+         */
+        public String to() {
+            return this.target;
+        }
+        /**
+         * Extended header lines: "diff --git", "index", "new file mode",
+         * "rename from", "Binary files ... differ", etc.
+         * @return Lines
+         */
+        public List<String> header() {
+            return this.head;
+        }
+        /**
+         * Hunks, read from the diff while iterated, only once.
+         * @return Hunks
+         */
+        public Iterable<UnifiedDiff.Hunk> hunks() {
+            return new Iterable<UnifiedDiff.Hunk>() {
+                @Override
+                public Iterator<UnifiedDiff.Hunk> iterator() {
+                    return UnifiedDiff.File.this.items;
+                }
+            };
+        }
+    }
+
+    /**
+     * One hunk of a file.
+     */
+    @ToString(of = "head")
+    @EqualsAndHashCode(of = { "head", "body" })
+    public static final class Hunk {
+        /**
+         * Header, starting with "@@".
+         */
+        private final transient String head;
+        /**
+         * Lines, each starting with " ", "+", "-" or "\".
+         */
+        private final transient List<String> body;
+        /**
+         * Ctor.
+         * @param header Header
+         * @param lines Lines
+         */
+        Hunk(final String header, final List<String> lines) {
+            this.head = header;
+            this.body = Collections.unmodifiableList(lines);
+        }
+        /**
+         * Header of the hunk, for example "@@ -1,3 +1,4 @@ class Foo".
+         * @return Header
+         */
+        public String header() {
+            return this.head;
+        }
+        /**
+         * First line of the hunk in the old file.
+         * @return Line number
+         */
+        public int from() {
+            return Integer.parseInt(
+                UnifiedDiff.Hunk.parse(this.head).group(1)
+            );
+        }
+        /**
+         * First line of the hunk in the new file.
+         * @return Line number
+         */
+        public int to() {
+            return Integer.parseInt(
+                UnifiedDiff.Hunk.parse(this.head).group(Tv.THREE)
+            );
+        }
+        /**
+         * Lines of the hunk, with their prefixes.
+         * @return Lines
+         */
+        public List<String> lines() {
+            return this.body;
+        }
+        /**
+         * Parse the header.
+         * @param header Header of a hunk
+         * @return Matcher with groups matched
+         */
+        private static Matcher parse(final String header) {
+            final Matcher matcher = UnifiedDiff.HUNK.matcher(header);
+            if (!matcher.matches()) {
+                throw new IllegalStateException(
+                    String.format("broken hunk header: \"%s\"", header)
+                );
+            }
+            return matcher;
+        }
+    }
+
+    /**
+     * Lines of a diff, with one line of look-ahead.
+     */
+    private static final class Lines {
+        /**
+         * Reader.
+         */
+        private final transient BufferedReader reader;
+        /**
+         * Line read ahead, or NULL.
+         */
+        private transient String ahead;
+        /**
+         * Ctor.
+         * @param rdr Reader
+         */
+        Lines(final BufferedReader rdr) {
+            this.reader = rdr;
+        }
+        /**
+         * Next line, without consuming it.
+         * @return Line or NULL at the end
+         */
+        public String peek() {
+            if (this.ahead == null) {
+                try {
+                    this.ahead = this.reader.readLine();
+                } catch (final IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            return this.ahead;
+        }
+        /**
+         * Consume next line.
+         * @return Line or NULL at the end
+         */
+        public String next() {
+            final String line = this.peek();
+            this.ahead = null;
+            return line;
+        }
+    }
+
+    /**
+     * Iterator of files.
+     */
+    private static final class Files implements Iterator<UnifiedDiff.File> {
+        /**
+         * Lines.
+         */
+        private final transient UnifiedDiff.Lines lines;
+        /**
+         * Hunks of the file returned last, or NULL.
+         */
+        private transient UnifiedDiff.Hunks current;
+        /**
+         * Ctor.
+         * @param lns Lines
+         */
+        Files(final UnifiedDiff.Lines lns) {
+            this.lines = lns;
+        }
+        @Override
+        public boolean hasNext() {
+            if (this.current != null) {
+                this.current.skip();
+                this.current = null;
+            }
+            while (this.lines.peek() != null
+                && !this.lines.peek().startsWith(UnifiedDiff.GIT)) {
+                this.lines.next();
+            }
+            return this.lines.peek() != null;
+        }
+        @Override
+        public UnifiedDiff.File next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("no more files in the diff");
+            }
+            final List<String> header = new ArrayList<String>(0);
+            header.add(this.lines.next());
+            final String[] paths = UnifiedDiff.Files.paths(header.get(0));
+            while (this.lines.peek() != null
+                && !this.lines.peek().startsWith("@@")
+                && !this.lines.peek().startsWith(UnifiedDiff.GIT)) {
+                final String line = this.lines.next();
+                header.add(line);
+                if (line.startsWith("--- ")
+                    || line.startsWith("rename from ")) {
+                    paths[0] = UnifiedDiff.Files.path(line);
+                } else if (line.startsWith("+++ ")
+                    || line.startsWith("rename to ")) {
+                    paths[1] = UnifiedDiff.Files.path(line);
+                }
+            }
+            this.current = new UnifiedDiff.Hunks(this.lines);
+            return new UnifiedDiff.File(
+                paths[0], paths[1], header, this.current
+            );
+        }
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("#remove()");
+        }
+        /**
+         * Paths from the "diff --git a/x b/y" line.
+         * @param line The line
+         * @return Two paths
+         */
+        private static String[] paths(final String line) {
+            final String names = line.substring(UnifiedDiff.GIT.length());
+            final int split = names.lastIndexOf(" b/");
+            final String[] paths = new String[2];
+            if (split > 0 && names.startsWith("a/")) {
+                paths[0] = names.substring(2, split);
+                paths[1] = names.substring(split + Tv.THREE);
+            } else {
+                paths[0] = names;
+                paths[1] = names;
+            }
+            return paths;
+        }
+        /**
+         * Path from a "---", "+++", "rename from" or "rename to" line.
+         * @param line The line
+         * @return Path
+         */
+        private static String path(final String line) {
+            String path = line.substring(line.indexOf(' ') + 1);
+            if (line.startsWith("rename ")) {
+                path = path.substring(path.indexOf(' ') + 1);
+            }
+            final int tab = path.indexOf('\t');
+            if (tab >= 0) {
+                path = path.substring(0, tab);
+            }
+            if (path.startsWith("a/") || path.startsWith("b/")) {
+                path = path.substring(2);
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Iterator of hunks of one file.
+     */
+    private static final class Hunks implements Iterator<UnifiedDiff.Hunk> {
+        /**
+         * Lines.
+         */
+        private final transient UnifiedDiff.Lines lines;
+        /**
+         * Is the file over, because the next one started?
+         */
+        private transient boolean over;
+        /**
+         * Ctor.
+         * @param lns Lines
+         */
+        Hunks(final UnifiedDiff.Lines lns) {
+            this.lines = lns;
+        }
+        @Override
+        public boolean hasNext() {
+            return !this.over && this.lines.peek() != null
+                && this.lines.peek().startsWith("@@");
+        }
+        @Override
+        public UnifiedDiff.Hunk next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("no more hunks in the file");
+            }
+            final String header = this.lines.next();
+            final Matcher matcher = UnifiedDiff.Hunk.parse(header);
+            int old = UnifiedDiff.Hunks.count(matcher.group(2));
+            int fresh = UnifiedDiff.Hunks.count(matcher.group(Tv.FOUR));
+            final List<String> body = new ArrayList<String>(Tv.TEN);
+            while (old > 0 || fresh > 0) {
+                final String line = this.lines.next();
+                if (line == null) {
+                    break;
+                }
+                body.add(line);
+                if (line.startsWith("-")) {
+                    --old;
+                } else if (line.startsWith("+")) {
+                    --fresh;
+                } else if (!line.startsWith("\\")) {
+                    --old;
+                    --fresh;
+                }
+            }
+            while (this.lines.peek() != null
+                && this.lines.peek().startsWith("\\")) {
+                body.add(this.lines.next());
+            }
+            return new UnifiedDiff.Hunk(header, body);
+        }
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("#remove()");
+        }
+        /**
+         * Skip the hunks not read yet and close the file.
+         */
+        public void skip() {
+            while (this.hasNext()) {
+                this.next();
+            }
+            this.over = true;
+        }
+        /**
+         * Number of lines in a hunk range.
+         * @param group Matched group, maybe NULL
+         * @return Number of lines
+         */
+        private static int count(final String group) {
+            final int count;
+            if (group == null) {
+                count = 1;
+            } else {
+                count = Integer.parseInt(group);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index of documents, for {@link MkSearch}.
+ *
+ * <p>Every document has an ID, a few text fields, which are split to
+ * lower-case words, a few exact fields, which are matched as a whole
+ * and used by qualifiers of queries, like {@code state:open}, and a few
+ * attributes used for sorting. A query is a list of keywords and
+ * qualifiers, for example {@code "crash in:title repo:jeff/test
+ * label:bug"}. All keywords must be present in at least one of the
+ * searched text fields (all of them, unless {@code in:} qualifier says
+ * otherwise), all qualifiers must match exactly, case-insensitively.
+ * Attributes can be used by qualifiers too, with ranges, like
+ * {@code updated:<2014-05-01}, {@code created:>=2014-01-01} or
+ * {@code updated:2014-01-01..2014-02-01}; every attribute has a sorted
+ * secondary index for that. A field can be both text and exact, like
+ * {@code path} of files: keywords are looked up in its words, while the
+ * qualifier is matched against its exact values. A qualifier of a field
+ * that is text only matches documents with all words of its value.
+ * Qualifiers that are unknown to the index are ignored.
+ *
+ * <p>The class is not thread-safe while being built, and is thread-safe
+ * after that, since it's never modified.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+final class InvertedIndex {
+
+    /**
+     * Pattern of a query term.
+     */
+    private static final Pattern TERM = Pattern.compile(
+        "(?:([a-z]+):)?(?:\"([^\"]*)\"|(\\S+))", Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * Pattern of a word separator.
+     */
+    private static final Pattern SEPARATOR = Pattern.compile(
+        "[^\\p{L}\\p{N}]+"
+    );
+
+    /**
+     * Pattern of a range.
+     */
+    private static final Pattern RANGE = Pattern.compile(
+        "(?:(<=|>=|<|>)(.+))|(?:(.+)\\.\\.(.+))"
+    );
+
+    /**
+     * Suffix that is greater than any suffix of a value, to make
+     * dates in bounds cover the whole day.
+     */
+    private static final String MAX = "\uffff";
+
+    /**
+     * IDs of documents.
+     */
+    private final transient List<String> ids = new ArrayList<String>(0);
+
+    /**
+     * Names of text fields.
+     */
+    private final transient Collection<String> texts;
+
+    /**
+     * Postings of text fields, by fields and then by words.
+     */
+    private final transient Map<String, Map<String, BitSet>> postings =
+        new HashMap<String, Map<String, BitSet>>(0);
+
+    /**
+     * Postings of exact fields, by fields and then by values.
+     */
+    private final transient Map<String, Map<String, BitSet>> values =
+        new HashMap<String, Map<String, BitSet>>(0);
+
+    /**
+     * Attributes for sorting, by names and then by documents.
+     */
+    private final transient Map<String, Map<Integer, String>> attrs =
+        new HashMap<String, Map<Integer, String>>(0);
+
+    /**
+     * Sorted secondary indexes of attributes, by names and then by values.
+     */
+    private final transient Map<String, NavigableMap<String, BitSet>> ranges =
+        new HashMap<String, NavigableMap<String, BitSet>>(0);
+
+    /**
+     * Ctor.
+     * @param text Names of text fields
+     * @param exact Names of exact fields
+     */
+    InvertedIndex(final Collection<String> text,
+        final Collection<String> exact) {
+        this.texts = Collections.unmodifiableCollection(text);
+        for (final String field : text) {
+            this.postings.put(field, new HashMap<String, BitSet>(0));
+        }
+        for (final String field : exact) {
+            this.values.put(field, new HashMap<String, BitSet>(0));
+        }
+    }
+
+    /**
+     * Add a document.
+     * @param id ID of the document
+     * @return Number of the document in the index
+     */
+    public int add(final String id) {
+        this.ids.add(id);
+        return this.ids.size() - 1;
+    }
+
+    /**
+     * Index a text of the document.
+     * @param doc Number of the document
+     * @param field Text field
+     * @param text The text
+     */
+    public void text(final int doc, final String field, final String text) {
+        for (final String word : InvertedIndex.words(text)) {
+            InvertedIndex.post(this.postings, doc, field, word);
+        }
+    }
+
+    /**
+     * Index an exact value of the document.
+     * @param doc Number of the document
+     * @param field Exact field
+     * @param value The value
+     */
+    public void exact(final int doc, final String field, final String value) {
+        InvertedIndex.post(
+            this.values, doc, field, value.toLowerCase(Locale.ENGLISH)
+        );
+    }
+
+    /**
+     * Set an attribute of the document, for sorting.
+     * @param doc Number of the document
+     * @param name Name of the attribute
+     * @param value Value, compared as a string
+     */
+    public void attr(final int doc, final String name, final String value) {
+        Map<Integer, String> values = this.attrs.get(name);
+        if (values == null) {
+            values = new HashMap<Integer, String>(0);
+            this.attrs.put(name, values);
+        }
+        values.put(doc, value);
+        NavigableMap<String, BitSet> sorted = this.ranges.get(name);
+        if (sorted == null) {
+            sorted = new TreeMap<String, BitSet>();
+            this.ranges.put(name, sorted);
+        }
+        BitSet docs = sorted.get(value);
+        if (docs == null) {
+            docs = new BitSet();
+            sorted.put(value, docs);
+        }
+        docs.set(doc);
+    }
+
+    /**
+     * Find documents.
+     * @param query Query, with keywords and qualifiers
+     * @param sort Name of the attribute to sort by, or anything else
+     *  to keep documents in the order they were added
+     * @param order Either "asc" or "desc"
+     * @return IDs of documents found
+     */
+    public List<String> find(final String query, final String sort,
+        final String order) {
+        final BitSet found = new BitSet(this.ids.size());
+        found.set(0, this.ids.size());
+        final Collection<String> keywords = new LinkedList<String>();
+        Collection<String> fields = this.texts;
+        final Matcher matcher = InvertedIndex.TERM.matcher(query);
+        while (matcher.find()) {
+            String value = matcher.group(2);
+            if (value == null) {
+                value = matcher.group(Tv.THREE);
+            }
+            final String qualifier = matcher.group(1);
+            if (qualifier == null) {
+                keywords.addAll(InvertedIndex.words(value));
+            } else if ("in".equalsIgnoreCase(qualifier)) {
+                fields = Arrays.asList(
+                    value.toLowerCase(Locale.ENGLISH).split(",")
+                );
+            } else {
+                final String field = qualifier.toLowerCase(Locale.ENGLISH);
+                if (this.values.containsKey(field)) {
+                    found.and(
+                        InvertedIndex.docs(
+                            this.values.get(field),
+                            value.toLowerCase(Locale.ENGLISH)
+                        )
+                    );
+                } else if (this.postings.containsKey(field)) {
+                    for (final String word : InvertedIndex.words(value)) {
+                        found.and(
+                            InvertedIndex.docs(this.postings.get(field), word)
+                        );
+                    }
+                } else if (this.ranges.containsKey(field)) {
+                    found.and(
+                        InvertedIndex.range(this.ranges.get(field), value)
+                    );
+                }
+            }
+        }
+        for (final String word : keywords) {
+            final BitSet any = new BitSet(this.ids.size());
+            for (final String field : fields) {
+                if (this.texts.contains(field)) {
+                    any.or(InvertedIndex.docs(this.postings.get(field), word));
+                }
+            }
+            found.and(any);
+        }
+        return this.sorted(found, sort, "desc".equalsIgnoreCase(order));
+    }
+
+    /**
+     * Sort found documents and take their IDs.
+     * @param found Found documents
+     * @param sort Attribute to sort by
+     * @param desc Descending order?
+     * @return IDs
+     */
+    private List<String> sorted(final BitSet found, final String sort,
+        final boolean desc) {
+        final List<Integer> docs = new ArrayList<Integer>(found.cardinality());
+        for (int doc = found.nextSetBit(0); doc >= 0;
+            doc = found.nextSetBit(doc + 1)) {
+            docs.add(doc);
+        }
+        final Map<Integer, String> values = this.attrs.get(sort);
+        if (values != null) {
+            Collections.sort(
+                docs,
+                new Comparator<Integer>() {
+                    @Override
+                    public int compare(final Integer left,
+                        final Integer right) {
+                        int cmp = InvertedIndex.value(values, left)
+                            .compareTo(InvertedIndex.value(values, right));
+                        if (desc) {
+                            cmp = -cmp;
+                        }
+                        return cmp;
+                    }
+                }
+            );
+        }
+        final List<String> result = new ArrayList<String>(docs.size());
+        for (final Integer doc : docs) {
+            result.add(this.ids.get(doc));
+        }
+        return result;
+    }
+
+    /**
+     * Post a document to the field.
+     * @param fields Postings of text or exact fields
+     * @param doc Number of the document
+     * @param field Field
+     * @param key Word or value
+     */
+    private static void post(final Map<String, Map<String, BitSet>> fields,
+        final int doc, final String field, final String key) {
+        final Map<String, BitSet> values = fields.get(field);
+        if (values == null) {
+            throw new IllegalArgumentException(
+                String.format("field '%s' is not in the index", field)
+            );
+        }
+        BitSet docs = values.get(key);
+        if (docs == null) {
+            docs = new BitSet();
+            values.put(key, docs);
+        }
+        docs.set(doc);
+    }
+
+    /**
+     * Documents with the word or value.
+     * @param values Postings of the field
+     * @param key Word or value
+     * @return Documents, empty if none
+     */
+    private static BitSet docs(final Map<String, BitSet> values,
+        final String key) {
+        BitSet docs = values.get(key);
+        if (docs == null) {
+            docs = new BitSet(0);
+        }
+        return docs;
+    }
+
+    /**
+     * Documents with attribute values in the range.
+     * @param sorted Sorted index of the attribute
+     * @param range Range, like {@code ">=2014"} or {@code "2014..2015"},
+     *  or an exact value
+     * @return Documents, empty if none
+     */
+    private static BitSet range(final NavigableMap<String, BitSet> sorted,
+        final String range) {
+        final Matcher matcher = InvertedIndex.RANGE.matcher(range);
+        final Collection<BitSet> matched;
+        if (!matcher.matches()) {
+            matched = sorted.subMap(
+                range, true, range + InvertedIndex.MAX, true
+            ).values();
+        } else if (matcher.group(1) == null) {
+            matched = sorted.subMap(
+                matcher.group(Tv.THREE), true,
+                matcher.group(Tv.FOUR) + InvertedIndex.MAX, true
+            ).values();
+        } else {
+            final String bound = matcher.group(2);
+            final String operator = matcher.group(1);
+            if ("<".equals(operator)) {
+                matched = sorted.headMap(bound, false).values();
+            } else if ("<=".equals(operator)) {
+                matched = sorted.headMap(
+                    bound + InvertedIndex.MAX, true
+                ).values();
+            } else if (">".equals(operator)) {
+                matched = sorted.tailMap(
+                    bound + InvertedIndex.MAX, false
+                ).values();
+            } else {
+                matched = sorted.tailMap(bound, true).values();
+            }
+        }
+        final BitSet docs = new BitSet();
+        for (final BitSet values : matched) {
+            docs.or(values);
+        }
+        return docs;
+    }
+
+    /**
+     * Attribute of the document.
+     * @param values Values of the attribute
+     * @param doc Number of the document
+     * @return Value, empty if absent
+     */
+    private static String value(final Map<Integer, String> values,
+        final Integer doc) {
+        String value = values.get(doc);
+        if (value == null) {
+            value = "";
+        }
+        return value;
+    }
+
+    /**
+     * Split text to lower-case words.
+     * @param text Text
+     * @return Words
+     */
+    private static Collection<String> words(final String text) {
+        final Collection<String> words = new LinkedList<String>();
+        for (final String word : InvertedIndex.SEPARATOR.split(
+            text.toLowerCase(Locale.ENGLISH)
+        )) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+}
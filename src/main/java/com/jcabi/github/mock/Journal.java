@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import javax.validation.constraints.NotNull;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.w3c.dom.Node;
+import org.xembly.Directive;
+import org.xembly.Directives;
+import org.xembly.ImpossibleModificationException;
+import org.xembly.SyntaxException;
+import org.xembly.Xembler;
+
+/**
+ * Journal of directives, with a snapshot, in a directory.
+ *
+ * <p>The directory contains {@code snapshot.xml}, where the first line
+ * is the number of the last batch folded into the snapshot and the rest
+ * is the XML document, and {@code journal.txt}, where every batch of
+ * directives applied after the snapshot is a record of a header line
+ * with the batch number and the length of the script in bytes, followed
+ * by the script itself. A record that was not written till the end
+ * (because of a crash) is ignored and cut off when the journal is opened.
+ *
+ * <p>The document is kept in memory as a live DOM, and every batch is
+ * applied to it in place. It is serialized into an {@link XML} only when
+ * {@link #xml()} is called, and that object is returned until the next
+ * batch, so a series of batches with no reads in between costs neither
+ * parsing nor printing of the document.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @see MkStorage.Journaled
+ */
+final class Journal {
+
+    /**
+     * Snapshot file.
+     */
+    private final transient File snapshot;
+
+    /**
+     * Journal file.
+     */
+    private final transient File file;
+
+    /**
+     * Stream to append records to, or NULL if the journal is closed.
+     */
+    private transient FileOutputStream out;
+
+    /**
+     * Live DOM of the current document.
+     */
+    private transient Node dom;
+
+    /**
+     * Current document, or NULL if it was modified since the last
+     * {@link #xml()}.
+     */
+    private transient XML doc;
+
+    /**
+     * The last document returned by {@link #xml()}, if it was modified
+     * after that, or NULL.
+     */
+    private transient XML previous;
+
+    /**
+     * Kinds of search indexes touched since {@link #previous}.
+     */
+    private final transient Collection<String> touched =
+        new HashSet<String>(0);
+
+    /**
+     * Number of the last applied batch.
+     */
+    private transient long last;
+
+    /**
+     * Number of the last batch in the snapshot.
+     */
+    private transient long base;
+
+    /**
+     * Are there records that are not synced to the disk yet?
+     */
+    private transient boolean dirty;
+
+    /**
+     * Is fsync already scheduled?
+     */
+    private transient boolean syncs;
+
+    /**
+     * Is compaction already scheduled?
+     */
+    private transient boolean compacts;
+
+    /**
+     * Ctor, which reconstructs the state from the directory.
+     * @param dir Directory
+     * @throws IOException If there is any I/O problem
+     */
+    Journal(@NotNull(message = "dir can't be NULL") final File dir)
+        throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException(String.format("can't create %s", dir));
+        }
+        this.snapshot = new File(dir, "snapshot.xml");
+        this.file = new File(dir, "journal.txt");
+        this.load();
+        this.out = new FileOutputStream(this.file, true);
+    }
+
+    /**
+     * Current document.
+     * @return XML document, the same until the next {@link #apply(Iterable)}
+     */
+    public synchronized XML xml() {
+        if (this.doc == null) {
+            this.doc = new XMLDocument(this.dom);
+            if (this.previous != null) {
+                MkSearch.modified(this.previous, this.doc, this.touched);
+                this.previous = null;
+            }
+            this.touched.clear();
+        }
+        return this.doc;
+    }
+
+    /**
+     * Apply directives and append them to the journal.
+     * @param dirs Directives
+     * @return How many batches are in the journal now
+     * @throws IOException If there is any I/O problem
+     */
+    public synchronized long apply(final Iterable<Directive> dirs)
+        throws IOException {
+        if (this.out == null) {
+            throw new IllegalStateException("journal is closed");
+        }
+        try {
+            new Xembler(dirs).apply(this.dom);
+        } catch (final ImpossibleModificationException ex) {
+            this.load();
+            throw new IllegalArgumentException(ex);
+        }
+        final byte[] script = new Directives(dirs).toString()
+            .getBytes(Charsets.UTF_8);
+        this.out.write(
+            String.format("%d %d\n", this.last + 1, script.length)
+                .getBytes(Charsets.UTF_8)
+        );
+        this.out.write(script);
+        this.out.write('\n');
+        this.last += 1;
+        this.stale(MkSearch.touched(dirs));
+        this.dirty = true;
+        return this.last - this.base;
+    }
+
+    /**
+     * Force all appended records to the disk.
+     * @throws IOException If there is any I/O problem
+     */
+    public synchronized void sync() throws IOException {
+        if (this.dirty && this.out != null) {
+            this.out.getChannel().force(false);
+            this.dirty = false;
+        }
+        this.syncs = false;
+    }
+
+    /**
+     * Mark fsync as scheduled, if it is not scheduled yet.
+     * @return TRUE if it was not scheduled before
+     */
+    public synchronized boolean syncing() {
+        final boolean fresh = !this.syncs;
+        this.syncs = true;
+        return fresh;
+    }
+
+    /**
+     * Mark compaction as scheduled, if it is not scheduled yet.
+     * @return TRUE if it was not scheduled before
+     */
+    public synchronized boolean compacting() {
+        final boolean fresh = !this.compacts;
+        this.compacts = true;
+        return fresh;
+    }
+
+    /**
+     * Fold the journal into the snapshot and start a new journal.
+     * @throws IOException If there is any I/O problem
+     */
+    public synchronized void compact() throws IOException {
+        if (this.out != null) {
+            final File temp = new File(
+                this.snapshot.getParentFile(), "snapshot.xml.tmp"
+            );
+            final FileOutputStream stream = new FileOutputStream(temp);
+            try {
+                stream.write(
+                    String.format("%d\n%s", this.last, this.xml())
+                        .getBytes(Charsets.UTF_8)
+                );
+                stream.getChannel().force(false);
+            } finally {
+                stream.close();
+            }
+            if (!temp.renameTo(this.snapshot)
+                && !(this.snapshot.delete() && temp.renameTo(this.snapshot))) {
+                throw new IOException(
+                    String.format("can't rename %s to %s", temp, this.snapshot)
+                );
+            }
+            this.out.close();
+            this.out = new FileOutputStream(this.file, false);
+            this.base = this.last;
+            this.dirty = false;
+            this.compacts = false;
+        }
+    }
+
+    /**
+     * Is the journal still on the disk?
+     * @return TRUE if its file exists
+     */
+    public boolean exists() {
+        return this.file.exists();
+    }
+
+    /**
+     * Force all appended records to the disk and close the journal.
+     *
+     * <p>Background fsync and compaction scheduled before do nothing
+     * after that, and {@link #apply(Iterable)} fails.
+     *
+     * @throws IOException If there is any I/O problem
+     */
+    public synchronized void close() throws IOException {
+        if (this.out != null) {
+            this.sync();
+            this.out.close();
+            this.out = null;
+        }
+    }
+
+    /**
+     * Reconstruct the document from the snapshot and the journal.
+     *
+     * <p>It is also used to undo a batch that failed half way, since its
+     * directives were already applied to the live DOM.
+     *
+     * @throws IOException If there is any I/O problem
+     */
+    private void load() throws IOException {
+        if (this.snapshot.exists()) {
+            final String text = FileUtils.readFileToString(
+                this.snapshot, Charsets.UTF_8
+            );
+            final int eol = text.indexOf('\n');
+            this.base = Long.parseLong(text.substring(0, eol).trim());
+            this.dom = new XMLDocument(text.substring(eol + 1)).node();
+        } else {
+            this.base = 0L;
+            this.dom = new XMLDocument("<github/>").node();
+        }
+        this.last = this.base;
+        this.stale(Collections.<String>emptySet());
+        this.previous = null;
+        if (this.file.exists()) {
+            this.replay();
+        }
+    }
+
+    /**
+     * Forget the current document, since the live DOM was modified.
+     * @param kinds Kinds of search indexes the modification touched
+     */
+    private void stale(final Collection<String> kinds) {
+        if (this.doc != null) {
+            this.previous = this.doc;
+            this.doc = null;
+        }
+        this.touched.addAll(kinds);
+    }
+
+    /**
+     * Replay journal records that are not in the snapshot yet.
+     * @throws IOException If there is any I/O problem
+     */
+    private void replay() throws IOException {
+        final byte[] bytes = FileUtils.readFileToByteArray(this.file);
+        int pos = 0;
+        while (true) {
+            final int eol = Journal.eol(bytes, pos);
+            if (eol < 0) {
+                break;
+            }
+            final String[] header = new String(
+                bytes, pos, eol - pos, Charsets.UTF_8
+            ).split(" ");
+            final long number = Long.parseLong(header[0]);
+            final int length = Integer.parseInt(header[1]);
+            if (eol + 1 + length >= bytes.length) {
+                break;
+            }
+            if (number > this.last) {
+                try {
+                    new Xembler(
+                        new Directives(
+                            new String(bytes, eol + 1, length, Charsets.UTF_8)
+                        )
+                    ).apply(this.dom);
+                } catch (final SyntaxException ex) {
+                    throw new IOException(ex);
+                } catch (final ImpossibleModificationException ex) {
+                    throw new IOException(ex);
+                }
+                this.last = number;
+            }
+            pos = eol + length + 2;
+        }
+        if (pos < bytes.length) {
+            final RandomAccessFile raf = new RandomAccessFile(this.file, "rw");
+            try {
+                raf.setLength(pos);
+            } finally {
+                raf.close();
+            }
+        }
+    }
+
+    /**
+     * Find the end of line.
+     * @param bytes Bytes
+     * @param start Where to start
+     * @return Position of the line feed or -1 if not found
+     */
+    private static int eol(final byte[] bytes, final int start) {
+        int pos = -1;
+        for (int idx = start; idx < bytes.length; ++idx) {
+            if (bytes[idx] == '\n') {
+                pos = idx;
+                break;
+            }
+        }
+        return pos;
+    }
+
+}
@@ -30,6 +30,11 @@
 package com.jcabi.github.mock;
 
 import com.jcabi.xml.XML;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.json.Json;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
@@ -39,39 +44,95 @@ import org.w3c.dom.Node;
 /**
  * Json node in XML.
  *
+ * <p>When constructed with a document and an XPath, the JSON object
+ * is materialized once and then taken from a cache for as long as the
+ * document stays the same. {@link MkStorage.InFile} returns the same
+ * document until it is modified, so repeated {@code json()} calls of
+ * mock entities don't evaluate XPath and convert DOM to JSON again.
+ *
  * @author Yegor Bugayenko (yegor@tpc2.com)
  * @version $Id$
  * @since 0.5
  */
 final class JsonNode {
 
+    /**
+     * Materialized JSON objects, by documents and XPath expressions.
+     */
+    private static final Map<XML, ConcurrentMap<String, JsonObject>> CACHE =
+        Collections.synchronizedMap(
+            new WeakHashMap<XML, ConcurrentMap<String, JsonObject>>(0)
+        );
+
     /**
      * XML.
      */
     private final transient XML xml;
 
+    /**
+     * XPath of the node in the XML, or empty if XML is the node itself.
+     */
+    private final transient String path;
+
     /**
      * Public ctor.
      * @param src Source
      */
     JsonNode(@NotNull(message = "src can't be NULL") final XML src) {
-        this.xml = src;
+        this(src, "");
+    }
+
+    /**
+     * Public ctor.
+     * @param doc Document
+     * @param xpath XPath of the node in the document
+     */
+    JsonNode(@NotNull(message = "doc can't be NULL") final XML doc,
+        @NotNull(message = "xpath can't be NULL") final String xpath) {
+        this.xml = doc;
+        this.path = xpath;
     }
 
     /**
      * Fetch JSON object.
      * @return JSON
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() {
+        final JsonObject json;
+        if (this.path.isEmpty()) {
+            json = JsonNode.build(this.xml);
+        } else {
+            ConcurrentMap<String, JsonObject> objects =
+                JsonNode.CACHE.get(this.xml);
+            if (objects == null) {
+                objects = new ConcurrentHashMap<String, JsonObject>(0);
+                JsonNode.CACHE.put(this.xml, objects);
+            }
+            JsonObject cached = objects.get(this.path);
+            if (cached == null) {
+                cached = JsonNode.build(this.xml.nodes(this.path).get(0));
+                objects.put(this.path, cached);
+            }
+            json = cached;
+        }
+        return json;
+    }
+
+    /**
+     * Convert XML node to JSON object.
+     * @param xml The node
+     * @return JSON
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    private static JsonObject build(final XML xml) {
         final JsonObjectBuilder builder = Json.createObjectBuilder();
-        for (final XML child : this.xml.nodes("* ")) {
+        for (final XML child : xml.nodes("* ")) {
             final Node node = child.node();
             if (child.nodes("*").isEmpty()) {
                 builder.add(node.getNodeName(), node.getTextContent());
             } else {
-                builder.add(node.getNodeName(), new JsonNode(child).json());
+                builder.add(node.getNodeName(), JsonNode.build(child));
             }
         }
         return builder.build();
@@ -137,9 +137,7 @@ final class MkComment implements Comment {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
-        ).json();
+        return new JsonNode(this.storage.xml(), this.xpath()).json();
     }
 
     /**
@@ -152,7 +152,7 @@ final class MkComments implements Comments {
                 new Directives().xpath(this.xpath()).add("comment")
                     .add("number").set(Integer.toString(number)).up()
                     .add("body").set(text).up()
-                    .add("user").add("login").set(this.self).up()
+                    .add("user").add("login").set(this.self).up().up()
                     .add("created_at").set(new Github.Time().toString()).up()
                     .add("updated_at").set(new Github.Time().toString())
             );
@@ -105,9 +105,7 @@ public class MkCommit implements Commit {
     @Override
     @NotNull(message = "JSON is never NULL")
     public final JsonObject json() throws IOException {
-        return new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
-        ).json();
+        return new JsonNode(this.storage.xml(), this.xpath()).json();
     }
 
     @Override
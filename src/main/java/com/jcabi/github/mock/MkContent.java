@@ -126,9 +126,7 @@ final class MkContent implements Content {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
-        ).json();
+        return new JsonNode(this.storage.xml(), this.xpath()).json();
     }
 
     @Override
@@ -90,9 +90,7 @@ final class MkDeployKey implements DeployKey {
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
-        ).json();
+        return new JsonNode(this.storage.xml(), this.xpath()).json();
     }
 
     @Override
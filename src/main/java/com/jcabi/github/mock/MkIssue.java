@@ -180,7 +180,7 @@ final class MkIssue implements Issue {
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
         final JsonObject obj = new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
+            this.storage.xml(), this.xpath()
         ).json();
         final JsonObjectBuilder json = Json.createObjectBuilder();
         for (final Map.Entry<String, JsonValue> val: obj.entrySet()) {
@@ -31,6 +31,7 @@ package com.jcabi.github.mock;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import com.jcabi.github.Comment;
 import com.jcabi.github.Coordinates;
 import com.jcabi.github.Github;
 import com.jcabi.github.Issue;
@@ -39,7 +40,11 @@ import com.jcabi.github.Repo;
 import com.jcabi.log.Logger;
 import com.jcabi.xml.XML;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -164,6 +169,66 @@ final class MkIssues implements Issues {
         );
     }
 
+    @Override
+    @NotNull(message = "Iterable of comments is never NULL")
+    public Iterable<Comment> comments(
+        @NotNull(message = "params can't be NULL")
+        final Map<String, String> params) throws IOException {
+        final String since = params.get("since");
+        String sort = "created_at";
+        if ("updated".equals(params.get("sort"))) {
+            sort = "updated_at";
+        }
+        final Map<String, Comment> sorted = new TreeMap<String, Comment>();
+        for (final XML issue : this.storage.xml().nodes(
+            String.format("%s/issue[comments/comment]", this.xpath())
+        )) {
+            final int number = Integer.parseInt(
+                issue.xpath("number/text()").get(0)
+            );
+            for (final XML comment : issue.nodes("comments/comment")) {
+                final String time = MkIssues.text(comment, sort);
+                if (since == null
+                    || MkIssues.text(comment, "updated_at").compareTo(since)
+                    >= 0) {
+                    final int num = Integer.parseInt(
+                        comment.xpath("number/text()").get(0)
+                    );
+                    sorted.put(
+                        String.format("%s %010d", time, num),
+                        new MkComment(
+                            this.storage, this.self, this.coords, number, num
+                        )
+                    );
+                }
+            }
+        }
+        final List<Comment> comments = new ArrayList<Comment>(sorted.values());
+        if ("desc".equals(params.get("direction"))) {
+            Collections.reverse(comments);
+        }
+        return comments;
+    }
+
+    /**
+     * Text of the child element.
+     * @param xml Element
+     * @param child Name of the child
+     * @return Text, empty if absent
+     */
+    private static String text(final XML xml, final String child) {
+        final List<String> texts = xml.xpath(
+            String.format("%s/text()", child)
+        );
+        final String text;
+        if (texts.isEmpty()) {
+            text = "";
+        } else {
+            text = texts.get(0);
+        }
+        return text;
+    }
+
     /**
      * XPath of this element in XML tree.
      * @return XPath
@@ -0,0 +1,515 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.github.Coordinates;
+import com.jcabi.github.Github;
+import com.jcabi.github.Sync;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.validation.constraints.NotNull;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xembly.Directives;
+
+/**
+ * Local mirror of Github repositories, fed by {@link Sync}.
+ *
+ * <p>The mirror materializes issues (pull requests included, since Github
+ * lists them as issues), their comments, labels and milestones into a
+ * {@link MkStorage}, in the same layout the mock uses. By default it's
+ * a {@link MkStorage.Journaled} in a directory on disk, so the mirror
+ * survives restarts and every refresh costs only a few lines appended
+ * to the journal. The mirror then answers all {@code Issues},
+ * {@code Comments}, {@code Labels} and {@code Search} calls offline,
+ * through {@link MkGithub}. Pull requests are mirrored only as issues:
+ * {@code Pulls} (with commits, files and merge state of pull requests)
+ * and events are not answered from the mirror, since {@link Sync}
+ * doesn't pull them:
+ *
+ * <pre> MkMirror mirror = new MkMirror(new File("/var/mirror"), "jeff");
+ * new Sync(github.repos().iterate(...), mirror).pull();
+ * Iterable&lt;Issue&gt; stale = mirror.github().search().issues(
+ *   "repo:jeff/test state:open label:bug updated:&lt;2014-05-01",
+ *   "updated", "asc"
+ * );</pre>
+ *
+ * <p>Search queries are resolved by the inverted index of
+ * {@link MkSearch}, which has secondary indexes on state, labels,
+ * assignee, milestone, and sorted ones on creation and update times.
+ * An issue or a comment is considered changed when its
+ * {@code updated_at} differs from the mirrored one. The storage document
+ * is parsed once per stored issue or comment, and all the checks are
+ * made on that DOM.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @checkstyle MultipleStringLiteralsCheck (500 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@ToString
+@EqualsAndHashCode(of = { "storage", "self" })
+public final class MkMirror implements Sync.Store {
+
+    /**
+     * Name of the update time element.
+     */
+    private static final String UPDATED = "updated_at";
+
+    /**
+     * Factory of XPath evaluators.
+     */
+    private static final XPathFactory XPATHS = XPathFactory.newInstance();
+
+    /**
+     * Storage.
+     */
+    private final transient MkStorage storage;
+
+    /**
+     * Login of the user logged in.
+     */
+    private final transient String self;
+
+    /**
+     * Public ctor.
+     * @param dir Directory to keep the mirror in
+     * @param login User to login
+     * @throws IOException If there is any I/O problem
+     */
+    public MkMirror(
+        @NotNull(message = "dir can't be NULL") final File dir,
+        @NotNull(message = "login can't be NULL") final String login
+    ) throws IOException {
+        this(new MkStorage.Journaled(dir), login);
+    }
+
+    /**
+     * Public ctor.
+     * @param stg Storage
+     * @param login User to login
+     */
+    public MkMirror(
+        @NotNull(message = "stg can't be NULL") final MkStorage stg,
+        @NotNull(message = "login can't be NULL") final String login
+    ) {
+        this.storage = stg;
+        this.self = login;
+    }
+
+    /**
+     * Github answering from the mirror.
+     * @return Github
+     */
+    @NotNull(message = "github is never NULL")
+    public Github github() {
+        return new MkGithub(this.storage, this.self);
+    }
+
+    @Override
+    public String mark(
+        @NotNull(message = "repo can't be NULL") final Coordinates repo,
+        @NotNull(message = "stream can't be NULL") final String stream
+    ) throws IOException {
+        final List<String> marks = this.storage.xml().xpath(
+            String.format(
+                "%s/@%s", MkMirror.xpath(repo), MkMirror.mark(stream)
+            )
+        );
+        final String mark;
+        if (marks.isEmpty()) {
+            mark = null;
+        } else {
+            mark = marks.get(0);
+        }
+        return mark;
+    }
+
+    @Override
+    public void mark(
+        @NotNull(message = "repo can't be NULL") final Coordinates repo,
+        @NotNull(message = "stream can't be NULL") final String stream,
+        @NotNull(message = "time can't be NULL") final String time
+    ) throws IOException {
+        this.storage.lock();
+        try {
+            this.storage.apply(
+                MkMirror.repo(this.storage.xml().node(), repo)
+                    .attr(MkMirror.mark(stream), time)
+            );
+        } finally {
+            this.storage.unlock();
+        }
+    }
+
+    @Override
+    public boolean issue(
+        @NotNull(message = "repo can't be NULL") final Coordinates repo,
+        final int number,
+        @NotNull(message = "json can't be NULL") final JsonObject json
+    ) throws IOException {
+        final String path = String.format(
+            "%s/issues/issue[number='%d']", MkMirror.xpath(repo), number
+        );
+        final boolean changed;
+        this.storage.lock();
+        try {
+            final Node dom = this.storage.xml().node();
+            changed = MkMirror.changed(dom, path, json);
+            if (changed) {
+                final Directives dirs = MkMirror.repo(dom, repo);
+                MkMirror.labels(dom, repo, json, dirs);
+                MkMirror.milestone(dom, repo, json, dirs);
+                if (!MkMirror.exists(dom, path)) {
+                    dirs.xpath(String.format("%s/issues", MkMirror.xpath(repo)))
+                        .add("issue")
+                        .add("number").set(Integer.toString(number)).up();
+                } else {
+                    dirs.xpath(
+                        String.format(
+                            "%s/*[name()!='number' and name()!='comments']",
+                            path
+                        )
+                    ).remove().xpath(path);
+                }
+                MkMirror.issue(json, dirs);
+                this.storage.apply(dirs);
+            }
+        } finally {
+            this.storage.unlock();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean comment(
+        @NotNull(message = "repo can't be NULL") final Coordinates repo,
+        final int issue, final int number,
+        @NotNull(message = "json can't be NULL") final JsonObject json
+    ) throws IOException {
+        final String parent = String.format(
+            "%s/issues/issue[number='%d']", MkMirror.xpath(repo), issue
+        );
+        final String path = String.format(
+            "%s/comments/comment[number='%d']", parent, number
+        );
+        final boolean changed;
+        this.storage.lock();
+        try {
+            final Node dom = this.storage.xml().node();
+            changed = MkMirror.changed(dom, path, json);
+            if (changed) {
+                final Directives dirs = new Directives();
+                if (MkMirror.exists(dom, path)) {
+                    dirs.xpath(path).remove();
+                }
+                this.storage.apply(
+                    dirs.xpath(parent).addIf("comments").add("comment")
+                        .add("number").set(Integer.toString(number)).up()
+                        .add("body").set(MkMirror.text(json, "body")).up()
+                        .add("user").add("login")
+                        .set(MkMirror.login(json.get("user"))).up().up()
+                        .add("created_at")
+                        .set(MkMirror.text(json, "created_at")).up()
+                        .add(MkMirror.UPDATED)
+                        .set(MkMirror.text(json, MkMirror.UPDATED))
+                );
+            }
+        } finally {
+            this.storage.unlock();
+        }
+        return changed;
+    }
+
+    /**
+     * Is the JSON different from the mirrored element?
+     * @param dom Storage document
+     * @param path XPath of the element
+     * @param json JSON
+     * @return TRUE if absent or updated at a different time
+     */
+    private static boolean changed(final Node dom, final String path,
+        final JsonObject json) {
+        return !MkMirror.texts(
+            dom, String.format("%s/%s/text()", path, MkMirror.UPDATED)
+        ).contains(MkMirror.text(json, MkMirror.UPDATED));
+    }
+
+    /**
+     * Directives to create the repository, if absent, pointing to it.
+     * @param dom Storage document
+     * @param repo Coordinates of the repository
+     * @return Directives
+     */
+    private static Directives repo(final Node dom, final Coordinates repo) {
+        final Directives dirs = new Directives().xpath("/github")
+            .addIf("repos");
+        if (!MkMirror.exists(dom, MkMirror.xpath(repo))) {
+            dirs.add("repo").attr("coords", repo.toString())
+                .add("name").set(repo.repo()).up()
+                .add("description").set("").up()
+                .add("labels").up()
+                .add("milestones").up()
+                .add("issues").up();
+        }
+        return dirs.xpath(MkMirror.xpath(repo));
+    }
+
+    /**
+     * Add labels of the issue to the repository, if they are absent.
+     * @param dom Storage document
+     * @param repo Coordinates of the repository
+     * @param json JSON of the issue
+     * @param dirs Directives to extend
+     */
+    private static void labels(final Node dom, final Coordinates repo,
+        final JsonObject json, final Directives dirs) {
+        if (json.get("labels") instanceof Iterable) {
+            final Collection<String> names = new HashSet<String>(
+                MkMirror.texts(
+                    dom,
+                    String.format(
+                        "%s/labels/label/name/text()", MkMirror.xpath(repo)
+                    )
+                )
+            );
+            for (final JsonValue value : json.getJsonArray("labels")) {
+                final JsonObject label = JsonObject.class.cast(value);
+                final String name = MkMirror.text(label, "name");
+                if (names.add(name)) {
+                    dirs.xpath(String.format("%s/labels", MkMirror.xpath(repo)))
+                        .add("label")
+                        .add("name").set(name).up()
+                        .add("color").set(MkMirror.text(label, "color"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the milestone of the issue to the repository, if it's absent.
+     * @param dom Storage document
+     * @param repo Coordinates of the repository
+     * @param json JSON of the issue
+     * @param dirs Directives to extend
+     */
+    private static void milestone(final Node dom, final Coordinates repo,
+        final JsonObject json, final Directives dirs) {
+        if (json.get("milestone") instanceof JsonObject) {
+            final JsonObject milestone = json.getJsonObject("milestone");
+            final String number = MkMirror.text(milestone, "number");
+            if (!MkMirror.exists(
+                dom,
+                String.format(
+                    "%s/milestones/milestone[number='%s']",
+                    MkMirror.xpath(repo), number
+                )
+            )) {
+                dirs.xpath(MkMirror.xpath(repo)).addIf("milestones")
+                    .add("milestone")
+                    .add("number").set(number).up()
+                    .add("title").set(MkMirror.text(milestone, "title")).up()
+                    .add("state").set(MkMirror.text(milestone, "state")).up()
+                    .add("description")
+                    .set(MkMirror.text(milestone, "description"));
+            }
+        }
+    }
+
+    /**
+     * Add elements of the issue, except its number.
+     * @param json JSON of the issue
+     * @param dirs Directives, pointing to the issue
+     */
+    private static void issue(final JsonObject json, final Directives dirs) {
+        for (final String name : new String[] {
+            "state", "title", "body", "created_at", MkMirror.UPDATED,
+            "closed_at", "url", "html_url"
+        }) {
+            if (json.containsKey(name)) {
+                dirs.add(name).set(MkMirror.text(json, name)).up();
+            }
+        }
+        dirs.add("user").add("login")
+            .set(MkMirror.login(json.get("user"))).up().up();
+        final String assignee = MkMirror.login(json.get("assignee"));
+        if (!assignee.isEmpty()) {
+            dirs.add("assignee").add("login").set(assignee).up().up();
+        }
+        if (json.get("milestone") instanceof JsonObject) {
+            final JsonObject milestone = json.getJsonObject("milestone");
+            dirs.add("milestone")
+                .add("number").set(MkMirror.text(milestone, "number")).up()
+                .add("title").set(MkMirror.text(milestone, "title")).up()
+                .up();
+        } else if (!MkMirror.text(json, "milestone").isEmpty()) {
+            dirs.add("milestone").set(MkMirror.text(json, "milestone")).up();
+        }
+        dirs.add("labels");
+        if (json.get("labels") instanceof Iterable) {
+            for (final JsonValue label : json.getJsonArray("labels")) {
+                dirs.add("label")
+                    .set(MkMirror.text(JsonObject.class.cast(label), "name"))
+                    .up();
+            }
+        }
+    }
+
+    /**
+     * Text value of the JSON attribute.
+     * @param json JSON
+     * @param name Name of the attribute
+     * @return Text, empty if absent or NULL
+     */
+    private static String text(final JsonObject json, final String name) {
+        final JsonValue value = json.get(name);
+        final String text;
+        if (value == null || value.getValueType() == JsonValue.ValueType.NULL) {
+            text = "";
+        } else if (value instanceof JsonString) {
+            text = JsonString.class.cast(value).getString();
+        } else {
+            text = value.toString();
+        }
+        return text;
+    }
+
+    /**
+     * Login of the user.
+     * @param value JSON of the user, or just the login
+     * @return Login, empty if absent
+     */
+    private static String login(final JsonValue value) {
+        final String login;
+        if (value instanceof JsonObject) {
+            login = MkMirror.text(JsonObject.class.cast(value), "login");
+        } else if (value instanceof JsonString) {
+            login = JsonString.class.cast(value).getString();
+        } else {
+            login = "";
+        }
+        return login;
+    }
+
+    /**
+     * Attribute of the repository with the high-water mark of the stream.
+     *
+     * <p>The mark of issues stays in {@code mark}, where mirrors kept it
+     * before comments got a mark of their own.
+     *
+     * @param stream Either {@link Sync#ISSUES} or {@link Sync#COMMENTS}
+     * @return Name of the attribute
+     */
+    private static String mark(final String stream) {
+        final String attr;
+        if (Sync.ISSUES.equals(stream)) {
+            attr = "mark";
+        } else if (Sync.COMMENTS.equals(stream)) {
+            attr = "comments-mark";
+        } else {
+            throw new IllegalArgumentException(
+                String.format("unknown stream \"%s\"", stream)
+            );
+        }
+        return attr;
+    }
+
+    /**
+     * Texts of the nodes found in the document.
+     * @param dom Document
+     * @param path XPath
+     * @return Text content of every node found
+     */
+    private static List<String> texts(final Node dom, final String path) {
+        final NodeList nodes = MkMirror.nodes(dom, path);
+        final List<String> texts = new ArrayList<String>(nodes.getLength());
+        for (int idx = 0; idx < nodes.getLength(); ++idx) {
+            texts.add(nodes.item(idx).getTextContent());
+        }
+        return texts;
+    }
+
+    /**
+     * Are there any nodes in the document?
+     * @param dom Document
+     * @param path XPath
+     * @return TRUE if at least one node is found
+     */
+    private static boolean exists(final Node dom, final String path) {
+        return MkMirror.nodes(dom, path).getLength() > 0;
+    }
+
+    /**
+     * Find nodes in the document.
+     * @param dom Document
+     * @param path XPath
+     * @return Nodes found
+     */
+    private static NodeList nodes(final Node dom, final String path) {
+        final XPath xpath;
+        synchronized (MkMirror.XPATHS) {
+            xpath = MkMirror.XPATHS.newXPath();
+        }
+        try {
+            return NodeList.class.cast(
+                xpath.evaluate(path, dom, XPathConstants.NODESET)
+            );
+        } catch (final XPathExpressionException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * XPath of the repository.
+     * @param repo Coordinates of the repository
+     * @return XPath
+     */
+    private static String xpath(final Coordinates repo) {
+        return String.format("/github/repos/repo[@coords='%s']", repo);
+    }
+
+}
@@ -153,7 +153,7 @@ final class MkPull implements Pull {
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
         final JsonObject obj = new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
+            this.storage.xml(), this.xpath()
         ).json();
         final JsonObjectBuilder json = Json.createObjectBuilder();
         for (final Map.Entry<String, JsonValue> val : obj.entrySet()) {
@@ -36,12 +36,15 @@ import com.jcabi.github.Coordinates;
 import com.jcabi.github.RepoCommit;
 import com.jcabi.github.RepoCommits;
 import com.jcabi.xml.XML;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import javax.json.JsonObject;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.apache.commons.io.Charsets;
 import org.apache.commons.lang3.StringUtils;
 import org.xembly.Directives;
 
@@ -142,6 +145,17 @@ final class MkRepoCommits implements RepoCommits {
         );
     }
 
+    @Override
+    @NotNull(message = "stream is never NULL")
+    public InputStream rawDiff(
+        @NotNull(message = "base should not be NULL") final String base,
+        @NotNull(message = "head should not be NULL") final String head
+    ) {
+        return new ByteArrayInputStream(
+            this.diff(base, head).getBytes(Charsets.UTF_8)
+        );
+    }
+
     @Override
     @NotNull(message = "patch is never NULL")
     public String patch(
@@ -174,12 +188,21 @@ final class MkRepoCommits implements RepoCommits {
         );
     }
 
+    @Override
+    @NotNull(message = "stream is never NULL")
+    public InputStream rawPatch(
+        @NotNull(message = "base shouldn't be NULL") final String base,
+        @NotNull(message = "head shouldn't be NULL") final String head
+    ) {
+        return new ByteArrayInputStream(
+            this.patch(base, head).getBytes(Charsets.UTF_8)
+        );
+    }
+
     @Override
     @NotNull(message = "JSON is never NULL")
     public JsonObject json() throws IOException {
-        return new JsonNode(
-            this.storage.xml().nodes(this.xpath()).get(0)
-        ).json();
+        return new JsonNode(this.storage.xml(), this.xpath()).json();
     }
 
     /**
@@ -31,6 +31,7 @@ package com.jcabi.github.mock;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import com.jcabi.aspects.Tv;
 import com.jcabi.github.Content;
 import com.jcabi.github.Coordinates;
 import com.jcabi.github.Github;
@@ -40,28 +41,130 @@ import com.jcabi.github.Search;
 import com.jcabi.github.User;
 import com.jcabi.xml.XML;
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 import javax.validation.constraints.NotNull;
+import javax.xml.bind.DatatypeConverter;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.apache.commons.lang3.NotImplementedException;
+import org.apache.commons.io.Charsets;
+import org.xembly.Directive;
 
 /**
  * Mock Github search.
  *
+ * <p>Queries are resolved by an {@link InvertedIndex} of every kind of
+ * documents (repositories, issues, users and files), which is built when
+ * it's needed first and is reused until the storage is modified. When
+ * it is, the storage tells {@link #modified(XML, XML, Collection)} which
+ * kinds the modification touched, judging by XPath expressions of its
+ * directives (see {@link #touched(Iterable)}), and indexes of all other
+ * kinds stay as they are. Indexes are not updated incrementally: the
+ * index of a touched kind is dropped and rebuilt from all documents of
+ * that kind by the next search. Adding a comment, for example, rebuilds
+ * the whole index of issues, but not the others. Keywords and these
+ * qualifiers are supported: {@code repo:}, {@code user:},
+ * {@code state:}, {@code label:}, {@code author:}, {@code assignee:},
+ * {@code milestone:}, date ranges
+ * like {@code created:<2014-05-01} or {@code updated:>=2014-05-01},
+ * and {@code in:title,body} for issues;
+ * {@code user:} and {@code in:name,description} for repositories;
+ * {@code in:login,name} for users; {@code repo:}, {@code user:},
+ * {@code path:} and {@code in:file,path} for code, where {@code path:}
+ * matches the whole path of a file or of any directory above it.
+ * Issues can be sorted by {@code created}, {@code updated} and
+ * {@code comments}.
+ *
  * @author Carlos Miranda (miranda.cma@gmail.com)
  * @version $Id$
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
- * @todo #217 MkSearch.codes() is not implemented.
- *  Let's implement it and remove this puzzle
- *  @see <a href="https://developer.github.com/v3/search/#search-code">Search API</a>
- *  for details
+ * @checkstyle MultipleStringLiteralsCheck (500 lines)
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
 @ToString
 @EqualsAndHashCode(of = { "storage", "self" })
+@SuppressWarnings("PMD.TooManyMethods")
 final class MkSearch implements Search {
 
+    /**
+     * Index of repositories.
+     */
+    private static final String REPOS = "repos";
+
+    /**
+     * Index of issues.
+     */
+    private static final String ISSUES = "issues";
+
+    /**
+     * Index of users.
+     */
+    private static final String USERS = "users";
+
+    /**
+     * Index of files.
+     */
+    private static final String CODES = "codes";
+
+    /**
+     * Kinds of indexes.
+     */
+    private static final Collection<String> KINDS = Arrays.asList(
+        MkSearch.REPOS, MkSearch.ISSUES, MkSearch.USERS, MkSearch.CODES
+    );
+
+    /**
+     * Kinds of indexes made of repositories and their children.
+     */
+    private static final Collection<String> IN_REPOS = Arrays.asList(
+        MkSearch.REPOS, MkSearch.ISSUES, MkSearch.CODES
+    );
+
+    /**
+     * Class of XPath directives of Xembly.
+     */
+    private static final String XPATH = "org.xembly.XpathDirective";
+
+    /**
+     * Expression of an XPath directive.
+     */
+    private static final Field EXPR = MkSearch.field(MkSearch.XPATH, "expr");
+
+    /**
+     * Value of an argument of a directive.
+     */
+    private static final Field VALUE =
+        MkSearch.field("org.xembly.Arg", "value");
+
+    /**
+     * Predicates of XPath steps.
+     */
+    private static final Pattern PREDICATE = Pattern.compile("\\[[^\\]]*\\]");
+
+    /**
+     * Absolute XPath of plain steps, without predicates.
+     */
+    private static final Pattern STEPS = Pattern.compile("(/[\\w-]+)+");
+
+    /**
+     * Indexes, by documents and kinds.
+     */
+    private static final Map<XML, ConcurrentMap<String, InvertedIndex>>
+        INDEXES = Collections.synchronizedMap(
+            new WeakHashMap<XML, ConcurrentMap<String, InvertedIndex>>(0)
+        );
+
     /**
      * Storage.
      */
@@ -99,19 +202,18 @@ final class MkSearch implements Search {
         @NotNull(message = "sort can't be NULL") final String sort,
         @NotNull(message = "order can't be NULL") final String order
     ) throws IOException {
-        return new MkIterable<Repo>(
-            this.storage,
-            "/github/repos/repo",
-            new MkIterable.Mapping<Repo>() {
-                @Override
-                public Repo map(final XML xml) {
-                    return new MkRepo(
-                        MkSearch.this.storage, MkSearch.this.self,
-                        new Coordinates.Simple(xml.xpath("@coords").get(0))
-                    );
-                }
-            }
+        final List<String> ids = this.index(MkSearch.REPOS).find(
+            keywords, sort, order
         );
+        final Collection<Repo> repos = new ArrayList<Repo>(ids.size());
+        for (final String coords : ids) {
+            repos.add(
+                new MkRepo(
+                    this.storage, this.self, new Coordinates.Simple(coords)
+                )
+            );
+        }
+        return repos;
     }
 
     @Override
@@ -122,22 +224,21 @@ final class MkSearch implements Search {
         @NotNull(message = "sort should not be NULL") final String sort,
         @NotNull(message = "order should not be NULL") final String order
     ) throws IOException {
-        return new MkIterable<Issue>(
-            this.storage,
-            "/github/repos/repo/issues/issue",
-            new MkIterable.Mapping<Issue>() {
-                @Override
-                public Issue map(final XML xml) {
-                    return new MkIssue(
-                        MkSearch.this.storage, MkSearch.this.self,
-                        new Coordinates.Simple(
-                            xml.xpath("../../@coords").get(0)
-                        ),
-                        Integer.parseInt(xml.xpath("number/text()").get(0))
-                    );
-                }
-            }
+        final List<String> ids = this.index(MkSearch.ISSUES).find(
+            keywords, sort, order
         );
+        final Collection<Issue> issues = new ArrayList<Issue>(ids.size());
+        for (final String id : ids) {
+            final int hash = id.lastIndexOf('#');
+            issues.add(
+                new MkIssue(
+                    this.storage, this.self,
+                    new Coordinates.Simple(id.substring(0, hash)),
+                    Integer.parseInt(id.substring(hash + 1))
+                )
+            );
+        }
+        return issues;
     }
 
     @Override
@@ -147,23 +248,14 @@ final class MkSearch implements Search {
         @NotNull(message = "sort shouldn't be NULL") final String sort,
         @NotNull(message = "order shouldn't be NULL") final String order
     ) throws IOException {
-        return new MkIterable<User>(
-            this.storage,
-            "/github/users/user",
-            new MkIterable.Mapping<User>() {
-                @Override
-                public User map(final XML xml) {
-                    try {
-                        return new MkUser(
-                            MkSearch.this.storage,
-                            xml.xpath("login/text()").get(0)
-                        );
-                    } catch (final IOException ex) {
-                        throw new IllegalStateException(ex);
-                    }
-                }
-            }
+        final List<String> ids = this.index(MkSearch.USERS).find(
+            keywords, sort, order
         );
+        final Collection<User> users = new ArrayList<User>(ids.size());
+        for (final String login : ids) {
+            users.add(new MkUser(this.storage, login));
+        }
+        return users;
     }
 
     @Override
@@ -173,7 +265,328 @@ final class MkSearch implements Search {
         @NotNull(message = "sort shouldn't be NULL") final String sort,
         @NotNull(message = "order shouldn't be NULL") final String order
     ) throws IOException {
-        throw new NotImplementedException("MkSearch#contents");
+        final List<String> ids = this.index(MkSearch.CODES).find(
+            keywords, sort, order
+        );
+        final Collection<Content> codes = new ArrayList<Content>(ids.size());
+        for (final String id : ids) {
+            final String[] parts = id.split("\n", Tv.THREE);
+            codes.add(
+                new MkContent(
+                    this.storage, this.self,
+                    new Coordinates.Simple(parts[0]), parts[2], parts[1]
+                )
+            );
+        }
+        return codes;
+    }
+
+    /**
+     * Let indexes of the document before a modification serve the
+     * document after it, except those of the kinds touched.
+     * @param before Document before the modification
+     * @param after Document after it
+     * @param touched Kinds of indexes the modification touched
+     */
+    static void modified(final XML before, final XML after,
+        final Collection<String> touched) {
+        final Map<String, InvertedIndex> old = MkSearch.INDEXES.get(before);
+        if (old != null && !before.equals(after)) {
+            final ConcurrentMap<String, InvertedIndex> kept =
+                new ConcurrentHashMap<String, InvertedIndex>(old);
+            kept.keySet().removeAll(touched);
+            if (!kept.isEmpty()) {
+                MkSearch.INDEXES.put(after, kept);
+            }
+        }
+    }
+
+    /**
+     * Kinds of indexes these directives may change.
+     *
+     * <p>Every XPath expression of the directives is stripped of its
+     * predicates and checked: {@code /github/users/...} touches users,
+     * {@code /github/repos/repo/issues/...} touches issues,
+     * {@code /github/repos/repo/contents/...} touches files, and any
+     * other path in repositories touches all three kinds made of them.
+     * Paths outside of users and repositories touch nothing. If there
+     * is no XPath at all, or it is not a plain absolute path, all kinds
+     * are touched.
+     *
+     * <p>Expressions are taken from the arguments of the XPath
+     * directives, which Xembly keeps in package-private fields, so they
+     * are read through reflection.
+     *
+     * @param dirs Directives
+     * @return Kinds of indexes
+     */
+    static Collection<String> touched(final Iterable<Directive> dirs) {
+        final Collection<String> kinds = new HashSet<String>(0);
+        boolean found = false;
+        for (final Directive dir : dirs) {
+            if (MkSearch.XPATH.equals(dir.getClass().getName())) {
+                found = true;
+                kinds.addAll(MkSearch.kinds(MkSearch.xpath(dir)));
+            }
+        }
+        if (!found) {
+            kinds.addAll(MkSearch.KINDS);
+        }
+        return kinds;
+    }
+
+    /**
+     * Get index of the current storage document, building it if necessary.
+     * @param kind Kind of the index
+     * @return Index
+     * @throws IOException If there is any I/O problem
+     */
+    private InvertedIndex index(final String kind) throws IOException {
+        final XML xml = this.storage.xml();
+        ConcurrentMap<String, InvertedIndex> indexes =
+            MkSearch.INDEXES.get(xml);
+        if (indexes == null) {
+            indexes = new ConcurrentHashMap<String, InvertedIndex>(0);
+            MkSearch.INDEXES.put(xml, indexes);
+        }
+        InvertedIndex index = indexes.get(kind);
+        if (index == null) {
+            if (MkSearch.REPOS.equals(kind)) {
+                index = MkSearch.repos(xml);
+            } else if (MkSearch.ISSUES.equals(kind)) {
+                index = MkSearch.issues(xml);
+            } else if (MkSearch.USERS.equals(kind)) {
+                index = MkSearch.users(xml);
+            } else {
+                index = MkSearch.codes(xml);
+            }
+            indexes.put(kind, index);
+        }
+        return index;
+    }
+
+    /**
+     * Build index of repositories.
+     * @param xml Storage document
+     * @return Index
+     */
+    private static InvertedIndex repos(final XML xml) {
+        final InvertedIndex index = new InvertedIndex(
+            Arrays.asList("name", "description"), Arrays.asList("user")
+        );
+        for (final XML repo : xml.nodes("/github/repos/repo")) {
+            final String coords = repo.xpath("@coords").get(0);
+            final int doc = index.add(coords);
+            index.text(doc, "name", MkSearch.text(repo, "name"));
+            index.text(doc, "description", MkSearch.text(repo, "description"));
+            index.exact(doc, "user", MkSearch.owner(coords));
+        }
+        return index;
+    }
+
+    /**
+     * Build index of issues.
+     * @param xml Storage document
+     * @return Index
+     */
+    private static InvertedIndex issues(final XML xml) {
+        final InvertedIndex index = new InvertedIndex(
+            Arrays.asList("title", "body"),
+            Arrays.asList(
+                "repo", "user", "state", "label", "author",
+                "assignee", "milestone"
+            )
+        );
+        for (final XML repo : xml.nodes("/github/repos/repo[issues/issue]")) {
+            final String coords = repo.xpath("@coords").get(0);
+            for (final XML issue : repo.nodes("issues/issue")) {
+                final String number = MkSearch.text(issue, "number");
+                final int doc = index.add(
+                    String.format("%s#%s", coords, number)
+                );
+                index.text(doc, "title", MkSearch.text(issue, "title"));
+                index.text(doc, "body", MkSearch.text(issue, "body"));
+                index.exact(doc, "repo", coords);
+                index.exact(doc, "user", MkSearch.owner(coords));
+                index.exact(doc, "state", MkSearch.text(issue, "state"));
+                index.exact(doc, "author", MkSearch.text(issue, "user/login"));
+                for (final String login : issue.xpath(
+                    "assignee[not(*)]/text() | assignee/login/text()"
+                )) {
+                    index.exact(doc, "assignee", login);
+                }
+                for (final String milestone : issue.xpath(
+                    "milestone[not(*)]/text() | milestone/number/text()"
+                    + " | milestone/title/text()"
+                )) {
+                    index.exact(doc, "milestone", milestone);
+                }
+                for (final String label : issue.xpath("labels/label/text()")) {
+                    index.exact(doc, "label", label);
+                }
+                index.attr(doc, "created", MkSearch.text(issue, "created_at"));
+                index.attr(doc, "updated", MkSearch.text(issue, "updated_at"));
+                index.attr(
+                    doc, "comments",
+                    String.format(
+                        "%010d", issue.nodes("comments/comment").size()
+                    )
+                );
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Build index of users.
+     * @param xml Storage document
+     * @return Index
+     */
+    private static InvertedIndex users(final XML xml) {
+        final InvertedIndex index = new InvertedIndex(
+            Arrays.asList("login", "name"), Collections.<String>emptyList()
+        );
+        for (final XML user : xml.nodes("/github/users/user")) {
+            final String login = MkSearch.text(user, "login");
+            final int doc = index.add(login);
+            index.text(doc, "login", login);
+            index.text(doc, "name", MkSearch.text(user, "name"));
+        }
+        return index;
+    }
+
+    /**
+     * Build index of files.
+     * @param xml Storage document
+     * @return Index
+     */
+    private static InvertedIndex codes(final XML xml) {
+        final InvertedIndex index = new InvertedIndex(
+            Arrays.asList("file", "path"),
+            Arrays.asList("repo", "user", "path")
+        );
+        for (final XML repo
+            : xml.nodes("/github/repos/repo[contents/content]")) {
+            final String coords = repo.xpath("@coords").get(0);
+            for (final XML content : repo.nodes("contents/content")) {
+                final String path = MkSearch.text(content, "path");
+                String ref = "master";
+                if (!content.xpath("@ref").isEmpty()) {
+                    ref = content.xpath("@ref").get(0);
+                }
+                final int doc = index.add(
+                    String.format("%s\n%s\n%s", coords, ref, path)
+                );
+                index.text(
+                    doc, "file",
+                    new String(
+                        DatatypeConverter.parseBase64Binary(
+                            MkSearch.text(content, "content")
+                        ),
+                        Charsets.UTF_8
+                    )
+                );
+                index.text(doc, "path", path);
+                int slash = path.indexOf('/');
+                while (slash > 0) {
+                    index.exact(doc, "path", path.substring(0, slash));
+                    slash = path.indexOf('/', slash + 1);
+                }
+                index.exact(doc, "path", path);
+                index.exact(doc, "repo", coords);
+                index.exact(doc, "user", MkSearch.owner(coords));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Expression of an XPath directive.
+     * @param dir XPath directive
+     * @return XPath expression
+     */
+    private static String xpath(final Directive dir) {
+        try {
+            return String.class.cast(
+                MkSearch.VALUE.get(MkSearch.EXPR.get(dir))
+            );
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Find and open a private field of a Xembly class.
+     * @param type Name of the class
+     * @param name Name of the field
+     * @return Field
+     */
+    private static Field field(final String type, final String name) {
+        try {
+            final Field field = Class.forName(type).getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (final ClassNotFoundException ex) {
+            throw new IllegalStateException(ex);
+        } catch (final NoSuchFieldException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Kinds of indexes one XPath expression may change.
+     * @param xpath XPath of a directive
+     * @return Kinds of indexes
+     */
+    private static Collection<String> kinds(final String xpath) {
+        final String plain = MkSearch.PREDICATE.matcher(xpath).replaceAll("");
+        final String[] steps = plain.split("/");
+        final Collection<String> kinds;
+        if (!MkSearch.STEPS.matcher(plain).matches() || steps.length < 2 + 1
+            || !"github".equals(steps[1])) {
+            kinds = MkSearch.KINDS;
+        } else if (MkSearch.USERS.equals(steps[2])) {
+            kinds = Collections.singleton(MkSearch.USERS);
+        } else if (!MkSearch.REPOS.equals(steps[2])) {
+            kinds = Collections.emptySet();
+        } else if (steps.length > Tv.FOUR
+            && MkSearch.ISSUES.equals(steps[Tv.FOUR])) {
+            kinds = Collections.singleton(MkSearch.ISSUES);
+        } else if (steps.length > Tv.FOUR
+            && "contents".equals(steps[Tv.FOUR])) {
+            kinds = Collections.singleton(MkSearch.CODES);
+        } else {
+            kinds = MkSearch.IN_REPOS;
+        }
+        return kinds;
+    }
+
+    /**
+     * Text of the child element.
+     * @param xml Element
+     * @param child XPath of the child
+     * @return Text, empty if absent
+     */
+    private static String text(final XML xml, final String child) {
+        final List<String> texts = xml.xpath(
+            String.format("%s/text()", child)
+        );
+        final String text;
+        if (texts.isEmpty()) {
+            text = "";
+        } else {
+            text = texts.get(0);
+        }
+        return text;
+    }
+
+    /**
+     * Owner of the repository.
+     * @param coords Coordinates of it
+     * @return Login of the owner
+     */
+    private static String owner(final String coords) {
+        return coords.substring(0, coords.indexOf('/'));
     }
 
 }
@@ -0,0 +1,1698 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Comment;
+import com.jcabi.github.Coordinates;
+import com.jcabi.github.Github;
+import com.jcabi.github.Issue;
+import com.jcabi.github.Pull;
+import com.jcabi.github.Release;
+import com.jcabi.github.Repo;
+import com.jcabi.github.User;
+import com.jcabi.log.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Local HTTP server emulating Github API on top of {@link MkStorage}.
+ *
+ * <p>The server answers the requests {@code Rt*} classes make, so the
+ * whole stack, including wires, can be tested and benchmarked offline:
+ *
+ * <pre> MkServer server = new MkServer(new MkStorage.InFile(), "jeff");
+ * try {
+ *   Github github = new RtGithub(
+ *     new ApacheRequest(server.home().toString())
+ *   );
+ *   github.repos().get(new Coordinates.Simple("jeff/test")).issues()...
+ * } finally {
+ *   server.close();
+ * }</pre>
+ *
+ * <p>Repositories, issues, issue comments, pulls, contents, releases,
+ * search and rate limit are supported. Lists are paginated with
+ * {@code page} and {@code per_page} query parameters and {@code Link}
+ * headers. Every {@code GET} response has an {@code ETag}, and a
+ * request with a matching {@code If-None-Match} gets
+ * {@code 304 Not Modified}, which doesn't cost any quota.
+ * {@code X-RateLimit-*} headers are emitted on every response and
+ * when the quota is drained the server answers with
+ * {@code 403 Forbidden} until the reset.
+ *
+ * <p>Requests are handled by a pool of threads, but access to the
+ * storage is serialized, since {@link MkStorage} is not thread-safe.
+ *
+ * <p>The class is mutable and thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @checkstyle ClassDataAbstractionCoupling (1000 lines)
+ * @checkstyle ClassFanOutComplexity (1000 lines)
+ * @checkstyle MultipleStringLiterals (1000 lines)
+ * @checkstyle AnonInnerLength (1000 lines)
+ */
+@SuppressWarnings({ "PMD.TooManyMethods", "PMD.ExcessiveImports" })
+public final class MkServer implements Closeable {
+
+    /**
+     * Default number of items on a page.
+     */
+    private static final int PER_PAGE = 30;
+
+    /**
+     * Requests per hour.
+     */
+    private static final int QUOTA = 5000;
+
+    /**
+     * Keys of numeric values in JSON.
+     */
+    private static final Collection<String> NUMBERS = new HashSet<String>(
+        Arrays.asList("number", "id", "comments", "position", "size")
+    );
+
+    /**
+     * Keys of boolean values in JSON.
+     */
+    private static final Collection<String> BOOLEANS = new HashSet<String>(
+        Arrays.asList("draft", "prerelease", "private", "fork")
+    );
+
+    /**
+     * Storage.
+     */
+    private final transient MkStorage storage;
+
+    /**
+     * Github on top of the storage.
+     */
+    private final transient Github github;
+
+    /**
+     * Server socket.
+     */
+    private final transient ServerSocket socket;
+
+    /**
+     * Threads of the server, one per connection.
+     */
+    private final transient ExecutorService threads;
+
+    /**
+     * Routes.
+     */
+    private final transient List<MkServer.Route> routes;
+
+    /**
+     * Requests remaining in the current hour.
+     */
+    private final transient AtomicInteger remaining;
+
+    /**
+     * When the quota is reset, in seconds since epoch.
+     */
+    private final transient AtomicLong reset;
+
+    /**
+     * Public ctor, with a temporary storage.
+     * @param login User to act as
+     * @throws IOException If there is any I/O problem
+     */
+    public MkServer(@NotNull(message = "login can't be NULL")
+        final String login) throws IOException {
+        this(new MkStorage.InFile(), login);
+    }
+
+    /**
+     * Public ctor, the server starts on a random port.
+     * @param stg Storage
+     * @param login User to act as
+     * @throws IOException If there is any I/O problem
+     */
+    public MkServer(
+        @NotNull(message = "stg can't be NULL") final MkStorage stg,
+        @NotNull(message = "login can't be NULL") final String login)
+        throws IOException {
+        this.storage = stg;
+        this.github = new MkGithub(stg, login);
+        this.routes = new LinkedList<MkServer.Route>();
+        this.remaining = new AtomicInteger(MkServer.QUOTA);
+        this.reset = new AtomicLong(MkServer.hour());
+        this.repos();
+        this.issues();
+        this.comments();
+        this.pulls();
+        this.contents();
+        this.releases();
+        this.search();
+        this.socket = new ServerSocket(
+            0, 0, InetAddress.getByName("127.0.0.1")
+        );
+        this.threads = Executors.newCachedThreadPool();
+        this.threads.submit(
+            new Runnable() {
+                @Override
+                public void run() {
+                    MkServer.this.accept();
+                }
+            }
+        );
+        Logger.info(this, "Github emulator started at %s", this.home());
+    }
+
+    /**
+     * Home page of the server, to be used as an entry point of Github API.
+     * @return URI
+     */
+    @NotNull(message = "home is never NULL")
+    public URI home() {
+        return URI.create(
+            String.format(
+                "http://localhost:%d",
+                this.socket.getLocalPort()
+            )
+        );
+    }
+
+    /**
+     * Github this server is working with.
+     * @return Github
+     */
+    @NotNull(message = "github is never NULL")
+    public Github github() {
+        return this.github;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.socket.close();
+        this.threads.shutdownNow();
+        Logger.info(this, "Github emulator stopped at %s", this.home());
+    }
+
+    @Override
+    public String toString() {
+        return this.home().toString();
+    }
+
+    /**
+     * Accept connections until the socket is closed.
+     */
+    private void accept() {
+        while (!this.socket.isClosed()) {
+            final Socket conn;
+            try {
+                conn = this.socket.accept();
+            } catch (final IOException ex) {
+                break;
+            }
+            this.threads.submit(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        MkServer.this.serve(conn);
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Serve all requests of one connection.
+     * @param conn Connection
+     */
+    private void serve(final Socket conn) {
+        try {
+            final InputStream input = new BufferedInputStream(
+                conn.getInputStream()
+            );
+            final OutputStream output = new BufferedOutputStream(
+                conn.getOutputStream()
+            );
+            while (true) {
+                final MkServer.Exchange exchange =
+                    MkServer.Exchange.read(input);
+                if (exchange == null) {
+                    break;
+                }
+                this.handle(exchange);
+                exchange.write(output);
+                if ("close".equalsIgnoreCase(exchange.header("Connection"))) {
+                    break;
+                }
+            }
+        } catch (final IOException ex) {
+            Logger.debug(this, "connection dropped: %s", ex.getMessage());
+        } finally {
+            try {
+                conn.close();
+            } catch (final IOException ex) {
+                Logger.debug(this, "can't close: %s", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Handle one HTTP exchange.
+     * @param exchange Exchange
+     * @throws IOException If there is any I/O problem
+     */
+    private void handle(final MkServer.Exchange exchange) throws IOException {
+        MkServer.Reply reply;
+        try {
+            reply = this.reply(exchange);
+        } catch (final IllegalArgumentException ex) {
+            reply = MkServer.error(HttpURLConnection.HTTP_NOT_FOUND, ex);
+        } catch (final NoSuchElementException ex) {
+            reply = MkServer.error(HttpURLConnection.HTTP_NOT_FOUND, ex);
+        } catch (final IndexOutOfBoundsException ex) {
+            reply = MkServer.error(HttpURLConnection.HTTP_NOT_FOUND, ex);
+        // @checkstyle IllegalCatch (1 line)
+        } catch (final RuntimeException ex) {
+            reply = MkServer.error(HttpURLConnection.HTTP_INTERNAL_ERROR, ex);
+        }
+        this.send(exchange, reply);
+    }
+
+    /**
+     * Find the route and make a reply.
+     * @param exchange Exchange
+     * @return Reply
+     * @throws IOException If there is any I/O problem
+     */
+    private MkServer.Reply reply(final MkServer.Exchange exchange)
+        throws IOException {
+        if (!this.spend()) {
+            return new MkServer.Reply(
+                HttpURLConnection.HTTP_FORBIDDEN,
+                MkServer.message("API rate limit exceeded")
+            );
+        }
+        final String method = exchange.method;
+        final String path = exchange.uri.getPath();
+        final String text = exchange.body;
+        final JsonObject body;
+        if (text.isEmpty()) {
+            body = Json.createObjectBuilder().build();
+        } else {
+            body = Json.createReader(new StringReader(text)).readObject();
+        }
+        final Map<String, String> query = MkServer.query(
+            exchange.uri.getRawQuery()
+        );
+        MkServer.Reply reply = new MkServer.Reply(
+            HttpURLConnection.HTTP_NOT_FOUND, MkServer.message("Not Found")
+        );
+        for (final MkServer.Route route : this.routes) {
+            final Matcher matcher = route.pattern.matcher(path);
+            if (route.method.equals(method) && matcher.matches()) {
+                synchronized (this.storage) {
+                    reply = route.reply(matcher, query, body);
+                    if (reply.listing != null) {
+                        reply = this.page(exchange, reply);
+                    }
+                }
+                break;
+            }
+        }
+        return reply;
+    }
+
+    /**
+     * Send the reply.
+     * @param exchange Exchange
+     * @param reply Reply
+     * @throws IOException If there is any I/O problem
+     */
+    private void send(final MkServer.Exchange exchange,
+        final MkServer.Reply reply) throws IOException {
+        int status = reply.status;
+        final JsonStructure json = reply.json;
+        byte[] bytes = new byte[0];
+        if (json != null) {
+            bytes = json.toString().getBytes(Charsets.UTF_8);
+            exchange.headers.put(
+                "Content-Type", "application/json; charset=utf-8"
+            );
+            final String etag = MkServer.etag(bytes);
+            exchange.headers.put("ETag", etag);
+            if (status == HttpURLConnection.HTTP_OK
+                && etag.equals(exchange.header("If-None-Match"))) {
+                status = HttpURLConnection.HTTP_NOT_MODIFIED;
+                bytes = new byte[0];
+                this.remaining.incrementAndGet();
+            }
+        }
+        exchange.headers.put(
+            "X-RateLimit-Limit", Integer.toString(MkServer.QUOTA)
+        );
+        exchange.headers.put(
+            "X-RateLimit-Remaining",
+            Integer.toString(Math.max(0, this.remaining.get()))
+        );
+        exchange.headers.put(
+            "X-RateLimit-Reset", Long.toString(this.reset.get())
+        );
+        exchange.status = status;
+        exchange.output = bytes;
+    }
+
+    /**
+     * Render one page of the listing and add {@code Link} header.
+     *
+     * <p>Only items of the requested page are rendered to JSON, so
+     * walking through all pages of a long listing renders every item
+     * once.
+     *
+     * @param exchange Exchange
+     * @param reply Reply with a listing
+     * @return Reply with items of the requested page
+     * @throws IOException If there is any I/O problem
+     */
+    private MkServer.Reply page(final MkServer.Exchange exchange,
+        final MkServer.Reply reply) throws IOException {
+        final MkServer.Listing<?> listing = reply.listing;
+        final Map<String, String> query = MkServer.query(
+            exchange.uri.getRawQuery()
+        );
+        final int size = MkServer.number(
+            query.get("per_page"), MkServer.PER_PAGE
+        );
+        final int page = MkServer.number(query.get("page"), 1);
+        final int last = Math.max(1, (listing.size() + size - 1) / size);
+        final Collection<String> links = new LinkedList<String>();
+        if (page < last) {
+            links.add(this.link(exchange, query, page + 1, "next"));
+            links.add(this.link(exchange, query, last, "last"));
+        }
+        if (page > 1) {
+            links.add(this.link(exchange, query, 1, "first"));
+            links.add(this.link(exchange, query, page - 1, "prev"));
+        }
+        if (!links.isEmpty()) {
+            final StringBuilder header = new StringBuilder(0);
+            for (final String link : links) {
+                if (header.length() > 0) {
+                    header.append(", ");
+                }
+                header.append(link);
+            }
+            exchange.headers.put("Link", header.toString());
+        }
+        final int start = (page - 1) * size;
+        JsonStructure json = listing.slice(start, start + size);
+        if (reply.search) {
+            json = Json.createObjectBuilder()
+                .add("total_count", listing.size())
+                .add("incomplete_results", false)
+                .add("items", json)
+                .build();
+        }
+        return new MkServer.Reply(reply.status, json);
+    }
+
+    /**
+     * Make one link for {@code Link} header.
+     * @param exchange Exchange
+     * @param query Query parameters of the request
+     * @param page Number of the page
+     * @param rel Relation
+     * @return Link
+     * @throws IOException If there is any I/O problem
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private String link(final MkServer.Exchange exchange,
+        final Map<String, String> query, final int page, final String rel)
+        throws IOException {
+        final Map<String, String> params = new TreeMap<String, String>(query);
+        params.put("page", Integer.toString(page));
+        final StringBuilder uri = new StringBuilder(this.home().toString())
+            .append(exchange.uri.getRawPath());
+        char sep = '?';
+        for (final Map.Entry<String, String> param : params.entrySet()) {
+            uri.append(sep).append(param.getKey()).append('=')
+                .append(URLEncoder.encode(param.getValue(), "UTF-8"));
+            sep = '&';
+        }
+        return String.format("<%s>; rel=\"%s\"", uri, rel);
+    }
+
+    /**
+     * Spend one request of the quota.
+     * @return TRUE if there was something to spend
+     */
+    private boolean spend() {
+        final long now = TimeUnit.MILLISECONDS.toSeconds(
+            System.currentTimeMillis()
+        );
+        final long when = this.reset.get();
+        if (now >= when && this.reset.compareAndSet(when, MkServer.hour())) {
+            this.remaining.set(MkServer.QUOTA);
+        }
+        return this.remaining.getAndDecrement() > 0;
+    }
+
+    /**
+     * Add a route.
+     * @param route Route
+     */
+    private void route(final MkServer.Route route) {
+        this.routes.add(route);
+    }
+
+    /**
+     * Repository from the matcher.
+     * @param matcher Matcher with owner and name as first two groups
+     * @return Repo
+     */
+    private Repo repo(final Matcher matcher) {
+        return this.github.repos().get(
+            new Coordinates.Simple(matcher.group(1), matcher.group(2))
+        );
+    }
+
+    /**
+     * Routes of repos and rate limit.
+     */
+    private void repos() {
+        this.route(
+            new MkServer.Route("GET", "/rate_limit") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body) {
+                    return MkServer.ok(MkServer.this.limit());
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        MkServer.this.json(MkServer.this.repo(matcher))
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("POST", "/user/repos") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.created(
+                        MkServer.this.json(
+                            MkServer.this.github.repos().create(body)
+                        )
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Routes of issues.
+     */
+    private void issues() {
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)/issues") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        new MkServer.Listing<Issue>(
+                            MkServer.this.repo(matcher).issues().iterate(query)
+                        ) {
+                            @Override
+                            public JsonValue json(final Issue issue)
+                                throws IOException {
+                                return MkServer.this.json(issue);
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("POST", "/repos/([^/]+)/([^/]+)/issues") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.created(
+                        MkServer.this.json(
+                            MkServer.this.repo(matcher).issues().create(
+                                body.getString("title"),
+                                body.getString("body", "")
+                            )
+                        )
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)/issues/(\\d+)") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        MkServer.this.json(MkServer.this.issue(matcher))
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "PATCH", "/repos/([^/]+)/([^/]+)/issues/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    final Issue issue = MkServer.this.issue(matcher);
+                    issue.patch(body);
+                    return MkServer.ok(MkServer.this.json(issue));
+                }
+            }
+        );
+    }
+
+    /**
+     * Routes of issue comments.
+     */
+    private void comments() {
+        this.route(
+            new MkServer.Route(
+                "GET", "/repos/([^/]+)/([^/]+)/issues/comments"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        new MkServer.Listing<Comment>(
+                            MkServer.this.repo(matcher).issues().comments(query)
+                        ) {
+                            @Override
+                            public JsonValue json(final Comment comment)
+                                throws IOException {
+                                return MkServer.this.json(comment);
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "GET", "/repos/([^/]+)/([^/]+)/issues/(\\d+)/comments"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        new MkServer.Listing<Comment>(
+                            MkServer.this.issue(matcher).comments().iterate()
+                        ) {
+                            @Override
+                            public JsonValue json(final Comment comment)
+                                throws IOException {
+                                return MkServer.this.json(comment);
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "POST", "/repos/([^/]+)/([^/]+)/issues/(\\d+)/comments"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.created(
+                        MkServer.this.json(
+                            MkServer.this.issue(matcher).comments()
+                                .post(body.getString("body"))
+                        )
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "GET", "/repos/([^/]+)/([^/]+)/issues/comments/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        MkServer.this.json(MkServer.this.comment(matcher))
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "PATCH", "/repos/([^/]+)/([^/]+)/issues/comments/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    final Comment comment = MkServer.this.comment(matcher);
+                    comment.patch(body);
+                    return MkServer.ok(MkServer.this.json(comment));
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "DELETE", "/repos/([^/]+)/([^/]+)/issues/comments/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    MkServer.this.comment(matcher).remove();
+                    return new MkServer.Reply(
+                        HttpURLConnection.HTTP_NO_CONTENT, null
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Routes of pull requests.
+     */
+    private void pulls() {
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)/pulls") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        new MkServer.Listing<Pull>(
+                            MkServer.this.repo(matcher).pulls().iterate()
+                        ) {
+                            @Override
+                            public JsonValue json(final Pull pull)
+                                throws IOException {
+                                return MkServer.normalize(pull.json());
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("POST", "/repos/([^/]+)/([^/]+)/pulls") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.created(
+                        MkServer.normalize(
+                            MkServer.this.repo(matcher).pulls().create(
+                                body.getString("title"),
+                                body.getString("head"),
+                                body.getString("base")
+                            ).json()
+                        )
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)/pulls/(\\d+)") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        MkServer.normalize(
+                            MkServer.this.repo(matcher).pulls().get(
+                                Integer.parseInt(matcher.group(Tv.THREE))
+                            ).json()
+                        )
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Routes of contents.
+     */
+    private void contents() {
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)/contents/(.+)") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    String ref = query.get("ref");
+                    if (ref == null) {
+                        ref = "master";
+                    }
+                    return MkServer.ok(
+                        MkServer.normalize(
+                            MkServer.this.repo(matcher).contents().get(
+                                matcher.group(Tv.THREE), ref
+                            ).json()
+                        )
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("PUT", "/repos/([^/]+)/([^/]+)/contents/(.+)") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    final JsonObjectBuilder json = Json.createObjectBuilder();
+                    for (final Map.Entry<String, JsonValue> item
+                        : body.entrySet()) {
+                        json.add(item.getKey(), item.getValue());
+                    }
+                    json.add("path", matcher.group(Tv.THREE));
+                    return MkServer.created(
+                        Json.createObjectBuilder().add(
+                            "content",
+                            MkServer.normalize(
+                                MkServer.this.repo(matcher).contents()
+                                    .create(json.build()).json()
+                            )
+                        ).build()
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Routes of releases.
+     */
+    private void releases() {
+        this.route(
+            new MkServer.Route("GET", "/repos/([^/]+)/([^/]+)/releases") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        new MkServer.Listing<Release>(
+                            MkServer.this.repo(matcher).releases().iterate()
+                        ) {
+                            @Override
+                            public JsonValue json(final Release release)
+                                throws IOException {
+                                return MkServer.normalize(release.json());
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("POST", "/repos/([^/]+)/([^/]+)/releases") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    final Release release = MkServer.this.repo(matcher)
+                        .releases().create(body.getString("tag_name"));
+                    return MkServer.created(
+                        MkServer.normalize(release.json())
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "GET", "/repos/([^/]+)/([^/]+)/releases/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.ok(
+                        MkServer.normalize(
+                            MkServer.this.release(matcher).json()
+                        )
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "PATCH", "/repos/([^/]+)/([^/]+)/releases/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    final Release release = MkServer.this.release(matcher);
+                    release.patch(body);
+                    return MkServer.ok(MkServer.normalize(release.json()));
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route(
+                "DELETE", "/repos/([^/]+)/([^/]+)/releases/(\\d+)"
+            ) {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    MkServer.this.repo(matcher).releases().remove(
+                        Integer.parseInt(matcher.group(Tv.THREE))
+                    );
+                    return new MkServer.Reply(
+                        HttpURLConnection.HTTP_NO_CONTENT, null
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Routes of search.
+     */
+    private void search() {
+        this.route(
+            new MkServer.Route("GET", "/search/repositories") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.found(
+                        new MkServer.Listing<Repo>(
+                            MkServer.this.github.search().repos(
+                                MkServer.keywords(query), "", ""
+                            )
+                        ) {
+                            @Override
+                            public JsonValue json(final Repo repo)
+                                throws IOException {
+                                return MkServer.this.json(repo);
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("GET", "/search/issues") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.found(
+                        new MkServer.Listing<Issue>(
+                            MkServer.this.github.search().issues(
+                                MkServer.keywords(query), "", ""
+                            )
+                        ) {
+                            @Override
+                            public JsonValue json(final Issue issue)
+                                throws IOException {
+                                return MkServer.this.json(issue);
+                            }
+                        }
+                    );
+                }
+            }
+        );
+        this.route(
+            new MkServer.Route("GET", "/search/users") {
+                @Override
+                public MkServer.Reply reply(final Matcher matcher,
+                    final Map<String, String> query, final JsonObject body)
+                    throws IOException {
+                    return MkServer.found(
+                        new MkServer.Listing<User>(
+                            MkServer.this.github.search().users(
+                                MkServer.keywords(query), "", ""
+                            )
+                        ) {
+                            @Override
+                            public JsonValue json(final User user)
+                                throws IOException {
+                                return Json.createObjectBuilder()
+                                    .add("login", user.login()).build();
+                            }
+                        }
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Issue from the matcher.
+     * @param matcher Matcher with owner, name and number
+     * @return Issue
+     */
+    private Issue issue(final Matcher matcher) {
+        return this.repo(matcher).issues().get(
+            Integer.parseInt(matcher.group(Tv.THREE))
+        );
+    }
+
+    /**
+     * Comment from the matcher.
+     * @param matcher Matcher with owner, name and comment number
+     * @return Comment
+     * @throws IOException If there is any I/O problem
+     */
+    private Comment comment(final Matcher matcher) throws IOException {
+        final Repo repo = this.repo(matcher);
+        final int number = Integer.parseInt(matcher.group(Tv.THREE));
+        final List<String> issues = this.storage.xml().xpath(
+            String.format(
+                // @checkstyle LineLength (1 line)
+                "/github/repos/repo[@coords='%s']/issues/issue[comments/comment/number='%d']/number/text()",
+                repo.coordinates(), number
+            )
+        );
+        if (issues.isEmpty()) {
+            throw new IllegalArgumentException(
+                String.format("comment #%d not found", number)
+            );
+        }
+        return repo.issues().get(Integer.parseInt(issues.get(0)))
+            .comments().get(number);
+    }
+
+    /**
+     * Release from the matcher.
+     * @param matcher Matcher with owner, name and release id
+     * @return Release
+     */
+    private Release release(final Matcher matcher) {
+        return this.repo(matcher).releases().get(
+            Integer.parseInt(matcher.group(Tv.THREE))
+        );
+    }
+
+    /**
+     * JSON of a repo, as Github renders it.
+     * @param repo Repo
+     * @return JSON
+     * @throws IOException If there is any I/O problem
+     */
+    private JsonObject json(final Repo repo) throws IOException {
+        return MkServer.extend(
+            repo.json(),
+            Json.createObjectBuilder()
+                .add("full_name", repo.coordinates().toString())
+                .add(
+                    "owner",
+                    Json.createObjectBuilder()
+                        .add("login", repo.coordinates().user())
+                )
+                .add(
+                    "url",
+                    String.format(
+                        "%s/repos/%s", this.home(), repo.coordinates()
+                    )
+                )
+                .build()
+        );
+    }
+
+    /**
+     * JSON of an issue, as Github renders it.
+     * @param issue Issue
+     * @return JSON
+     * @throws IOException If there is any I/O problem
+     */
+    private JsonObject json(final Issue issue) throws IOException {
+        return MkServer.extend(
+            issue.json(),
+            Json.createObjectBuilder()
+                .add(
+                    "url",
+                    String.format(
+                        "%s/repos/%s/issues/%d", this.home(),
+                        issue.repo().coordinates(), issue.number()
+                    )
+                )
+                .add("comments", this.storage.xml().nodes(
+                    String.format(
+                        // @checkstyle LineLength (1 line)
+                        "/github/repos/repo[@coords='%s']/issues/issue[number='%d']/comments/comment",
+                        issue.repo().coordinates(), issue.number()
+                    )
+                ).size())
+                .build()
+        );
+    }
+
+    /**
+     * JSON of a comment, as Github renders it.
+     * @param comment Comment
+     * @return JSON
+     * @throws IOException If there is any I/O problem
+     */
+    private JsonObject json(final Comment comment) throws IOException {
+        return MkServer.extend(
+            comment.json(),
+            Json.createObjectBuilder()
+                .add("id", comment.number())
+                .add(
+                    "url",
+                    String.format(
+                        "%s/repos/%s/issues/comments/%d", this.home(),
+                        comment.issue().repo().coordinates(),
+                        comment.number()
+                    )
+                )
+                .add(
+                    "issue_url",
+                    String.format(
+                        "%s/repos/%s/issues/%d", this.home(),
+                        comment.issue().repo().coordinates(),
+                        comment.issue().number()
+                    )
+                )
+                .build()
+        );
+    }
+
+    /**
+     * JSON of the rate limit.
+     * @return JSON
+     */
+    private JsonObject limit() {
+        final JsonObject rate = Json.createObjectBuilder()
+            .add("limit", MkServer.QUOTA)
+            .add("remaining", Math.max(0, this.remaining.get()))
+            .add("reset", this.reset.get())
+            .build();
+        return Json.createObjectBuilder()
+            .add(
+                "resources",
+                Json.createObjectBuilder()
+                    .add("core", rate)
+                    .add("search", rate)
+            )
+            .add("rate", rate)
+            .build();
+    }
+
+    /**
+     * Extend JSON with extra values and normalize it.
+     * @param json JSON from the storage
+     * @param extra Extra values, replacing existing ones
+     * @return JSON
+     */
+    private static JsonObject extend(final JsonObject json,
+        final JsonObject extra) {
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        for (final Map.Entry<String, JsonValue> item : json.entrySet()) {
+            if (!extra.containsKey(item.getKey())) {
+                builder.add(item.getKey(), item.getValue());
+            }
+        }
+        for (final Map.Entry<String, JsonValue> item : extra.entrySet()) {
+            builder.add(item.getKey(), item.getValue());
+        }
+        return MkServer.normalize(builder.build());
+    }
+
+    /**
+     * Convert text values that Github renders as numbers and booleans.
+     *
+     * <p>{@link MkStorage} keeps all values as text, while {@code Rt*}
+     * classes read, for example, {@code number} as an integer.
+     *
+     * @param json JSON from the storage
+     * @return JSON with numbers and booleans
+     */
+    private static JsonObject normalize(final JsonObject json) {
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        for (final Map.Entry<String, JsonValue> item : json.entrySet()) {
+            final JsonValue value = item.getValue();
+            final String key = item.getKey();
+            if (value instanceof JsonObject) {
+                builder.add(
+                    key, MkServer.normalize(JsonObject.class.cast(value))
+                );
+            } else if (value instanceof JsonString
+                && MkServer.NUMBERS.contains(key)
+                && JsonString.class.cast(value).getString().matches("\\d+")) {
+                builder.add(
+                    key,
+                    Long.parseLong(JsonString.class.cast(value).getString())
+                );
+            } else if (value instanceof JsonString
+                && MkServer.BOOLEANS.contains(key)) {
+                builder.add(
+                    key,
+                    Boolean.parseBoolean(
+                        JsonString.class.cast(value).getString()
+                    )
+                );
+            } else {
+                builder.add(key, value);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parse query string.
+     * @param query Raw query, maybe NULL
+     * @return Parameters
+     * @throws IOException If there is any I/O problem
+     */
+    private static Map<String, String> query(final String query)
+        throws IOException {
+        final Map<String, String> params = new TreeMap<String, String>();
+        if (query != null) {
+            for (final String pair : query.split("&")) {
+                final String[] parts = pair.split("=", 2);
+                String value = "";
+                if (parts.length > 1) {
+                    value = URLDecoder.decode(parts[1], "UTF-8");
+                }
+                params.put(URLDecoder.decode(parts[0], "UTF-8"), value);
+            }
+        }
+        return Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Search keywords from the query.
+     * @param query Query parameters
+     * @return Keywords
+     */
+    private static String keywords(final Map<String, String> query) {
+        final String keywords = query.get("q");
+        if (keywords == null) {
+            throw new IllegalArgumentException("q parameter is required");
+        }
+        return keywords;
+    }
+
+    /**
+     * Parse a positive number.
+     * @param text Text, maybe NULL
+     * @param def Default value
+     * @return Number
+     */
+    private static int number(final String text, final int def) {
+        int num = def;
+        if (text != null && text.matches("\\d+")) {
+            num = Math.max(1, Integer.parseInt(text));
+        }
+        return num;
+    }
+
+    /**
+     * ETag of the body.
+     * @param bytes Body
+     * @return ETag, quoted
+     */
+    private static String etag(final byte[] bytes) {
+        try {
+            return String.format(
+                "\"%s\"",
+                DatatypeConverter.printHexBinary(
+                    MessageDigest.getInstance("MD5").digest(bytes)
+                ).toLowerCase(Locale.ENGLISH)
+            );
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Beginning of the next hour, in seconds since epoch.
+     * @return Seconds
+     */
+    private static long hour() {
+        final long hour = TimeUnit.HOURS.toSeconds(1L);
+        final long now = TimeUnit.MILLISECONDS.toSeconds(
+            System.currentTimeMillis()
+        );
+        return (now / hour + 1L) * hour;
+    }
+
+    /**
+     * JSON with an error message.
+     * @param text Message
+     * @return JSON
+     */
+    private static JsonObject message(final String text) {
+        return Json.createObjectBuilder()
+            .add("message", text)
+            .add("documentation_url", "https://developer.github.com/v3")
+            .build();
+    }
+
+    /**
+     * Reply with an error.
+     * @param status HTTP status
+     * @param error The error
+     * @return Reply
+     */
+    private static MkServer.Reply error(final int status,
+        final Exception error) {
+        String text = error.getMessage();
+        if (text == null) {
+            text = error.getClass().getName();
+        }
+        return new MkServer.Reply(status, MkServer.message(text));
+    }
+
+    /**
+     * Reply with 200.
+     * @param json Body
+     * @return Reply
+     */
+    private static MkServer.Reply ok(final JsonStructure json) {
+        return new MkServer.Reply(HttpURLConnection.HTTP_OK, json);
+    }
+
+    /**
+     * Reply with 201.
+     * @param json Body
+     * @return Reply
+     */
+    private static MkServer.Reply created(final JsonStructure json) {
+        return new MkServer.Reply(HttpURLConnection.HTTP_CREATED, json);
+    }
+
+    /**
+     * Reply with 200 and a listing, to be paginated.
+     * @param items All items
+     * @return Reply
+     */
+    private static MkServer.Reply ok(final MkServer.Listing<?> items) {
+        return new MkServer.Reply(HttpURLConnection.HTTP_OK, items, false);
+    }
+
+    /**
+     * Reply with search results.
+     * @param items All found items
+     * @return Reply
+     */
+    private static MkServer.Reply found(final MkServer.Listing<?> items) {
+        return new MkServer.Reply(HttpURLConnection.HTTP_OK, items, true);
+    }
+
+    /**
+     * HTTP/1.1 request and response.
+     *
+     * <p>The server is implemented on top of plain sockets, since
+     * {@code com.sun.net.httpserver} changes the case of header names
+     * (it sends {@code X-ratelimit-remaining}), while Github and
+     * therefore our clients use {@code X-RateLimit-Remaining}.
+     */
+    private static final class Exchange {
+        /**
+         * Reason phrases.
+         */
+        private static final Map<Integer, String> REASONS =
+            new TreeMap<Integer, String>();
+        static {
+            MkServer.Exchange.REASONS.put(HttpURLConnection.HTTP_OK, "OK");
+            MkServer.Exchange.REASONS.put(
+                HttpURLConnection.HTTP_CREATED, "Created"
+            );
+            MkServer.Exchange.REASONS.put(
+                HttpURLConnection.HTTP_NO_CONTENT, "No Content"
+            );
+            MkServer.Exchange.REASONS.put(
+                HttpURLConnection.HTTP_NOT_MODIFIED, "Not Modified"
+            );
+            MkServer.Exchange.REASONS.put(
+                HttpURLConnection.HTTP_FORBIDDEN, "Forbidden"
+            );
+            MkServer.Exchange.REASONS.put(
+                HttpURLConnection.HTTP_NOT_FOUND, "Not Found"
+            );
+        }
+        /**
+         * HTTP method.
+         */
+        private final transient String method;
+        /**
+         * Request URI.
+         */
+        private final transient URI uri;
+        /**
+         * Request headers.
+         */
+        private final transient Map<String, String> input;
+        /**
+         * Request body.
+         */
+        private final transient String body;
+        /**
+         * Response headers.
+         */
+        private final transient Map<String, String> headers;
+        /**
+         * Response status.
+         */
+        private transient int status;
+        /**
+         * Response body.
+         */
+        private transient byte[] output;
+        /**
+         * Ctor.
+         * @param mtd Method
+         * @param addr URI
+         * @param hdrs Request headers
+         * @param text Request body
+         */
+        Exchange(final String mtd, final URI addr,
+            final Map<String, String> hdrs, final String text) {
+            this.method = mtd;
+            this.uri = addr;
+            this.input = hdrs;
+            this.body = text;
+            this.headers = new LinkedHashMap<String, String>(0);
+            this.status = HttpURLConnection.HTTP_INTERNAL_ERROR;
+            this.output = new byte[0];
+        }
+        /**
+         * Request header.
+         * @param name Name of it, case insensitive
+         * @return Value or NULL
+         */
+        public String header(final String name) {
+            return this.input.get(name);
+        }
+        /**
+         * Read next request from the stream.
+         * @param stream Stream
+         * @return Exchange or NULL if the stream is over
+         * @throws IOException If there is any I/O problem
+         */
+        public static MkServer.Exchange read(final InputStream stream)
+            throws IOException {
+            final String first = MkServer.Exchange.line(stream);
+            if (first == null || first.isEmpty()) {
+                return null;
+            }
+            final String[] parts = first.split(" ");
+            final Map<String, String> hdrs = new TreeMap<String, String>(
+                String.CASE_INSENSITIVE_ORDER
+            );
+            while (true) {
+                final String line = MkServer.Exchange.line(stream);
+                if (line == null || line.isEmpty()) {
+                    break;
+                }
+                final int colon = line.indexOf(':');
+                if (colon > 0) {
+                    hdrs.put(
+                        line.substring(0, colon).trim(),
+                        line.substring(colon + 1).trim()
+                    );
+                }
+            }
+            final String length = hdrs.get("Content-Length");
+            final byte[] bytes;
+            if (length == null) {
+                bytes = new byte[0];
+            } else {
+                bytes = new byte[Integer.parseInt(length)];
+                IOUtils.readFully(stream, bytes);
+            }
+            return new MkServer.Exchange(
+                parts[0], URI.create(parts[1]), hdrs,
+                new String(bytes, Charsets.UTF_8)
+            );
+        }
+        /**
+         * Write the response to the stream.
+         * @param stream Stream
+         * @throws IOException If there is any I/O problem
+         */
+        public void write(final OutputStream stream) throws IOException {
+            String reason = MkServer.Exchange.REASONS.get(this.status);
+            if (reason == null) {
+                reason = "Unknown";
+            }
+            final StringBuilder head = new StringBuilder(0)
+                .append("HTTP/1.1 ").append(this.status).append(' ')
+                .append(reason).append("\r\n");
+            for (final Map.Entry<String, String> hdr
+                : this.headers.entrySet()) {
+                head.append(hdr.getKey()).append(": ")
+                    .append(hdr.getValue()).append("\r\n");
+            }
+            head.append("Content-Length: ").append(this.output.length)
+                .append("\r\n\r\n");
+            stream.write(head.toString().getBytes(Charsets.UTF_8));
+            stream.write(this.output);
+            stream.flush();
+        }
+        /**
+         * Read one line, without CRLF.
+         * @param stream Stream
+         * @return Line or NULL if the stream is over
+         * @throws IOException If there is any I/O problem
+         */
+        private static String line(final InputStream stream)
+            throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int chr = stream.read();
+            if (chr < 0) {
+                return null;
+            }
+            while (chr >= 0 && chr != '\n') {
+                if (chr != '\r') {
+                    line.write(chr);
+                }
+                chr = stream.read();
+            }
+            return new String(line.toByteArray(), Charsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reply of a route.
+     */
+    private static final class Reply {
+        /**
+         * HTTP status.
+         */
+        private final transient int status;
+        /**
+         * Body, or NULL if there is none.
+         */
+        private final transient JsonStructure json;
+        /**
+         * Items to paginate, or NULL if it's not a listing.
+         */
+        private final transient MkServer.Listing<?> listing;
+        /**
+         * Is it a search result?
+         */
+        private final transient boolean search;
+        /**
+         * Ctor.
+         * @param code HTTP status
+         * @param body Body or NULL
+         */
+        Reply(final int code, final JsonStructure body) {
+            this.status = code;
+            this.json = body;
+            this.listing = null;
+            this.search = false;
+        }
+        /**
+         * Ctor.
+         * @param code HTTP status
+         * @param items Items to paginate
+         * @param found Is it a search result?
+         */
+        Reply(final int code, final MkServer.Listing<?> items,
+            final boolean found) {
+            this.status = code;
+            this.json = null;
+            this.listing = items;
+            this.search = found;
+        }
+    }
+
+    /**
+     * Listing of items, rendered to JSON one page at a time.
+     * @param <T> Type of items
+     */
+    private abstract static class Listing<T> {
+        /**
+         * All items, not rendered yet.
+         */
+        private final transient List<T> items;
+        /**
+         * Ctor.
+         * @param all All items
+         */
+        Listing(final Iterable<T> all) {
+            this.items = new ArrayList<T>(0);
+            for (final T item : all) {
+                this.items.add(item);
+            }
+        }
+        /**
+         * Total number of items.
+         * @return Number of items
+         */
+        public int size() {
+            return this.items.size();
+        }
+        /**
+         * Render the items between two positions.
+         * @param start Position of the first item
+         * @param end Position after the last item
+         * @return JSON array
+         * @throws IOException If there is any I/O problem
+         */
+        public JsonArray slice(final int start, final int end)
+            throws IOException {
+            final JsonArrayBuilder array = Json.createArrayBuilder();
+            for (int idx = Math.max(0, start);
+                idx < Math.min(end, this.items.size()); ++idx) {
+                array.add(this.json(this.items.get(idx)));
+            }
+            return array.build();
+        }
+        /**
+         * Render one item.
+         * @param item The item
+         * @return JSON
+         * @throws IOException If there is any I/O problem
+         */
+        public abstract JsonValue json(T item) throws IOException;
+    }
+
+    /**
+     * Route to a handler.
+     */
+    private abstract static class Route {
+        /**
+         * HTTP method.
+         */
+        private final transient String method;
+        /**
+         * Pattern of the path.
+         */
+        private final transient Pattern pattern;
+        /**
+         * Ctor.
+         * @param mtd HTTP method
+         * @param regex Regular expression of the path
+         */
+        Route(final String mtd, final String regex) {
+            this.method = mtd;
+            this.pattern = Pattern.compile(regex);
+        }
+        /**
+         * Make a reply.
+         * @param matcher Path matcher
+         * @param query Query parameters
+         * @param body JSON body of the request
+         * @return Reply
+         * @throws IOException If there is any I/O problem
+         */
+        public abstract MkServer.Reply reply(Matcher matcher,
+            Map<String, String> query, JsonObject body) throws IOException;
+    }
+}
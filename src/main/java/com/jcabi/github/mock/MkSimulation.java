@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Github;
+import com.jcabi.immutable.ArrayMap;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Simulation of latency, rate limits and failures of Github.
+ *
+ * <p>{@link MkGithub} answers instantly and never runs out of quota. Wrap
+ * it into a simulation in order to test rate-limit schedulers, retries and
+ * back-pressure against something that behaves like the real server:
+ *
+ * <pre> Github github = new MkSimulation()
+ *   .latency("Issues.create", 300L, 100L)
+ *   .latency("*", 50L, 20L)
+ *   .quota(1000)
+ *   .failures(2)
+ *   .github(new MkGithub("jeff"));</pre>
+ *
+ * <p>Every call of a method that declares {@code IOException} (that is,
+ * every method that would make an HTTP request to the real Github) is
+ * an API call. It waits for a latency drawn from a normal distribution
+ * with the mean and deviation configured for {@code Interface.method}
+ * (or for {@code "*"}), takes one request from the quota ({@code search}
+ * for {@link com.jcabi.github.Search}, {@code core} for everything else)
+ * and fails with {@code IOException} if the quota is over, if there are
+ * too many concurrent calls (secondary rate limit) or if the random
+ * server error happens. {@code Github.limits()} reports the live state
+ * of the quotas. Objects returned by calls are simulated too.
+ *
+ * <p>Randomness is seeded, so the same sequence of calls made from one
+ * thread meets the same latencies and failures.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(
+    of = { "rnd", "means", "deviations", "core", "search", "share", "max" }
+)
+@Loggable(Loggable.DEBUG)
+public final class MkSimulation {
+
+    /**
+     * Seed of randomness.
+     */
+    private final transient long rnd;
+
+    /**
+     * Mean latencies in milliseconds, by operations.
+     */
+    private final transient ArrayMap<String, Long> means;
+
+    /**
+     * Standard deviations of latencies in milliseconds, by operations.
+     */
+    private final transient ArrayMap<String, Long> deviations;
+
+    /**
+     * Core quota, per hour.
+     */
+    private final transient int core;
+
+    /**
+     * Search quota, per minute.
+     */
+    private final transient int search;
+
+    /**
+     * Share of server errors, in percents.
+     */
+    private final transient int share;
+
+    /**
+     * Maximum number of concurrent calls, or zero if not limited.
+     */
+    private final transient int max;
+
+    /**
+     * Public ctor, with no latency, no failures and quotas of Github.
+     */
+    public MkSimulation() {
+        this(
+            0L, new ArrayMap<String, Long>(), new ArrayMap<String, Long>(),
+            // @checkstyle MagicNumber (1 line)
+            5000, Tv.THIRTY, 0, 0
+        );
+    }
+
+    /**
+     * Private ctor.
+     * @param seed Seed of randomness
+     * @param mean Mean latencies
+     * @param deviation Deviations of latencies
+     * @param hourly Core quota per hour
+     * @param minutely Search quota per minute
+     * @param failures Share of server errors, in percents
+     * @param concurrent Maximum number of concurrent calls
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    private MkSimulation(final long seed, final ArrayMap<String, Long> mean,
+        final ArrayMap<String, Long> deviation, final int hourly,
+        final int minutely, final int failures, final int concurrent) {
+        this.rnd = seed;
+        this.means = mean;
+        this.deviations = deviation;
+        this.core = hourly;
+        this.search = minutely;
+        this.share = failures;
+        this.max = concurrent;
+    }
+
+    /**
+     * With this seed of randomness.
+     * @param seed Seed
+     * @return New simulation
+     */
+    public MkSimulation seed(final long seed) {
+        return new MkSimulation(
+            seed, this.means, this.deviations, this.core, this.search,
+            this.share, this.max
+        );
+    }
+
+    /**
+     * With this latency of the operation.
+     * @param operation Operation, like {@code "Issues.create"},
+     *  or {@code "*"} for all operations without their own latency
+     * @param mean Mean latency, in milliseconds
+     * @param deviation Standard deviation, in milliseconds
+     * @return New simulation
+     */
+    public MkSimulation latency(
+        @NotNull(message = "operation can't be NULL") final String operation,
+        final long mean, final long deviation) {
+        return new MkSimulation(
+            this.rnd, this.means.with(operation, mean),
+            this.deviations.with(operation, deviation), this.core,
+            this.search, this.share, this.max
+        );
+    }
+
+    /**
+     * With this core quota.
+     * @param hourly Requests per hour
+     * @return New simulation
+     */
+    public MkSimulation quota(final int hourly) {
+        return new MkSimulation(
+            this.rnd, this.means, this.deviations, hourly, this.search,
+            this.share, this.max
+        );
+    }
+
+    /**
+     * With this search quota.
+     * @param minutely Requests per minute
+     * @return New simulation
+     */
+    public MkSimulation searches(final int minutely) {
+        return new MkSimulation(
+            this.rnd, this.means, this.deviations, this.core, minutely,
+            this.share, this.max
+        );
+    }
+
+    /**
+     * With this share of server errors.
+     * @param percents Share of calls that fail, from zero to a hundred
+     * @return New simulation
+     */
+    public MkSimulation failures(final int percents) {
+        return new MkSimulation(
+            this.rnd, this.means, this.deviations, this.core, this.search,
+            percents, this.max
+        );
+    }
+
+    /**
+     * With this secondary rate limit.
+     * @param concurrent Maximum number of calls in progress at the same
+     *  time, or zero to not limit them
+     * @return New simulation
+     */
+    public MkSimulation concurrency(final int concurrent) {
+        return new MkSimulation(
+            this.rnd, this.means, this.deviations, this.core, this.search,
+            this.share, concurrent
+        );
+    }
+
+    /**
+     * Start simulation of the Github.
+     *
+     * <p>Every call of this method starts a new simulation, with its own
+     * quotas and randomness.
+     *
+     * @param origin Github to simulate, usually {@link MkGithub}
+     * @return Simulated Github
+     */
+    @NotNull(message = "github is never NULL")
+    public Github github(
+        @NotNull(message = "origin can't be NULL") final Github origin) {
+        return new Simulator(
+            this.rnd, this.means, this.deviations, this.core, this.search,
+            this.share, this.max
+        ).github(origin);
+    }
+
+}
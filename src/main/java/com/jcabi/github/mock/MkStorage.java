@@ -31,11 +31,24 @@ package com.jcabi.github.mock;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import com.jcabi.log.VerboseRunnable;
+import com.jcabi.log.VerboseThreads;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
@@ -104,11 +117,31 @@ public interface MkStorage {
 
     /**
      * In file.
+     *
+     * <p>The document is kept in memory and {@link #xml()} returns
+     * the same object until the storage is modified by
+     * {@link #apply(Iterable)}. This saves only the reading of the file:
+     * {@link XMLDocument} keeps its text and parses it again for every
+     * XPath query. What saves the parsing is the cache of JSON objects
+     * materialized by {@link JsonNode} from that document, which lives
+     * until the next modification too, and every modification drops
+     * them all. The document belongs to this storage object and is
+     * forgotten together with it, another storage on the same file
+     * doesn't see it.
      */
     @Immutable
     @EqualsAndHashCode(of = "name")
     @Loggable(Loggable.DEBUG)
     final class InFile implements MkStorage {
+        /**
+         * Parsed documents, by tokens of their storages.
+         */
+        private static final Map<Object, XML> DOCS =
+            Collections.synchronizedMap(new WeakHashMap<Object, XML>(0));
+        /**
+         * Identity of this storage.
+         */
+        private final transient Object token = new Object();
         /**
          * File name.
          */
@@ -154,11 +187,16 @@ public interface MkStorage {
             }
             this.lock.lock();
             try {
-                return new XMLDocument(
-                    FileUtils.readFileToString(
-                        new File(this.name), Charsets.UTF_8
-                    )
-                );
+                XML doc = MkStorage.InFile.DOCS.get(this.token);
+                if (doc == null) {
+                    doc = new XMLDocument(
+                        FileUtils.readFileToString(
+                            new File(this.name), Charsets.UTF_8
+                        )
+                    );
+                    MkStorage.InFile.DOCS.put(this.token, doc);
+                }
+                return doc;
             } finally {
                 this.lock.unlock();
             }
@@ -175,13 +213,15 @@ public interface MkStorage {
             }
             this.lock.lock();
             try {
+                final XML before = this.xml();
+                final XML doc = new XMLDocument(
+                    new Xembler(dirs).apply(before.node())
+                );
                 FileUtils.write(
-                    new File(this.name),
-                    new XMLDocument(
-                        new Xembler(dirs).apply(this.xml().node())
-                    ).toString(),
-                    Charsets.UTF_8
+                    new File(this.name), doc.toString(), Charsets.UTF_8
                 );
+                MkStorage.InFile.DOCS.put(this.token, doc);
+                MkSearch.modified(before, doc, MkSearch.touched(dirs));
             } catch (final ImpossibleModificationException ex) {
                 throw new IllegalArgumentException(ex);
             } finally {
@@ -198,4 +238,372 @@ public interface MkStorage {
         }
     }
 
+    /**
+     * In memory, with copy-on-write forks.
+     *
+     * <p>The document is never modified in place: every
+     * {@link #apply(Iterable)} replaces it with a new one. That is why
+     * {@link #fork()} is cheap: the child starts with the very same
+     * document object as its parent, and gets its own one only when
+     * it is modified. Neither the parent nor the child see changes made
+     * by the other one after the fork. It is convenient for tests that
+     * share a big baseline:
+     *
+     * <pre> MkStorage.InMemory baseline = new MkStorage.InMemory();
+     * // create repos, issues, labels in new MkGithub(baseline, "jeff")
+     * Github github = new MkGithub(baseline.fork(), "jeff");</pre>
+     *
+     * @since 0.12
+     */
+    @Immutable
+    @EqualsAndHashCode(of = "token")
+    @Loggable(Loggable.DEBUG)
+    final class InMemory implements MkStorage {
+        /**
+         * Documents, by tokens of their storages.
+         */
+        private static final Map<Object, XML> DOCS =
+            Collections.synchronizedMap(new WeakHashMap<Object, XML>(0));
+        /**
+         * Identity of this storage.
+         */
+        private final transient Object token = new Object();
+        /**
+         * Lock object.
+         */
+        private final transient ReentrantLock lock = new ReentrantLock();
+        /**
+         * Public ctor.
+         */
+        public InMemory() {
+            this(new XMLDocument("<github/>"));
+        }
+        /**
+         * Public ctor.
+         * @param doc Initial document
+         */
+        public InMemory(
+            @NotNull(message = "doc can't be NULL") final XML doc
+        ) {
+            MkStorage.InMemory.DOCS.put(this.token, doc);
+        }
+        @Override
+        public String toString() {
+            return MkStorage.InMemory.DOCS.get(this.token).toString();
+        }
+        @Override
+        @NotNull(message = "XML is never NULL")
+        public XML xml() {
+            if (this.lock.isLocked() && !this.lock.isHeldByCurrentThread()) {
+                throw new ConcurrentModificationException(
+                    "lock should be taken before method call"
+                );
+            }
+            return MkStorage.InMemory.DOCS.get(this.token);
+        }
+        @Override
+        public void apply(
+            @NotNull(message = "dirs cannot be NULL")
+            final Iterable<Directive> dirs
+        ) {
+            if (this.lock.isLocked() && !this.lock.isHeldByCurrentThread()) {
+                throw new ConcurrentModificationException(
+                    "lock should be taken before method call"
+                );
+            }
+            this.lock.lock();
+            try {
+                final XML before = this.xml();
+                final XML doc = new XMLDocument(
+                    new Xembler(dirs).apply(before.node())
+                );
+                MkStorage.InMemory.DOCS.put(this.token, doc);
+                MkSearch.modified(before, doc, MkSearch.touched(dirs));
+            } catch (final ImpossibleModificationException ex) {
+                throw new IllegalArgumentException(ex);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        @Override
+        public void lock() {
+            this.lock.lock();
+        }
+        @Override
+        public void unlock() {
+            this.lock.unlock();
+        }
+        /**
+         * Make a copy-on-write child of this storage.
+         * @return Storage with the current document of this one
+         */
+        @NotNull(message = "storage is never NULL")
+        public MkStorage.InMemory fork() {
+            return new MkStorage.InMemory(this.xml());
+        }
+    }
+
+    /**
+     * Journaled storage in a directory.
+     *
+     * <p>Unlike {@link MkStorage.InFile}, which rewrites the entire file
+     * on every modification, this storage appends every batch of
+     * directives to a journal and keeps the document in memory. When the
+     * journal grows longer than the given number of batches, it is folded
+     * into a snapshot in a background thread. On start, the document is
+     * reconstructed from the snapshot and the journal:
+     *
+     * <pre> Github github = new MkGithub(
+     *   new MkStorage.Journaled(new File("target/world")), "jeff"
+     * );</pre>
+     *
+     * <p>How often the journal is forced to the disk is defined by
+     * {@link MkStorage.Journaled.Fsync}.
+     *
+     * <p>All storages in the same directory share one open journal, so
+     * they must have the same fsync policy, otherwise the constructor
+     * throws {@link IllegalArgumentException}. The journal stays open,
+     * together with its document, until {@link #close()} forces it to
+     * the disk and forgets it. Any storage in the directory opens it
+     * again on the next call. A journal whose directory was deleted is
+     * not reused by new storages, they read the directory again.
+     *
+     * @since 0.12
+     */
+    @Immutable
+    @EqualsAndHashCode(of = "dir")
+    @Loggable(Loggable.DEBUG)
+    final class Journaled implements MkStorage, Closeable {
+        /**
+         * Open journals, by absolute directory names.
+         */
+        private static final ConcurrentMap<String, Journal> JOURNALS =
+            new ConcurrentHashMap<String, Journal>(0);
+        /**
+         * Fsync policies of open journals, by absolute directory names.
+         */
+        private static final Map<String, MkStorage.Journaled.Fsync>
+            POLICIES = new HashMap<String, MkStorage.Journaled.Fsync>(0);
+        /**
+         * Executor of compaction and periodic fsync.
+         */
+        private static final ScheduledExecutorService BACKGROUND =
+            Executors.newSingleThreadScheduledExecutor(
+                new VerboseThreads(MkStorage.Journaled.class)
+            );
+        /**
+         * Directory name.
+         */
+        private final transient String dir;
+        /**
+         * Fsync policy.
+         */
+        private final transient MkStorage.Journaled.Fsync fsync;
+        /**
+         * Maximum number of batches in the journal before compaction.
+         */
+        private final transient int max;
+        /**
+         * Lock object.
+         */
+        private final transient ReentrantLock lock = new ReentrantLock();
+        /**
+         * Public ctor.
+         * @param file Directory to use
+         * @throws IOException If there is any I/O problem
+         */
+        public Journaled(
+            @NotNull(message = "file can't be NULL") final File file
+        ) throws IOException {
+            // @checkstyle MagicNumber (1 line)
+            this(file, MkStorage.Journaled.Fsync.PERIODIC, 1000);
+        }
+        /**
+         * Public ctor.
+         * @param file Directory to use
+         * @param policy Fsync policy
+         * @param batches Maximum number of batches in the journal
+         * @throws IOException If there is any I/O problem
+         */
+        public Journaled(
+            @NotNull(message = "file can't be NULL") final File file,
+            @NotNull(message = "policy can't be NULL")
+            final MkStorage.Journaled.Fsync policy,
+            final int batches
+        ) throws IOException {
+            this.dir = file.getAbsolutePath();
+            this.fsync = policy;
+            this.max = batches;
+            synchronized (MkStorage.Journaled.JOURNALS) {
+                final Journal open = MkStorage.Journaled.JOURNALS.get(
+                    this.dir
+                );
+                if (open != null && !open.exists()) {
+                    this.close();
+                }
+                this.open();
+            }
+        }
+        @Override
+        public String toString() {
+            try {
+                return this.journal().xml().toString();
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        @Override
+        @NotNull(message = "XML is never NULL")
+        public XML xml() throws IOException {
+            if (this.lock.isLocked() && !this.lock.isHeldByCurrentThread()) {
+                throw new ConcurrentModificationException(
+                    "lock should be taken before method call"
+                );
+            }
+            return this.journal().xml();
+        }
+        @Override
+        public void apply(
+            @NotNull(message = "dirs cannot be NULL")
+            final Iterable<Directive> dirs
+        ) throws IOException {
+            if (this.lock.isLocked() && !this.lock.isHeldByCurrentThread()) {
+                throw new ConcurrentModificationException(
+                    "lock should be taken before method call"
+                );
+            }
+            final Journal journal = this.journal();
+            this.lock.lock();
+            try {
+                final long size = journal.apply(dirs);
+                if (this.fsync == MkStorage.Journaled.Fsync.ALWAYS) {
+                    journal.sync();
+                } else if (this.fsync == MkStorage.Journaled.Fsync.PERIODIC
+                    && journal.syncing()) {
+                    MkStorage.Journaled.BACKGROUND.schedule(
+                        MkStorage.Journaled.task(
+                            new Callable<Void>() {
+                                @Override
+                                public Void call() throws IOException {
+                                    journal.sync();
+                                    return null;
+                                }
+                            }
+                        ),
+                        1L, TimeUnit.SECONDS
+                    );
+                }
+                if (size >= this.max && journal.compacting()) {
+                    MkStorage.Journaled.BACKGROUND.submit(
+                        MkStorage.Journaled.task(
+                            new Callable<Void>() {
+                                @Override
+                                public Void call() throws IOException {
+                                    journal.compact();
+                                    return null;
+                                }
+                            }
+                        )
+                    );
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        @Override
+        public void lock() {
+            this.lock.lock();
+        }
+        @Override
+        public void unlock() {
+            this.lock.unlock();
+        }
+        /**
+         * Fold the journal into the snapshot now, in the current thread.
+         * @throws IOException If there is any I/O problem
+         */
+        public void compact() throws IOException {
+            this.journal().compact();
+        }
+        /**
+         * Force the journal of the directory to the disk and close it.
+         * @throws IOException If there is any I/O problem
+         */
+        @Override
+        public void close() throws IOException {
+            final Journal journal;
+            synchronized (MkStorage.Journaled.JOURNALS) {
+                journal = MkStorage.Journaled.JOURNALS.remove(this.dir);
+                MkStorage.Journaled.POLICIES.remove(this.dir);
+            }
+            if (journal != null) {
+                journal.close();
+            }
+        }
+        /**
+         * Get the journal of the directory, opening it if necessary.
+         * @return Journal
+         * @throws IOException If there is any I/O problem
+         */
+        private Journal journal() throws IOException {
+            Journal journal = MkStorage.Journaled.JOURNALS.get(this.dir);
+            if (journal == null) {
+                journal = this.open();
+            }
+            return journal;
+        }
+        /**
+         * Open the journal of the directory, unless it is open already
+         * with the same fsync policy.
+         * @return Journal
+         * @throws IOException If there is any I/O problem
+         */
+        private Journal open() throws IOException {
+            synchronized (MkStorage.Journaled.JOURNALS) {
+                Journal journal = MkStorage.Journaled.JOURNALS.get(this.dir);
+                if (journal == null) {
+                    journal = new Journal(new File(this.dir));
+                    MkStorage.Journaled.JOURNALS.put(this.dir, journal);
+                    MkStorage.Journaled.POLICIES.put(this.dir, this.fsync);
+                } else if (MkStorage.Journaled.POLICIES.get(this.dir)
+                    != this.fsync) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "journal in %s is open with %s fsync policy",
+                            this.dir,
+                            MkStorage.Journaled.POLICIES.get(this.dir)
+                        )
+                    );
+                }
+                return journal;
+            }
+        }
+        /**
+         * Make a background task that logs its failures.
+         * @param callable Task
+         * @return Runnable
+         */
+        private static Runnable task(final Callable<Void> callable) {
+            return new VerboseRunnable(callable, true);
+        }
+        /**
+         * When to force the journal to the disk.
+         */
+        public enum Fsync {
+            /**
+             * After every batch of directives, before
+             * {@link MkStorage#apply(Iterable)} returns.
+             */
+            ALWAYS,
+            /**
+             * In background, a second after the first unforced batch.
+             */
+            PERIODIC,
+            /**
+             * Never, leave it to the operating system.
+             */
+            NEVER
+        }
+    }
+
 }
@@ -0,0 +1,410 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Github;
+import com.jcabi.github.Issue;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.xembly.Directives;
+
+/**
+ * Generator of big synthetic worlds for {@link MkGithub}.
+ *
+ * <p>Creating issues and comments through {@link MkIssues} and
+ * {@link MkComments} costs a full read and rewrite of the storage per
+ * entity. This class builds all repositories, labels, issues and comments
+ * as one batch of directives and applies it to the storage at once:
+ *
+ * <pre> MkStorage storage = new MkStorage.InMemory();
+ * new MkWorld().repos(10).issues(10000).comments(5).apply(storage, "jeff");
+ * Github github = new MkGithub(storage, "jeff");</pre>
+ *
+ * <p>Titles, bodies, authors, dates, labels of issues and their states
+ * are random, but the same seed always produces the same world. Closed
+ * issues are how the mock reports {@code closed} events, so the share
+ * of them defines how many events the world has.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @checkstyle ClassDataAbstractionCoupling (500 lines)
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(
+    of = { "rnd", "nrepos", "nissues", "ncomments", "nlabels", "share" }
+)
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MkWorld {
+
+    /**
+     * Words for titles and bodies.
+     */
+    @Immutable.Array
+    private static final String[] WORDS = {
+        "bug", "build", "cache", "crash", "docs", "error", "fails",
+        "feature", "fix", "github", "issue", "java", "memory", "mock",
+        "null", "page", "release", "slow", "test", "timeout", "update",
+    };
+
+    /**
+     * Colors of labels.
+     */
+    @Immutable.Array
+    private static final String[] COLORS = {
+        "e11d21", "eb6420", "fbca04", "009800", "006b75", "207de5",
+        "0052cc", "5319e7", "cccccc", "000000",
+    };
+
+    /**
+     * Authors of issues and comments.
+     */
+    private static final int AUTHORS = 20;
+
+    /**
+     * Moment of time all dates are counted back from.
+     */
+    private static final long EPOCH = 1388534400000L;
+
+    /**
+     * Seed of randomness.
+     */
+    private final transient long rnd;
+
+    /**
+     * Repositories to create.
+     */
+    private final transient int nrepos;
+
+    /**
+     * Issues per repository.
+     */
+    private final transient int nissues;
+
+    /**
+     * Comments per issue.
+     */
+    private final transient int ncomments;
+
+    /**
+     * Labels per repository.
+     */
+    private final transient int nlabels;
+
+    /**
+     * Share of closed issues, in percents.
+     */
+    private final transient int share;
+
+    /**
+     * Public ctor, with one repository of ten issues.
+     */
+    public MkWorld() {
+        // @checkstyle MagicNumber (1 line)
+        this(0L, 1, 10, 2, 5, 30);
+    }
+
+    /**
+     * Public ctor.
+     * @param seed Seed of randomness
+     * @param repos Repositories to create
+     * @param issues Issues per repository
+     * @param comments Comments per issue
+     * @param labels Labels per repository
+     * @param closed Share of closed issues, in percents
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    public MkWorld(final long seed, final int repos, final int issues,
+        final int comments, final int labels, final int closed) {
+        this.rnd = seed;
+        this.nrepos = repos;
+        this.nissues = issues;
+        this.ncomments = comments;
+        this.nlabels = labels;
+        this.share = closed;
+    }
+
+    /**
+     * With this seed of randomness.
+     * @param seed Seed
+     * @return New world
+     */
+    public MkWorld seed(final long seed) {
+        return new MkWorld(
+            seed, this.nrepos, this.nissues, this.ncomments,
+            this.nlabels, this.share
+        );
+    }
+
+    /**
+     * With this number of repositories.
+     * @param total How many of them
+     * @return New world
+     */
+    public MkWorld repos(final int total) {
+        return new MkWorld(
+            this.rnd, total, this.nissues, this.ncomments,
+            this.nlabels, this.share
+        );
+    }
+
+    /**
+     * With this number of issues per repository.
+     * @param total How many of them
+     * @return New world
+     */
+    public MkWorld issues(final int total) {
+        return new MkWorld(
+            this.rnd, this.nrepos, total, this.ncomments,
+            this.nlabels, this.share
+        );
+    }
+
+    /**
+     * With this number of comments per issue.
+     * @param total How many of them
+     * @return New world
+     */
+    public MkWorld comments(final int total) {
+        return new MkWorld(
+            this.rnd, this.nrepos, this.nissues, total,
+            this.nlabels, this.share
+        );
+    }
+
+    /**
+     * With this number of labels per repository.
+     * @param total How many of them
+     * @return New world
+     */
+    public MkWorld labels(final int total) {
+        return new MkWorld(
+            this.rnd, this.nrepos, this.nissues, this.ncomments,
+            total, this.share
+        );
+    }
+
+    /**
+     * With this share of closed issues.
+     * @param percents Share in percents, from zero to a hundred
+     * @return New world
+     */
+    public MkWorld closed(final int percents) {
+        return new MkWorld(
+            this.rnd, this.nrepos, this.nissues, this.ncomments,
+            this.nlabels, percents
+        );
+    }
+
+    /**
+     * Create Github with this world, in memory.
+     * @param login Login of the user, who owns the repositories
+     * @return Github
+     * @throws IOException If there is any I/O problem
+     */
+    @NotNull(message = "Github is never NULL")
+    public Github github(
+        @NotNull(message = "login can't be NULL") final String login
+    ) throws IOException {
+        final MkStorage storage = new MkStorage.InMemory();
+        this.apply(storage, login);
+        return new MkGithub(storage, login);
+    }
+
+    /**
+     * Add this world to the storage, in one batch.
+     *
+     * <p>Repositories are named {@code world-1}, {@code world-2}, etc.
+     * and must not exist in the storage yet.
+     *
+     * @param storage Storage
+     * @param owner Login of the user, who owns the repositories
+     * @throws IOException If there is any I/O problem
+     */
+    public void apply(
+        @NotNull(message = "storage can't be NULL") final MkStorage storage,
+        @NotNull(message = "owner can't be NULL") final String owner
+    ) throws IOException {
+        final Random random = new Random(this.rnd);
+        final long start = System.currentTimeMillis();
+        storage.lock();
+        try {
+            final Directives dirs = new Directives()
+                .xpath("/github").addIf("repos");
+            int comment = storage.xml().nodes("//comment/number").size();
+            for (int repo = 1; repo <= this.nrepos; ++repo) {
+                dirs.add("repo")
+                    .attr("coords", String.format("%s/world-%d", owner, repo))
+                    .add("name").set(String.format("world-%d", repo)).up()
+                    .add("description").set(MkWorld.text(random, Tv.FOUR))
+                    .up()
+                    .add("private").set(Boolean.toString(false)).up();
+                this.labels(dirs);
+                dirs.add("issues");
+                for (int issue = 1; issue <= this.nissues; ++issue) {
+                    this.issue(dirs, random, issue, comment);
+                    comment += this.ncomments;
+                }
+                dirs.up().up();
+            }
+            storage.apply(dirs);
+        } finally {
+            storage.unlock();
+        }
+        Logger.info(
+            this, "%d repo(s) with %d issue(s) each generated in %[ms]s",
+            this.nrepos, this.nissues, System.currentTimeMillis() - start
+        );
+    }
+
+    /**
+     * Add labels of a repository.
+     * @param dirs Directives, pointing to the repository
+     */
+    private void labels(final Directives dirs) {
+        dirs.add("labels");
+        for (int label = 0; label < this.nlabels; ++label) {
+            dirs.add("label")
+                .add("name").set(MkWorld.label(label)).up()
+                .add("color")
+                .set(MkWorld.COLORS[label % MkWorld.COLORS.length]).up()
+                .up();
+        }
+        dirs.up();
+    }
+
+    /**
+     * Add an issue with its labels and comments.
+     * @param dirs Directives, pointing to the issues of a repository
+     * @param random Randomizer
+     * @param number Number of the issue
+     * @param first Number of the last comment in the storage
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    private void issue(final Directives dirs, final Random random,
+        final int number, final int first) {
+        // @checkstyle MagicNumber (1 line)
+        final long created = MkWorld.EPOCH - TimeUnit.MINUTES.toMillis(
+            random.nextInt((int) TimeUnit.DAYS.toMinutes(365L))
+        );
+        final String state;
+        if (random.nextInt(Tv.HUNDRED) < this.share) {
+            state = Issue.CLOSED_STATE;
+        } else {
+            state = Issue.OPEN_STATE;
+        }
+        dirs.add("issue")
+            .add("number").set(Integer.toString(number)).up()
+            .add("state").set(state).up()
+            .add("title").set(MkWorld.text(random, Tv.FIVE)).up()
+            .add("body").set(MkWorld.text(random, Tv.TWENTY)).up()
+            .add("created_at").set(new Github.Time(created).toString()).up()
+            .add("updated_at").set(new Github.Time(created).toString()).up()
+            .add("url").set("http://localhost/1").up()
+            .add("html_url").set("http://localhost/2").up()
+            .add("user").add("login").set(MkWorld.author(random)).up().up()
+            .add("labels");
+        if (this.nlabels > 0) {
+            final int total = random.nextInt(
+                Math.min(this.nlabels, Tv.THREE) + 1
+            );
+            final Collection<Integer> picked = new TreeSet<Integer>();
+            while (picked.size() < total) {
+                picked.add(random.nextInt(this.nlabels));
+            }
+            for (final Integer label : picked) {
+                dirs.add("label").set(MkWorld.label(label)).up();
+            }
+        }
+        dirs.up().add("comments");
+        for (int idx = 1; idx <= this.ncomments; ++idx) {
+            final String time = new Github.Time(
+                created + TimeUnit.MINUTES.toMillis(idx)
+            ).toString();
+            dirs.add("comment")
+                .add("number").set(Integer.toString(first + idx)).up()
+                .add("body").set(MkWorld.text(random, Tv.TEN)).up()
+                .add("user").add("login").set(MkWorld.author(random)).up()
+                .up()
+                .add("created_at").set(time).up()
+                .add("updated_at").set(time).up()
+                .up();
+        }
+        dirs.up().up();
+    }
+
+    /**
+     * Random text.
+     * @param random Randomizer
+     * @param words How many words
+     * @return Text
+     */
+    private static String text(final Random random, final int words) {
+        final StringBuilder text = new StringBuilder(words * Tv.TEN);
+        for (int idx = 0; idx < words; ++idx) {
+            if (idx > 0) {
+                text.append(' ');
+            }
+            text.append(MkWorld.WORDS[random.nextInt(MkWorld.WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Random author.
+     * @param random Randomizer
+     * @return Login
+     */
+    private static String author(final Random random) {
+        return String.format("user-%d", random.nextInt(MkWorld.AUTHORS));
+    }
+
+    /**
+     * Name of a label.
+     * @param idx Index of the label
+     * @return Name
+     */
+    private static String label(final int idx) {
+        return String.format("label-%d", idx);
+    }
+
+}
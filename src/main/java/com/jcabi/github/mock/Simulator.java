@@ -0,0 +1,473 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Github;
+import com.jcabi.github.Limit;
+import com.jcabi.github.Limits;
+import com.jcabi.github.Search;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * Running simulation of Github, configured by {@link MkSimulation}.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ * @checkstyle ClassDataAbstractionCoupling (500 lines)
+ */
+final class Simulator {
+
+    /**
+     * Name of the core quota.
+     */
+    private static final String CORE = "core";
+
+    /**
+     * Name of the search quota.
+     */
+    private static final String SEARCH = "search";
+
+    /**
+     * Operation that matches all operations.
+     */
+    private static final String ANY = "*";
+
+    /**
+     * Randomizer.
+     */
+    private final transient Random random;
+
+    /**
+     * Mean latencies, by operations.
+     */
+    private final transient Map<String, Long> means;
+
+    /**
+     * Deviations of latencies, by operations.
+     */
+    private final transient Map<String, Long> deviations;
+
+    /**
+     * Quotas, by names.
+     */
+    private final transient Map<String, Simulator.Quota> quotas;
+
+    /**
+     * Share of server errors, in percents.
+     */
+    private final transient int share;
+
+    /**
+     * Maximum number of concurrent calls, or zero.
+     */
+    private final transient int max;
+
+    /**
+     * Calls in progress.
+     */
+    private final transient AtomicInteger flight;
+
+    /**
+     * Ctor.
+     * @param seed Seed of randomness
+     * @param mean Mean latencies
+     * @param deviation Deviations of latencies
+     * @param core Core quota per hour
+     * @param search Search quota per minute
+     * @param failures Share of server errors, in percents
+     * @param concurrent Maximum number of concurrent calls
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    Simulator(final long seed, final Map<String, Long> mean,
+        final Map<String, Long> deviation, final int core, final int search,
+        final int failures, final int concurrent) {
+        this.random = new Random(seed);
+        this.means = mean;
+        this.deviations = deviation;
+        this.quotas = new ConcurrentHashMap<String, Simulator.Quota>(2);
+        this.quotas.put(
+            Simulator.CORE,
+            new Simulator.Quota(core, TimeUnit.HOURS.toMillis(1L))
+        );
+        this.quotas.put(
+            Simulator.SEARCH,
+            new Simulator.Quota(search, TimeUnit.MINUTES.toMillis(1L))
+        );
+        this.share = failures;
+        this.max = concurrent;
+        this.flight = new AtomicInteger();
+    }
+
+    /**
+     * Simulate the Github.
+     * @param origin Original Github
+     * @return Simulated one
+     */
+    public Github github(final Github origin) {
+        return Github.class.cast(this.wrap(origin));
+    }
+
+    /**
+     * Make an API call: take it from the quota, wait and maybe fail.
+     * @param operation Name of the operation
+     * @param quota Name of the quota
+     * @throws IOException If the call fails
+     */
+    private void call(final String operation, final String quota)
+        throws IOException {
+        final int calls = this.flight.incrementAndGet();
+        if (this.max > 0 && calls > this.max) {
+            this.flight.decrementAndGet();
+            throw new IOException(
+                String.format(
+                    "HTTP 403, secondary rate limit, %d calls in progress",
+                    calls - 1
+                )
+            );
+        }
+        try {
+            this.quotas.get(quota).take();
+            final long delay = this.latency(operation);
+            if (delay > 0L) {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } finally {
+            this.flight.decrementAndGet();
+        }
+        final boolean fails;
+        synchronized (this.random) {
+            fails = this.random.nextInt(Tv.HUNDRED) < this.share;
+        }
+        if (fails) {
+            throw new IOException(
+                String.format("HTTP 502, simulated failure of %s", operation)
+            );
+        }
+    }
+
+    /**
+     * Draw latency of the operation.
+     * @param operation Name of the operation
+     * @return Milliseconds
+     */
+    private long latency(final String operation) {
+        String key = operation;
+        if (!this.means.containsKey(key)) {
+            key = Simulator.ANY;
+        }
+        long delay = 0L;
+        if (this.means.containsKey(key)) {
+            final double gaussian;
+            synchronized (this.random) {
+                gaussian = this.random.nextGaussian();
+            }
+            delay = Math.max(
+                0L,
+                Math.round(
+                    this.means.get(key) + gaussian * this.deviations.get(key)
+                )
+            );
+        }
+        return delay;
+    }
+
+    /**
+     * Simulate the object, if it is a Github entity.
+     * @param object The object
+     * @return Simulated object or the same object
+     */
+    private Object wrap(final Object object) {
+        Object result = object;
+        if (object != null && !Simulator.simulated(object)) {
+            final Collection<Class<?>> types = new LinkedList<Class<?>>();
+            for (final Class<?> type : object.getClass().getInterfaces()) {
+                if (type.getPackage().equals(Github.class.getPackage())) {
+                    types.add(type);
+                }
+            }
+            if (!types.isEmpty()) {
+                result = Proxy.newProxyInstance(
+                    Github.class.getClassLoader(),
+                    types.toArray(new Class<?>[types.size()]),
+                    new Simulator.Handler(
+                        object, types.iterator().next().getSimpleName()
+                    )
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Simulate all objects of the iterable.
+     * @param items Iterable
+     * @return Simulated iterable
+     */
+    private Iterable<Object> all(final Iterable<?> items) {
+        return new Iterable<Object>() {
+            @Override
+            public Iterator<Object> iterator() {
+                final Iterator<?> origin = items.iterator();
+                return new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        return origin.hasNext();
+                    }
+                    @Override
+                    public Object next() {
+                        return Simulator.this.wrap(origin.next());
+                    }
+                    @Override
+                    public void remove() {
+                        origin.remove();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Live limits of the simulation.
+     * @param github Simulated Github
+     * @return Limits
+     */
+    private Limits limits(final Github github) {
+        return new Limits() {
+            @Override
+            public Github github() {
+                return github;
+            }
+            @Override
+            public Limit get(final String resource) {
+                return new Limit() {
+                    @Override
+                    public Github github() {
+                        return github;
+                    }
+                    @Override
+                    public JsonObject json() {
+                        Simulator.Quota quota =
+                            Simulator.this.quotas.get(resource);
+                        if (quota == null) {
+                            quota = Simulator.this.quotas.get(Simulator.CORE);
+                        }
+                        return quota.json();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Is it a simulated object already?
+     * @param object The object
+     * @return TRUE if simulated
+     */
+    private static boolean simulated(final Object object) {
+        return Proxy.isProxyClass(object.getClass())
+            && Proxy.getInvocationHandler(object) instanceof Simulator.Handler;
+    }
+
+    /**
+     * Get the original object out of a simulated one.
+     * @param object Object, maybe simulated
+     * @return Original object
+     */
+    private static Object unwrap(final Object object) {
+        Object result = object;
+        if (object != null && Simulator.simulated(object)) {
+            result = Simulator.Handler.class.cast(
+                Proxy.getInvocationHandler(object)
+            ).origin;
+        }
+        return result;
+    }
+
+    /**
+     * Handler of simulated objects.
+     */
+    private final class Handler implements InvocationHandler {
+        /**
+         * Original object.
+         */
+        private final transient Object origin;
+        /**
+         * Name of its type.
+         */
+        private final transient String type;
+        /**
+         * Ctor.
+         * @param object Original object
+         * @param name Name of its type
+         */
+        Handler(final Object object, final String name) {
+            this.origin = object;
+            this.type = name;
+        }
+        @Override
+        public Object invoke(final Object proxy, final Method method,
+            final Object[] args) throws Throwable {
+            final String name = method.getName();
+            Object[] params = args;
+            if (args != null) {
+                params = new Object[args.length];
+                for (int idx = 0; idx < args.length; ++idx) {
+                    params[idx] = Simulator.unwrap(args[idx]);
+                }
+            }
+            final Object result;
+            if ("limits".equals(name) && args == null
+                && this.origin instanceof Github) {
+                result = Simulator.this.limits(Github.class.cast(proxy));
+            } else {
+                if (Arrays.asList(method.getExceptionTypes())
+                    .contains(IOException.class)) {
+                    String quota = Simulator.CORE;
+                    if (this.origin instanceof Search) {
+                        quota = Simulator.SEARCH;
+                    }
+                    Simulator.this.call(
+                        String.format("%s.%s", this.type, name), quota
+                    );
+                }
+                final Object value;
+                try {
+                    value = method.invoke(this.origin, params);
+                } catch (final InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                if (value instanceof Iterable
+                    && method.getReturnType().equals(Iterable.class)) {
+                    result = Simulator.this.all(Iterable.class.cast(value));
+                } else if (method.getReturnType().isInterface()) {
+                    result = Simulator.this.wrap(value);
+                } else {
+                    result = value;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Quota of requests.
+     */
+    private static final class Quota {
+        /**
+         * Requests per window.
+         */
+        private final transient int limit;
+        /**
+         * Window, in milliseconds.
+         */
+        private final transient long window;
+        /**
+         * Requests left.
+         */
+        private transient int remaining;
+        /**
+         * When the window ends, in milliseconds.
+         */
+        private transient long reset;
+        /**
+         * Ctor.
+         * @param max Requests per window
+         * @param msec Window, in milliseconds
+         */
+        Quota(final int max, final long msec) {
+            this.limit = max;
+            this.window = msec;
+            this.remaining = max;
+            this.reset = System.currentTimeMillis() + msec;
+        }
+        /**
+         * Take one request.
+         * @throws IOException If the quota is over
+         */
+        public synchronized void take() throws IOException {
+            this.refill();
+            if (this.remaining == 0) {
+                throw new IOException(
+                    String.format(
+                        "HTTP 403, API rate limit of %d exceeded, reset at %s",
+                        this.limit, new Date(this.reset)
+                    )
+                );
+            }
+            --this.remaining;
+        }
+        /**
+         * Current state as Github reports it.
+         * @return JSON
+         */
+        public synchronized JsonObject json() {
+            this.refill();
+            return Json.createObjectBuilder()
+                .add("limit", this.limit)
+                .add("remaining", this.remaining)
+                .add("reset", this.reset)
+                .build();
+        }
+        /**
+         * Start a new window, if the current one is over.
+         */
+        private void refill() {
+            final long now = System.currentTimeMillis();
+            if (now >= this.reset) {
+                this.remaining = this.limit;
+                this.reset = now + this.window;
+            }
+        }
+    }
+
+}
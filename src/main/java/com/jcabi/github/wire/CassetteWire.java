@@ -0,0 +1,415 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.DatatypeConverter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Wire that records HTTP interactions into a cassette and replays them.
+ *
+ * <p>Every request that is not in the cassette yet goes to the origin
+ * wire and the response, with its status, headers (including
+ * {@code Link} and {@code X-RateLimit-*}), body and latency, is appended
+ * to the cassette file. When the same request (the same method, URI and
+ * body) is made again, the recorded response is returned without
+ * touching the network:
+ *
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(
+ *     new RtGithub(oauthKey).entry().through(
+ *         CassetteWire.class, "src/test/resources/issues.cassette"
+ *     )
+ * );
+ * }
+ * </pre>
+ *
+ * <p>If the same request was recorded a few times, the responses are
+ * replayed in the order of recording. When they are over, the request
+ * goes to the origin wire again and the new response is recorded too;
+ * if the origin is not reachable, the last recorded response is
+ * repeated. By default, responses are replayed at full speed.
+ * With the third constructor argument set to {@code true}, every
+ * replayed response is delayed by its recorded latency, which makes
+ * benchmarks offline comparable with real ones.
+ *
+ * <p>The cassette is read from the file when the wire sends its first
+ * request, and the position of replay belongs to the wire object, not
+ * to the file. Requests made through the same {@link Request} share one
+ * wire and replay the cassette from its beginning to the end, while
+ * another request, even with the same cassette, starts from the
+ * beginning again.
+ *
+ * <p>With the fourth constructor argument set to {@code true}, the wire
+ * is strict: it never goes to the origin wire and never writes to the
+ * cassette, and a request that is not recorded (or was replayed as many
+ * times as it was recorded already) fails with {@link IOException}.
+ * This is what tests that must run offline need:
+ *
+ * <pre>
+ * {@code
+ * new JdkRequest("https://api.github.com").through(
+ *     CassetteWire.class, "src/test/resources/issues.cassette", false, true
+ * );
+ * }
+ * </pre>
+ *
+ * <p>The cassette is a text file with one JSON object per interaction.
+ * Bodies are Base64 encoded. Request headers are not recorded, since
+ * they usually contain the OAuth token.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "origin", "path", "slow", "strict" })
+public final class CassetteWire implements Wire {
+
+    /**
+     * Loaded cassettes, by tokens of their wires.
+     */
+    private static final Map<Object, CassetteWire.Tape> TAPES =
+        Collections.synchronizedMap(
+            new WeakHashMap<Object, CassetteWire.Tape>(0)
+        );
+
+    /**
+     * Identity of this wire.
+     */
+    private final transient Object token = new Object();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Absolute path of the cassette.
+     */
+    private final transient String path;
+
+    /**
+     * Replay with recorded latency?
+     */
+    private final transient boolean slow;
+
+    /**
+     * Replay only, never record?
+     */
+    private final transient boolean strict;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param file Path of the cassette file
+     */
+    public CassetteWire(
+        @NotNull(message = "wire can't be NULL") final Wire wire,
+        @NotNull(message = "file can't be NULL") final String file) {
+        this(wire, file, false);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param file Path of the cassette file
+     * @param latency Replay responses with their recorded latency
+     */
+    public CassetteWire(
+        @NotNull(message = "wire can't be NULL") final Wire wire,
+        @NotNull(message = "file can't be NULL") final String file,
+        final boolean latency) {
+        this(wire, file, latency, false);
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param file Path of the cassette file
+     * @param latency Replay responses with their recorded latency
+     * @param replay Only replay, failing on requests that are not recorded
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    public CassetteWire(
+        @NotNull(message = "wire can't be NULL") final Wire wire,
+        @NotNull(message = "file can't be NULL") final String file,
+        final boolean latency, final boolean replay) {
+        this.origin = wire;
+        this.path = new File(file).getAbsolutePath();
+        this.slow = latency;
+        this.strict = replay;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final CassetteWire.Tape tape = this.tape();
+        final String key = CassetteWire.key(method, home, content);
+        JsonObject record = tape.next(key);
+        if (record == null && this.strict) {
+            throw new IOException(
+                String.format(
+                    "%s is not in the cassette %s, or was replayed already",
+                    key, this.path
+                )
+            );
+        }
+        if (record == null) {
+            final long start = System.currentTimeMillis();
+            try {
+                record = CassetteWire.record(
+                    key,
+                    this.origin.send(req, home, method, headers, content),
+                    System.currentTimeMillis() - start
+                );
+                tape.append(key, record);
+            } catch (final IOException ex) {
+                record = tape.last(key);
+                if (record == null) {
+                    throw ex;
+                }
+            }
+        } else if (this.slow) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(
+                    record.getJsonNumber("latency").longValue()
+                );
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<Map.Entry<String, String>>();
+        for (final JsonArray pair
+            : record.getJsonArray("headers").getValuesAs(JsonArray.class)) {
+            hdrs.add(
+                new AbstractMap.SimpleImmutableEntry<String, String>(
+                    pair.getString(0), pair.getString(1)
+                )
+            );
+        }
+        return Responses.make(
+            req, record.getInt("status"), record.getString("reason"), hdrs,
+            DatatypeConverter.parseBase64Binary(record.getString("body"))
+        );
+    }
+
+    /**
+     * Get the tape of this wire, loading it if necessary.
+     * @return Tape
+     * @throws IOException If there is any I/O problem
+     */
+    private CassetteWire.Tape tape() throws IOException {
+        synchronized (CassetteWire.TAPES) {
+            CassetteWire.Tape tape = CassetteWire.TAPES.get(this.token);
+            if (tape == null) {
+                tape = new CassetteWire.Tape(new File(this.path));
+                CassetteWire.TAPES.put(this.token, tape);
+            }
+            return tape;
+        }
+    }
+
+    /**
+     * Key of a request.
+     * @param method HTTP method
+     * @param home URI
+     * @param content Body
+     * @return Key
+     */
+    private static String key(final String method, final String home,
+        final byte[] content) {
+        return String.format(
+            "%s %s %s", method, home,
+            DatatypeConverter.printBase64Binary(content)
+        );
+    }
+
+    /**
+     * Make a record of the response.
+     * @param key Key of the request
+     * @param resp Response
+     * @param latency Latency in milliseconds
+     * @return JSON
+     */
+    private static JsonObject record(final String key, final Response resp,
+        final long latency) {
+        final JsonArrayBuilder hdrs = Json.createArrayBuilder();
+        for (final Map.Entry<String, List<String>> header
+            : resp.headers().entrySet()) {
+            for (final String value : header.getValue()) {
+                hdrs.add(
+                    Json.createArrayBuilder().add(header.getKey()).add(value)
+                );
+            }
+        }
+        return Json.createObjectBuilder()
+            .add("request", key)
+            .add("latency", latency)
+            .add("status", resp.status())
+            .add("reason", resp.reason())
+            .add("headers", hdrs)
+            .add("body", DatatypeConverter.printBase64Binary(resp.binary()))
+            .build();
+    }
+
+    /**
+     * Recorded interactions of one cassette file.
+     */
+    private static final class Tape {
+        /**
+         * File.
+         */
+        private final transient File file;
+        /**
+         * Records by request keys.
+         */
+        private final transient ConcurrentMap<String, List<JsonObject>> all;
+        /**
+         * How many records of every key were replayed.
+         */
+        private final transient ConcurrentMap<String, Integer> played;
+        /**
+         * Ctor.
+         * @param src File
+         * @throws IOException If there is any I/O problem
+         */
+        Tape(final File src) throws IOException {
+            this.file = src;
+            this.all = new ConcurrentHashMap<String, List<JsonObject>>(0);
+            this.played = new ConcurrentHashMap<String, Integer>(0);
+            if (src.exists()) {
+                for (final String line
+                    : FileUtils.readLines(src, Charsets.UTF_8)) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    final JsonObject record = Json.createReader(
+                        new StringReader(line)
+                    ).readObject();
+                    this.remember(record.getString("request"), record);
+                }
+            }
+        }
+        /**
+         * Next record for the request.
+         * @param key Key of the request
+         * @return Record or NULL if all records were replayed already
+         */
+        public synchronized JsonObject next(final String key) {
+            final List<JsonObject> records = this.all.get(key);
+            Integer pos = this.played.get(key);
+            if (pos == null) {
+                pos = 0;
+            }
+            JsonObject record = null;
+            if (records != null && pos < records.size()) {
+                record = records.get(pos);
+                this.played.put(key, pos + 1);
+            }
+            return record;
+        }
+        /**
+         * The last record for the request.
+         * @param key Key of the request
+         * @return Record or NULL if nothing was recorded
+         */
+        public synchronized JsonObject last(final String key) {
+            final List<JsonObject> records = this.all.get(key);
+            JsonObject record = null;
+            if (records != null) {
+                record = records.get(records.size() - 1);
+            }
+            return record;
+        }
+        /**
+         * Append new record to the tape and to the file.
+         * @param key Key of the request
+         * @param record The record
+         * @throws IOException If there is any I/O problem
+         */
+        public synchronized void append(final String key,
+            final JsonObject record) throws IOException {
+            this.remember(key, record);
+            Integer pos = this.played.get(key);
+            if (pos == null) {
+                pos = 0;
+            }
+            this.played.put(key, pos + 1);
+            FileUtils.write(
+                this.file, String.format("%s%n", record), Charsets.UTF_8, true
+            );
+        }
+        /**
+         * Remember the record in memory.
+         * @param key Key of the request
+         * @param record The record
+         */
+        private void remember(final String key, final JsonObject record) {
+            this.all.putIfAbsent(key, new LinkedList<JsonObject>());
+            this.all.get(key).add(record);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that coalesces concurrent identical GET requests.
+ *
+ * <p>When a few threads are asking for the same resource at the same
+ * moment (the same URI and the same set of headers), only the first of
+ * them goes to the server. All others wait for its response and get
+ * exactly the same {@link Response} object, without making their own
+ * round trip and without spending rate limit. Nothing is cached: once
+ * the response is delivered, the next identical request goes to the
+ * server again. Requests with other HTTP methods are never coalesced.
+ *
+ * <p>You can use {@code CoalescingWire} with a
+ * {@link com.jcabi.github.Github} object:
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(
+ *     new RtGithub(oauthKey).entry().through(CoalescingWire.class)
+ * );
+ * }
+ * </pre>
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "origin")
+public final class CoalescingWire implements Wire {
+
+    /**
+     * Requests in flight, with their future responses.
+     */
+    private static final ConcurrentMap<CoalescingWire.Key,
+        FutureTask<Response>> FLIGHTS =
+        new ConcurrentHashMap<CoalescingWire.Key, FutureTask<Response>>(0);
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public CoalescingWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire) {
+        this.origin = wire;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final Response resp;
+        if (Request.GET.equals(method) && content.length == 0) {
+            resp = this.shared(req, home, headers, content);
+        } else {
+            resp = this.origin.send(req, home, method, headers, content);
+        }
+        return resp;
+    }
+
+    /**
+     * Send GET request, or join the one already in flight.
+     * @param req Request
+     * @param home URI to fetch
+     * @param headers Headers
+     * @param content HTTP body
+     * @return Response obtained
+     * @throws IOException If fails
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    private Response shared(final Request req, final String home,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final CoalescingWire.Key key = new CoalescingWire.Key(
+            this.origin, home, headers
+        );
+        final FutureTask<Response> task = new FutureTask<Response>(
+            new Callable<Response>() {
+                @Override
+                public Response call() throws IOException {
+                    return CoalescingWire.this.origin.send(
+                        req, home, Request.GET, headers, content
+                    );
+                }
+            }
+        );
+        FutureTask<Response> flight = CoalescingWire.FLIGHTS
+            .putIfAbsent(key, task);
+        if (flight == null) {
+            flight = task;
+            try {
+                task.run();
+            } finally {
+                CoalescingWire.FLIGHTS.remove(key, task);
+            }
+        }
+        try {
+            return flight.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw RuntimeException.class.cast(cause);
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Identity of a request in flight.
+     */
+    @EqualsAndHashCode(of = { "wire", "uri", "headers" })
+    private static final class Key {
+        /**
+         * Wire the request goes through.
+         */
+        private final transient Wire wire;
+        /**
+         * URI.
+         */
+        private final transient String uri;
+        /**
+         * All headers, in their original order.
+         */
+        private final transient String headers;
+        /**
+         * Ctor.
+         * @param origin Wire
+         * @param home URI
+         * @param hdrs Headers
+         */
+        Key(final Wire origin, final String home,
+            final Collection<Map.Entry<String, String>> hdrs) {
+            this.wire = origin;
+            this.uri = home;
+            final StringBuilder text = new StringBuilder(0);
+            for (final Map.Entry<String, String> header : hdrs) {
+                text.append(header.getKey()).append(':')
+                    .append(header.getValue()).append('\n');
+            }
+            this.headers = text.toString();
+        }
+    }
+}
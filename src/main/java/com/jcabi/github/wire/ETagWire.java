@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.core.HttpHeaders;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that makes conditional GET requests with ETags.
+ *
+ * <p>Github returns an {@code ETag} header with every response. When the
+ * same URL is requested again with that ETag in {@code If-None-Match},
+ * and nothing changed, Github responds with {@code 304 Not Modified},
+ * an empty body, and doesn't count the request against the rate limit.
+ * This wire remembers the last response with an ETag for every URL (and
+ * authorization), makes all GET requests conditional, and replaces
+ * {@code 304} responses with the remembered ones, so the client code
+ * doesn't notice anything:
+ *
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(
+ *     new RtGithub(oauthKey).entry().through(ETagWire.class)
+ * );
+ * }
+ * </pre>
+ *
+ * <p>It is especially useful for polling, when the same first page of
+ * a listing is requested again and again. The responses are kept in
+ * a static LRU map, shared by all instances, which holds at most 4096
+ * responses with bodies of 16Mb in total. A response with a bigger
+ * body is not remembered at all.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "origin")
+public final class ETagWire implements Wire {
+
+    /**
+     * Maximum number of remembered responses.
+     */
+    private static final int MAX = 4096;
+
+    /**
+     * Maximum total size of bodies of remembered responses, in bytes.
+     */
+    private static final long BYTES = 16L << 20;
+
+    /**
+     * Remembered responses, by URLs and authorizations.
+     */
+    private static final Map<String, Response> CACHE =
+        Collections.synchronizedMap(
+            // @checkstyle MagicNumber (1 line)
+            new LinkedHashMap<String, Response>(0, 0.75f, true)
+        );
+
+    /**
+     * Total size of bodies of remembered responses, in bytes, changed
+     * only while {@link #CACHE} is locked.
+     */
+    private static final AtomicLong SIZE = new AtomicLong();
+
+    /**
+     * How many responses were not modified.
+     */
+    private static final AtomicLong UNMODIFIED = new AtomicLong();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public ETagWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire) {
+        this.origin = wire;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final Response result;
+        if ("GET".equals(method)) {
+            final String key = ETagWire.key(home, headers);
+            final Response cached = ETagWire.CACHE.get(key);
+            final Collection<Map.Entry<String, String>> hdrs =
+                new LinkedList<Map.Entry<String, String>>(headers);
+            if (cached != null) {
+                hdrs.add(
+                    new ImmutableHeader(
+                        HttpHeaders.IF_NONE_MATCH, ETagWire.etag(cached)
+                    )
+                );
+            }
+            final Response resp = this.origin.send(
+                req, home, method, hdrs, content
+            );
+            if (cached != null
+                && resp.status() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                ETagWire.UNMODIFIED.incrementAndGet();
+                result = ETagWire.merge(req, cached, resp);
+            } else {
+                if (resp.status() == HttpURLConnection.HTTP_OK
+                    && ETagWire.etag(resp) != null) {
+                    ETagWire.remember(key, resp);
+                }
+                result = resp;
+            }
+        } else {
+            result = this.origin.send(req, home, method, headers, content);
+        }
+        return result;
+    }
+
+    /**
+     * Total number of responses that were not modified and were taken
+     * from the cache.
+     * @return Number of responses
+     */
+    public static long unmodified() {
+        return ETagWire.UNMODIFIED.get();
+    }
+
+    /**
+     * Forget all remembered responses with URLs that start with
+     * the prefix.
+     * @param prefix Prefix of URLs
+     */
+    public static void invalidate(
+        @NotNull(message = "prefix can't be NULL") final String prefix) {
+        synchronized (ETagWire.CACHE) {
+            final Iterator<Map.Entry<String, Response>> entries =
+                ETagWire.CACHE.entrySet().iterator();
+            while (entries.hasNext()) {
+                final Map.Entry<String, Response> entry = entries.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    ETagWire.SIZE.addAndGet(
+                        -(long) entry.getValue().binary().length
+                    );
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remember the response and forget the least recently used ones,
+     * until the cache fits into its limits.
+     * @param key Key of the response
+     * @param resp Response
+     */
+    private static void remember(final String key, final Response resp) {
+        final int length = resp.binary().length;
+        synchronized (ETagWire.CACHE) {
+            final Response old = ETagWire.CACHE.remove(key);
+            if (old != null) {
+                ETagWire.SIZE.addAndGet(-(long) old.binary().length);
+            }
+            if (length <= ETagWire.BYTES) {
+                ETagWire.CACHE.put(key, resp);
+                ETagWire.SIZE.addAndGet(length);
+            }
+            final Iterator<Response> eldest =
+                ETagWire.CACHE.values().iterator();
+            while (ETagWire.SIZE.get() > ETagWire.BYTES
+                || ETagWire.CACHE.size() > ETagWire.MAX) {
+                ETagWire.SIZE.addAndGet(-(long) eldest.next().binary().length);
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Find ETag of the response.
+     * @param resp Response
+     * @return ETag or NULL if absent
+     */
+    private static String etag(final Response resp) {
+        String etag = null;
+        for (final Map.Entry<String, List<String>> header
+            : resp.headers().entrySet()) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(header.getKey())
+                && !header.getValue().isEmpty()) {
+                etag = header.getValue().get(0);
+                break;
+            }
+        }
+        return etag;
+    }
+
+    /**
+     * Make a cache key.
+     * @param home URL
+     * @param headers Headers of the request
+     * @return Key
+     */
+    private static String key(final String home,
+        final Collection<Map.Entry<String, String>> headers) {
+        final StringBuilder key = new StringBuilder(home);
+        for (final Map.Entry<String, String> header : headers) {
+            if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(header.getKey())) {
+                key.append('\n').append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Make a response from the remembered one and the headers of
+     * the fresh one (with the rate limit, for example).
+     * @param req Request
+     * @param cached Remembered response
+     * @param fresh Fresh 304 response
+     * @return Response
+     */
+    private static Response merge(final Request req, final Response cached,
+        final Response fresh) {
+        final Map<String, List<String>> merged =
+            new LinkedHashMap<String, List<String>>(cached.headers());
+        for (final Map.Entry<String, List<String>> header
+            : fresh.headers().entrySet()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equals(header.getKey())) {
+                merged.put(header.getKey(), header.getValue());
+            }
+        }
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<Map.Entry<String, String>>();
+        for (final Map.Entry<String, List<String>> header
+            : merged.entrySet()) {
+            for (final String value : header.getValue()) {
+                hdrs.add(new ImmutableHeader(header.getKey(), value));
+            }
+        }
+        return Responses.make(
+            req, cached.status(), cached.reason(), hdrs, cached.binary()
+        );
+    }
+
+}
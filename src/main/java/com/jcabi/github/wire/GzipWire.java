@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.core.HttpHeaders;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Wire that asks for compressed responses and inflates them.
+ *
+ * <p>The wire adds {@code Accept-Encoding: gzip, deflate} to every
+ * request, unless the header is already there. When the response comes
+ * back with {@code Content-Encoding: gzip} or {@code deflate}, its body
+ * is inflated and the response is returned without
+ * {@code Content-Encoding} and {@code Content-Length} headers, so that
+ * JSON, raw content and diffs are read as usual.
+ *
+ * <p>Inflation doesn't stream. The original response has the whole
+ * compressed body in memory already, and the wire reads the whole
+ * inflated body into memory too, before returning it. The compressed
+ * body is dropped after that, the response returned keeps only the
+ * inflated bytes.
+ *
+ * <p>Every inflated response is counted: {@link #compressed()} and
+ * {@link #inflated()} report the total number of bytes received over
+ * the network and the number of bytes they were inflated to.
+ *
+ * <p>The wire is not used by default. Apache HTTP client behind
+ * {@link com.jcabi.http.request.ApacheRequest}, which
+ * {@link com.jcabi.github.RtGithub} is built on, negotiates compression
+ * and inflates responses on its own, before they get to the wire, so
+ * there the wire would do nothing. Use it with clients that don't, like
+ * {@link com.jcabi.http.request.JdkRequest}:
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(
+ *     new JdkRequest("https://api.github.com").through(GzipWire.class)
+ * );
+ * }
+ * </pre>
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "origin")
+public final class GzipWire implements Wire {
+
+    /**
+     * Encodings we accept.
+     */
+    private static final String ENCODINGS = "gzip, deflate";
+
+    /**
+     * Bytes received compressed.
+     */
+    private static final AtomicLong COMPRESSED = new AtomicLong();
+
+    /**
+     * Bytes they were inflated to.
+     */
+    private static final AtomicLong INFLATED = new AtomicLong();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public GzipWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire) {
+        this.origin = wire;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<Map.Entry<String, String>>(headers);
+        boolean present = false;
+        for (final Map.Entry<String, String> header : headers) {
+            if (HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(
+                header.getKey()
+            )) {
+                present = true;
+                break;
+            }
+        }
+        if (!present) {
+            hdrs.add(
+                new ImmutableHeader(
+                    HttpHeaders.ACCEPT_ENCODING, GzipWire.ENCODINGS
+                )
+            );
+        }
+        return GzipWire.inflate(
+            this.origin.send(req, home, method, hdrs, content)
+        );
+    }
+
+    /**
+     * Total number of compressed bytes received.
+     * @return Number of bytes
+     */
+    public static long compressed() {
+        return GzipWire.COMPRESSED.get();
+    }
+
+    /**
+     * Total number of bytes compressed responses were inflated to.
+     * @return Number of bytes
+     */
+    public static long inflated() {
+        return GzipWire.INFLATED.get();
+    }
+
+    /**
+     * Inflate the response, if it is compressed.
+     * @param resp Response
+     * @return Inflated response
+     * @throws IOException If fails
+     */
+    private static Response inflate(final Response resp) throws IOException {
+        final List<String> encodings = resp.headers()
+            .get(HttpHeaders.CONTENT_ENCODING);
+        Response result = resp;
+        if (encodings != null && !encodings.isEmpty()) {
+            final String encoding = encodings.get(0).trim();
+            final byte[] body = resp.binary();
+            if (body.length > 0 && ("gzip".equalsIgnoreCase(encoding)
+                || "x-gzip".equalsIgnoreCase(encoding)
+                || "deflate".equalsIgnoreCase(encoding))) {
+                final InputStream input;
+                if ("deflate".equalsIgnoreCase(encoding)) {
+                    input = new InflaterInputStream(
+                        new ByteArrayInputStream(body)
+                    );
+                } else {
+                    input = new GZIPInputStream(
+                        new ByteArrayInputStream(body)
+                    );
+                }
+                final byte[] plain;
+                try {
+                    plain = IOUtils.toByteArray(input);
+                } finally {
+                    input.close();
+                }
+                GzipWire.COMPRESSED.addAndGet(body.length);
+                GzipWire.INFLATED.addAndGet(plain.length);
+                result = Responses.make(
+                    resp.back(), resp.status(), resp.reason(),
+                    GzipWire.plain(resp.headers()), plain
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Headers without encoding and length.
+     * @param headers Original headers
+     * @return Headers of the inflated response
+     */
+    private static Collection<Map.Entry<String, String>> plain(
+        final Map<String, List<String>> headers) {
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<Map.Entry<String, String>>();
+        for (final Map.Entry<String, List<String>> header
+            : headers.entrySet()) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(header.getKey())
+                || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(
+                    header.getKey()
+                )) {
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                hdrs.add(new ImmutableHeader(header.getKey(), value));
+            }
+        }
+        return hdrs;
+    }
+}
@@ -0,0 +1,773 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.core.HttpHeaders;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that collects latency and throughput metrics per API endpoint.
+ *
+ * <p>Every request is attributed to a normalized endpoint, which is
+ * the HTTP method and the path template with all identifiers replaced
+ * by placeholders, for example
+ * {@code GET /repos/{owner}/{repo}/issues/{number}}. For each endpoint
+ * the wire counts requests, responses by status class, I/O failures,
+ * bytes sent and received, and keeps a histogram of latencies. Counters
+ * are shared by all instances of the wire in the JVM.
+ *
+ * <p>Every endpoint is registered as an MBean in the platform
+ * MBean server, under {@code com.jcabi.github:type=Endpoint}, as soon as
+ * the first request to it is made. Segments that are not literal parts
+ * of a Github route become placeholders, so gist IDs, logins, branch
+ * names and paths don't make new endpoints. Still, at most 256 endpoints
+ * are kept, and requests to any other go to {@code "GET {other}"},
+ * {@code "POST {other}"}, etc. {@link #reset()} forgets all endpoints
+ * and unregisters their MBeans. The same numbers are available
+ * through {@link #snapshot()}.
+ *
+ * <p>Metering costs about a microsecond per request, which is spent
+ * on the template of the URI, the {@code Content-Length} header of
+ * the response and the counters. It is measured by
+ * {@code MeteredWireITCase}, outside of unit tests.
+ *
+ * <p>You can use {@code MeteredWire} with a {@link com.jcabi.github.Github}
+ * object:
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(
+ *     new RtGithub(oauthKey).entry().through(MeteredWire.class)
+ * );
+ * }
+ * </pre>
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "origin")
+public final class MeteredWire implements Wire {
+
+    /**
+     * Upper bounds of histogram buckets, in milliseconds.
+     */
+    private static final long[] BOUNDS = {
+        // @checkstyle MagicNumber (1 line)
+        1L, 2L, 5L, 10L, 20L, 50L, 100L, 200L, 500L, 1000L, 2000L, 5000L,
+        // @checkstyle MagicNumber (1 line)
+        10000L, 30000L, Long.MAX_VALUE,
+    };
+
+    /**
+     * Template of all endpoints over the maximum, after the method.
+     */
+    static final String OTHER = "{other}";
+
+    /**
+     * Maximum number of endpoints to keep separately.
+     */
+    static final int MAX = 256;
+
+    /**
+     * Literal segments of Github API routes, everything else is
+     * an identifier.
+     */
+    private static final Set<String> ROUTES = new HashSet<String>(
+        Arrays.asList(
+            "repos", "user", "users", "orgs", "gists", "search", "issues",
+            "comments", "events", "labels", "milestones", "pulls", "files",
+            "merge", "commits", "contents", "readme", "releases", "assets",
+            "hooks", "tests", "pings", "keys", "forks", "git", "refs", "heads",
+            "tags", "trees", "blobs", "collaborators", "assignees", "compare",
+            "statuses", "status", "branches", "protection", "stargazers",
+            "subscribers", "subscription", "languages", "contributors",
+            "teams", "members", "public_members", "emails", "followers",
+            "following", "starred", "subscriptions", "public", "star",
+            "notifications", "threads", "rate_limit", "meta", "emojis",
+            "markdown", "raw", "gitignore", "templates", "downloads",
+            "stats", "tarball", "zipball", "deployments", "pages",
+            "repositories", "code", "authorizations", "latest",
+            "code_frequency", "commit_activity", "participation",
+            "punch_card"
+        )
+    );
+
+    /**
+     * Endpoints seen so far, by their templates.
+     */
+    private static final ConcurrentMap<String, MeteredWire.Endpoint> ENDPOINTS =
+        new ConcurrentHashMap<String, MeteredWire.Endpoint>(0);
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     */
+    public MeteredWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire) {
+        this.origin = wire;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final long start = System.nanoTime();
+        final MeteredWire.Endpoint endpoint = MeteredWire.endpoint(
+            MeteredWire.template(method, home)
+        );
+        final Response resp;
+        try {
+            resp = this.origin.send(req, home, method, headers, content);
+        } catch (final IOException ex) {
+            endpoint.failure(System.nanoTime() - start, content.length);
+            throw ex;
+        }
+        endpoint.record(
+            resp.status(), System.nanoTime() - start,
+            content.length, MeteredWire.length(resp)
+        );
+        return resp;
+    }
+
+    /**
+     * Snapshot of all endpoints seen so far.
+     * @return Immutable copies of the statistics, one per endpoint
+     */
+    @NotNull(message = "snapshot is never NULL")
+    public static Collection<MeteredWire.Stats> snapshot() {
+        final List<MeteredWire.Stats> stats =
+            new ArrayList<MeteredWire.Stats>(MeteredWire.ENDPOINTS.size());
+        for (final MeteredWire.Endpoint endpoint
+            : MeteredWire.ENDPOINTS.values()) {
+            stats.add(new MeteredWire.Snapshot(endpoint));
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * Forget all endpoints and unregister their MBeans.
+     */
+    public static void reset() {
+        synchronized (MeteredWire.ENDPOINTS) {
+            for (final String template
+                : new ArrayList<String>(MeteredWire.ENDPOINTS.keySet())) {
+                MeteredWire.ENDPOINTS.remove(template);
+                MeteredWire.unregister(template);
+            }
+        }
+    }
+
+    /**
+     * Upper bounds of histogram buckets, in milliseconds.
+     *
+     * <p>Bucket {@code i} of {@link MeteredWire.Stats#getHistogram()}
+     * counts requests that took less than {@code bounds()[i]} milliseconds
+     * and not less than {@code bounds()[i - 1]}.
+     * @return Bounds
+     */
+    @NotNull(message = "bounds are never NULL")
+    public static long[] bounds() {
+        return MeteredWire.BOUNDS.clone();
+    }
+
+    /**
+     * Normalize request to its endpoint template.
+     * @param method HTTP method
+     * @param home Full URI
+     * @return Template, e.g. {@code GET /users/{user}}
+     */
+    static String template(final String method, final String home) {
+        final StringBuilder text = new StringBuilder(method).append(' ');
+        int pos = home.indexOf("://");
+        if (pos >= 0) {
+            pos = home.indexOf('/', pos + "://".length());
+        }
+        int end = home.indexOf('?');
+        if (end < 0) {
+            end = home.length();
+        }
+        String prev = "";
+        String expected = null;
+        while (pos >= 0 && pos < end) {
+            int next = home.indexOf('/', pos + 1);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            final String segment = home.substring(pos + 1, next);
+            pos = next;
+            if (segment.isEmpty()) {
+                continue;
+            }
+            text.append('/');
+            if (expected == null) {
+                text.append(MeteredWire.segment(prev, segment));
+                expected = MeteredWire.placeholder(prev, segment);
+            } else {
+                text.append(expected);
+                if ("{path}".equals(expected) || "{ref}".equals(expected)
+                    || "{branch}".equals(expected)
+                    || "{tag}".equals(expected)) {
+                    break;
+                }
+                if ("{owner}".equals(expected)) {
+                    expected = "{repo}";
+                } else {
+                    expected = null;
+                }
+            }
+            prev = segment;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Normalize a segment that doesn't follow a named parameter.
+     * @param prev Previous segment
+     * @param segment The segment
+     * @return The segment itself or a placeholder
+     */
+    private static String segment(final String prev, final String segment) {
+        final String norm;
+        if (MeteredWire.numeric(segment)) {
+            if ("issues".equals(prev) || "pulls".equals(prev)
+                || "milestones".equals(prev)) {
+                norm = "{number}";
+            } else {
+                norm = "{id}";
+            }
+        } else if (MeteredWire.sha(segment)) {
+            norm = "{sha}";
+        } else if (MeteredWire.ROUTES.contains(segment)) {
+            norm = segment;
+        } else {
+            norm = "{id}";
+        }
+        return norm;
+    }
+
+    /**
+     * Placeholder for the segment that follows the given one.
+     * @param prev Segment before the given one
+     * @param segment The segment
+     * @return Placeholder or NULL if the next segment is not a parameter
+     * @checkstyle CyclomaticComplexity (40 lines)
+     */
+    @SuppressWarnings({ "PMD.CyclomaticComplexity", "PMD.NPathComplexity" })
+    private static String placeholder(final String prev,
+        final String segment) {
+        String name = null;
+        if ("repos".equals(segment) && prev.isEmpty()) {
+            name = "{owner}";
+        } else if ("users".equals(segment) || "collaborators".equals(segment)
+            || "assignees".equals(segment) || "following".equals(segment)) {
+            name = "{user}";
+        } else if ("gists".equals(segment) && prev.isEmpty()) {
+            name = "{gist}";
+        } else if ("orgs".equals(segment)) {
+            name = "{org}";
+        } else if ("labels".equals(segment)) {
+            name = "{name}";
+        } else if ("branches".equals(segment)) {
+            name = "{branch}";
+        } else if ("compare".equals(segment)) {
+            name = "{range}";
+        } else if ("contents".equals(segment)) {
+            name = "{path}";
+        } else if ("refs".equals(segment) && "git".equals(prev)) {
+            name = "{ref}";
+        } else if ("commits".equals(segment) || "trees".equals(segment)
+            || "blobs".equals(segment)) {
+            name = "{sha}";
+        } else if ("tags".equals(segment) && "releases".equals(prev)) {
+            name = "{tag}";
+        } else if ("templates".equals(segment) && "gitignore".equals(prev)) {
+            name = "{name}";
+        }
+        return name;
+    }
+
+    /**
+     * Is it a number?
+     * @param segment Path segment
+     * @return TRUE if all characters are digits
+     */
+    private static boolean numeric(final String segment) {
+        boolean digits = true;
+        for (int idx = 0; idx < segment.length(); ++idx) {
+            if (!Character.isDigit(segment.charAt(idx))) {
+                digits = false;
+                break;
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * Is it a Git SHA?
+     * @param segment Path segment
+     * @return TRUE if it is a 40 characters long hexadecimal string
+     */
+    private static boolean sha(final String segment) {
+        // @checkstyle MagicNumber (1 line)
+        boolean hex = segment.length() == 40;
+        for (int idx = 0; hex && idx < segment.length(); ++idx) {
+            hex = Character.digit(segment.charAt(idx), 16) >= 0;
+        }
+        return hex;
+    }
+
+    /**
+     * Size of the response body.
+     * @param resp Response
+     * @return Size in bytes
+     */
+    private static long length(final Response resp) {
+        final List<String> lengths = resp.headers()
+            .get(HttpHeaders.CONTENT_LENGTH);
+        final long size;
+        if (lengths == null || lengths.isEmpty()) {
+            size = resp.binary().length;
+        } else {
+            size = Long.parseLong(lengths.get(0));
+        }
+        return size;
+    }
+
+    /**
+     * Get or register endpoint by its template.
+     *
+     * <p>Known endpoints are found without locking. A new one is checked
+     * against the maximum and registered in one step, under the lock of
+     * the map, so concurrent requests can't push the number of endpoints
+     * over it.
+     * @param name Template
+     * @return Endpoint
+     */
+    private static MeteredWire.Endpoint endpoint(final String name) {
+        MeteredWire.Endpoint endpoint = MeteredWire.ENDPOINTS.get(name);
+        if (endpoint == null) {
+            synchronized (MeteredWire.ENDPOINTS) {
+                String template = name;
+                if (!MeteredWire.ENDPOINTS.containsKey(template)
+                    && MeteredWire.ENDPOINTS.size() >= MeteredWire.MAX) {
+                    template = String.format(
+                        "%s %s", name.substring(0, name.indexOf(' ')),
+                        MeteredWire.OTHER
+                    );
+                }
+                endpoint = MeteredWire.ENDPOINTS.get(template);
+                if (endpoint == null) {
+                    endpoint = new MeteredWire.Endpoint(template);
+                    MeteredWire.ENDPOINTS.put(template, endpoint);
+                    MeteredWire.register(endpoint);
+                }
+            }
+        }
+        return endpoint;
+    }
+
+    /**
+     * Unregister endpoint from the platform MBean server.
+     * @param template Endpoint template
+     */
+    private static void unregister(final String template) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(
+                MeteredWire.name(template)
+            );
+        } catch (final JMException ex) {
+            Logger.warn(
+                MeteredWire.class, "failed to unregister MBean for %s: %s",
+                template, ex
+            );
+        }
+    }
+
+    /**
+     * Register endpoint in the platform MBean server.
+     * @param endpoint Endpoint to register
+     */
+    private static void register(final MeteredWire.Endpoint endpoint) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new StandardMBean(endpoint, MeteredWire.Stats.class),
+                MeteredWire.name(endpoint.getEndpoint())
+            );
+        } catch (final JMException ex) {
+            Logger.warn(
+                MeteredWire.class, "failed to register MBean for %s: %s",
+                endpoint.getEndpoint(), ex
+            );
+        }
+    }
+
+    /**
+     * JMX name of the endpoint.
+     * @param template Endpoint template
+     * @return Object name
+     * @throws JMException If the name is not valid
+     */
+    static ObjectName name(final String template) throws JMException {
+        return new ObjectName(
+            String.format(
+                "com.jcabi.github:type=Endpoint,name=%s",
+                ObjectName.quote(template)
+            )
+        );
+    }
+
+    /**
+     * Statistics of one endpoint, also an MBean interface.
+     */
+    public interface Stats {
+        /**
+         * Endpoint template, e.g. {@code GET /users/{user}}.
+         * @return Template
+         */
+        String getEndpoint();
+        /**
+         * Total number of requests made.
+         * @return Number
+         */
+        long getRequests();
+        /**
+         * Number of responses with 2xx status.
+         * @return Number
+         */
+        long getSuccesses();
+        /**
+         * Number of responses with 3xx status.
+         * @return Number
+         */
+        long getRedirects();
+        /**
+         * Number of responses with 4xx status.
+         * @return Number
+         */
+        long getClientErrors();
+        /**
+         * Number of responses with 5xx status.
+         * @return Number
+         */
+        long getServerErrors();
+        /**
+         * Number of requests failed with I/O exception.
+         * @return Number
+         */
+        long getFailures();
+        /**
+         * Total bytes sent in request bodies.
+         * @return Number of bytes
+         */
+        long getBytesSent();
+        /**
+         * Total bytes received in response bodies.
+         * @return Number of bytes
+         */
+        long getBytesReceived();
+        /**
+         * Mean latency, in milliseconds.
+         * @return Latency
+         */
+        double getMeanLatency();
+        /**
+         * Histogram of latencies, see {@link MeteredWire#bounds()}.
+         * @return Number of requests in each bucket
+         */
+        long[] getHistogram();
+    }
+
+    /**
+     * Live counters of one endpoint.
+     */
+    @SuppressWarnings("PMD.TooManyMethods")
+    private static final class Endpoint implements MeteredWire.Stats {
+        /**
+         * Template.
+         */
+        private final transient String template;
+        /**
+         * Counters by status class, 0 for I/O failures.
+         */
+        private final transient AtomicLongArray statuses =
+            // @checkstyle MagicNumber (1 line)
+            new AtomicLongArray(6);
+        /**
+         * Latency buckets.
+         */
+        private final transient AtomicLongArray buckets =
+            new AtomicLongArray(MeteredWire.BOUNDS.length);
+        /**
+         * Bytes sent.
+         */
+        private final transient AtomicLong sent = new AtomicLong();
+        /**
+         * Bytes received.
+         */
+        private final transient AtomicLong received = new AtomicLong();
+        /**
+         * Total latency, in nanoseconds.
+         */
+        private final transient AtomicLong nanos = new AtomicLong();
+        /**
+         * Ctor.
+         * @param name Template
+         */
+        Endpoint(final String name) {
+            this.template = name;
+        }
+        /**
+         * Record a response.
+         * @param status HTTP status
+         * @param time Latency in nanoseconds
+         * @param out Bytes sent
+         * @param in Bytes received
+         * @checkstyle ParameterNumber (4 lines)
+         */
+        void record(final int status, final long time, final long out,
+            final long in) {
+            // @checkstyle MagicNumber (1 line)
+            this.statuses.incrementAndGet(Math.min(status / 100, 5));
+            this.received.addAndGet(in);
+            this.time(time, out);
+        }
+        /**
+         * Record a failure.
+         * @param time Latency in nanoseconds
+         * @param out Bytes sent
+         */
+        void failure(final long time, final long out) {
+            this.statuses.incrementAndGet(0);
+            this.time(time, out);
+        }
+        @Override
+        public String getEndpoint() {
+            return this.template;
+        }
+        @Override
+        public long getRequests() {
+            long total = 0L;
+            for (int idx = 0; idx < this.statuses.length(); ++idx) {
+                total += this.statuses.get(idx);
+            }
+            return total;
+        }
+        @Override
+        public long getSuccesses() {
+            return this.statuses.get(2);
+        }
+        @Override
+        public long getRedirects() {
+            // @checkstyle MagicNumber (1 line)
+            return this.statuses.get(3);
+        }
+        @Override
+        public long getClientErrors() {
+            // @checkstyle MagicNumber (1 line)
+            return this.statuses.get(4);
+        }
+        @Override
+        public long getServerErrors() {
+            // @checkstyle MagicNumber (1 line)
+            return this.statuses.get(5);
+        }
+        @Override
+        public long getFailures() {
+            return this.statuses.get(0);
+        }
+        @Override
+        public long getBytesSent() {
+            return this.sent.get();
+        }
+        @Override
+        public long getBytesReceived() {
+            return this.received.get();
+        }
+        @Override
+        public double getMeanLatency() {
+            final long total = this.getRequests();
+            double mean = 0.0d;
+            if (total > 0L) {
+                mean = (double) this.nanos.get()
+                    / (double) TimeUnit.MILLISECONDS.toNanos(total);
+            }
+            return mean;
+        }
+        @Override
+        public long[] getHistogram() {
+            final long[] hist = new long[this.buckets.length()];
+            for (int idx = 0; idx < hist.length; ++idx) {
+                hist[idx] = this.buckets.get(idx);
+            }
+            return hist;
+        }
+        /**
+         * Record time and bytes sent.
+         * @param time Latency in nanoseconds
+         * @param out Bytes sent
+         */
+        private void time(final long time, final long out) {
+            this.nanos.addAndGet(time);
+            this.sent.addAndGet(out);
+            final long msec = TimeUnit.NANOSECONDS.toMillis(time);
+            int idx = 0;
+            while (msec >= MeteredWire.BOUNDS[idx]) {
+                ++idx;
+            }
+            this.buckets.incrementAndGet(idx);
+        }
+    }
+
+    /**
+     * Immutable copy of endpoint statistics.
+     */
+    @ToString
+    @EqualsAndHashCode(of = "endpoint")
+    @SuppressWarnings("PMD.TooManyMethods")
+    private static final class Snapshot implements MeteredWire.Stats {
+        /**
+         * Template.
+         */
+        private final transient String endpoint;
+        /**
+         * Counters, in the order of getters.
+         */
+        private final transient long[] counters;
+        /**
+         * Mean latency.
+         */
+        private final transient double latency;
+        /**
+         * Histogram.
+         */
+        private final transient long[] histogram;
+        /**
+         * Ctor.
+         * @param live Live statistics
+         */
+        Snapshot(final MeteredWire.Stats live) {
+            this.endpoint = live.getEndpoint();
+            this.counters = new long[] {
+                live.getRequests(), live.getSuccesses(), live.getRedirects(),
+                live.getClientErrors(), live.getServerErrors(),
+                live.getFailures(), live.getBytesSent(),
+                live.getBytesReceived(),
+            };
+            this.latency = live.getMeanLatency();
+            this.histogram = live.getHistogram();
+        }
+        @Override
+        public String getEndpoint() {
+            return this.endpoint;
+        }
+        @Override
+        public long getRequests() {
+            return this.counters[0];
+        }
+        @Override
+        public long getSuccesses() {
+            return this.counters[1];
+        }
+        @Override
+        public long getRedirects() {
+            return this.counters[2];
+        }
+        @Override
+        public long getClientErrors() {
+            // @checkstyle MagicNumber (1 line)
+            return this.counters[3];
+        }
+        @Override
+        public long getServerErrors() {
+            // @checkstyle MagicNumber (1 line)
+            return this.counters[4];
+        }
+        @Override
+        public long getFailures() {
+            // @checkstyle MagicNumber (1 line)
+            return this.counters[5];
+        }
+        @Override
+        public long getBytesSent() {
+            // @checkstyle MagicNumber (1 line)
+            return this.counters[6];
+        }
+        @Override
+        public long getBytesReceived() {
+            // @checkstyle MagicNumber (1 line)
+            return this.counters[7];
+        }
+        @Override
+        public double getMeanLatency() {
+            return this.latency;
+        }
+        @Override
+        public long[] getHistogram() {
+            return this.histogram.clone();
+        }
+    }
+}
@@ -0,0 +1,560 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that retries failed idempotent requests and stops hammering
+ * the server when it keeps failing.
+ *
+ * <p>Requests with idempotent methods ({@code GET}, {@code HEAD},
+ * {@code PUT}, {@code DELETE} and {@code OPTIONS}) are retried when they
+ * fail with an I/O exception, when the server responds with
+ * {@code 502}, {@code 503} or {@code 504}, or when a {@code 403},
+ * {@code 429} or {@code 503} response carries {@code Retry-After} header,
+ * which is how Github reports secondary rate limits. The wire waits
+ * exactly as long as {@code Retry-After} says, either in seconds or
+ * until the HTTP date given. If there is no such header, or it can't be
+ * parsed, the wire uses exponential backoff with random jitter.
+ * {@code Retry-After} of any other response is ignored.
+ *
+ * <p>No pause is longer than the maximum given to the ctor, a minute
+ * by default. Backoff stops growing when it reaches the maximum. When
+ * {@code Retry-After} asks for a longer wait, the wire doesn't wait at
+ * all and returns the response as is, so the caller sees the limit
+ * instead of a thread blocked for hours.
+ * {@code POST} and {@code PATCH} are never retried.
+ *
+ * <p>Every host has its own circuit. When the number of consecutive
+ * failures (after all retries) reaches the threshold, the circuit opens
+ * and all requests to that host fail immediately with
+ * {@link IOException}, until the cool down period is over. Then one
+ * request is let through: if it succeeds the circuit closes, otherwise
+ * it stays open for another period. State of circuits and numbers of
+ * retries are available through {@link #circuits()}.
+ *
+ * <p>You can use {@code ResilientWire} with a
+ * {@link com.jcabi.github.Github} object:
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(
+ *     new RtGithub(oauthKey).entry().through(ResilientWire.class)
+ * );
+ * }
+ * </pre>
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "origin", "attempts", "delay", "threshold",
+    "cooldown", "ceiling" })
+public final class ResilientWire implements Wire {
+
+    /**
+     * Idempotent HTTP methods.
+     */
+    private static final Collection<String> IDEMPOTENT = Arrays.asList(
+        Request.GET, Request.HEAD, Request.PUT, Request.DELETE,
+        Request.OPTIONS
+    );
+
+    /**
+     * Name of the header with the delay requested by the server.
+     */
+    private static final String HEADER = "Retry-After";
+
+    /**
+     * HTTP status "Too Many Requests".
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * Circuits by host.
+     */
+    private static final ConcurrentMap<String, ResilientWire.Circuit>
+        CIRCUITS = new ConcurrentHashMap<String, ResilientWire.Circuit>(0);
+
+    /**
+     * Random numbers for jitter.
+     */
+    private static final Random RANDOM = new Random();
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Maximum number of retries of one request.
+     */
+    private final transient int attempts;
+
+    /**
+     * Initial backoff delay, in milliseconds.
+     */
+    private final transient long delay;
+
+    /**
+     * Number of consecutive failures that opens the circuit.
+     */
+    private final transient int threshold;
+
+    /**
+     * How long the circuit stays open, in milliseconds.
+     */
+    private final transient long cooldown;
+
+    /**
+     * Longest pause before a retry, in milliseconds.
+     */
+    private final transient long ceiling;
+
+    /**
+     * Public ctor, with three retries starting at one second, pauses
+     * of a minute at most, and a circuit that opens for a minute after
+     * five failures in a row.
+     * @param wire Original wire
+     */
+    public ResilientWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire) {
+        this(
+            wire, Tv.THREE, TimeUnit.SECONDS.toMillis(1L), Tv.FIVE,
+            TimeUnit.MINUTES.toMillis(1L)
+        );
+    }
+
+    /**
+     * Public ctor, with pauses of a minute at most.
+     * @param wire Original wire
+     * @param retries Maximum number of retries of one request
+     * @param initial Initial backoff delay in milliseconds, doubled with
+     *  every next attempt
+     * @param failures Number of consecutive failures that opens the circuit
+     * @param open How long the circuit stays open, in milliseconds
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    public ResilientWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire, final int retries, final long initial,
+        final int failures, final long open) {
+        this(
+            wire, retries, initial, failures, open,
+            TimeUnit.MINUTES.toMillis(1L)
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param retries Maximum number of retries of one request
+     * @param initial Initial backoff delay in milliseconds, doubled with
+     *  every next attempt
+     * @param failures Number of consecutive failures that opens the circuit
+     * @param open How long the circuit stays open, in milliseconds
+     * @param longest Longest pause before a retry, in milliseconds
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    public ResilientWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire, final int retries, final long initial,
+        final int failures, final long open, final long longest) {
+        this.origin = wire;
+        this.attempts = retries;
+        this.delay = initial;
+        this.threshold = failures;
+        this.cooldown = open;
+        this.ceiling = longest;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final ResilientWire.Circuit circuit = ResilientWire.circuit(home);
+        circuit.enter(this.cooldown);
+        int attempt = 0;
+        while (true) {
+            Response resp = null;
+            IOException error = null;
+            try {
+                resp = this.origin.send(req, home, method, headers, content);
+            } catch (final IOException ex) {
+                error = ex;
+            }
+            final long pause = this.pause(method, resp, attempt);
+            if (pause < 0L) {
+                if (error != null || ResilientWire.failed(resp)) {
+                    circuit.failure(this.threshold, this.cooldown);
+                } else {
+                    circuit.success();
+                }
+                if (error != null) {
+                    throw error;
+                }
+                return resp;
+            }
+            circuit.retry();
+            Logger.info(
+                this, "#send(%s %s): attempt #%d failed, retrying in %[ms]s",
+                method, home, attempt + 1, pause
+            );
+            try {
+                TimeUnit.MILLISECONDS.sleep(pause);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+            ++attempt;
+        }
+    }
+
+    /**
+     * State of all circuits seen so far.
+     * @return Immutable copies of circuit states, one per host
+     */
+    @NotNull(message = "circuits are never NULL")
+    public static Collection<ResilientWire.State> circuits() {
+        final List<ResilientWire.State> states =
+            new ArrayList<ResilientWire.State>(ResilientWire.CIRCUITS.size());
+        for (final Map.Entry<String, ResilientWire.Circuit> entry
+            : ResilientWire.CIRCUITS.entrySet()) {
+            states.add(entry.getValue().state(entry.getKey()));
+        }
+        return Collections.unmodifiableList(states);
+    }
+
+    /**
+     * How long to wait before the next attempt.
+     * @param method HTTP method
+     * @param resp Response received or NULL if I/O failed
+     * @param attempt Number of attempts made so far, minus one
+     * @return Delay in milliseconds, or negative if no retry is needed
+     */
+    private long pause(final String method, final Response resp,
+        final int attempt) {
+        long pause = -1L;
+        if (attempt < this.attempts
+            && ResilientWire.IDEMPOTENT.contains(method)) {
+            long after = -1L;
+            if (ResilientWire.throttled(resp)) {
+                after = ResilientWire.after(
+                    resp.headers().get(ResilientWire.HEADER).get(0)
+                );
+            }
+            if (after > this.ceiling) {
+                Logger.warn(
+                    this, "#pause(): server asks to wait %[ms]s, over %[ms]s",
+                    after, this.ceiling
+                );
+            } else if (after >= 0L) {
+                pause = after;
+            } else if (resp == null || ResilientWire.failed(resp)
+                || ResilientWire.throttled(resp)) {
+                final long base = this.backoff(attempt);
+                pause = base / 2L + (long) (
+                    ResilientWire.RANDOM.nextDouble() * (double) (base / 2L)
+                );
+            }
+        }
+        return pause;
+    }
+
+    /**
+     * Exponential backoff, not longer than the maximum.
+     * @param attempt Number of attempts made so far, minus one
+     * @return Delay in milliseconds, before jitter
+     */
+    private long backoff(final int attempt) {
+        long base = this.ceiling;
+        if (attempt < Long.SIZE - 2 && this.delay <= this.ceiling >> attempt) {
+            base = this.delay << attempt;
+        }
+        return base;
+    }
+
+    /**
+     * Does this response mean that the server is failing?
+     * @param resp Response
+     * @return TRUE if it's 502, 503 or 504
+     */
+    private static boolean failed(final Response resp) {
+        final int status = resp.status();
+        return status == HttpURLConnection.HTTP_BAD_GATEWAY
+            || status == HttpURLConnection.HTTP_UNAVAILABLE
+            || status == HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Does this response ask us to come back later?
+     * @param resp Response or NULL
+     * @return TRUE if it's 403, 429 or 503 with {@code Retry-After} header
+     */
+    private static boolean throttled(final Response resp) {
+        boolean throttled = false;
+        if (resp != null) {
+            final int status = resp.status();
+            final List<String> after = resp.headers().get(
+                ResilientWire.HEADER
+            );
+            throttled = (status == HttpURLConnection.HTTP_FORBIDDEN
+                || status == ResilientWire.TOO_MANY
+                || status == HttpURLConnection.HTTP_UNAVAILABLE)
+                && after != null && !after.isEmpty();
+        }
+        return throttled;
+    }
+
+    /**
+     * Parse {@code Retry-After} value, either delay in seconds or HTTP date.
+     * @param value Value of the header
+     * @return Delay in milliseconds, or negative if it can't be parsed
+     */
+    private static long after(final String value) {
+        final String text = value.trim();
+        long after = -1L;
+        if (text.matches("\\d{1,9}")) {
+            after = TimeUnit.SECONDS.toMillis(Long.parseLong(text));
+        } else {
+            final DateFormat fmt = new SimpleDateFormat(
+                "EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH
+            );
+            fmt.setTimeZone(TimeZone.getTimeZone("GMT"));
+            try {
+                after = Math.max(
+                    0L, fmt.parse(text).getTime() - System.currentTimeMillis()
+                );
+            } catch (final ParseException ex) {
+                Logger.warn(
+                    ResilientWire.class, "#after(): invalid %s: %s",
+                    ResilientWire.HEADER, text
+                );
+            }
+        }
+        return after;
+    }
+
+    /**
+     * Get circuit of the host.
+     * @param home URI
+     * @return Circuit
+     */
+    private static ResilientWire.Circuit circuit(final String home) {
+        final String host = URI.create(home).getAuthority();
+        ResilientWire.Circuit circuit = ResilientWire.CIRCUITS.get(host);
+        if (circuit == null) {
+            ResilientWire.CIRCUITS.putIfAbsent(
+                host, new ResilientWire.Circuit()
+            );
+            circuit = ResilientWire.CIRCUITS.get(host);
+        }
+        return circuit;
+    }
+
+    /**
+     * State of a circuit.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode(of = { "host", "open", "retries", "rejected" })
+    public static final class State {
+        /**
+         * Host.
+         */
+        private final transient String host;
+        /**
+         * Is it open now?
+         */
+        private final transient boolean open;
+        /**
+         * Total number of retries made.
+         */
+        private final transient long retries;
+        /**
+         * Total number of requests rejected by the open circuit.
+         */
+        private final transient long rejected;
+        /**
+         * Ctor.
+         * @param name Host name
+         * @param opened Is it open
+         * @param retried Number of retries
+         * @param refused Number of rejected requests
+         * @checkstyle ParameterNumber (4 lines)
+         */
+        State(final String name, final boolean opened, final long retried,
+            final long refused) {
+            this.host = name;
+            this.open = opened;
+            this.retries = retried;
+            this.rejected = refused;
+        }
+        /**
+         * Host the circuit protects.
+         * @return Host and port
+         */
+        public String host() {
+            return this.host;
+        }
+        /**
+         * Is the circuit open, i.e. requests fail fast?
+         * @return TRUE if open
+         */
+        public boolean isOpen() {
+            return this.open;
+        }
+        /**
+         * Total number of retries made so far.
+         * @return Number of retries
+         */
+        public long retries() {
+            return this.retries;
+        }
+        /**
+         * Total number of requests rejected without going to the server.
+         * @return Number of requests
+         */
+        public long rejected() {
+            return this.rejected;
+        }
+    }
+
+    /**
+     * Circuit of one host.
+     */
+    private static final class Circuit {
+        /**
+         * Consecutive failures.
+         */
+        private final transient AtomicInteger failures = new AtomicInteger();
+        /**
+         * Time when the circuit closes, in milliseconds, or zero if closed.
+         */
+        private final transient AtomicLong until = new AtomicLong();
+        /**
+         * Retries made.
+         */
+        private final transient AtomicLong retries = new AtomicLong();
+        /**
+         * Requests rejected.
+         */
+        private final transient AtomicLong rejected = new AtomicLong();
+        /**
+         * Let the request in or fail fast.
+         * @param cooldown How long to keep the circuit open if the trial
+         *  request fails
+         * @throws IOException If the circuit is open
+         */
+        void enter(final long cooldown) throws IOException {
+            final long closes = this.until.get();
+            if (closes != 0L) {
+                final long now = System.currentTimeMillis();
+                if (now < closes
+                    || !this.until.compareAndSet(closes, now + cooldown)) {
+                    this.rejected.incrementAndGet();
+                    throw new IOException(
+                        String.format(
+                            "circuit is open after %d failures in a row",
+                            this.failures.get()
+                        )
+                    );
+                }
+            }
+        }
+        /**
+         * Request succeeded.
+         */
+        void success() {
+            this.failures.set(0);
+            this.until.set(0L);
+        }
+        /**
+         * Request failed.
+         * @param threshold Failures to open the circuit
+         * @param cooldown How long to keep it open
+         */
+        void failure(final int threshold, final long cooldown) {
+            if (this.failures.incrementAndGet() >= threshold) {
+                this.until.set(System.currentTimeMillis() + cooldown);
+            }
+        }
+        /**
+         * Request is being retried.
+         */
+        void retry() {
+            this.retries.incrementAndGet();
+        }
+        /**
+         * Take a snapshot.
+         * @param host Host name
+         * @return State
+         */
+        ResilientWire.State state(final String host) {
+            return new ResilientWire.State(
+                host, this.until.get() > System.currentTimeMillis(),
+                this.retries.get(), this.rejected.get()
+            );
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.http.ImmutableHeader;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.immutable.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Responses made by wires from their parts.
+ *
+ * <p>Responses are instances of
+ * {@code com.jcabi.http.request.DefaultResponse}, the same class
+ * jcabi-http makes them of, so they print, compare and convert with
+ * {@link Response#as(Class)} exactly as the responses of the original
+ * wire do. Its ctor is package-private in jcabi-http 1.7, this is why
+ * it is called through reflection.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+final class Responses {
+
+    /**
+     * Ctor of the default response.
+     */
+    private static final Constructor<?> CTOR = Responses.ctor();
+
+    /**
+     * Utility class.
+     */
+    private Responses() {
+        // intentionally empty
+    }
+
+    /**
+     * Make a response.
+     * @param req Request
+     * @param status HTTP status
+     * @param reason Reason phrase
+     * @param headers Headers
+     * @param body Body
+     * @return Response
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    static Response make(final Request req, final int status,
+        final String reason,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] body) {
+        final Collection<Map.Entry<String, String>> norm =
+            new LinkedList<Map.Entry<String, String>>();
+        for (final Map.Entry<String, String> header : headers) {
+            norm.add(new ImmutableHeader(header.getKey(), header.getValue()));
+        }
+        try {
+            return Response.class.cast(
+                Responses.CTOR.newInstance(
+                    req, status, reason,
+                    new Array<Map.Entry<String, String>>(norm), body
+                )
+            );
+        } catch (final InstantiationException ex) {
+            throw new IllegalStateException(ex);
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        } catch (final InvocationTargetException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Find and open the ctor of the default response.
+     * @return Ctor
+     */
+    private static Constructor<?> ctor() {
+        try {
+            final Constructor<?> ctor = Class.forName(
+                "com.jcabi.http.request.DefaultResponse"
+            ).getDeclaredConstructor(
+                Request.class, int.class, String.class, Array.class,
+                byte[].class
+            );
+            ctor.setAccessible(true);
+            return ctor;
+        } catch (final ClassNotFoundException ex) {
+            throw new IllegalStateException(ex);
+        } catch (final NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.immutable.Array;
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.net.URI;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.core.HttpHeaders;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Wire that spreads requests among a pool of OAuth tokens.
+ *
+ * <p>Every request is sent with the token that has the most remaining
+ * requests, according to {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} headers of the latest responses made with
+ * it. Search API and the rest of the API (core) have separate limits in
+ * Github, so the wire tracks them separately for every token. Tokens not
+ * used yet are tried first. A token with no remaining requests is not
+ * used until its reset time. When all tokens are drained, the wire
+ * sleeps until the earliest reset, like {@link CarefulWire} does.
+ *
+ * <p>Quotas are tracked per token for the entire JVM, because that's how
+ * Github counts them. The wire replaces {@code Authorization} header
+ * of every request, so it's better to use it with an anonymous
+ * request, which is exactly what
+ * {@link com.jcabi.github.RtGithub#RtGithub(Iterable)} does:
+ * <pre>
+ * {@code
+ * Github github = new RtGithub(Arrays.asList(first, second, third));
+ * }
+ * </pre>
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @since 0.12
+ */
+@Immutable
+@ToString(of = "origin")
+@EqualsAndHashCode(of = { "origin", "tokens" })
+public final class TokenPoolWire implements Wire {
+
+    /**
+     * Quotas by token and resource.
+     */
+    private static final ConcurrentMap<String, TokenPoolWire.Quota> QUOTAS =
+        new ConcurrentHashMap<String, TokenPoolWire.Quota>(0);
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Tokens.
+     */
+    private final transient Array<String> tokens;
+
+    /**
+     * Public ctor.
+     * @param wire Original wire
+     * @param pool OAuth tokens
+     */
+    public TokenPoolWire(@NotNull(message = "wire can't be NULL")
+        final Wire wire,
+        @NotNull(message = "tokens can't be NULL") final Iterable<String> pool) {
+        this.origin = wire;
+        this.tokens = new Array<String>(pool);
+        if (this.tokens.isEmpty()) {
+            throw new IllegalArgumentException("at least one token required");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @checkstyle ParameterNumber (6 lines)
+     */
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final byte[] content) throws IOException {
+        final String resource = TokenPoolWire.resource(home);
+        final String token = this.pick(resource);
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<Map.Entry<String, String>>();
+        for (final Map.Entry<String, String> header : headers) {
+            if (!HttpHeaders.AUTHORIZATION.equalsIgnoreCase(header.getKey())) {
+                hdrs.add(header);
+            }
+        }
+        hdrs.add(
+            new AbstractMap.SimpleImmutableEntry<String, String>(
+                HttpHeaders.AUTHORIZATION, String.format("token %s", token)
+            )
+        );
+        final Response resp = this.origin.send(
+            req, home, method, hdrs, content
+        );
+        final List<String> remaining = resp.headers()
+            .get("X-RateLimit-Remaining");
+        final List<String> reset = resp.headers().get("X-RateLimit-Reset");
+        if (remaining != null && !remaining.isEmpty()
+            && reset != null && !reset.isEmpty()) {
+            TokenPoolWire.quota(token, resource).update(
+                Integer.parseInt(remaining.get(0)),
+                Long.parseLong(reset.get(0))
+            );
+        }
+        return resp;
+    }
+
+    /**
+     * Pick the best token for the resource, waiting if all are drained.
+     * @param resource Resource, either "core" or "search"
+     * @return Token
+     */
+    private String pick(final String resource) {
+        while (true) {
+            final long now = TimeUnit.MILLISECONDS.toSeconds(
+                System.currentTimeMillis()
+            );
+            String best = null;
+            long bestleft = -1L;
+            long earliest = Long.MAX_VALUE;
+            for (final String token : this.tokens) {
+                final TokenPoolWire.Quota quota =
+                    TokenPoolWire.quota(token, resource);
+                final long left = quota.remaining(now);
+                if (left > bestleft) {
+                    best = token;
+                    bestleft = left;
+                }
+                earliest = Math.min(earliest, quota.reset());
+            }
+            if (bestleft > 0L) {
+                TokenPoolWire.quota(best, resource).take();
+                return best;
+            }
+            final long wait = Math.max(earliest - now, 1L);
+            Logger.info(
+                this, "All %d tokens are drained for %s, waiting %d seconds",
+                this.tokens.size(), resource, wait
+            );
+            try {
+                TimeUnit.SECONDS.sleep(wait);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Rate limited resource of the request.
+     * @param home URI
+     * @return Either "core" or "search"
+     */
+    private static String resource(final String home) {
+        final String path = URI.create(home).getPath();
+        final String resource;
+        if (path != null && path.startsWith("/search/")) {
+            resource = "search";
+        } else {
+            resource = "core";
+        }
+        return resource;
+    }
+
+    /**
+     * Get quota of the token.
+     * @param token Token
+     * @param resource Resource
+     * @return Quota
+     */
+    private static TokenPoolWire.Quota quota(final String token,
+        final String resource) {
+        final String key = String.format("%s %s", resource, token);
+        TokenPoolWire.Quota quota = TokenPoolWire.QUOTAS.get(key);
+        if (quota == null) {
+            TokenPoolWire.QUOTAS.putIfAbsent(key, new TokenPoolWire.Quota());
+            quota = TokenPoolWire.QUOTAS.get(key);
+        }
+        return quota;
+    }
+
+    /**
+     * Quota of one token for one resource.
+     */
+    private static final class Quota {
+        /**
+         * Remaining requests, negative if never seen.
+         */
+        private final transient AtomicInteger left = new AtomicInteger(-1);
+        /**
+         * Time of reset, in seconds since epoch.
+         */
+        private final transient AtomicLong time = new AtomicLong();
+        /**
+         * Remaining requests at the given moment.
+         * @param now Seconds since epoch
+         * @return Number of requests, {@link Integer#MAX_VALUE} if unknown
+         */
+        long remaining(final long now) {
+            final int value = this.left.get();
+            final long remaining;
+            if (value < 0 || now >= this.time.get()) {
+                remaining = Integer.MAX_VALUE;
+            } else {
+                remaining = value;
+            }
+            return remaining;
+        }
+        /**
+         * Time of reset.
+         * @return Seconds since epoch
+         */
+        long reset() {
+            return this.time.get();
+        }
+        /**
+         * Count one request made, before the response arrives.
+         */
+        void take() {
+            if (this.left.get() > 0) {
+                this.left.decrementAndGet();
+            }
+        }
+        /**
+         * Update with the numbers received from Github.
+         * @param remaining Remaining requests
+         * @param reset Time of reset
+         */
+        void update(final int remaining, final long reset) {
+            this.time.set(reset);
+            this.left.set(remaining);
+        }
+    }
+}
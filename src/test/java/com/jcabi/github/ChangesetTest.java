@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.ApacheRequest;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Changeset}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (400 lines)
+ */
+public final class ChangesetTest {
+
+    /**
+     * SHA of a blob with "hello" inside.
+     */
+    private static final String HELLO =
+        "b6fc4c620b67d95f953a5c1c1230aaab5db5a1b0";
+
+    /**
+     * Changeset can upload only new blobs and make one commit.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void commitsManyFilesAtOnce() throws Exception {
+        final MkContainer container = ChangesetTest.head()
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED,
+                    "{\"sha\":\"3e75b1e4c2f3b0a5\"}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED, "{\"sha\":\"tree2\"}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED, "{\"sha\":\"commit2\"}"
+                )
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{}"))
+            .start();
+        try {
+            MatcherAssert.assertThat(
+                new Changeset(ChangesetTest.git(container), "refs/heads/master")
+                    .with("a.txt", "hello")
+                    .with("b.txt", "hello")
+                    .with("c.txt", "new")
+                    .without("d.txt")
+                    .without("absent.txt")
+                    .commit("three files").sha(),
+                Matchers.equalTo("commit2")
+            );
+            container.take();
+            container.take();
+            container.take();
+            final MkQuery blob = container.take();
+            MatcherAssert.assertThat(
+                blob.uri().getPath(), Matchers.endsWith("/git/blobs")
+            );
+            MatcherAssert.assertThat(
+                ChangesetTest.json(blob).getString("content"),
+                Matchers.equalTo("bmV3")
+            );
+            final JsonObject tree = ChangesetTest.json(container.take());
+            MatcherAssert.assertThat(
+                tree.getString("base_tree"), Matchers.equalTo("tree1")
+            );
+            MatcherAssert.assertThat(
+                tree.getJsonArray("tree").size(), Matchers.equalTo(2 + 1)
+            );
+            MatcherAssert.assertThat(
+                ChangesetTest.json(container.take())
+                    .getJsonArray("parents").getString(0),
+                Matchers.equalTo("commit1")
+            );
+            final MkQuery ref = container.take();
+            MatcherAssert.assertThat(
+                ref.method(), Matchers.equalTo(Request.PATCH)
+            );
+            MatcherAssert.assertThat(
+                ChangesetTest.json(ref).getString("sha"),
+                Matchers.equalTo("commit2")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * Changeset can skip the commit when nothing changes.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsEmptyCommit() throws Exception {
+        final MkContainer container = ChangesetTest.head().start();
+        try {
+            MatcherAssert.assertThat(
+                new Changeset(ChangesetTest.git(container), "refs/heads/master")
+                    .with("a.txt", "hello")
+                    .without("absent.txt")
+                    .commit("nothing").sha(),
+                Matchers.equalTo("commit1")
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * Changeset can keep modes of files that are already in the tree.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void keepsModeOfExistingFiles() throws Exception {
+        final MkContainer container = ChangesetTest.head(
+            false,
+            Json.createObjectBuilder()
+                .add("path", "run.sh")
+                .add("mode", "100755")
+                .add("type", "blob")
+                .add("sha", ChangesetTest.HELLO)
+                .build()
+        )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED, "{\"sha\":\"blob2\"}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED, "{\"sha\":\"tree2\"}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED, "{\"sha\":\"commit2\"}"
+                )
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{}"))
+            .start();
+        try {
+            new Changeset(ChangesetTest.git(container), "refs/heads/master")
+                .with("run.sh", "bye")
+                .with("new.txt", "hello")
+                .commit("modes");
+            container.take();
+            container.take();
+            container.take();
+            container.take();
+            final JsonObject tree = ChangesetTest.json(container.take());
+            for (final JsonObject entry : tree.getJsonArray("tree")
+                .getValuesAs(JsonObject.class)) {
+                if ("run.sh".equals(entry.getString("path"))) {
+                    MatcherAssert.assertThat(
+                        entry.getString("mode"), Matchers.equalTo("100755")
+                    );
+                } else {
+                    MatcherAssert.assertThat(
+                        entry.getString("mode"), Matchers.equalTo("100644")
+                    );
+                }
+            }
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * Changeset can refuse to commit on top of a truncated tree.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void failsOnTruncatedTree() throws Exception {
+        final MkContainer container = ChangesetTest.head(
+            true, ChangesetTest.blob("a.txt")
+        ).start();
+        try {
+            new Changeset(ChangesetTest.git(container), "refs/heads/master")
+                .with("b.txt", "hello")
+                .commit("too big");
+            MatcherAssert.assertThat("exception expected", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("too big")
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            container.queries(), Matchers.equalTo(2 + 1)
+        );
+    }
+
+    /**
+     * Container with answers about the head of the branch.
+     * @return Container
+     */
+    private static MkContainer head() {
+        return ChangesetTest.head(
+            false, ChangesetTest.blob("a.txt"), ChangesetTest.blob("d.txt")
+        );
+    }
+
+    /**
+     * Container with answers about the head of the branch.
+     * @param truncated Is the tree truncated
+     * @param items Entries of the tree
+     * @return Container
+     */
+    private static MkContainer head(final boolean truncated,
+        final JsonObject... items) {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        for (final JsonObject item : items) {
+            array.add(item);
+        }
+        return new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    "{\"ref\":\"refs/heads/master\",\"object\":{\"sha\":\"commit1\"}}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    "{\"sha\":\"commit1\",\"tree\":{\"sha\":\"tree1\"}}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    Json.createObjectBuilder()
+                        .add("sha", "tree1")
+                        .add("truncated", truncated)
+                        .add("tree", array)
+                        .build().toString()
+                )
+            );
+    }
+
+    /**
+     * Git of a repo in the container.
+     * @param container Container
+     * @return Git
+     * @throws Exception If some problem inside
+     */
+    private static Git git(final MkContainer container) throws Exception {
+        return new RtGithub(new ApacheRequest(container.home()))
+            .repos().get(new Coordinates.Simple("test", "changeset")).git();
+    }
+
+    /**
+     * Tree entry of a blob with "hello" inside.
+     * @param path Path
+     * @return JSON
+     */
+    private static JsonObject blob(final String path) {
+        return Json.createObjectBuilder()
+            .add("path", path)
+            .add("mode", "100644")
+            .add("type", "blob")
+            .add("sha", ChangesetTest.HELLO)
+            .build();
+    }
+
+    /**
+     * Body of the query.
+     * @param query Query
+     * @return JSON
+     */
+    private static JsonObject json(final MkQuery query) {
+        return Json.createReader(new StringReader(query.body())).readObject();
+    }
+}
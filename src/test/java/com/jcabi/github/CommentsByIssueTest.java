@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.github.mock.MkGithub;
+import java.util.Collections;
+import java.util.Iterator;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link CommentsByIssue}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class CommentsByIssueTest {
+
+    /**
+     * CommentsByIssue can group consecutive comments of one issue.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void groupsConsecutiveComments() throws Exception {
+        final Repo repo = new MkGithub().repos().create(
+            Json.createObjectBuilder().add("name", "groups").build()
+        );
+        final Issue first = repo.issues().create("first", "");
+        final Issue second = repo.issues().create("second", "");
+        first.comments().post("one");
+        first.comments().post("two");
+        second.comments().post("three");
+        first.comments().post("four");
+        final Iterator<CommentsByIssue.Group> groups = new CommentsByIssue(
+            repo.issues().comments(Collections.<String, String>emptyMap())
+        ).iterator();
+        final CommentsByIssue.Group group = groups.next();
+        MatcherAssert.assertThat(
+            group.issue().number(), Matchers.equalTo(first.number())
+        );
+        MatcherAssert.assertThat(group.comments(), Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+            groups.next().issue().number(), Matchers.equalTo(second.number())
+        );
+        MatcherAssert.assertThat(
+            groups.next().comments(), Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(groups.hasNext(), Matchers.is(false));
+    }
+
+}
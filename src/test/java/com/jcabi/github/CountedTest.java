@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.mock.MkGithub;
+import com.jcabi.github.mock.MkServer;
+import com.jcabi.http.request.ApacheRequest;
+import com.jcabi.immutable.ArrayMap;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Counted}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class CountedTest {
+
+    /**
+     * Counted can count issues of a repository served over HTTP.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void countsIssuesOverHttp() throws Exception {
+        final MkServer server = new MkServer("jeff");
+        try {
+            final Repo origin = server.github().repos().create(
+                Json.createObjectBuilder().add("name", "test").build()
+            );
+            for (int idx = 0; idx < Tv.SEVEN; ++idx) {
+                origin.issues().create(String.format("#%d", idx), "");
+            }
+            MatcherAssert.assertThat(
+                new Counted<Issue>(
+                    new RtGithub(new ApacheRequest(server.home().toString()))
+                        .repos().get(origin.coordinates()).issues().iterate(
+                            new ArrayMap<String, String>()
+                        )
+                ).count(),
+                Matchers.equalTo(Tv.SEVEN)
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * Counted can count any other iterable by iterating it.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void countsOtherIterables() throws Exception {
+        final Repo repo = new MkGithub().repos().create(
+            Json.createObjectBuilder().add("name", "counted").build()
+        );
+        repo.issues().create("one", "");
+        repo.issues().create("two", "");
+        MatcherAssert.assertThat(
+            new Counted<Issue>(
+                repo.issues().iterate(new ArrayMap<String, String>())
+            ).count(),
+            Matchers.equalTo(2)
+        );
+    }
+}
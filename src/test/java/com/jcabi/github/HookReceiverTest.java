@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.mock.MkGithub;
+import com.jcabi.http.Request;
+import com.jcabi.http.request.JdkRequest;
+import com.jcabi.http.response.RestResponse;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.json.Json;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link HookReceiver}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class HookReceiverTest {
+
+    /**
+     * Secret of the hook.
+     */
+    private static final String SECRET = "hush";
+
+    /**
+     * HookReceiver can receive an issue.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void receivesIssues() throws Exception {
+        final MkGithub github = new MkGithub();
+        github.repos().create(
+            Json.createObjectBuilder().add("name", "hooked").build()
+        );
+        final HookReceiver receiver = new HookReceiver(
+            github, HookReceiverTest.SECRET
+        );
+        try {
+            HookReceiverTest.post(
+                receiver, "issues", HookReceiverTest.SECRET,
+                // @checkstyle LineLength (1 line)
+                "{\"action\":\"opened\",\"issue\":{\"number\":7,\"title\":\"hey\"},\"repository\":{\"full_name\":\"jeff/hooked\"}}"
+            ).assertStatus(HttpURLConnection.HTTP_ACCEPTED);
+            final HookReceiver.Delivery delivery = receiver.poll(
+                1L, TimeUnit.SECONDS
+            );
+            MatcherAssert.assertThat(
+                delivery.event(), Matchers.equalTo("issues")
+            );
+            MatcherAssert.assertThat(
+                new Issue.Smart(delivery.issue()).title(),
+                Matchers.equalTo("hey")
+            );
+            MatcherAssert.assertThat(
+                delivery.issue().number(), Matchers.equalTo(Tv.SEVEN)
+            );
+        } finally {
+            receiver.close();
+        }
+    }
+
+    /**
+     * HookReceiver can reject wrong signatures and overflows.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void rejectsWrongSignaturesAndOverflows() throws Exception {
+        final HookReceiver receiver = new HookReceiver(
+            new MkGithub(), HookReceiverTest.SECRET, 0, 1
+        );
+        try {
+            HookReceiverTest.post(receiver, "push", "wrong", "{}")
+                .assertStatus(HttpURLConnection.HTTP_UNAUTHORIZED);
+            HookReceiverTest.post(
+                receiver, "push", HookReceiverTest.SECRET, "{}"
+            ).assertStatus(HttpURLConnection.HTTP_ACCEPTED);
+            HookReceiverTest.post(
+                receiver, "push", HookReceiverTest.SECRET, "{}"
+            ).assertStatus(HttpURLConnection.HTTP_UNAVAILABLE);
+            MatcherAssert.assertThat(
+                receiver.overflows(), Matchers.equalTo(1L)
+            );
+        } finally {
+            receiver.close();
+        }
+    }
+
+    /**
+     * HookReceiver can drop connections with too long headers, while
+     * serving others.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void dropsTooLongHeaders() throws Exception {
+        final HookReceiver receiver = new HookReceiver(
+            new MkGithub(), HookReceiverTest.SECRET
+        );
+        try {
+            final Socket idle = new Socket(
+                "localhost", receiver.home().getPort()
+            );
+            final Socket socket = new Socket(
+                "localhost", receiver.home().getPort()
+            );
+            try {
+                final OutputStream output = socket.getOutputStream();
+                output.write(
+                    String.format(
+                        "POST / HTTP/1.1\r\nX-Long: %s\r\n",
+                        StringUtils.repeat('a', Tv.TEN * 1024)
+                    ).getBytes(Charsets.UTF_8)
+                );
+                output.flush();
+                MatcherAssert.assertThat(
+                    socket.getInputStream().read(), Matchers.equalTo(-1)
+                );
+                HookReceiverTest.post(
+                    receiver, "push", HookReceiverTest.SECRET, "{}"
+                ).assertStatus(HttpURLConnection.HTTP_ACCEPTED);
+            } finally {
+                socket.close();
+                idle.close();
+            }
+        } finally {
+            receiver.close();
+        }
+    }
+
+    /**
+     * HookReceiver.Deadline can fail a read after the deadline, even if
+     * the client keeps sending.
+     * @throws Exception If some problem inside
+     */
+    @Test(expected = SocketTimeoutException.class)
+    public void limitsTimeOfWholeRequest() throws Exception {
+        final ServerSocket server = new ServerSocket(0);
+        try {
+            final Socket client = new Socket(
+                "localhost", server.getLocalPort()
+            );
+            final Socket conn = server.accept();
+            try {
+                final InputStream input = new HookReceiver.Deadline(
+                    conn, Tv.HUNDRED
+                );
+                client.getOutputStream().write('a');
+                MatcherAssert.assertThat(
+                    input.read(), Matchers.equalTo((int) 'a')
+                );
+                TimeUnit.MILLISECONDS.sleep((long) Tv.HUNDRED * 2);
+                client.getOutputStream().write('b');
+                input.read();
+            } finally {
+                conn.close();
+                client.close();
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * Post a signed delivery.
+     * @param receiver Receiver
+     * @param event Name of the event
+     * @param key Secret to sign with
+     * @param body Payload
+     * @return Response
+     * @throws Exception If some problem inside
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    private static RestResponse post(final HookReceiver receiver,
+        final String event, final String key, final String body)
+        throws Exception {
+        final Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(
+            new SecretKeySpec(key.getBytes(Charsets.UTF_8), "HmacSHA256")
+        );
+        return new JdkRequest(receiver.home())
+            .method(Request.POST)
+            .header("X-GitHub-Event", event)
+            .header("X-GitHub-Delivery", "72d3162e")
+            .header(
+                "X-Hub-Signature-256",
+                String.format(
+                    "sha256=%s",
+                    DatatypeConverter.printHexBinary(
+                        mac.doFinal(body.getBytes(Charsets.UTF_8))
+                    ).toLowerCase()
+                )
+            )
+            .body().set(body).back()
+            .fetch().as(RestResponse.class);
+    }
+
+}
@@ -96,8 +96,19 @@ public final class ImmutabilityTest {
     private static Set<String> skip() {
         return ImmutableSet.<String>builder()
             .add("com.jcabi.github.mock.JsonNode")
+            .add("com.jcabi.github.mock.Journal")
+            .add("com.jcabi.github.mock.InvertedIndex")
+            .add("com.jcabi.github.mock.Simulator")
+            .add("com.jcabi.github.mock.MkServer")
             .add("com.jcabi.github.Bulk")
             .add("com.jcabi.github.Smarts")
+            .add("com.jcabi.github.Sync")
+            .add("com.jcabi.github.Tail")
+            .add("com.jcabi.github.HookReceiver")
+            .add("com.jcabi.github.Session")
+            .add("com.jcabi.github.Session$Memo")
+            .add("com.jcabi.github.UnifiedDiff")
+            .add("com.jcabi.github.Counted")
             .build();
     }
 }
@@ -29,6 +29,7 @@
  */
 package com.jcabi.github;
 
+import com.jcabi.aspects.Tv;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.http.Request;
 import com.jcabi.http.mock.MkAnswer;
@@ -50,6 +51,7 @@ import org.junit.Test;
  * @author Carlos Miranda (miranda.cma@gmail.com)
  * @version $Id$
  * @checkstyle MultipleStringLiterals (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class RtCommentTest {
 
@@ -200,6 +202,31 @@ public final class RtCommentTest {
         }
     }
 
+    /**
+     * RtComment can be made for every item of a page and still point
+     * to its own resource.
+     * @throws Exception - if anything goes wrong.
+     */
+    @Test
+    public void mapsPageOfComments() throws Exception {
+        final Issue issue = repo().issues().create("page", "of comments");
+        final Request req = new FakeRequest();
+        final Coordinates coords = issue.repo().coordinates();
+        for (int item = 1; item <= Tv.HUNDRED; ++item) {
+            final RtComment comment = new RtComment(req, issue, item);
+            MatcherAssert.assertThat(comment.number(), Matchers.equalTo(item));
+            MatcherAssert.assertThat(
+                comment.toString(),
+                Matchers.endsWith(
+                    String.format(
+                        "/repos/%s/%s/issues/comments/%d",
+                        coords.user(), coords.repo(), item
+                    )
+                )
+            );
+        }
+    }
+
     /**
      * This method returns a Repo for testing.
      * @return Repo - a repo to be used for test.
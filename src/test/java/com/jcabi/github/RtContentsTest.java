@@ -193,7 +193,8 @@ public final class RtContentsTest {
     }
 
     /**
-     * RtContents can create a file in the repository.
+     * RtContents can create a file in the repository, without fetching
+     * its JSON again.
      * @throws Exception If a problem occurs.
      */
     @Test
@@ -210,8 +211,7 @@ public final class RtContentsTest {
                 Json.createObjectBuilder().add("content", body)
                     .build().toString()
             )
-        ).next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, body.toString()))
-            .start();
+        ).start();
         final RtContents contents = new RtContents(
             new ApacheRequest(container.home()),
             repo()
@@ -225,9 +225,14 @@ public final class RtContentsTest {
             final Content.Smart smart = new Content.Smart(
                 contents.create(content)
             );
+            final MkQuery query = container.take();
             MatcherAssert.assertThat(
-                container.take().uri().toString(),
-                Matchers.endsWith(path)
+                query.method(),
+                Matchers.equalTo(Request.PUT)
+            );
+            MatcherAssert.assertThat(
+                query.uri().toString(),
+                Matchers.endsWith("/repos/test/contents/contents/test/thefile")
             );
             MatcherAssert.assertThat(
                 smart.path(),
@@ -238,8 +243,8 @@ public final class RtContentsTest {
                 Matchers.is(name)
             );
             MatcherAssert.assertThat(
-                container.take().uri().toString(),
-                Matchers.endsWith("/repos/test/contents/contents/test/thefile")
+                smart.content(),
+                Matchers.is("blah")
             );
         } finally {
             container.stop();
@@ -30,6 +30,7 @@
 package com.jcabi.github;
 
 import com.jcabi.http.request.FakeRequest;
+import java.util.Arrays;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -143,6 +144,22 @@ public final class RtGithubTest {
         );
     }
 
+    /**
+     * RtGithub can work with a pool of tokens.
+     *
+     * @throws Exception if a problem occurs.
+     */
+    @Test
+    public void acceptsPoolOfTokens() throws Exception {
+        final RtGithub github = new RtGithub(
+            Arrays.asList("first-token", "second-token")
+        );
+        MatcherAssert.assertThat(
+            github.entry().uri().get().toString(),
+            Matchers.startsWith("https://api.github.com")
+        );
+    }
+
     /**
      * Github.Time can compare two same Times successfully.
      */
@@ -29,10 +29,12 @@
  */
 package com.jcabi.github;
 
+import com.jcabi.aspects.Tv;
 import com.jcabi.http.Request;
 import com.jcabi.http.mock.MkAnswer;
 import com.jcabi.http.mock.MkContainer;
 import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
 import com.jcabi.http.request.JdkRequest;
 import com.jcabi.immutable.ArrayMap;
 import java.net.HttpURLConnection;
@@ -129,6 +131,50 @@ public final class RtIssuesTest {
         container.stop();
     }
 
+    /**
+     * RtIssues can iterate comments of all issues.
+     * @throws Exception if there is any error
+     */
+    @Test
+    public void iteratesCommentsOfRepo() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(
+                HttpURLConnection.HTTP_OK,
+                Json.createArrayBuilder().add(
+                    Json.createObjectBuilder()
+                        .add("id", Tv.FIVE)
+                        .add("body", "first!")
+                        .add(
+                            "issue_url",
+                            "https://api.github.com/repos/mark/test/issues/3"
+                        )
+                ).build().toString()
+            )
+        ).start();
+        final Comment comment = new RtIssues(
+            new JdkRequest(container.home()),
+            repo()
+        ).comments(
+            new ArrayMap<String, String>().with("since", "2014-01-01T00:00:00Z")
+        ).iterator().next();
+        container.stop();
+        MatcherAssert.assertThat(comment.number(), Matchers.equalTo(Tv.FIVE));
+        MatcherAssert.assertThat(
+            comment.issue().number(), Matchers.equalTo(Tv.THREE)
+        );
+        MatcherAssert.assertThat(
+            new Comment.Smart(comment).body(), Matchers.equalTo("first!")
+        );
+        final MkQuery query = container.take();
+        MatcherAssert.assertThat(
+            query.uri().getPath(),
+            Matchers.equalTo("/repos/mark/test/issues/comments")
+        );
+        MatcherAssert.assertThat(
+            query.uri().getQuery(), Matchers.containsString("since=")
+        );
+    }
+
     /**
      * Create and return JsonObject to test.
      * @param title The title of the issue
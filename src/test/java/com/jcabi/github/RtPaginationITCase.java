@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.log.Logger;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Integration case for {@link RtPagination}, which measures how much
+ * it costs to map a page of comments into {@link RtComment} objects,
+ * to build their requests, and to use the requests again.
+ *
+ * <p>It is not a unit test, because the numbers depend on the machine
+ * and on the JIT. Run it with
+ * {@code mvn verify -Dit.test=RtPaginationITCase}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class RtPaginationITCase {
+
+    /**
+     * How many times to map the page in one round.
+     */
+    private static final int TOTAL = Tv.HUNDRED;
+
+    /**
+     * RtPagination can map a page of a hundred comments, and every
+     * comment can build its request once, in a few microseconds per
+     * item, and use it again almost for free.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void mapsPageOfComments() throws Exception {
+        final JsonArrayBuilder page = Json.createArrayBuilder();
+        for (int idx = 1; idx <= Tv.HUNDRED; ++idx) {
+            page.add(
+                Json.createObjectBuilder()
+                    .add("id", idx)
+                    .add("body", String.format("comment #%d", idx))
+            );
+        }
+        final Request req = new FakeRequest()
+            .withBody(page.build().toString());
+        final Issue issue = new RtGithub(req).repos()
+            .get(new Coordinates.Simple("jeff", "test")).issues().get(1);
+        final long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int round = 0; round < Tv.TEN; ++round) {
+            for (int uses = 0; uses < best.length; ++uses) {
+                best[uses] = Math.min(
+                    best[uses], RtPaginationITCase.time(req, issue, uses)
+                );
+            }
+        }
+        final long items = (long) RtPaginationITCase.TOTAL * Tv.HUNDRED;
+        final long map = best[0] / items;
+        final long build = (best[1] - best[0]) / items;
+        final long reuse = (best[2] - best[1]) / items;
+        Logger.info(
+            this,
+            // @checkstyle LineLength (1 line)
+            "a comment costs %dns to map, %dns to build its request, %dns to use it again",
+            map, build, reuse
+        );
+        MatcherAssert.assertThat(
+            map + build, Matchers.lessThan((long) Tv.FIFTY * Tv.THOUSAND)
+        );
+        MatcherAssert.assertThat(reuse * 2, Matchers.lessThan(build));
+    }
+
+    /**
+     * Map the page many times.
+     * @param req Request that returns the page
+     * @param issue Issue of the comments
+     * @param uses How many times every comment uses its request
+     * @return Nanoseconds it took
+     */
+    private static long time(final Request req, final Issue issue,
+        final int uses) {
+        final Iterable<Comment> comments = new RtPagination<Comment>(
+            req,
+            new RtPagination.Mapping<Comment, JsonObject>() {
+                @Override
+                public Comment map(final JsonObject object) {
+                    return new RtComment(req, issue, object.getInt("id"));
+                }
+            }
+        );
+        final long start = System.nanoTime();
+        int total = 0;
+        for (int idx = 0; idx < RtPaginationITCase.TOTAL; ++idx) {
+            for (final Comment comment : comments) {
+                total += comment.number();
+                for (int use = 0; use < uses; ++use) {
+                    total += comment.toString().length();
+                }
+            }
+        }
+        MatcherAssert.assertThat(total, Matchers.greaterThan(0));
+        return System.nanoTime() - start;
+    }
+
+}
@@ -29,6 +29,7 @@
  */
 package com.jcabi.github;
 
+import com.jcabi.aspects.Tv;
 import com.jcabi.http.Request;
 import com.jcabi.http.mock.MkAnswer;
 import com.jcabi.http.mock.MkContainer;
@@ -39,6 +40,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import javax.json.Json;
 import javax.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -112,6 +114,63 @@ public final class RtPaginationTest {
         }
     }
 
+    /**
+     * RtPagination can count items by the last page of one item.
+     * @throws Exception if there is any problem
+     */
+    @Test
+    public void countsByLastPageLink() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            RtPaginationTest.simple("first").withHeader(
+                "Link",
+                StringUtils.join(
+                    "</s?per_page=1&page=2>; rel=\"next\", ",
+                    "</s?per_page=1&page=42>; rel=\"last\""
+                )
+            )
+        ).start();
+        try {
+            MatcherAssert.assertThat(
+                new RtPagination<JsonObject>(
+                    new ApacheRequest(container.home()), RtPagination.COPYING
+                ).count(),
+                Matchers.equalTo(Tv.FORTY + 2)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(container.queries(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            container.take().uri().getQuery(),
+            Matchers.containsString("per_page=1")
+        );
+    }
+
+    /**
+     * RtPagination can count items by the last page, when the size of
+     * pages is not the one requested.
+     * @throws Exception if there is any problem
+     */
+    @Test
+    public void countsByLastPageOfAnySize() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            RtPaginationTest.simple("first").withHeader(
+                "Link", "</s?page=3&per_page=30>; rel=\"last\""
+            )
+        ).next(RtPaginationTest.simple("last")).start();
+        try {
+            MatcherAssert.assertThat(
+                new RtPagination<JsonObject>(
+                    new ApacheRequest(container.home()), RtPagination.COPYING
+                ).count(),
+                Matchers.equalTo(Tv.SIXTY + 1)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(container.queries(), Matchers.equalTo(2));
+    }
+
     /**
      * Create and return MkAnswer.Simple to test.
      * @param msg Message to build MkAnswer.Simple
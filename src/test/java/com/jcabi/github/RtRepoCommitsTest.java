@@ -30,6 +30,7 @@
 package com.jcabi.github;
 
 import com.jcabi.http.request.FakeRequest;
+import java.io.InputStream;
 import java.util.Collections;
 import javax.json.Json;
 import org.hamcrest.MatcherAssert;
@@ -148,6 +149,30 @@ public final class RtRepoCommitsTest {
         );
     }
 
+    /**
+     * RtRepoCommits can stream a diff of two commits.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void streamsCommitsDiff() throws Exception {
+        final RepoCommits commits = new RtRepoCommits(
+            new FakeRequest().withBody(
+                "diff --git a/x b/x\n--- a/x\n+++ b/x\n@@ -1 +1 @@\n-a\n+b\n"
+            ),
+            RtRepoCommitsTest.repo()
+        );
+        final InputStream stream = commits.rawDiff("base", "head");
+        try {
+            MatcherAssert.assertThat(
+                new UnifiedDiff(stream).iterator().next().hunks()
+                    .iterator().next().lines(),
+                Matchers.contains("-a", "+b")
+            );
+        } finally {
+            stream.close();
+        }
+    }
+
     /**
      * RtRepoCommits can read correctly URL.
      * @throws Exception if any problem inside
@@ -72,4 +72,21 @@ public final class RtSearchPaginationTest {
         );
     }
 
+    /**
+     * RtSearchPagination can count items by total_count.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void countsByTotalCount() throws Exception {
+        MatcherAssert.assertThat(
+            new RtSearchPagination<JsonObject>(
+                new FakeRequest().withBody(
+                    "{\"total_count\":1234,\"items\":[{}]}"
+                ),
+                "/search/path", "keywords", "sort", "order",
+                RtPagination.COPYING
+            ).count(),
+            Matchers.equalTo(1234)
+        );
+    }
 }
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.ApacheRequest;
+import java.net.HttpURLConnection;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Seed}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class SeedTest {
+
+    /**
+     * Seed can answer with JSON until the first patch.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void keepsJsonUntilPatch() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED,
+                    "{\"number\":1,\"title\":\"created\"}"
+                )
+            )
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{}"))
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    "{\"number\":1,\"title\":\"patched\"}"
+                )
+            ).start();
+        try {
+            final Issue.Smart issue = new Issue.Smart(
+                new RtIssues(
+                    new ApacheRequest(container.home()), SeedTest.repo()
+                ).create("created", "")
+            );
+            MatcherAssert.assertThat(
+                issue.title(), Matchers.equalTo("created")
+            );
+            MatcherAssert.assertThat(
+                container.take().method(), Matchers.equalTo(Request.POST)
+            );
+            issue.title("patched");
+            MatcherAssert.assertThat(
+                container.take().method(), Matchers.equalTo(Request.PATCH)
+            );
+            MatcherAssert.assertThat(
+                issue.title(), Matchers.equalTo("patched")
+            );
+            MatcherAssert.assertThat(
+                container.take().method(), Matchers.equalTo(Request.GET)
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * Seed doesn't change equality of the object it is in.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void keepsEqualityOfObjects() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(
+                HttpURLConnection.HTTP_CREATED, "{\"number\":1}"
+            )
+        ).start();
+        try {
+            final Issues issues = new RtIssues(
+                new ApacheRequest(container.home()), SeedTest.repo()
+            );
+            final Issue created = issues.create("equal", "");
+            final Issue fetched = issues.get(1);
+            MatcherAssert.assertThat(created, Matchers.equalTo(fetched));
+            MatcherAssert.assertThat(fetched, Matchers.equalTo(created));
+            MatcherAssert.assertThat(
+                created.hashCode(), Matchers.equalTo(fetched.hashCode())
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * Seed can be dropped when labels of an issue are asked for.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void dropsJsonOnLabels() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_CREATED,
+                    "{\"number\":2,\"labels\":[]}"
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    "{\"number\":2,\"labels\":[{\"name\":\"bug\"}]}"
+                )
+            ).start();
+        try {
+            final Issue issue = new RtIssues(
+                new ApacheRequest(container.home()), SeedTest.repo()
+            ).create("labeled", "");
+            MatcherAssert.assertThat(
+                issue.json().getJsonArray("labels"), Matchers.empty()
+            );
+            issue.labels();
+            MatcherAssert.assertThat(
+                issue.json().getJsonArray("labels"),
+                Matchers.not(Matchers.empty())
+            );
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * Create and return repo to test.
+     * @return Repo
+     * @throws Exception If some problem inside
+     */
+    private static Repo repo() throws Exception {
+        final Repo repo = Mockito.mock(Repo.class);
+        Mockito.doReturn(new Coordinates.Simple("mark", "seeded"))
+            .when(repo).coordinates();
+        return repo;
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.JdkRequest;
+import java.net.HttpURLConnection;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Session}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class SessionTest {
+
+    /**
+     * Session can share users and their JSON.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void sharesUsersAndTheirJson() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{\"id\":1}")
+        ).next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{\"id\":2}")
+        ).start();
+        final Github github = new RtGithub(
+            new JdkRequest(container.home())
+        );
+        try {
+            final Session session = RtGithub.class.cast(github).session();
+            try {
+                final User user = github.users().get("jeff");
+                MatcherAssert.assertThat(
+                    github.users().get("jeff"), Matchers.sameInstance(user)
+                );
+                MatcherAssert.assertThat(
+                    github.users().get("jeff").json().getInt("id"),
+                    Matchers.equalTo(1)
+                );
+                MatcherAssert.assertThat(
+                    user.json().getInt("id"), Matchers.equalTo(1)
+                );
+                MatcherAssert.assertThat(session.size(), Matchers.equalTo(1));
+            } finally {
+                session.close();
+            }
+            MatcherAssert.assertThat(
+                github.users().get("jeff").json().getInt("id"),
+                Matchers.equalTo(2)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(container.queries(), Matchers.equalTo(2));
+    }
+
+    /**
+     * Session can restore the outer session and ignore other Githubs.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void nestsAndSeparatesGithubs() throws Exception {
+        final RtGithub github = new RtGithub();
+        final Coordinates coords = new Coordinates.Simple("jeff/test");
+        final Session outer = github.session();
+        try {
+            final Repo repo = github.repos().get(coords);
+            final Session inner = github.session();
+            try {
+                MatcherAssert.assertThat(
+                    github.repos().get(coords),
+                    Matchers.not(Matchers.sameInstance(repo))
+                );
+                MatcherAssert.assertThat(
+                    new RtGithub("token").repos().get(coords),
+                    Matchers.not(Matchers.sameInstance(repo))
+                );
+            } finally {
+                inner.close();
+            }
+            MatcherAssert.assertThat(
+                github.repos().get(coords).issues().get(1),
+                Matchers.sameInstance(repo.issues().get(1))
+            );
+            MatcherAssert.assertThat(
+                github.repos().get(coords), Matchers.equalTo(repo)
+            );
+        } finally {
+            outer.close();
+        }
+    }
+
+    /**
+     * Session can stop sharing objects once it is closed, even
+     * in another thread.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void stopsSharingWhenClosed() throws Exception {
+        final RtGithub github = new RtGithub();
+        final Coordinates coords = new Coordinates.Simple("jeff/test");
+        final Session session = github.session();
+        try {
+            final Thread thread = new Thread(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        session.close();
+                    }
+                }
+            );
+            thread.start();
+            thread.join();
+            MatcherAssert.assertThat(
+                github.repos().get(coords),
+                Matchers.not(
+                    Matchers.sameInstance(github.repos().get(coords))
+                )
+            );
+            MatcherAssert.assertThat(session.size(), Matchers.equalTo(0));
+        } finally {
+            session.close();
+        }
+    }
+}
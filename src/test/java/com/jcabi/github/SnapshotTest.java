@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.ApacheRequest;
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link Snapshot}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (400 lines)
+ */
+public final class SnapshotTest {
+
+    /**
+     * SHA of the first blob.
+     */
+    private static final String FIRST =
+        "3b18e512dba79e4c8300dd08aeb37f8e728b8dad";
+
+    /**
+     * SHA of the second blob.
+     */
+    private static final String SECOND =
+        "95d09f2b10159347eece71399a7e2e907ea3df4f";
+
+    /**
+     * Temporary folder.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * Snapshot can download every distinct blob once.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void downloadsDistinctBlobs() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, tree()))
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    blob(SnapshotTest.FIRST, "hello")
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    blob(SnapshotTest.SECOND, "world")
+                )
+            ).start();
+        final File dir = this.temp.newFolder("target");
+        try {
+            MatcherAssert.assertThat(
+                new Snapshot(
+                    SnapshotTest.repo(container),
+                    this.temp.newFolder("store").getPath(), 1
+                ).save("master", dir),
+                Matchers.equalTo(2)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            FileUtils.readFileToString(new File(dir, "a.txt")),
+            Matchers.equalTo("hello")
+        );
+        MatcherAssert.assertThat(
+            FileUtils.readFileToString(new File(dir, "src/b.txt")),
+            Matchers.equalTo("hello")
+        );
+        MatcherAssert.assertThat(
+            FileUtils.readFileToString(new File(dir, "src/c.sh")),
+            Matchers.equalTo("world")
+        );
+    }
+
+    /**
+     * Snapshot can skip blobs that are already in the store.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsStoredBlobs() throws Exception {
+        final File store = this.temp.newFolder("blobs");
+        FileUtils.write(
+            new File(store, "3b/18e512dba79e4c8300dd08aeb37f8e728b8dad"),
+            "cached", Charsets.UTF_8
+        );
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, tree()))
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    blob(SnapshotTest.SECOND, "world")
+                )
+            ).start();
+        final File dir = this.temp.newFolder("checkout");
+        try {
+            MatcherAssert.assertThat(
+                new Snapshot(
+                    SnapshotTest.repo(container), store.getPath()
+                ).save("master", dir),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            FileUtils.readFileToString(new File(dir, "src/b.txt")),
+            Matchers.equalTo("cached")
+        );
+    }
+
+    /**
+     * Snapshot can refuse paths outside of the target directory.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void rejectsPathTraversal() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(
+                HttpURLConnection.HTTP_OK,
+                SnapshotTest.tree(
+                    entry("../evil.txt", "100644", SnapshotTest.FIRST)
+                )
+            )
+        ).start();
+        final File dir = this.temp.newFolder("jail");
+        try {
+            new Snapshot(
+                SnapshotTest.repo(container),
+                this.temp.newFolder("cache").getPath()
+            ).save("master", dir);
+            MatcherAssert.assertThat("exception expected", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("outside")
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(container.queries(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            new File(dir.getParentFile(), "evil.txt").exists(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Snapshot can skip symbolic links.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsSymbolicLinks() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    SnapshotTest.tree(
+                        entry("a.txt", "100644", SnapshotTest.FIRST),
+                        entry("link", "120000", SnapshotTest.SECOND)
+                    )
+                )
+            )
+            .next(
+                new MkAnswer.Simple(
+                    HttpURLConnection.HTTP_OK,
+                    blob(SnapshotTest.FIRST, "hello")
+                )
+            ).start();
+        final File dir = this.temp.newFolder("links");
+        try {
+            MatcherAssert.assertThat(
+                new Snapshot(
+                    SnapshotTest.repo(container),
+                    this.temp.newFolder("shelf").getPath()
+                ).save("master", dir),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            new File(dir, "link").exists(), Matchers.is(false)
+        );
+    }
+
+    /**
+     * Create a repo for the container.
+     * @param container Container
+     * @return Repo
+     */
+    private static Repo repo(final MkContainer container) {
+        return new RtGithub(new ApacheRequest(container.home()))
+            .repos().get(new Coordinates.Simple("test", "snapshot"));
+    }
+
+    /**
+     * Tree in JSON.
+     * @return JSON
+     */
+    private static String tree() {
+        return Json.createObjectBuilder()
+            .add("sha", "master")
+            .add("truncated", false)
+            .add(
+                "tree",
+                Json.createArrayBuilder()
+                    .add(entry("a.txt", "100644", SnapshotTest.FIRST))
+                    .add(
+                        Json.createObjectBuilder()
+                            .add("path", "src")
+                            .add("mode", "040000")
+                            .add("type", "tree")
+                            .add("sha", "f484c6b3b3ab2e9c")
+                    )
+                    .add(entry("src/b.txt", "100644", SnapshotTest.FIRST))
+                    .add(entry("src/c.sh", "100755", SnapshotTest.SECOND))
+            ).build().toString();
+    }
+
+    /**
+     * Tree in JSON with the given entries.
+     * @param entries Entries
+     * @return JSON
+     */
+    private static String tree(final JsonObject... entries) {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        for (final JsonObject entry : entries) {
+            array.add(entry);
+        }
+        return Json.createObjectBuilder()
+            .add("sha", "master")
+            .add("truncated", false)
+            .add("tree", array)
+            .build().toString();
+    }
+
+    /**
+     * Tree entry of a blob.
+     * @param path Path
+     * @param mode Mode
+     * @param sha SHA
+     * @return JSON
+     */
+    private static JsonObject entry(final String path, final String mode,
+        final String sha) {
+        return Json.createObjectBuilder()
+            .add("path", path)
+            .add("mode", mode)
+            .add("type", "blob")
+            .add("sha", sha)
+            .build();
+    }
+
+    /**
+     * Blob in JSON.
+     * @param sha SHA
+     * @param text Content
+     * @return JSON
+     */
+    private static String blob(final String sha, final String text) {
+        return Json.createObjectBuilder()
+            .add("sha", sha)
+            .add("encoding", "base64")
+            .add(
+                "content",
+                DatatypeConverter.printBase64Binary(
+                    text.getBytes(Charsets.UTF_8)
+                )
+            ).build().toString();
+    }
+}
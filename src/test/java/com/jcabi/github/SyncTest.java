@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.mock.MkGithub;
+import java.util.Collections;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Sync}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class SyncTest {
+
+    /**
+     * Sync can pull only changed issues and comments.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void pullsOnlyChanges() throws Exception {
+        final Repo repo = new MkGithub().repos().create(
+            Json.createObjectBuilder().add("name", "sync").build()
+        );
+        final Issue first = repo.issues().create("first", "");
+        first.comments().post("hello");
+        repo.issues().create("second", "").comments().post("hi");
+        final Sync.Memory store = new Sync.Memory();
+        final Sync sync = new Sync(Collections.singleton(repo), store);
+        MatcherAssert.assertThat(sync.pull(), Matchers.equalTo(Tv.FOUR));
+        MatcherAssert.assertThat(store.issues().size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(store.comments().size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(sync.pull(), Matchers.equalTo(0));
+        new Issue.Smart(first).title("first, changed");
+        MatcherAssert.assertThat(sync.pull(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            store.issues().get(
+                String.format("%s#%d", repo.coordinates(), first.number())
+            ).getString("title"),
+            Matchers.equalTo("first, changed")
+        );
+        first.comments().post("again");
+        MatcherAssert.assertThat(sync.pull(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(store.comments().size(), Matchers.equalTo(3));
+    }
+
+    /**
+     * Sync can keep separate marks of issues and comments.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void marksCommentsSeparately() throws Exception {
+        final Repo repo = new MkGithub().repos().create(
+            Json.createObjectBuilder().add("name", "marks").build()
+        );
+        final Issue issue = repo.issues().create("issue", "");
+        final Sync.Memory store = new Sync.Memory();
+        final Sync sync = new Sync(Collections.singleton(repo), store);
+        sync.pull();
+        MatcherAssert.assertThat(
+            store.mark(repo.coordinates(), Sync.COMMENTS),
+            Matchers.nullValue()
+        );
+        final Comment comment = issue.comments().post("first");
+        sync.pull();
+        MatcherAssert.assertThat(
+            store.mark(repo.coordinates(), Sync.COMMENTS),
+            Matchers.equalTo(comment.json().getString("updated_at"))
+        );
+        MatcherAssert.assertThat(
+            store.mark(repo.coordinates(), Sync.ISSUES),
+            Matchers.equalTo(issue.json().getString("updated_at"))
+        );
+    }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.mock.MkQuery;
+import com.jcabi.http.request.JdkRequest;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.HttpHeaders;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link Tail}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class TailTest {
+
+    /**
+     * Tail can report only new events, the oldest first.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void reportsOnlyNewEvents() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(
+                HttpURLConnection.HTTP_OK, "[{\"id\":2},{\"id\":1}]"
+            ).withHeader(HttpHeaders.ETAG, "\"a\"")
+        ).next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_MODIFIED, "")
+        ).next(
+            new MkAnswer.Simple(
+                HttpURLConnection.HTTP_OK,
+                "[{\"id\":4,\"event\":\"closed\"},{\"id\":3},{\"id\":2}]"
+            ).withHeader(HttpHeaders.ETAG, "\"b\"")
+        ).next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_MODIFIED, ""),
+            Matchers.any(MkQuery.class),
+            Tv.HUNDRED
+        ).start();
+        final List<Integer> seen = new CopyOnWriteArrayList<Integer>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Tail tail = new Tail(
+            new Tail.Listener() {
+                @Override
+                public void event(final Event event) {
+                    seen.add(event.number());
+                    latch.countDown();
+                }
+            },
+            Tv.TEN, TimeUnit.MILLISECONDS
+        );
+        try {
+            tail.follow(
+                new RtGithub(new JdkRequest(container.home())).repos().get(
+                    new Coordinates.Simple("jeff", "tailed")
+                )
+            );
+            MatcherAssert.assertThat(
+                latch.await(1L, TimeUnit.MINUTES), Matchers.is(true)
+            );
+        } finally {
+            tail.close();
+            container.stop();
+        }
+        MatcherAssert.assertThat(seen, Matchers.contains(Tv.THREE, Tv.FOUR));
+        MatcherAssert.assertThat(
+            container.take().uri().getPath(),
+            Matchers.equalTo("/repos/jeff/tailed/issues/events")
+        );
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.IF_NONE_MATCH),
+            Matchers.hasItem("\"a\"")
+        );
+    }
+
+    /**
+     * Tail can respect X-Poll-Interval.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void respectsPollInterval() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "[]")
+                .withHeader("X-Poll-Interval", "60"),
+            Matchers.any(MkQuery.class),
+            Tv.TEN
+        ).start();
+        final Tail tail = new Tail(
+            new Tail.Listener() {
+                @Override
+                public void event(final Event event) {
+                    throw new IllegalStateException("no events expected");
+                }
+            },
+            1L, TimeUnit.MILLISECONDS
+        );
+        try {
+            tail.follow(
+                new RtGithub(new JdkRequest(container.home())).repos().get(
+                    new Coordinates.Simple("jeff", "slow")
+                )
+            );
+            TimeUnit.SECONDS.sleep(1L);
+        } finally {
+            tail.close();
+            container.stop();
+        }
+        MatcherAssert.assertThat(container.queries(), Matchers.equalTo(1));
+    }
+
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github;
+
+import com.jcabi.aspects.Tv;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link UnifiedDiff}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiterals (500 lines)
+ */
+public final class UnifiedDiffTest {
+
+    /**
+     * UnifiedDiff can read files and hunks of a git diff.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void readsFilesAndHunks() throws Exception {
+        final Iterator<UnifiedDiff.File> files = new UnifiedDiff(
+            new StringReader(
+                StringUtils.join(
+                    new String[] {
+                        "diff --git a/src/Foo.java b/src/Foo.java",
+                        "index 3b18e51..a9c4f2d 100644",
+                        "--- a/src/Foo.java",
+                        "+++ b/src/Foo.java",
+                        "@@ -1,3 +1,3 @@ class Foo",
+                        " first",
+                        "-second",
+                        "+third",
+                        " fourth",
+                        "@@ -10 +10,2 @@",
+                        " tenth",
+                        "+eleventh",
+                        "\\ No newline at end of file",
+                        "diff --git a/old.txt b/new.txt",
+                        "similarity index 100%",
+                        "rename from old.txt",
+                        "rename to new.txt",
+                        "diff --git a/gone.txt b/gone.txt",
+                        "deleted file mode 100644",
+                        "--- a/gone.txt",
+                        "+++ /dev/null",
+                        "@@ -1 +0,0 @@",
+                        "-gone",
+                    },
+                    '\n'
+                )
+            )
+        ).iterator();
+        final UnifiedDiff.File foo = files.next();
+        MatcherAssert.assertThat(foo.from(), Matchers.equalTo("src/Foo.java"));
+        MatcherAssert.assertThat(foo.to(), Matchers.equalTo("src/Foo.java"));
+        MatcherAssert.assertThat(foo.header(), Matchers.hasSize(Tv.FOUR));
+        final List<UnifiedDiff.Hunk> hunks =
+            UnifiedDiffTest.hunks(foo.hunks());
+        MatcherAssert.assertThat(hunks, Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+            hunks.get(0).lines(),
+            Matchers.contains(" first", "-second", "+third", " fourth")
+        );
+        MatcherAssert.assertThat(hunks.get(1).from(), Matchers.equalTo(Tv.TEN));
+        MatcherAssert.assertThat(
+            hunks.get(1).lines(), Matchers.hasSize(Tv.THREE)
+        );
+        final UnifiedDiff.File renamed = files.next();
+        MatcherAssert.assertThat(renamed.from(), Matchers.equalTo("old.txt"));
+        MatcherAssert.assertThat(renamed.to(), Matchers.equalTo("new.txt"));
+        MatcherAssert.assertThat(
+            renamed.hunks().iterator().hasNext(), Matchers.is(false)
+        );
+        final UnifiedDiff.File gone = files.next();
+        MatcherAssert.assertThat(gone.to(), Matchers.equalTo("/dev/null"));
+        MatcherAssert.assertThat(
+            UnifiedDiffTest.hunks(gone.hunks()).get(0).lines(),
+            Matchers.contains("-gone")
+        );
+        MatcherAssert.assertThat(files.hasNext(), Matchers.is(false));
+    }
+
+    /**
+     * UnifiedDiff can skip hunks not read and the text around files
+     * of a patch.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsUnreadHunksAndPatchText() throws Exception {
+        final List<String> names = new ArrayList<String>(0);
+        for (final UnifiedDiff.File file : new UnifiedDiff(
+            new StringReader(
+                StringUtils.join(
+                    new String[] {
+                        "From 6dcb09b Mon Sep 17 00:00:00 2001",
+                        "Subject: [PATCH] diff --git is not here",
+                        "---",
+                        " a.txt | 1 -",
+                        "",
+                        "diff --git a/a.txt b/a.txt",
+                        "--- a/a.txt",
+                        "+++ b/a.txt",
+                        "@@ -1,2 +1 @@",
+                        " kept",
+                        "-diff --git a/fake b/fake",
+                        "diff --git a/b.txt b/b.txt",
+                        "--- a/b.txt",
+                        "+++ b/b.txt",
+                        "@@ -1 +1 @@",
+                        "--- removed",
+                        "++++ added",
+                        "-- ",
+                        "2.1.0",
+                    },
+                    '\n'
+                )
+            )
+        )) {
+            names.add(file.to());
+            if ("b.txt".equals(file.to())) {
+                MatcherAssert.assertThat(
+                    UnifiedDiffTest.hunks(file.hunks()).get(0).lines(),
+                    Matchers.contains("--- removed", "++++ added")
+                );
+            }
+        }
+        MatcherAssert.assertThat(names, Matchers.contains("a.txt", "b.txt"));
+    }
+
+    /**
+     * UnifiedDiff can read a huge diff without keeping it in memory.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void readsHugeDiffLazily() throws Exception {
+        final int total = Tv.HUNDRED * Tv.THOUSAND;
+        int files = 0;
+        int lines = 0;
+        for (final UnifiedDiff.File file
+            : new UnifiedDiff(new UnifiedDiffTest.Huge(total))) {
+            ++files;
+            for (final UnifiedDiff.Hunk hunk : file.hunks()) {
+                lines += hunk.lines().size();
+            }
+        }
+        MatcherAssert.assertThat(files, Matchers.equalTo(total));
+        MatcherAssert.assertThat(lines, Matchers.equalTo(total * 2));
+    }
+
+    /**
+     * Read all hunks.
+     * @param hunks Hunks
+     * @return List of them
+     */
+    private static List<UnifiedDiff.Hunk> hunks(
+        final Iterable<UnifiedDiff.Hunk> hunks) {
+        final List<UnifiedDiff.Hunk> list = new ArrayList<UnifiedDiff.Hunk>(0);
+        for (final UnifiedDiff.Hunk hunk : hunks) {
+            list.add(hunk);
+        }
+        return list;
+    }
+
+    /**
+     * Reader of a generated diff, of one-hunk files.
+     */
+    private static final class Huge extends Reader {
+        /**
+         * Files left.
+         */
+        private transient int left;
+        /**
+         * Text of the current file, not read yet.
+         */
+        private transient String text;
+        /**
+         * Ctor.
+         * @param total Total number of files
+         */
+        Huge(final int total) {
+            super();
+            this.left = total;
+            this.text = "";
+        }
+        @Override
+        public int read(final char[] buf, final int off, final int len) {
+            if (this.text.isEmpty() && this.left > 0) {
+                this.text = String.format(
+                    "diff --git a/f%1$d b/f%1$d\n%2$s%1$d\n%3$s%1$d\n%4$s",
+                    this.left, "--- a/f", "+++ b/f",
+                    "@@ -1 +1 @@\n-old\n+new\n"
+                );
+                --this.left;
+            }
+            final int read;
+            if (this.text.isEmpty()) {
+                read = -1;
+            } else {
+                read = Math.min(len, this.text.length());
+                this.text.getChars(0, read, buf, off);
+                this.text = this.text.substring(read);
+            }
+            return read;
+        }
+        @Override
+        public void close() {
+            this.left = 0;
+        }
+    }
+}
@@ -57,9 +57,28 @@ public final class VisibilityTest {
     private static final Set<String> SKIP = ImmutableSet.<String>builder()
         .add("com.jcabi.github.RtGithub")
         .add("com.jcabi.github.Bulk")
+        .add("com.jcabi.github.Changeset")
         .add("com.jcabi.github.Smarts")
+        .add("com.jcabi.github.Snapshot")
+        .add("com.jcabi.github.Sync")
+        .add("com.jcabi.github.Tail")
+        .add("com.jcabi.github.HookReceiver")
+        .add("com.jcabi.github.Session")
+        .add("com.jcabi.github.UnifiedDiff")
+        .add("com.jcabi.github.Counted")
         .add("com.jcabi.github.wire.CarefulWire")
+        .add("com.jcabi.github.wire.CoalescingWire")
+        .add("com.jcabi.github.wire.MeteredWire")
+        .add("com.jcabi.github.wire.ResilientWire")
+        .add("com.jcabi.github.wire.TokenPoolWire")
+        .add("com.jcabi.github.wire.GzipWire")
+        .add("com.jcabi.github.wire.CassetteWire")
+        .add("com.jcabi.github.wire.ETagWire")
+        .add("com.jcabi.github.mock.MkWorld")
+        .add("com.jcabi.github.mock.MkSimulation")
+        .add("com.jcabi.github.mock.MkMirror")
         .add("com.jcabi.github.mock.MkGithub")
+        .add("com.jcabi.github.mock.MkServer")
         .build();
 
     /**
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.xml.XML;
+import java.io.File;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xembly.Directives;
+
+/**
+ * Test case for {@link Journal}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class JournalTest {
+
+    /**
+     * Temporary folder.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * Journal can reconstruct the document from the journal file.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void reconstructsDocumentFromJournal() throws Exception {
+        final File dir = this.temp.newFolder();
+        final Journal journal = new Journal(dir);
+        journal.apply(new Directives().xpath("/github").add("users"));
+        journal.apply(
+            new Directives().xpath("/github/users").add("user")
+                .set("\"Jeff\" <jeff@example.com>\nsecond line")
+        );
+        journal.sync();
+        MatcherAssert.assertThat(
+            new Journal(dir).xml().xpath("/github/users/user/text()").get(0),
+            Matchers.equalTo("\"Jeff\" <jeff@example.com>\nsecond line")
+        );
+    }
+
+    /**
+     * Journal can fold the journal into the snapshot.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void compactsJournalIntoSnapshot() throws Exception {
+        final File dir = this.temp.newFolder();
+        final Journal journal = new Journal(dir);
+        journal.apply(new Directives().xpath("/github").add("a"));
+        journal.apply(new Directives().xpath("/github").add("b"));
+        journal.compact();
+        MatcherAssert.assertThat(
+            journal.apply(new Directives().xpath("/github").add("c")),
+            Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            new Journal(dir).xml().nodes("/github/*"),
+            Matchers.<XML>iterableWithSize(Tv.THREE)
+        );
+    }
+
+    /**
+     * Journal can keep the document until it is modified.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void keepsDocumentUntilModified() throws Exception {
+        final Journal journal = new Journal(this.temp.newFolder());
+        journal.apply(new Directives().xpath("/github").add("a"));
+        final XML doc = journal.xml();
+        MatcherAssert.assertThat(journal.xml(), Matchers.sameInstance(doc));
+        journal.apply(new Directives().xpath("/github").add("b"));
+        MatcherAssert.assertThat(
+            journal.xml(), Matchers.not(Matchers.sameInstance(doc))
+        );
+        MatcherAssert.assertThat(
+            doc.nodes("/github/*"), Matchers.<XML>iterableWithSize(1)
+        );
+    }
+
+    /**
+     * Journal can undo a batch that failed half way.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void undoesFailedBatch() throws Exception {
+        final Journal journal = new Journal(this.temp.newFolder());
+        journal.apply(new Directives().xpath("/github").add("a"));
+        try {
+            journal.apply(
+                new Directives().xpath("/github").add("b")
+                    .xpath("/github/*").strict(1)
+            );
+            MatcherAssert.assertThat("exception expected", false);
+        } catch (final IllegalArgumentException ex) {
+            MatcherAssert.assertThat(
+                journal.xml().nodes("/github/*"),
+                Matchers.<XML>iterableWithSize(1)
+            );
+        }
+        MatcherAssert.assertThat(
+            journal.apply(new Directives().xpath("/github").add("c")),
+            Matchers.equalTo(2L)
+        );
+    }
+
+    /**
+     * Journal can ignore a record that was not written till the end.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void ignoresBrokenTail() throws Exception {
+        final File dir = this.temp.newFolder();
+        final Journal journal = new Journal(dir);
+        journal.apply(new Directives().xpath("/github").add("repos"));
+        journal.sync();
+        FileUtils.write(
+            new File(dir, "journal.txt"), "2 100\nXPATH \"/git",
+            Charsets.UTF_8, true
+        );
+        final Journal reopened = new Journal(dir);
+        reopened.apply(new Directives().xpath("/github").add("users"));
+        MatcherAssert.assertThat(
+            new Journal(dir).xml().nodes("/github/*"),
+            Matchers.<XML>iterableWithSize(2)
+        );
+    }
+
+}
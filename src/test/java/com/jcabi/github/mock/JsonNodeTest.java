@@ -35,6 +35,7 @@ import javax.json.JsonObject;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.xembly.Directives;
 
 /**
  * Test case for {@link JsonNode}.
@@ -64,4 +65,32 @@ public final class JsonNodeTest {
         );
     }
 
+    /**
+     * JsonNode can cache JSON until the storage is modified.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void cachesJsonUntilStorageChanges() throws Exception {
+        final MkStorage storage = new MkStorage.InFile();
+        storage.apply(
+            new Directives().xpath("/github").add("user")
+                .add("name").set("Jeff")
+        );
+        final JsonObject json = new JsonNode(
+            storage.xml(), "/github/user"
+        ).json();
+        MatcherAssert.assertThat(
+            new JsonNode(storage.xml(), "/github/user").json(),
+            Matchers.sameInstance(json)
+        );
+        storage.apply(
+            new Directives().xpath("/github/user/name").set("Walter")
+        );
+        MatcherAssert.assertThat(
+            new JsonNode(storage.xml(), "/github/user").json()
+                .getString("name"),
+            Matchers.equalTo("Walter")
+        );
+    }
+
 }
@@ -30,10 +30,13 @@
 package com.jcabi.github.mock;
 
 import com.jcabi.aspects.Tv;
+import com.jcabi.github.Comment;
 import com.jcabi.github.Github;
 import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.immutable.ArrayMap;
+import java.util.LinkedList;
+import java.util.List;
 import javax.json.Json;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -94,6 +97,34 @@ public final class MkIssuesTest {
         }
     }
 
+    /**
+     * MkIssues can list comments of all issues, sorted by time.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void iteratesCommentsOfAllIssues() throws Exception {
+        final Repo repo = this.repo();
+        final Issue first = repo.issues().create("first", "");
+        final Issue second = repo.issues().create("second", "");
+        first.comments().post("one");
+        second.comments().post("two");
+        first.comments().post("three");
+        final List<Integer> issues = new LinkedList<Integer>();
+        for (final Comment comment : repo.issues().comments(
+            new ArrayMap<String, String>().with("direction", "desc")
+        )) {
+            issues.add(comment.issue().number());
+        }
+        MatcherAssert.assertThat(issues, Matchers.contains(1, 2, 1));
+        MatcherAssert.assertThat(
+            repo.issues().comments(
+                new ArrayMap<String, String>()
+                    .with("since", "2999-01-01T00:00:00Z")
+            ),
+            Matchers.<Comment>emptyIterable()
+        );
+    }
+
     /**
      * Create an repo to work with.
      * @return Repo
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.github.Comment;
+import com.jcabi.github.Issue;
+import com.jcabi.github.IssueLabels;
+import com.jcabi.github.Repo;
+import com.jcabi.github.Search;
+import com.jcabi.github.Sync;
+import java.util.Collections;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link MkMirror}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (200 lines)
+ */
+public final class MkMirrorTest {
+
+    /**
+     * Temporary folder.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * MkMirror can mirror issues and comments.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void mirrorsIssuesAndComments() throws Exception {
+        final Repo origin = MkMirrorTest.repo();
+        final MkMirror mirror = new MkMirror(new MkStorage.InMemory(), "jeff");
+        new Sync(Collections.singleton(origin), mirror).pull();
+        final Issue issue = mirror.github().repos()
+            .get(origin.coordinates()).issues().get(1);
+        MatcherAssert.assertThat(
+            new Issue.Smart(issue).title(), Matchers.equalTo("crash")
+        );
+        MatcherAssert.assertThat(
+            new Comment.Smart(issue.comments().iterate().iterator().next())
+                .body(),
+            Matchers.equalTo("confirmed")
+        );
+        MatcherAssert.assertThat(
+            new IssueLabels.Smart(issue.labels()).contains("bug"),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            mirror.mark(origin.coordinates(), Sync.COMMENTS),
+            Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * MkMirror can mirror labels with apostrophes in their names.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void mirrorsLabelsWithApostrophes() throws Exception {
+        final Repo origin = MkMirrorTest.repo();
+        origin.labels().create("won't fix", "ffffff");
+        origin.issues().get(2).labels()
+            .add(Collections.singletonList("won't fix"));
+        final MkStorage storage = new MkStorage.InMemory();
+        final Sync sync = new Sync(
+            Collections.singleton(origin), new MkMirror(storage, "jeff")
+        );
+        sync.pull();
+        origin.issues().get(1).patch(
+            Json.createObjectBuilder()
+                .add("updated_at", "2099-01-01T00:00:00Z")
+                .build()
+        );
+        origin.issues().get(2).patch(
+            Json.createObjectBuilder()
+                .add("updated_at", "2099-01-01T00:00:00Z")
+                .build()
+        );
+        sync.pull();
+        MatcherAssert.assertThat(
+            storage.xml().xpath("//repo/labels/label/name/text()"),
+            Matchers.containsInAnyOrder("bug", "won't fix")
+        );
+    }
+
+    /**
+     * MkMirror can answer queries by secondary indexes.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void answersQueriesOffline() throws Exception {
+        final Repo origin = MkMirrorTest.repo();
+        final MkMirror mirror = new MkMirror(this.temp.newFolder(), "jeff");
+        final Sync sync = new Sync(Collections.singleton(origin), mirror);
+        sync.pull();
+        origin.issues().get(2).patch(
+            Json.createObjectBuilder()
+                .add("assignee", "walter")
+                .add("updated_at", "2099-01-01T00:00:00Z")
+                .build()
+        );
+        sync.pull();
+        final Search search = mirror.github().search();
+        MatcherAssert.assertThat(
+            search.issues("state:open label:bug", "", "asc"),
+            Matchers.<Issue>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            search.issues("assignee:walter", "", "asc"),
+            Matchers.<Issue>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            search.issues("updated:<2099-01-01", "", "asc"),
+            Matchers.<Issue>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            search.issues("updated:>2098-12-31", "", "asc"),
+            Matchers.<Issue>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            search.issues("created:2000-01-01..2098-01-01", "", "asc"),
+            Matchers.<Issue>iterableWithSize(2)
+        );
+    }
+
+    /**
+     * Create a repository to mirror.
+     * @return Repository
+     * @throws Exception If some problem inside
+     */
+    private static Repo repo() throws Exception {
+        final Repo repo = new MkGithub().repos().create(
+            Json.createObjectBuilder().add("name", "mirrored").build()
+        );
+        repo.labels().create("bug", "c00000");
+        final Issue issue = repo.issues().create("crash", "it crashes");
+        issue.labels().add(Collections.singletonList("bug"));
+        issue.comments().post("confirmed");
+        repo.issues().create("feature", "").comments().post("agreed");
+        return repo;
+    }
+
+}
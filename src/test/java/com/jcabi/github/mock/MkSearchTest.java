@@ -29,18 +29,25 @@
  */
 package com.jcabi.github.mock;
 
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Content;
+import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
+import java.util.Collections;
 import javax.json.Json;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.commons.io.Charsets;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.xembly.Directives;
 
 /**
  * Test case for {@link MkSearch}.
  *
  * @author Carlos Miranda (miranda.cma@gmail.com)
  * @version $Id$
- * @checkstyle MultipleStringLiteralsCheck (100 lines)
+ * @checkstyle MultipleStringLiteralsCheck (300 lines)
  */
 public final class MkSearchTest {
 
@@ -93,4 +100,169 @@ public final class MkSearchTest {
             Matchers.not(Matchers.emptyIterable())
         );
     }
+
+    /**
+     * MkSearch can search for issues with qualifiers.
+     *
+     * @throws Exception if a problem occurs
+     */
+    @Test
+    public void searchesIssuesWithQualifiers() throws Exception {
+        final MkGithub github = new MkGithub("jeff");
+        final Repo repo = github.repos().create(
+            Json.createObjectBuilder().add("name", "qualified").build()
+        );
+        repo.labels().create("bug", "c0c0c0");
+        final Issue first = repo.issues().create("Crash on start", "NPE");
+        first.labels().add(Collections.singletonList("bug"));
+        new Issue.Smart(
+            repo.issues().create("Slow build", "it may crash, sometimes")
+        ).close();
+        repo.issues().create("Docs", "nothing");
+        MatcherAssert.assertThat(
+            github.search().issues("crash", "created", "asc"),
+            Matchers.<Issue>iterableWithSize(2)
+        );
+        MatcherAssert.assertThat(
+            github.search().issues("crash in:title", "", ""),
+            Matchers.contains(first)
+        );
+        MatcherAssert.assertThat(
+            github.search().issues("CRASH state:closed", "", "").iterator()
+                .next().number(),
+            Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            github.search().issues("label:bug repo:jeff/qualified", "", ""),
+            Matchers.contains(first)
+        );
+        MatcherAssert.assertThat(
+            github.search().issues("crash repo:jeff/other", "", ""),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * MkSearch can search for code.
+     *
+     * @throws Exception if a problem occurs
+     */
+    @Test
+    public void searchesForCode() throws Exception {
+        final MkGithub github = new MkGithub("jeff");
+        final Repo repo = github.repos().create(
+            Json.createObjectBuilder().add("name", "coded").build()
+        );
+        repo.contents().create(
+            Json.createObjectBuilder()
+                .add("path", "src/Main.java")
+                .add("message", "main class")
+                .add(
+                    "content",
+                    DatatypeConverter.printBase64Binary(
+                        "class Main { // entry point".getBytes(Charsets.UTF_8)
+                    )
+                )
+                .build()
+        );
+        MatcherAssert.assertThat(
+            github.search().codes("entry repo:jeff/coded", "", "")
+                .iterator().next().path(),
+            Matchers.equalTo("src/Main.java")
+        );
+        MatcherAssert.assertThat(
+            github.search().codes("absent", "", ""),
+            Matchers.<Content>emptyIterable()
+        );
+        MatcherAssert.assertThat(
+            github.search().codes("entry path:src/Main.java", "", ""),
+            Matchers.<Content>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            github.search().codes("entry path:src", "", ""),
+            Matchers.<Content>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            github.search().codes("entry path:Main.java", "", ""),
+            Matchers.<Content>emptyIterable()
+        );
+    }
+
+    /**
+     * MkSearch can tell which indexes directives touch.
+     */
+    @Test
+    public void findsTouchedIndexes() {
+        MatcherAssert.assertThat(
+            MkSearch.touched(
+                new Directives()
+                    .xpath("/github/repos/repo[@coords='a/contents']/issues")
+                    .add("issue").up()
+                    .xpath("/github/repos/repo[@coords='a/b']/issues/issue")
+                    .add("comments")
+            ),
+            Matchers.contains("issues")
+        );
+        MatcherAssert.assertThat(
+            MkSearch.touched(
+                new Directives().xpath("/github/users/user[login='x']")
+                    .add("name").set("X").up()
+                    .xpath("/github/gists").add("gist")
+            ),
+            Matchers.contains("users")
+        );
+        MatcherAssert.assertThat(
+            MkSearch.touched(
+                new Directives().xpath("/github/repos[not(repo)]")
+                    .add("repo")
+            ),
+            Matchers.containsInAnyOrder("repos", "issues", "codes")
+        );
+        MatcherAssert.assertThat(
+            MkSearch.touched(
+                new Directives()
+                    .xpath("/github/repos/repo[@coords=\"a/b\"]/contents")
+                    .add("content")
+            ),
+            Matchers.contains("codes")
+        );
+        MatcherAssert.assertThat(
+            MkSearch.touched(new Directives().xpath("//issue").remove()),
+            Matchers.hasSize(Tv.FOUR)
+        );
+        MatcherAssert.assertThat(
+            MkSearch.touched(new Directives().add("github")),
+            Matchers.hasSize(Tv.FOUR)
+        );
+    }
+
+    /**
+     * MkSearch can find new issues after a modification that kept
+     * the index of repos.
+     * @throws Exception if a problem occurs
+     */
+    @Test
+    public void rebuildsTouchedIndexesOnly() throws Exception {
+        final MkGithub github = new MkGithub("jeff");
+        final Repo repo = github.repos().create(
+            Json.createObjectBuilder().add("name", "touched").build()
+        );
+        MatcherAssert.assertThat(
+            github.search().repos("touched", "", ""),
+            Matchers.<Repo>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            github.search().issues("crash", "", ""),
+            Matchers.<Issue>emptyIterable()
+        );
+        repo.issues().create("crash on start", "");
+        MatcherAssert.assertThat(
+            github.search().issues("crash", "", ""),
+            Matchers.<Issue>iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            github.search().repos("touched", "", ""),
+            Matchers.<Repo>iterableWithSize(1)
+        );
+    }
 }
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Comment;
+import com.jcabi.github.Github;
+import com.jcabi.github.Issue;
+import com.jcabi.github.Repo;
+import com.jcabi.github.RtGithub;
+import com.jcabi.http.Response;
+import com.jcabi.http.request.ApacheRequest;
+import com.jcabi.http.response.JsonResponse;
+import com.jcabi.http.response.RestResponse;
+import com.jcabi.immutable.ArrayMap;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.ws.rs.core.HttpHeaders;
+import org.apache.commons.io.Charsets;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MkServer}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiterals (500 lines)
+ */
+public final class MkServerTest {
+
+    /**
+     * MkServer can serve paginated issues.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void servesPaginatedIssues() throws Exception {
+        final MkServer server = new MkServer("jeff");
+        try {
+            final Repo origin = MkServerTest.repo(server);
+            origin.issues().create("first", "");
+            origin.issues().create("second", "");
+            origin.issues().create("third", "");
+            final Repo repo = MkServerTest.github(server).repos()
+                .get(origin.coordinates());
+            MatcherAssert.assertThat(
+                repo.issues().iterate(
+                    new ArrayMap<String, String>().with("per_page", "2")
+                ),
+                Matchers.<Issue>iterableWithSize(Tv.THREE)
+            );
+            MatcherAssert.assertThat(
+                new Issue.Smart(repo.issues().get(2)).title(),
+                Matchers.equalTo("second")
+            );
+            MatcherAssert.assertThat(
+                new ApacheRequest(server.home().toString())
+                    .uri().path("/repos/jeff/test/issues")
+                    .queryParam("per_page", "2").back()
+                    .fetch().headers().get("Link").get(0),
+                Matchers.containsString("page=2")
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * MkServer can create issues and comments.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void createsIssuesAndComments() throws Exception {
+        final MkServer server = new MkServer("jeff");
+        try {
+            final Repo origin = MkServerTest.repo(server);
+            final Issue issue = MkServerTest.github(server).repos()
+                .get(origin.coordinates()).issues().create("bug", "details");
+            final Comment comment = issue.comments().post("confirmed");
+            MatcherAssert.assertThat(
+                new Comment.Smart(comment).body(),
+                Matchers.equalTo("confirmed")
+            );
+            MatcherAssert.assertThat(
+                new Issue.Smart(origin.issues().get(issue.number())).title(),
+                Matchers.equalTo("bug")
+            );
+            MatcherAssert.assertThat(
+                origin.issues().get(issue.number()).comments().iterate(),
+                Matchers.<Comment>iterableWithSize(1)
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * MkServer can answer with ETag and rate limit headers.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void supportsEtagsAndRateLimits() throws Exception {
+        final MkServer server = new MkServer("jeff");
+        try {
+            MkServerTest.repo(server);
+            final Response first = new ApacheRequest(server.home().toString())
+                .uri().path("/repos/jeff/test").back()
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_OK);
+            final String left = first.headers()
+                .get("X-RateLimit-Remaining").get(0);
+            new ApacheRequest(server.home().toString())
+                .uri().path("/repos/jeff/test").back()
+                .header(
+                    HttpHeaders.IF_NONE_MATCH,
+                    first.headers().get(HttpHeaders.ETAG).get(0)
+                )
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_NOT_MODIFIED)
+                .assertHeader("X-RateLimit-Remaining", left);
+            new ApacheRequest(server.home().toString())
+                .uri().path("/repos/jeff/absent").back()
+                .fetch().as(RestResponse.class)
+                .assertStatus(HttpURLConnection.HTTP_NOT_FOUND);
+            MatcherAssert.assertThat(
+                MkServerTest.github(server).limits().get("core").json()
+                    .getInt("limit"),
+                Matchers.equalTo(Tv.FIVE * Tv.THOUSAND)
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * MkServer can skip header lines without a colon.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsHeadersWithoutColon() throws Exception {
+        final MkServer server = new MkServer("jeff");
+        try {
+            final Socket socket = new Socket(
+                server.home().getHost(), server.home().getPort()
+            );
+            try {
+                socket.getOutputStream().write(
+                    new StringBuilder(0)
+                        .append("GET /rate_limit HTTP/1.1\r\n")
+                        .append("broken\r\n")
+                        .append("Connection: close\r\n\r\n")
+                        .toString().getBytes(Charsets.UTF_8)
+                );
+                MatcherAssert.assertThat(
+                    IOUtils.toString(socket.getInputStream(), Charsets.UTF_8),
+                    Matchers.startsWith("HTTP/1.1 200")
+                );
+            } finally {
+                socket.close();
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * MkServer can count all search results, while rendering one page.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void paginatesSearchResults() throws Exception {
+        final MkServer server = new MkServer("jeff");
+        try {
+            final Repo repo = MkServerTest.repo(server);
+            for (int idx = 0; idx < Tv.FIVE; ++idx) {
+                repo.issues().create(String.format("bug %d", idx), "");
+            }
+            final JsonObject json = new ApacheRequest(
+                server.home().toString()
+            )
+                .uri().path("/search/issues")
+                .queryParam("q", "bug").queryParam("per_page", "2").back()
+                .fetch().as(JsonResponse.class).json().readObject();
+            MatcherAssert.assertThat(
+                json.getInt("total_count"), Matchers.equalTo(Tv.FIVE)
+            );
+            MatcherAssert.assertThat(
+                json.getJsonArray("items").size(), Matchers.equalTo(2)
+            );
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * Create a repo in the server.
+     * @param server Server
+     * @return Repo
+     * @throws Exception If some problem inside
+     */
+    private static Repo repo(final MkServer server) throws Exception {
+        return server.github().repos().create(
+            Json.createObjectBuilder().add("name", "test").build()
+        );
+    }
+
+    /**
+     * Github client of the server.
+     * @param server Server
+     * @return Github
+     */
+    private static Github github(final MkServer server) {
+        return new RtGithub(new ApacheRequest(server.home().toString()));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Github;
+import com.jcabi.github.Limit;
+import com.jcabi.github.Repo;
+import java.io.IOException;
+import javax.json.Json;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MkSimulation}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class MkSimulationTest {
+
+    /**
+     * MkSimulation can take calls from the quota and report it.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void takesCallsFromQuota() throws Exception {
+        final Github github = new MkSimulation().quota(2)
+            .github(new MkGithub("jeff"));
+        final Repo repo = github.repos().create(
+            Json.createObjectBuilder().add("name", "limited").build()
+        );
+        final Limit.Smart limit = new Limit.Smart(
+            github.limits().get("core")
+        );
+        MatcherAssert.assertThat(limit.remaining(), Matchers.equalTo(1));
+        repo.issues().create("first", "");
+        MatcherAssert.assertThat(limit.remaining(), Matchers.equalTo(0));
+        try {
+            repo.issues().create("second", "");
+            MatcherAssert.assertThat("quota is over", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("rate limit")
+            );
+        }
+        MatcherAssert.assertThat(
+            github.limits().get("search").json().getInt("remaining"),
+            Matchers.equalTo(Tv.THIRTY)
+        );
+    }
+
+    /**
+     * MkSimulation can delay calls and inject failures.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void delaysAndFailsCalls() throws Exception {
+        final long mean = 200L;
+        final MkSimulation sim = new MkSimulation()
+            .latency("Repos.create", mean, 0L);
+        final long start = System.currentTimeMillis();
+        final Repo repo = sim.github(new MkGithub("jeff")).repos().create(
+            Json.createObjectBuilder().add("name", "slow").build()
+        );
+        MatcherAssert.assertThat(
+            System.currentTimeMillis() - start,
+            Matchers.greaterThanOrEqualTo(mean)
+        );
+        MatcherAssert.assertThat(
+            repo.github().limits().get("core").json().getInt("remaining"),
+            Matchers.lessThan(Tv.THOUSAND * Tv.FIVE)
+        );
+        try {
+            sim.failures(Tv.HUNDRED).github(new MkGithub("jeff"))
+                .repos().create(
+                    Json.createObjectBuilder().add("name", "broken").build()
+                );
+            MatcherAssert.assertThat("server error expected", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("502")
+            );
+        }
+    }
+
+}
@@ -29,6 +29,9 @@
  */
 package com.jcabi.github.mock;
 
+import com.jcabi.aspects.Tv;
+import com.jcabi.xml.XML;
+import java.io.File;
 import java.io.IOException;
 import java.util.ConcurrentModificationException;
 import java.util.concurrent.CountDownLatch;
@@ -37,9 +40,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import org.apache.commons.io.FileUtils;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.xembly.Directives;
 
 /**
@@ -51,6 +57,13 @@ import org.xembly.Directives;
 @SuppressWarnings("PMD.DoNotUseThreads")
 public final class MkStorageTest {
 
+    /**
+     * Temporary folder.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
     /**
      * MkStorage can text and write.
      * @throws Exception If some problem inside
@@ -73,6 +86,29 @@ public final class MkStorageTest {
         }
     }
 
+    /**
+     * MkStorage can keep its parsed document to itself.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void keepsDocumentPerStorage() throws Exception {
+        final File file = this.temp.newFile("shared.xml");
+        final MkStorage first = new MkStorage.InFile(file);
+        final XML before = first.xml();
+        MatcherAssert.assertThat(first.xml(), Matchers.sameInstance(before));
+        first.apply(new Directives().xpath("/github").add("one"));
+        MatcherAssert.assertThat(
+            first.xml(), Matchers.not(Matchers.sameInstance(before))
+        );
+        final MkStorage second = new MkStorage.InFile(file);
+        MatcherAssert.assertThat(
+            second.xml(), Matchers.not(Matchers.sameInstance(first.xml()))
+        );
+        MatcherAssert.assertThat(
+            second.xml().nodes("/github/one"), Matchers.empty()
+        );
+    }
+
     /**
      * MkStorage can lock and unlock files.
      * @throws Exception If some problem inside
@@ -176,4 +212,112 @@ public final class MkStorageTest {
         }
     }
 
+    /**
+     * MkStorage.Journaled can keep data and compact the journal in
+     * background.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void journalsAndCompacts() throws Exception {
+        final File dir = this.temp.newFolder();
+        final MkStorage storage = new MkStorage.Journaled(
+            dir, MkStorage.Journaled.Fsync.ALWAYS, 2
+        );
+        storage.apply(new Directives().xpath("/github").add("repos"));
+        storage.apply(
+            new Directives().xpath("/github/repos").add("repo")
+                .attr("coords", "jeff/test")
+        );
+        final File snapshot = new File(dir, "snapshot.xml");
+        final long end = System.currentTimeMillis()
+            + TimeUnit.MINUTES.toMillis(1L);
+        while (!snapshot.exists() && System.currentTimeMillis() < end) {
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+        MatcherAssert.assertThat(snapshot.exists(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            new Journal(dir).xml().xpath("/github/repos/repo/@coords"),
+            Matchers.contains("jeff/test")
+        );
+    }
+
+    /**
+     * MkStorage.Journaled can close its journal and forget a deleted
+     * directory.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void closesAndForgetsJournals() throws Exception {
+        final File dir = this.temp.newFolder();
+        final MkStorage.Journaled storage = new MkStorage.Journaled(
+            dir, MkStorage.Journaled.Fsync.NEVER, Tv.HUNDRED
+        );
+        storage.apply(new Directives().xpath("/github").add("repos"));
+        storage.close();
+        MatcherAssert.assertThat(
+            new Journal(dir).xml().nodes("/github/repos"),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            storage.xml().nodes("/github/repos"), Matchers.hasSize(1)
+        );
+        FileUtils.deleteDirectory(dir);
+        MatcherAssert.assertThat(
+            new MkStorage.Journaled(
+                dir, MkStorage.Journaled.Fsync.NEVER, Tv.HUNDRED
+            ).xml().nodes("/github/repos"),
+            Matchers.empty()
+        );
+        storage.close();
+    }
+
+    /**
+     * MkStorage.Journaled can reject a conflicting fsync policy.
+     * @throws Exception If some problem inside
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsConflictingPolicies() throws Exception {
+        final File dir = this.temp.newFolder();
+        final MkStorage.Journaled storage = new MkStorage.Journaled(
+            dir, MkStorage.Journaled.Fsync.ALWAYS, Tv.HUNDRED
+        );
+        try {
+            new MkStorage.Journaled(
+                dir, MkStorage.Journaled.Fsync.NEVER, Tv.HUNDRED
+            );
+        } finally {
+            storage.close();
+        }
+    }
+
+    /**
+     * MkStorage.InMemory can fork isolated copies.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void forksIsolatedCopies() throws Exception {
+        final MkStorage.InMemory base = new MkStorage.InMemory();
+        base.apply(new Directives().xpath("/github").add("repos"));
+        final MkStorage first = base.fork();
+        final MkStorage second = base.fork();
+        MatcherAssert.assertThat(
+            first.xml(), Matchers.sameInstance(base.xml())
+        );
+        first.apply(new Directives().xpath("/github/repos").add("repo"));
+        base.apply(new Directives().xpath("/github").add("users"));
+        MatcherAssert.assertThat(
+            first.xml().nodes("/github/repos/repo"),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            first.xml().nodes("/github/users"), Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            second.xml().nodes("/github/*"), Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            base.xml().nodes("/github/repos/repo"), Matchers.empty()
+        );
+    }
+
 }
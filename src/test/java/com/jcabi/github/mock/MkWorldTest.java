@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.mock;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.github.Comment;
+import com.jcabi.github.Coordinates;
+import com.jcabi.github.Github;
+import com.jcabi.github.Issue;
+import com.jcabi.github.Label;
+import com.jcabi.github.Repo;
+import com.jcabi.xml.XML;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link MkWorld}.
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class MkWorldTest {
+
+    /**
+     * MkWorld can generate repositories, issues, labels and comments.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void generatesWorld() throws Exception {
+        final Github github = new MkWorld().repos(2).issues(Tv.FIVE)
+            .comments(Tv.THREE).labels(Tv.FOUR).github("jeff");
+        final Repo repo = github.repos().get(
+            new Coordinates.Simple("jeff/world-2")
+        );
+        MatcherAssert.assertThat(
+            repo.issues().iterate(Collections.<String, String>emptyMap()),
+            Matchers.<Issue>iterableWithSize(Tv.FIVE)
+        );
+        MatcherAssert.assertThat(
+            repo.labels().iterate(),
+            Matchers.<Label>iterableWithSize(Tv.FOUR)
+        );
+        final Issue issue = repo.issues().get(Tv.FOUR);
+        MatcherAssert.assertThat(
+            issue.comments().iterate(),
+            Matchers.<Comment>iterableWithSize(Tv.THREE)
+        );
+        MatcherAssert.assertThat(
+            new Issue.Smart(issue).title(),
+            Matchers.not(Matchers.isEmptyString())
+        );
+        MatcherAssert.assertThat(
+            issue.comments().iterate().iterator().next().number(),
+            Matchers.equalTo(Tv.TWENTY + Tv.FIVE)
+        );
+    }
+
+    /**
+     * MkWorld can put up to three distinct labels on an issue.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void labelsIssuesWithDistinctLabels() throws Exception {
+        final MkStorage storage = new MkStorage.InMemory();
+        new MkWorld().repos(1).issues(Tv.HUNDRED).comments(0)
+            .labels(Tv.THREE).apply(storage, "marta");
+        int most = 0;
+        for (final XML labels : storage.xml().nodes("//issue/labels")) {
+            final List<String> names = labels.xpath("label/text()");
+            MatcherAssert.assertThat(
+                new HashSet<String>(names), Matchers.hasSize(names.size())
+            );
+            most = Math.max(most, names.size());
+        }
+        MatcherAssert.assertThat(most, Matchers.equalTo(Tv.THREE));
+        final MkStorage single = new MkStorage.InMemory();
+        new MkWorld().repos(1).issues(Tv.TWENTY).comments(0)
+            .labels(1).apply(single, "marta");
+        MatcherAssert.assertThat(
+            single.xml().nodes("//issue/labels/label"),
+            Matchers.not(Matchers.<XML>empty())
+        );
+    }
+
+    /**
+     * MkWorld can generate the same world from the same seed.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void generatesSameWorldFromSameSeed() throws Exception {
+        final MkWorld world = new MkWorld().seed(Tv.SEVEN).issues(Tv.TEN);
+        final MkStorage first = new MkStorage.InMemory();
+        world.apply(first, "walter");
+        final MkStorage second = new MkStorage.InMemory();
+        world.apply(second, "walter");
+        MatcherAssert.assertThat(
+            second.xml().toString(), Matchers.equalTo(first.xml().toString())
+        );
+        final MkStorage third = new MkStorage.InMemory();
+        world.seed(Tv.EIGHT).apply(third, "walter");
+        MatcherAssert.assertThat(
+            third.xml().toString(),
+            Matchers.not(Matchers.equalTo(first.xml().toString()))
+        );
+    }
+
+}
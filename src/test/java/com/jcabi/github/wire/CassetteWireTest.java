@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.JdkRequest;
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test case for {@link CassetteWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (200 lines)
+ */
+public final class CassetteWireTest {
+
+    /**
+     * Temporary folder.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final transient TemporaryFolder temp = new TemporaryFolder();
+
+    /**
+     * CassetteWire can record a response and replay it offline.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void recordsAndReplaysResponses() throws Exception {
+        final String file = new File(this.temp.getRoot(), "a.cassette")
+            .getPath();
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{\"id\":1}")
+                .withHeader("X-RateLimit-Remaining", "4999")
+                .withHeader("Link", "<https://api.github.com/x?page=2>")
+        ).start();
+        final URI home = container.home();
+        try {
+            new JdkRequest(home)
+                .through(CassetteWire.class, file)
+                .fetch();
+        } finally {
+            container.stop();
+        }
+        final Response resp = new JdkRequest(home)
+            .through(CassetteWire.class, file)
+            .fetch();
+        MatcherAssert.assertThat(resp.body(), Matchers.equalTo("{\"id\":1}"));
+        MatcherAssert.assertThat(
+            resp.headers().get("X-RateLimit-Remaining"),
+            Matchers.hasItem("4999")
+        );
+        MatcherAssert.assertThat(
+            resp.headers(), Matchers.hasKey("Link")
+        );
+        MatcherAssert.assertThat(
+            new File(file).length(), Matchers.greaterThan(0L)
+        );
+    }
+
+    /**
+     * CassetteWire can replay repeated requests in the order of recording.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void replaysRepeatedRequestsInOrder() throws Exception {
+        final String file = new File(this.temp.getRoot(), "b.cassette")
+            .getPath();
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple("first"))
+            .next(new MkAnswer.Simple("second"))
+            .start();
+        final URI home = container.home();
+        try {
+            final Request req = new JdkRequest(home)
+                .through(CassetteWire.class, file);
+            req.fetch();
+            req.fetch();
+        } finally {
+            container.stop();
+        }
+        final String copy = new File(this.temp.getRoot(), "c.cassette")
+            .getPath();
+        new File(file).renameTo(new File(copy));
+        final Request replay = new JdkRequest(home)
+            .through(CassetteWire.class, copy, true);
+        MatcherAssert.assertThat(
+            replay.fetch().body(), Matchers.equalTo("first")
+        );
+        MatcherAssert.assertThat(
+            replay.fetch().body(), Matchers.equalTo("second")
+        );
+        MatcherAssert.assertThat(
+            replay.fetch().body(), Matchers.equalTo("second")
+        );
+        MatcherAssert.assertThat(
+            new JdkRequest(home).through(CassetteWire.class, copy)
+                .fetch().body(),
+            Matchers.equalTo("first")
+        );
+    }
+
+    /**
+     * CassetteWire can refuse requests that are not recorded.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void failsOnUnrecordedRequestWhenStrict() throws Exception {
+        final File file = new File(this.temp.getRoot(), "d.cassette");
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(new MkAnswer.Simple("recorded"))
+            .start();
+        final URI home = container.home();
+        try {
+            new JdkRequest(home)
+                .through(CassetteWire.class, file.getPath())
+                .fetch();
+        } finally {
+            container.stop();
+        }
+        final long length = file.length();
+        final Request req = new JdkRequest(home)
+            .through(CassetteWire.class, file.getPath(), false, true);
+        MatcherAssert.assertThat(
+            req.fetch().body(), Matchers.equalTo("recorded")
+        );
+        try {
+            req.fetch();
+            MatcherAssert.assertThat("exception expected", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("not in the cassette")
+            );
+        }
+        try {
+            req.method(Request.DELETE).fetch();
+            MatcherAssert.assertThat("exception expected", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("DELETE")
+            );
+        }
+        MatcherAssert.assertThat(file.length(), Matchers.equalTo(length));
+    }
+}
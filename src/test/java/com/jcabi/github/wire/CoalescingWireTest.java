@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.FakeRequest;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link CoalescingWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public final class CoalescingWireTest {
+
+    /**
+     * CoalescingWire can share one response among concurrent GETs.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void coalescesConcurrentRequests() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final Wire wire = new CoalescingWire(
+            CoalescingWireTest.counting(calls, release)
+        );
+        final ExecutorService executor = Executors.newFixedThreadPool(Tv.TEN);
+        final Collection<Future<Response>> futures =
+            new LinkedList<Future<Response>>();
+        for (int idx = 0; idx < Tv.TEN; ++idx) {
+            futures.add(
+                executor.submit(
+                    new Callable<Response>() {
+                        @Override
+                        public Response call() throws IOException {
+                            return CoalescingWireTest.get(wire, "/repos/a/b");
+                        }
+                    }
+                )
+            );
+        }
+        TimeUnit.MILLISECONDS.sleep((long) Tv.FIVE * Tv.HUNDRED);
+        release.countDown();
+        final Response first = futures.iterator().next().get();
+        for (final Future<Response> future : futures) {
+            MatcherAssert.assertThat(
+                future.get(), Matchers.sameInstance(first)
+            );
+        }
+        executor.shutdown();
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * CoalescingWire can send sequential GETs separately.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void doesNotCacheResponses() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(0);
+        final Wire wire = new CoalescingWire(
+            CoalescingWireTest.counting(calls, release)
+        );
+        CoalescingWireTest.get(wire, "/users/jeff");
+        CoalescingWireTest.get(wire, "/users/jeff");
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * Send a GET through the wire.
+     * @param wire Wire
+     * @param path Path
+     * @return Response
+     * @throws IOException If fails
+     */
+    private static Response get(final Wire wire, final String path)
+        throws IOException {
+        return wire.send(
+            new FakeRequest(), path, Request.GET,
+            Collections.<Map.Entry<String, String>>emptyList(),
+            new byte[0]
+        );
+    }
+
+    /**
+     * Wire that counts calls and waits for the latch before responding.
+     * @param calls Counter of calls
+     * @param release Latch to wait for
+     * @return Wire
+     */
+    private static Wire counting(final AtomicInteger calls,
+        final CountDownLatch release) {
+        return new Wire() {
+            @Override
+            public Response send(final Request req, final String home,
+                final String method,
+                final Collection<Map.Entry<String, String>> headers,
+                final byte[] content) throws IOException {
+                calls.incrementAndGet();
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(ex);
+                }
+                return new FakeRequest().withBody("{}").fetch();
+            }
+        };
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import java.net.HttpURLConnection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import javax.ws.rs.core.HttpHeaders;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link ETagWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class ETagWireTest {
+
+    /**
+     * ETagWire can make conditional requests and replay bodies.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void replaysNotModifiedResponses() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "[1,2]")
+                .withHeader(HttpHeaders.ETAG, "\"e1\"")
+        ).next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_MODIFIED, "")
+                .withHeader("X-RateLimit-Remaining", "99")
+        ).start();
+        final long before = ETagWire.unmodified();
+        try {
+            new JdkRequest(container.home()).through(ETagWire.class).fetch();
+            final Response resp = new JdkRequest(container.home())
+                .through(ETagWire.class)
+                .fetch();
+            MatcherAssert.assertThat(
+                resp.status(), Matchers.equalTo(HttpURLConnection.HTTP_OK)
+            );
+            MatcherAssert.assertThat(resp.body(), Matchers.equalTo("[1,2]"));
+            MatcherAssert.assertThat(
+                resp.headers().get("X-RateLimit-Remaining"),
+                Matchers.hasItem("99")
+            );
+            MatcherAssert.assertThat(
+                ETagWire.unmodified() - before, Matchers.equalTo(1L)
+            );
+        } finally {
+            container.stop();
+        }
+        MatcherAssert.assertThat(
+            container.take().headers(),
+            Matchers.not(Matchers.hasKey(HttpHeaders.IF_NONE_MATCH))
+        );
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.IF_NONE_MATCH),
+            Matchers.hasItem("\"e1\"")
+        );
+    }
+
+    /**
+     * ETagWire can forget remembered responses.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void forgetsInvalidatedResponses() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "first")
+                .withHeader(HttpHeaders.ETAG, "\"e2\"")
+        ).next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "second")
+        ).start();
+        try {
+            new JdkRequest(container.home()).through(ETagWire.class).fetch();
+            ETagWire.invalidate(container.home().toString());
+            MatcherAssert.assertThat(
+                new JdkRequest(container.home())
+                    .through(ETagWire.class)
+                    .fetch().body(),
+                Matchers.equalTo("second")
+            );
+        } finally {
+            container.stop();
+        }
+        container.take();
+        MatcherAssert.assertThat(
+            container.take().headers(),
+            Matchers.not(Matchers.hasKey(HttpHeaders.IF_NONE_MATCH))
+        );
+    }
+
+    /**
+     * ETagWire can refuse to remember responses with huge bodies.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsHugeResponses() throws Exception {
+        final Wire wire = Mockito.mock(Wire.class);
+        Mockito.when(
+            wire.send(
+                Mockito.any(Request.class), Mockito.anyString(),
+                Mockito.anyString(),
+                Mockito.<Collection<Map.Entry<String, String>>>any(),
+                Mockito.any(byte[].class)
+            )
+        ).thenReturn(
+            new FakeRequest()
+                .withHeader(HttpHeaders.ETAG, "\"e3\"")
+                // @checkstyle MagicNumber (1 line)
+                .withBody(new byte[17 << 20])
+                .fetch()
+        ).thenReturn(
+            new FakeRequest()
+                .withStatus(HttpURLConnection.HTTP_NOT_MODIFIED)
+                .fetch()
+        );
+        final Wire etags = new ETagWire(wire);
+        final Collection<Map.Entry<String, String>> headers =
+            Collections.emptyList();
+        etags.send(
+            new FakeRequest(), "http://localhost/huge", "GET", headers,
+            new byte[0]
+        );
+        MatcherAssert.assertThat(
+            etags.send(
+                new FakeRequest(), "http://localhost/huge", "GET", headers,
+                new byte[0]
+            ).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_NOT_MODIFIED)
+        );
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.http.Response;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.http.request.JdkRequest;
+import java.io.ByteArrayOutputStream;
+import java.net.HttpURLConnection;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.core.HttpHeaders;
+import org.apache.commons.io.Charsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link GzipWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class GzipWireTest {
+
+    /**
+     * GzipWire can ask for gzip and inflate the response.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void inflatesGzippedResponse() throws Exception {
+        final String json = "{\"name\":\"jcabi-github\",\"private\":false}";
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+        gzip.write(json.getBytes(Charsets.UTF_8));
+        gzip.close();
+        final long before = GzipWire.inflated();
+        final Response resp = new FakeRequest()
+            .withHeader(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .withBody(bytes.toByteArray())
+            .through(GzipWire.class)
+            .fetch();
+        MatcherAssert.assertThat(resp.body(), Matchers.equalTo(json));
+        MatcherAssert.assertThat(
+            resp.headers(),
+            Matchers.not(Matchers.hasKey(HttpHeaders.CONTENT_ENCODING))
+        );
+        MatcherAssert.assertThat(
+            GzipWire.inflated() - before,
+            Matchers.equalTo((long) json.length())
+        );
+    }
+
+    /**
+     * GzipWire can ask for gzip and leave plain responses alone.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void passesPlainResponse() throws Exception {
+        final MkContainer container = new MkGrizzlyContainer().next(
+            new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "plain text")
+        ).start();
+        final Response resp = new JdkRequest(container.home())
+            .through(GzipWire.class)
+            .fetch();
+        container.stop();
+        MatcherAssert.assertThat(resp.body(), Matchers.equalTo("plain text"));
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.ACCEPT_ENCODING),
+            Matchers.hasItem(Matchers.containsString("gzip"))
+        );
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.log.Logger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import javax.ws.rs.core.HttpHeaders;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Integration case for {@link MeteredWire}, which measures its overhead.
+ *
+ * <p>It is not a unit test, because the numbers depend on the machine
+ * and on the JIT. Run it with
+ * {@code mvn verify -Dit.test=MeteredWireITCase}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ */
+public final class MeteredWireITCase {
+
+    /**
+     * How many requests to send in one round.
+     */
+    private static final int TOTAL = Tv.HUNDRED * Tv.THOUSAND;
+
+    /**
+     * MeteredWire can meter a request in a few microseconds, comparing
+     * to the same requests sent without it.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void metersRequestsCheaply() throws Exception {
+        final Response resp = new FakeRequest()
+            .withHeader(HttpHeaders.CONTENT_LENGTH, "0")
+            .fetch();
+        final Wire origin = new Wire() {
+            @Override
+            public Response send(final Request req, final String home,
+                final String method,
+                final Collection<Map.Entry<String, String>> headers,
+                final byte[] content) {
+                return resp;
+            }
+        };
+        final Wire wire = new MeteredWire(origin);
+        long plain = Long.MAX_VALUE;
+        long metered = Long.MAX_VALUE;
+        try {
+            for (int round = 0; round < Tv.TEN; ++round) {
+                plain = Math.min(plain, MeteredWireITCase.time(origin));
+                metered = Math.min(metered, MeteredWireITCase.time(wire));
+            }
+        } finally {
+            MeteredWire.reset();
+        }
+        final long overhead = (metered - plain) / MeteredWireITCase.TOTAL;
+        Logger.info(
+            this, "metering costs %dns per request, %dns without it",
+            overhead, plain / MeteredWireITCase.TOTAL
+        );
+        MatcherAssert.assertThat(
+            overhead, Matchers.lessThan((long) Tv.FIVE * Tv.THOUSAND)
+        );
+    }
+
+    /**
+     * Send requests through the wire.
+     * @param wire Wire
+     * @return Nanoseconds it took
+     * @throws Exception If some problem inside
+     */
+    private static long time(final Wire wire) throws Exception {
+        final Collection<Map.Entry<String, String>> headers =
+            Collections.emptyList();
+        final byte[] body = new byte[0];
+        final long start = System.nanoTime();
+        for (int idx = 0; idx < MeteredWireITCase.TOTAL; ++idx) {
+            wire.send(
+                null,
+                String.format(
+                    "https://api.github.com/repos/jeff/test/issues/%d", idx
+                ),
+                Request.GET, headers, body
+            );
+        }
+        return System.nanoTime() - start;
+    }
+
+}
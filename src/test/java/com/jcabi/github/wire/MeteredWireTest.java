@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.JdkRequest;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.management.ObjectName;
+import javax.ws.rs.core.HttpHeaders;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link MeteredWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (200 lines)
+ */
+public final class MeteredWireTest {
+
+    /**
+     * Lock for tests that read or reset the endpoints shared in the JVM.
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * MeteredWire can normalize URIs to endpoint templates.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void normalizesEndpoints() throws Exception {
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET,
+                "https://api.github.com/repos/jcabi/jcabi-github/issues/12"
+            ),
+            Matchers.equalTo("GET /repos/{owner}/{repo}/issues/{number}")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.PATCH,
+                "https://api.github.com/repos/a/b/issues/comments/5?x=1"
+            ),
+            Matchers.equalTo("PATCH /repos/{owner}/{repo}/issues/comments/{id}")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET,
+                "https://api.github.com/repos/a/b/contents/src/main/Foo.java"
+            ),
+            Matchers.equalTo("GET /repos/{owner}/{repo}/contents/{path}")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.DELETE,
+                "https://api.github.com/repos/a/b/git/refs/heads/master"
+            ),
+            Matchers.equalTo("DELETE /repos/{owner}/{repo}/git/refs/{ref}")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET, "https://api.github.com/users/jeff/repos"
+            ),
+            Matchers.equalTo("GET /users/{user}/repos")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET,
+                // @checkstyle LineLength (1 line)
+                "https://api.github.com/repos/a/b/git/trees/6dcb09b5b57875f334f61aebed695e2e4193db5e"
+            ),
+            Matchers.equalTo("GET /repos/{owner}/{repo}/git/trees/{sha}")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET, "https://api.github.com/gists/aa5a315d/comments"
+            ),
+            Matchers.equalTo("GET /gists/{gist}/comments")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET,
+                "https://api.github.com/repos/a/b/branches/feature/x/protection"
+            ),
+            Matchers.equalTo("GET /repos/{owner}/{repo}/branches/{branch}")
+        );
+        MatcherAssert.assertThat(
+            MeteredWire.template(
+                Request.GET, "https://api.github.com/orgs/jcabi/members/jeff"
+            ),
+            Matchers.equalTo("GET /orgs/{org}/members/{id}")
+        );
+    }
+
+    /**
+     * MeteredWire can keep a limited number of endpoints and forget them.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void limitsAndResetsEndpoints() throws Exception {
+        synchronized (MeteredWireTest.LOCK) {
+            final Wire origin = Mockito.mock(Wire.class);
+            final Response resp = Mockito.mock(Response.class);
+            Mockito.when(resp.status()).thenReturn(HttpURLConnection.HTTP_OK);
+            Mockito.when(resp.headers()).thenReturn(
+                Collections.singletonMap(
+                    HttpHeaders.CONTENT_LENGTH, Collections.singletonList("0")
+                )
+            );
+            Mockito.when(
+                origin.send(
+                    Mockito.any(Request.class), Mockito.anyString(),
+                    Mockito.anyString(), Mockito.<Collection<Map.Entry<String,
+                    String>>>any(), Mockito.any(byte[].class)
+                )
+            ).thenReturn(resp);
+            final Wire wire = new MeteredWire(origin);
+            final StringBuilder home = new StringBuilder("http://localhost/x");
+            try {
+                for (int idx = 0; idx < Tv.THOUSAND; ++idx) {
+                    home.append("/x");
+                    wire.send(
+                        null, home.toString(), Request.GET,
+                        Collections.<Map.Entry<String, String>>emptyList(),
+                        new byte[0]
+                    );
+                }
+                MatcherAssert.assertThat(
+                    MeteredWire.snapshot().size(),
+                    Matchers.lessThanOrEqualTo(Tv.THOUSAND / 2)
+                );
+                MatcherAssert.assertThat(
+                    ManagementFactory.getPlatformMBeanServer().isRegistered(
+                        MeteredWire.name(
+                            String.format("GET %s", MeteredWire.OTHER)
+                        )
+                    ),
+                    Matchers.is(true)
+                );
+            } finally {
+                MeteredWire.reset();
+            }
+            MatcherAssert.assertThat(MeteredWire.snapshot(), Matchers.empty());
+            MatcherAssert.assertThat(
+                ManagementFactory.getPlatformMBeanServer().queryNames(
+                    new ObjectName("com.jcabi.github:type=Endpoint,*"), null
+                ),
+                Matchers.empty()
+            );
+        }
+    }
+
+    /**
+     * MeteredWire can keep the limit of endpoints under concurrent
+     * requests.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void limitsEndpointsOfConcurrentRequests() throws Exception {
+        synchronized (MeteredWireTest.LOCK) {
+            final Wire origin = Mockito.mock(Wire.class);
+            final Response resp = Mockito.mock(Response.class);
+            Mockito.when(resp.status()).thenReturn(HttpURLConnection.HTTP_OK);
+            Mockito.when(resp.headers()).thenReturn(
+                Collections.singletonMap(
+                    HttpHeaders.CONTENT_LENGTH, Collections.singletonList("0")
+                )
+            );
+            Mockito.when(
+                origin.send(
+                    Mockito.any(Request.class), Mockito.anyString(),
+                    Mockito.anyString(), Mockito.<Collection<Map.Entry<String,
+                    String>>>any(), Mockito.any(byte[].class)
+                )
+            ).thenReturn(resp);
+            final Wire wire = new MeteredWire(origin);
+            final CountDownLatch start = new CountDownLatch(1);
+            final ExecutorService threads =
+                Executors.newFixedThreadPool(Tv.EIGHT);
+            final Collection<Future<Void>> futures =
+                new ArrayList<Future<Void>>(Tv.EIGHT);
+            try {
+                for (int thread = 0; thread < Tv.EIGHT; ++thread) {
+                    final int first = thread * Tv.HUNDRED;
+                    futures.add(
+                        threads.submit(
+                            new Callable<Void>() {
+                                @Override
+                                public Void call() throws Exception {
+                                    start.await();
+                                    MeteredWireTest.send(
+                                        wire, first, Tv.HUNDRED
+                                    );
+                                    return null;
+                                }
+                            }
+                        )
+                    );
+                }
+                start.countDown();
+                for (final Future<Void> future : futures) {
+                    future.get();
+                }
+                MatcherAssert.assertThat(
+                    MeteredWire.snapshot().size(),
+                    Matchers.lessThanOrEqualTo(MeteredWire.MAX + 1)
+                );
+            } finally {
+                threads.shutdownNow();
+                MeteredWire.reset();
+            }
+        }
+    }
+
+    /**
+     * MeteredWire can count requests and expose them via JMX.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void countsRequests() throws Exception {
+        synchronized (MeteredWireTest.LOCK) {
+            final MkContainer container = new MkGrizzlyContainer()
+                .next(new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{}"))
+                .next(new MkAnswer.Simple(HttpURLConnection.HTTP_NOT_FOUND, ""))
+                .start();
+            final Request req = new JdkRequest(container.home())
+                .through(MeteredWire.class)
+                .uri().path("/orgs/jcabi/members").back();
+            req.fetch();
+            req.fetch();
+            container.stop();
+            final String template = "GET /orgs/{org}/members";
+            MeteredWire.Stats stats = null;
+            for (final MeteredWire.Stats item : MeteredWire.snapshot()) {
+                if (template.equals(item.getEndpoint())) {
+                    stats = item;
+                }
+            }
+            MatcherAssert.assertThat(stats, Matchers.notNullValue());
+            MatcherAssert.assertThat(stats.getRequests(), Matchers.equalTo(2L));
+            MatcherAssert.assertThat(
+                stats.getSuccesses(), Matchers.equalTo(1L)
+            );
+            MatcherAssert.assertThat(
+                stats.getClientErrors(), Matchers.equalTo(1L)
+            );
+            MatcherAssert.assertThat(
+                stats.getBytesReceived(), Matchers.equalTo(2L)
+            );
+            MatcherAssert.assertThat(
+                ManagementFactory.getPlatformMBeanServer().getAttribute(
+                    MeteredWire.name(template), "Requests"
+                ),
+                Matchers.<Object>equalTo(2L)
+            );
+        }
+    }
+
+    /**
+     * Send requests to endpoints of different depths.
+     * @param wire Wire
+     * @param first Depth of the first endpoint
+     * @param total How many endpoints to send to
+     * @throws IOException If some problem inside
+     */
+    private static void send(final Wire wire, final int first,
+        final int total) throws IOException {
+        final StringBuilder home = new StringBuilder("http://localhost/x");
+        for (int idx = 0; idx < first; ++idx) {
+            home.append("/y");
+        }
+        for (int idx = 0; idx < total; ++idx) {
+            home.append("/z");
+            wire.send(
+                null, home.toString(), Request.GET,
+                Collections.<Map.Entry<String, String>>emptyList(),
+                new byte[0]
+            );
+        }
+    }
+}
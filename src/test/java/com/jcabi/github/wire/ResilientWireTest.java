@@ -0,0 +1,359 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.FakeRequest;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link ResilientWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (300 lines)
+ */
+public final class ResilientWireTest {
+
+    /**
+     * HTTP status "Too Many Requests".
+     */
+    private static final int TOO_MANY = 429;
+
+    /**
+     * ResilientWire can retry GET after 503.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void retriesUnavailableServer() throws Exception {
+        final String home = "http://retry.example.com/repos/a/b";
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_UNAVAILABLE),
+                new FakeRequest().withStatus(HttpURLConnection.HTTP_OK)
+            ),
+            Tv.THREE, 1L, Tv.FIVE, TimeUnit.MINUTES.toMillis(1L)
+        );
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(wire, Request.GET, home).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_OK)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            ResilientWireTest.state("retry.example.com").retries(),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    /**
+     * ResilientWire can wait as long as Retry-After says.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void honoursRetryAfter() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_FORBIDDEN)
+                    .withHeader("Retry-After", "1"),
+                new FakeRequest().withStatus(HttpURLConnection.HTTP_OK)
+            )
+        );
+        final long start = System.currentTimeMillis();
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(
+                wire, Request.GET, "http://after.example.com/user"
+            ).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_OK)
+        );
+        MatcherAssert.assertThat(
+            System.currentTimeMillis() - start,
+            Matchers.greaterThanOrEqualTo(TimeUnit.SECONDS.toMillis(1L))
+        );
+    }
+
+    /**
+     * ResilientWire can give up at once when Retry-After is too long.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void failsFastOnLongRetryAfter() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(ResilientWireTest.TOO_MANY)
+                    .withHeader("Retry-After", "999999999"),
+                new FakeRequest().withStatus(HttpURLConnection.HTTP_OK)
+            )
+        );
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(
+                wire, Request.GET, "http://long-after.example.com/user"
+            ).status(),
+            Matchers.equalTo(ResilientWireTest.TOO_MANY)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * ResilientWire can keep backoff under the maximum, no matter how
+     * many attempts were made.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void capsBackoff() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_UNAVAILABLE)
+            ),
+            Tv.HUNDRED, 1L, Tv.FIVE, TimeUnit.MINUTES.toMillis(1L), 2L
+        );
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(
+                wire, Request.GET, "http://capped.example.com/user"
+            ).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_UNAVAILABLE)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(Tv.HUNDRED + 1));
+    }
+
+    /**
+     * ResilientWire can understand Retry-After given as HTTP date.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void honoursRetryAfterDate() throws Exception {
+        final DateFormat fmt = new SimpleDateFormat(
+            "EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH
+        );
+        fmt.setTimeZone(TimeZone.getTimeZone("GMT"));
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(ResilientWireTest.TOO_MANY)
+                    .withHeader("Retry-After", fmt.format(new Date(0L))),
+                new FakeRequest().withStatus(HttpURLConnection.HTTP_OK)
+            )
+        );
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(
+                wire, Request.GET, "http://date.example.com/user"
+            ).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_OK)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * ResilientWire can fall back to backoff when Retry-After is broken.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void backsOffOnBrokenRetryAfter() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_UNAVAILABLE)
+                    .withHeader("Retry-After", "soon"),
+                new FakeRequest().withStatus(HttpURLConnection.HTTP_OK)
+            ),
+            Tv.THREE, 1L, Tv.FIVE, TimeUnit.MINUTES.toMillis(1L)
+        );
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(
+                wire, Request.GET, "http://broken-after.example.com/user"
+            ).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_OK)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * ResilientWire can ignore Retry-After of a successful response.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void ignoresRetryAfterOfSuccess() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_OK)
+                    .withHeader("Retry-After", "1")
+            )
+        );
+        ResilientWireTest.send(wire, Request.GET, "http://ok.example.com/");
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * ResilientWire can leave POST alone.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void doesNotRetryPost() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_UNAVAILABLE),
+                new FakeRequest().withStatus(HttpURLConnection.HTTP_CREATED)
+            ),
+            Tv.THREE, 1L, Tv.FIVE, TimeUnit.MINUTES.toMillis(1L)
+        );
+        MatcherAssert.assertThat(
+            ResilientWireTest.send(
+                wire, Request.POST, "http://post.example.com/gists"
+            ).status(),
+            Matchers.equalTo(HttpURLConnection.HTTP_UNAVAILABLE)
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * ResilientWire can open the circuit and fail fast.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void opensCircuit() throws Exception {
+        final String home = "http://broken.example.com/repos/x/y";
+        final AtomicInteger calls = new AtomicInteger();
+        final Wire wire = new ResilientWire(
+            ResilientWireTest.answers(
+                calls,
+                new FakeRequest()
+                    .withStatus(HttpURLConnection.HTTP_BAD_GATEWAY)
+            ),
+            0, 1L, 2, TimeUnit.MINUTES.toMillis(1L)
+        );
+        ResilientWireTest.send(wire, Request.GET, home);
+        ResilientWireTest.send(wire, Request.GET, home);
+        try {
+            ResilientWireTest.send(wire, Request.GET, home);
+            MatcherAssert.assertThat("exception expected", false);
+        } catch (final IOException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(), Matchers.containsString("circuit is open")
+            );
+        }
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+        final ResilientWire.State state =
+            ResilientWireTest.state("broken.example.com");
+        MatcherAssert.assertThat(state.isOpen(), Matchers.is(true));
+        MatcherAssert.assertThat(state.rejected(), Matchers.equalTo(1L));
+    }
+
+    /**
+     * Send request through the wire.
+     * @param wire Wire
+     * @param method HTTP method
+     * @param home URI
+     * @return Response
+     * @throws IOException If fails
+     */
+    private static Response send(final Wire wire, final String method,
+        final String home) throws IOException {
+        return wire.send(
+            new FakeRequest(), home, method,
+            Collections.<Map.Entry<String, String>>emptyList(),
+            new byte[0]
+        );
+    }
+
+    /**
+     * Find state of the circuit.
+     * @param host Host
+     * @return State
+     */
+    private static ResilientWire.State state(final String host) {
+        ResilientWire.State found = null;
+        for (final ResilientWire.State state : ResilientWire.circuits()) {
+            if (host.equals(state.host())) {
+                found = state;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Wire that responds with given responses, repeating the last one.
+     * @param calls Counter of calls
+     * @param answers Fake requests to fetch responses from
+     * @return Wire
+     */
+    private static Wire answers(final AtomicInteger calls,
+        final FakeRequest... answers) {
+        return new Wire() {
+            @Override
+            public Response send(final Request req, final String home,
+                final String method,
+                final Collection<Map.Entry<String, String>> headers,
+                final byte[] content) throws IOException {
+                final int idx = Math.min(
+                    calls.getAndIncrement(), answers.length - 1
+                );
+                return answers[idx].fetch();
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2013-2014, jcabi.com
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.github.wire;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.http.Request;
+import com.jcabi.http.mock.MkAnswer;
+import com.jcabi.http.mock.MkContainer;
+import com.jcabi.http.mock.MkGrizzlyContainer;
+import com.jcabi.http.request.JdkRequest;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.HttpHeaders;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Test case for {@link TokenPoolWire}.
+ *
+ * @author Yegor Bugayenko (yegor@tpc2.com)
+ * @version $Id$
+ * @checkstyle MultipleStringLiteralsCheck (200 lines)
+ */
+public final class TokenPoolWireTest {
+
+    /**
+     * TokenPoolWire can route requests to the token with most quota.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void routesToRichestToken() throws Exception {
+        final String reset = Long.toString(
+            TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+                + TimeUnit.HOURS.toSeconds(1L)
+        );
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(TokenPoolWireTest.answer("10", reset))
+            .next(TokenPoolWireTest.answer("100", reset))
+            .next(TokenPoolWireTest.answer("0", reset))
+            .next(TokenPoolWireTest.answer("9", reset))
+            .start();
+        final Request req = new JdkRequest(container.home())
+            .through(
+                TokenPoolWire.class,
+                Arrays.asList("poor-token", "rich-token")
+            )
+            .header(HttpHeaders.AUTHORIZATION, "token ignored")
+            .uri().path("/user").back();
+        for (int idx = 0; idx < Tv.FOUR; ++idx) {
+            req.fetch();
+        }
+        container.stop();
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.AUTHORIZATION),
+            Matchers.contains("token poor-token")
+        );
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.AUTHORIZATION),
+            Matchers.contains("token rich-token")
+        );
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.AUTHORIZATION),
+            Matchers.contains("token rich-token")
+        );
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.AUTHORIZATION),
+            Matchers.contains("token poor-token")
+        );
+    }
+
+    /**
+     * TokenPoolWire can track search quota separately.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void tracksSearchSeparately() throws Exception {
+        final String reset = Long.toString(
+            TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+                + TimeUnit.HOURS.toSeconds(1L)
+        );
+        final MkContainer container = new MkGrizzlyContainer()
+            .next(TokenPoolWireTest.answer("0", reset))
+            .next(TokenPoolWireTest.answer("1", reset))
+            .next(TokenPoolWireTest.answer("1", reset))
+            .start();
+        final Request req = new JdkRequest(container.home())
+            .through(
+                TokenPoolWire.class,
+                Arrays.asList("first-token", "second-token")
+            );
+        req.uri().path("/search/issues").back().fetch();
+        req.uri().path("/search/repositories").back().fetch();
+        req.uri().path("/user").back().fetch();
+        container.stop();
+        container.take();
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.AUTHORIZATION),
+            Matchers.contains("token second-token")
+        );
+        MatcherAssert.assertThat(
+            container.take().headers().get(HttpHeaders.AUTHORIZATION),
+            Matchers.contains("token first-token")
+        );
+    }
+
+    /**
+     * Make an answer with rate limit headers.
+     * @param remaining Remaining requests
+     * @param reset Time of reset
+     * @return Answer
+     */
+    private static MkAnswer answer(final String remaining,
+        final String reset) {
+        return new MkAnswer.Simple(HttpURLConnection.HTTP_OK, "{}")
+            .withHeader("X-RateLimit-Remaining", remaining)
+            .withHeader("X-RateLimit-Reset", reset);
+    }
+}